@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.base;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * The Abortable Stream Interface.
+ * <p/>
+ * Implemented by the processing streams that should not complete their
+ * operation on incomplete data, e.g. the decrypting or decompressing streams
+ * of an interrupted transfer. Aborting such a stream discards any pending
+ * data and releases its resources, instead of processing the data and
+ * writing the result into the target, as closing it would.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface AbortableStream extends Closeable {
+
+    /**
+     * Discards any pending data and releases the resources of the stream,
+     * aborting the target stream as well when possible, or otherwise just
+     * closing it. Once aborted, closing the stream has no effect.
+     *
+     * @throws IOException for any IO exceptions while releasing the target
+     */
+    void abort() throws IOException;
+
+    /**
+     * Aborts the provided stream if it is abortable, or otherwise just closes
+     * it.
+     *
+     * @param stream the stream to be aborted
+     * @throws IOException for any IO exceptions while aborting or closing
+     */
+    static void abort(Closeable stream) throws IOException {
+        if(stream instanceof AbortableStream abortableStream) {
+            abortableStream.abort();
+        } else if(stream != null) {
+            stream.close();
+        }
+    }
+
+}
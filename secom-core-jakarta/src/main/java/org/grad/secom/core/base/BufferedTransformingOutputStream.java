@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.base;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * The Buffered Transforming Output Stream Class.
+ * <p/>
+ * An output stream that buffers all the data written to it and, once closed,
+ * applies the provided transformation onto the whole buffer before writing the
+ * result into the target output stream. This is used as the default streaming
+ * implementation for the SECOM providers that can only operate on complete
+ * byte arrays. If the data turn out to be incomplete, the stream can instead
+ * be aborted, in which case the buffered data are discarded without being
+ * transformed.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+class BufferedTransformingOutputStream extends ByteArrayOutputStream implements AbortableStream {
+
+    // Class Variables
+    private final OutputStream target;
+    private final UnaryOperator<byte[]> transformation;
+    private boolean closed;
+
+    /**
+     * The Buffered Transforming Output Stream Constructor.
+     *
+     * @param target            the target output stream
+     * @param transformation    the transformation to be applied on the data
+     */
+    BufferedTransformingOutputStream(OutputStream target, UnaryOperator<byte[]> transformation) {
+        this.target = Objects.requireNonNull(target);
+        this.transformation = Objects.requireNonNull(transformation);
+    }
+
+    /**
+     * Transforms the buffered data and writes the result into the target
+     * output stream, which is then closed.
+     *
+     * @throws IOException for any IO exceptions while writing the result
+     */
+    @Override
+    public void close() throws IOException {
+        if(this.closed) {
+            return;
+        }
+        this.closed = true;
+        try (OutputStream os = this.target) {
+            os.write(this.transformation.apply(this.toByteArray()));
+        }
+    }
+
+    /**
+     * Discards the buffered data without transforming them, and aborts the
+     * target output stream as well.
+     *
+     * @throws IOException for any IO exceptions while releasing the target
+     */
+    @Override
+    public void abort() throws IOException {
+        if(this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.reset();
+        this.buf = new byte[0];
+        AbortableStream.abort(this.target);
+    }
+
+}
@@ -92,4 +92,9 @@ public class SecomConstants {
                 .withZone(ZoneId.systemDefault());
     }
 
+    /**
+     * The fast SECOM DATE_TIME codec, matching the SECOM_DATE_TIME_FORMATTER.
+     */
+    public static final SecomDateTimeCodec SECOM_DATE_TIME_CODEC = new SecomDateTimeCodec(SECOM_DATE_TIME_FORMATTER);
+
 }
@@ -0,0 +1,381 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.base;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The SECOM Date-Time Codec Class.
+ * <p/>
+ * A hand-written parser and formatter for the fixed SECOM date-time grammar
+ * i.e. {@code yyyyMMdd'T'HHmmss[Z|+HHMM]}. Parsing and formatting through a
+ * {@link DateTimeFormatter} is rather expensive, since a temporal field map
+ * is built and resolved for each operation, and SECOM messages contain
+ * multiple timestamps each. This codec handles the canonical forms directly
+ * using plain arithmetic, while any less usual input (e.g. lenient offsets
+ * such as {@code +01:00}, or years outside the 4-digit range) is delegated
+ * to the provided formatter, so the results are always identical to it.
+ * <p/>
+ * To avoid repeated zone rule lookups, the zone offset valid around the
+ * last processed timestamp is cached along with the range it applies to,
+ * and the most recently formatted seconds are also kept in a small cache.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomDateTimeCodec {
+
+    /**
+     * The number of recently formatted seconds to be cached.
+     */
+    public static final int FORMAT_CACHE_SIZE = 64;
+
+    // Class Variables
+    private final DateTimeFormatter formatter;
+    private final ZoneId zoneId;
+    private final ZoneRules zoneRules;
+    private final FormattedSecond[] formatCache;
+    private volatile OffsetWindow offsetWindow;
+
+    /**
+     * The SECOM Date-Time Codec Constructor.
+     *
+     * @param formatter the SECOM date-time formatter to be matched
+     */
+    public SecomDateTimeCodec(DateTimeFormatter formatter) {
+        this.formatter = Objects.requireNonNull(formatter);
+        this.zoneId = Optional.ofNullable(formatter.getZone())
+                .orElseGet(ZoneId::systemDefault);
+        this.zoneRules = this.zoneId.getRules();
+        this.formatCache = new FormattedSecond[FORMAT_CACHE_SIZE];
+        this.offsetWindow = this.zoneRules.isFixedOffset() ?
+                new OffsetWindow(Long.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, this.zoneRules.getOffset(Instant.EPOCH)) :
+                null;
+    }
+
+    /**
+     * Parses the provided SECOM date-time text into an instant. If no offset
+     * is present in the text, the time is interpreted in the zone of the
+     * SECOM date-time formatter.
+     *
+     * @param text the text to be parsed
+     * @return the parsed instant
+     * @throws java.time.format.DateTimeParseException if the text cannot be parsed
+     */
+    public Instant parse(CharSequence text) {
+        final long epochSecond = this.parseFast(Objects.requireNonNull(text));
+        if(epochSecond == Long.MIN_VALUE) {
+            return Instant.from(this.formatter.parse(text));
+        }
+        return Instant.ofEpochSecond(epochSecond);
+    }
+
+    /**
+     * Formats the provided temporal object into a SECOM date-time text. The
+     * fast path is used for all instant-based temporal objects.
+     *
+     * @param temporal the temporal object to be formatted
+     * @return the formatted text
+     */
+    public String format(TemporalAccessor temporal) {
+        if(temporal instanceof Instant instant) {
+            return this.format(instant);
+        }
+        return this.formatter.format(temporal);
+    }
+
+    /**
+     * Formats the provided instant into a SECOM date-time text, in the zone
+     * of the SECOM date-time formatter.
+     *
+     * @param instant the instant to be formatted
+     * @return the formatted text
+     */
+    public String format(Instant instant) {
+        final long epochSecond = instant.getEpochSecond();
+        final int index = (int) (epochSecond & (FORMAT_CACHE_SIZE - 1));
+        // Cache entries are immutable, so unsynchronised access is safe
+        final FormattedSecond cached = this.formatCache[index];
+        if(cached != null && cached.epochSecond() == epochSecond) {
+            return cached.text();
+        }
+        final String text = Optional.ofNullable(this.formatFast(epochSecond))
+                .orElseGet(() -> this.formatter.format(instant));
+        this.formatCache[index] = new FormattedSecond(epochSecond, text);
+        return text;
+    }
+
+    /**
+     * Parses the canonical SECOM date-time forms directly. For any other
+     * form, Long.MIN_VALUE is returned so that the formatter can take over.
+     *
+     * @param text the text to be parsed
+     * @return the parsed epoch seconds, or Long.MIN_VALUE if not handled
+     */
+    private long parseFast(CharSequence text) {
+        final int length = text.length();
+        if(length != 15 && length != 16 && length != 20) {
+            return Long.MIN_VALUE;
+        }
+        final char separator = text.charAt(8);
+        if(separator != 'T' && separator != 't') {
+            return Long.MIN_VALUE;
+        }
+        final int year = digits(text, 0, 4);
+        final int month = digits(text, 4, 2);
+        final int day = digits(text, 6, 2);
+        final int hour = digits(text, 9, 2);
+        final int minute = digits(text, 11, 2);
+        final int second = digits(text, 13, 2);
+        if(year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59) {
+            return Long.MIN_VALUE;
+        }
+        final long localSecond = epochDay(year, month, day) * 86400L + hour * 3600L + minute * 60L + second;
+
+        // Without an offset, use the zone of the formatter
+        if(length == 15) {
+            return this.localToEpochSecond(localSecond);
+        }
+
+        // Otherwise handle the UTC and the +HHMM offsets
+        final char sign = text.charAt(15);
+        if(length == 16) {
+            return (sign == 'Z' || sign == 'z') ? localSecond : Long.MIN_VALUE;
+        }
+        final int offsetHours = digits(text, 16, 2);
+        final int offsetMinutes = digits(text, 18, 2);
+        if((sign != '+' && sign != '-') || offsetHours < 0 || offsetMinutes < 0 || offsetMinutes > 59
+                || offsetHours > 18 || (offsetHours == 18 && offsetMinutes > 0)) {
+            return Long.MIN_VALUE;
+        }
+        final int offsetSeconds = offsetHours * 3600 + offsetMinutes * 60;
+        return localSecond - (sign == '-' ? -offsetSeconds : offsetSeconds);
+    }
+
+    /**
+     * Formats the provided epoch seconds directly. If the result cannot be
+     * represented in the canonical form, null is returned so that the
+     * formatter can take over.
+     *
+     * @param epochSecond the epoch seconds to be formatted
+     * @return the formatted text, or null if not handled
+     */
+    private String formatFast(long epochSecond) {
+        final int offsetSeconds = this.offsetAt(epochSecond);
+        if(offsetSeconds % 60 != 0) {
+            return null;
+        }
+        final long localSecond = epochSecond + offsetSeconds;
+        final long epochDay = Math.floorDiv(localSecond, 86400L);
+        final int secondOfDay = (int) Math.floorMod(localSecond, 86400L);
+
+        // Convert the epoch day into its civil date
+        final long shiftedDay = epochDay + 719468;
+        final long era = Math.floorDiv(shiftedDay, 146097L);
+        final int dayOfEra = (int) (shiftedDay - era * 146097L);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        final int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        final int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        final long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if(year < 1 || year > 9999) {
+            return null;
+        }
+
+        // And write everything out
+        final char[] buffer = new char[offsetSeconds == 0 ? 16 : 20];
+        writeDigits(buffer, 0, (int) year, 4);
+        writeDigits(buffer, 4, month, 2);
+        writeDigits(buffer, 6, day, 2);
+        buffer[8] = 'T';
+        writeDigits(buffer, 9, secondOfDay / 3600, 2);
+        writeDigits(buffer, 11, (secondOfDay / 60) % 60, 2);
+        writeDigits(buffer, 13, secondOfDay % 60, 2);
+        if(offsetSeconds == 0) {
+            buffer[15] = 'Z';
+        } else {
+            final int absOffsetMinutes = Math.abs(offsetSeconds) / 60;
+            buffer[15] = offsetSeconds < 0 ? '-' : '+';
+            writeDigits(buffer, 16, absOffsetMinutes / 60, 2);
+            writeDigits(buffer, 18, absOffsetMinutes % 60, 2);
+        }
+        return new String(buffer);
+    }
+
+    /**
+     * Converts the provided local epoch seconds into actual epoch seconds,
+     * using the zone of the formatter. Local times in gaps and overlaps are
+     * handled by the zone rules, just like the formatter would.
+     *
+     * @param localSecond the local epoch seconds
+     * @return the actual epoch seconds
+     */
+    private long localToEpochSecond(long localSecond) {
+        final OffsetWindow window = this.offsetWindow;
+        if(window != null && localSecond >= window.localFrom() && localSecond < window.localTo()) {
+            return localSecond - window.offset().getTotalSeconds();
+        }
+        final long epochSecond = LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC)
+                .atZone(this.zoneId)
+                .toEpochSecond();
+        this.offsetWindow = this.computeWindow(epochSecond);
+        return epochSecond;
+    }
+
+    /**
+     * Returns the offset of the zone of the formatter, at the provided epoch
+     * seconds.
+     *
+     * @param epochSecond the epoch seconds
+     * @return the total offset seconds
+     */
+    private int offsetAt(long epochSecond) {
+        OffsetWindow window = this.offsetWindow;
+        if(window == null || epochSecond < window.instantFrom() || epochSecond >= window.instantTo()) {
+            window = this.computeWindow(epochSecond);
+            this.offsetWindow = window;
+        }
+        return window.offset().getTotalSeconds();
+    }
+
+    /**
+     * Computes the window around the provided epoch seconds, between the
+     * previous and the next zone offset transitions.
+     *
+     * @param epochSecond the epoch seconds
+     * @return the offset window
+     */
+    private OffsetWindow computeWindow(long epochSecond) {
+        final Instant instant = Instant.ofEpochSecond(epochSecond);
+        final ZoneOffset offset = this.zoneRules.getOffset(instant);
+        final ZoneOffsetTransition previous = this.zoneRules.previousTransition(instant);
+        final ZoneOffsetTransition next = this.zoneRules.nextTransition(instant);
+        return new OffsetWindow(
+                Optional.ofNullable(previous)
+                        .map(t -> Math.max(t.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC), t.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC)))
+                        .orElse(Long.MIN_VALUE),
+                Optional.ofNullable(next)
+                        .map(t -> Math.min(t.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC), t.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC)))
+                        .orElse(Long.MAX_VALUE),
+                Optional.ofNullable(previous)
+                        .map(ZoneOffsetTransition::toEpochSecond)
+                        .orElse(Long.MIN_VALUE),
+                Optional.ofNullable(next)
+                        .map(ZoneOffsetTransition::toEpochSecond)
+                        .orElse(Long.MAX_VALUE),
+                offset);
+    }
+
+    /**
+     * Parses a fixed number of decimal digits from the provided text.
+     *
+     * @param text      the text to be parsed
+     * @param start     the index of the first digit
+     * @param count     the number of digits
+     * @return the parsed value, or -1 if a non-digit character was found
+     */
+    private static int digits(CharSequence text, int start, int count) {
+        int value = 0;
+        for(int i = start; i < start + count; i++) {
+            final int digit = text.charAt(i) - '0';
+            if(digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Writes a zero-padded decimal value in the provided buffer.
+     *
+     * @param buffer    the buffer to write to
+     * @param start     the index of the first digit
+     * @param value     the value to be written
+     * @param count     the number of digits
+     */
+    private static void writeDigits(char[] buffer, int start, int value, int count) {
+        for(int i = start + count - 1; i >= start; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    /**
+     * Returns the length of the provided month in the provided year.
+     *
+     * @param year  the year
+     * @param month the month
+     * @return the number of days in the month
+     */
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> ((year & 3) == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Returns the epoch day of the provided civil date.
+     *
+     * @param year  the year
+     * @param month the month
+     * @param day   the day of the month
+     * @return the epoch day
+     */
+    private static long epochDay(int year, int month, int day) {
+        final long shiftedYear = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(shiftedYear, 400L);
+        final long yearOfEra = shiftedYear - era * 400;
+        final long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * A window of local and actual epoch seconds in which the zone offset
+     * remains the same.
+     *
+     * @param localFrom     the first local epoch second of the window
+     * @param localTo       the local epoch second after the window
+     * @param instantFrom   the first epoch second of the window
+     * @param instantTo     the epoch second after the window
+     * @param offset        the zone offset within the window
+     */
+    private record OffsetWindow(long localFrom, long localTo, long instantFrom, long instantTo, ZoneOffset offset) {}
+
+    /**
+     * A recently formatted second.
+     *
+     * @param epochSecond   the formatted epoch seconds
+     * @param text          the formatted text
+     */
+    private record FormattedSecond(long epochSecond, String text) {}
+
+}
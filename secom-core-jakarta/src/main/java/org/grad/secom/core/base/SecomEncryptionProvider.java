@@ -18,6 +18,8 @@ package org.grad.secom.core.base;
 
 import org.grad.secom.core.models.enums.EncryptionAlgorithmEnum;
 
+import java.io.OutputStream;
+
 /**
  * The SECOM Encryption Provider Interface.
  *
@@ -75,4 +77,25 @@ public interface SecomEncryptionProvider {
      */
     byte[] decrypt(EncryptionAlgorithmEnum encryptionAlgorithm, String encryptionKey, byte[] data);
 
+    /**
+     * The streaming decryption operation. This returns an output stream that
+     * decrypts all data written to it into the provided target output stream.
+     * Closing the returned stream also closes the target.
+     * <p/>
+     * By default, the data are buffered and decrypted once the stream is
+     * closed. Providers that can decrypt incrementally (e.g. using a
+     * {@link javax.crypto.CipherOutputStream}) should override this
+     * operation, so that large payloads do not have to be held in memory.
+     * The returned stream should implement the {@link AbortableStream}
+     * interface if incomplete data can be discarded without decrypting them.
+     *
+     * @param encryptionAlgorithm   The algorithm used for the decryption
+     * @param encryptionKey         The key to be used for the decryption process
+     * @param target                The output stream to receive the decrypted data
+     * @return the decrypting output stream
+     */
+    default OutputStream decryptingStream(EncryptionAlgorithmEnum encryptionAlgorithm, String encryptionKey, OutputStream target) {
+        return new BufferedTransformingOutputStream(target, data -> this.decrypt(encryptionAlgorithm, encryptionKey, data));
+    }
+
 }
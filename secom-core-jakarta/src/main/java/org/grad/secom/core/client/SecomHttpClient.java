@@ -0,0 +1,673 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.grad.secom.core.base.SecomCertificateProvider;
+import org.grad.secom.core.base.SecomCompressionProvider;
+import org.grad.secom.core.base.SecomEncryptionProvider;
+import org.grad.secom.core.base.SecomSignatureProvider;
+import org.grad.secom.core.components.SecomObjectMapperProvider;
+import org.grad.secom.core.exceptions.SecomClientException;
+import org.grad.secom.core.models.*;
+import org.grad.secom.core.models.enums.ContainerTypeEnum;
+import org.grad.secom.core.models.enums.SECOM_DataProductType;
+
+import javax.net.ssl.SSLContext;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_CODEC;
+import static org.grad.secom.core.interfaces.AccessNotificationSecomInterface.ACCESS_NOTIFICATION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.AccessSecomInterface.ACCESS_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.AcknowledgementSecomInterface.ACKNOWLEDGMENT_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.CapabilitySecomInterface.CAPABILITY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.EncryptionKeyNotifySecomInterface.ENCRYPTION_KEY_NOTIFY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.EncryptionKeySecomInterface.ENCRYPTION_KEY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.GetByLinkSecomInterface.GET_BY_LINK_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.GetSecomInterface.GET_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.GetSummarySecomInterface.GET_SUMMARY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.PingSecomInterface.PING_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.RemoveSubscriptionSecomInterface.REMOVE_SUBSCRIPTION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.SearchServiceSecomInterface.SEARCH_SERVICE_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.SubscriptionNotificationSecomInterface.SUBSCRIPTION_NOTIFICATION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.SubscriptionSecomInterface.SUBSCRIPTION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadLinkSecomInterface.UPLOAD_LINK_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadSecomInterface.UPLOAD_INTERFACE_PATH;
+
+/**
+ * The SECOM HTTP Client Class.
+ * <p/>
+ * A lightweight SECOM client built on top of the JDK {@link HttpClient},
+ * which does not require any Spring or Reactor dependencies. HTTP/2 is used
+ * when supported by the SECOM service, with a fallback to HTTP/1.1.
+ * <p/>
+ * The client offers a plain blocking API, which is meant to be used in a
+ * thread-per-request fashion. The blocking operations do not hold any locks
+ * while waiting for the responses, so they are particularly cheap when
+ * called from virtual threads. A single client instance is thread-safe and
+ * should be shared for all requests to the same SECOM service.
+ * <p/>
+ * Just like the Spring SECOM clients, the same SECOM signature, encryption
+ * and compression providers are used to prepare the outgoing data and
+ * process the incoming ones.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomHttpClient {
+
+    /**
+     * The default connection timeout.
+     */
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The default request timeout.
+     */
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    // Class Variables
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private Duration requestTimeout;
+    private SecomCertificateProvider certificateProvider;
+    private SecomSignatureProvider signatureProvider;
+    private SecomEncryptionProvider encryptionProvider;
+    private SecomCompressionProvider compressionProvider;
+
+    /**
+     * The SECOM HTTP Client Constructor, using the default JVM SSL context.
+     *
+     * @param url the URL of the SECOM service
+     */
+    public SecomHttpClient(URI url) {
+        this(url, (SSLContext) null);
+    }
+
+    /**
+     * The SECOM HTTP Client Constructor, using the provided SSL context. This
+     * can be generated for the required key and trust stores through the
+     * {@link org.grad.secom.core.utils.KeyStoreUtils#getSSLContext} method.
+     *
+     * @param url           the URL of the SECOM service
+     * @param sslContext    the SSL context to be used
+     */
+    public SecomHttpClient(URI url, SSLContext sslContext) {
+        this(url, sslContext, new SecomObjectMapperProvider());
+    }
+
+    /**
+     * The SECOM HTTP Client Constructor, using the provided SSL context and
+     * the object mapper of the provided SECOM object mapper provider. This
+     * should be the same provider registered with the SECOM server, so that
+     * both sides serialise the SECOM models in the same way.
+     *
+     * @param url                   the URL of the SECOM service
+     * @param sslContext            the SSL context to be used
+     * @param objectMapperProvider  the SECOM object mapper provider
+     */
+    public SecomHttpClient(URI url, SSLContext sslContext, SecomObjectMapperProvider objectMapperProvider) {
+        this(url, newHttpClient(sslContext), Objects.requireNonNull(objectMapperProvider).getContext(SecomHttpClient.class));
+    }
+
+    /**
+     * The SECOM HTTP Client Constructor, using the provided HTTP client and
+     * object mapper.
+     *
+     * @param url           the URL of the SECOM service
+     * @param httpClient    the HTTP client to be used
+     * @param objectMapper  the object mapper to be used
+     */
+    public SecomHttpClient(URI url, HttpClient httpClient, ObjectMapper objectMapper) {
+        this.baseUrl = Objects.requireNonNull(url).toString().replaceAll("/+$", "");
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+    }
+
+    /**
+     * Creates a new HTTP client with the default SECOM client settings, i.e.
+     * HTTP/2 support, redirect following and the default connection timeout.
+     *
+     * @param sslContext    the SSL context to be used, or null for the JVM default
+     * @return the new HTTP client
+     */
+    public static HttpClient newHttpClient(SSLContext sslContext) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(DEFAULT_CONNECT_TIMEOUT);
+        Optional.ofNullable(sslContext).ifPresent(builder::sslContext);
+        return builder.build();
+    }
+
+    /**
+     * Gets request timeout.
+     *
+     * @return the request timeout
+     */
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * Sets request timeout.
+     *
+     * @param requestTimeout the request timeout
+     */
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Gets certificate provider.
+     *
+     * @return the certificate provider
+     */
+    public SecomCertificateProvider getCertificateProvider() {
+        return certificateProvider;
+    }
+
+    /**
+     * Sets certificate provider.
+     *
+     * @param certificateProvider the certificate provider
+     */
+    public void setCertificateProvider(SecomCertificateProvider certificateProvider) {
+        this.certificateProvider = certificateProvider;
+    }
+
+    /**
+     * Gets signature provider.
+     *
+     * @return the signature provider
+     */
+    public SecomSignatureProvider getSignatureProvider() {
+        return signatureProvider;
+    }
+
+    /**
+     * Sets signature provider.
+     *
+     * @param signatureProvider the signature provider
+     */
+    public void setSignatureProvider(SecomSignatureProvider signatureProvider) {
+        this.signatureProvider = signatureProvider;
+    }
+
+    /**
+     * Gets encryption provider.
+     *
+     * @return the encryption provider
+     */
+    public SecomEncryptionProvider getEncryptionProvider() {
+        return encryptionProvider;
+    }
+
+    /**
+     * Sets encryption provider.
+     *
+     * @param encryptionProvider the encryption provider
+     */
+    public void setEncryptionProvider(SecomEncryptionProvider encryptionProvider) {
+        this.encryptionProvider = encryptionProvider;
+    }
+
+    /**
+     * Gets compression provider.
+     *
+     * @return the compression provider
+     */
+    public SecomCompressionProvider getCompressionProvider() {
+        return compressionProvider;
+    }
+
+    /**
+     * Sets compression provider.
+     *
+     * @param compressionProvider the compression provider
+     */
+    public void setCompressionProvider(SecomCompressionProvider compressionProvider) {
+        this.compressionProvider = compressionProvider;
+    }
+
+    /**
+     * POST /v1/access/notification : Result from Access Request performed on a
+     * service instance shall be sent asynchronous through this client
+     * interface.
+     *
+     * @param accessNotificationObject  the access notification object
+     * @return the access notification response object
+     */
+    public Optional<AccessNotificationResponseObject> accessNotification(AccessNotificationObject accessNotificationObject) {
+        return this.exchange("POST", ACCESS_NOTIFICATION_INTERFACE_PATH, Map.of(), accessNotificationObject, AccessNotificationResponseObject.class);
+    }
+
+    /**
+     * POST /v1/access : Access to the service instance information can be
+     * requested through the Request Access interface.
+     *
+     * @param accessRequestObject the request access object
+     * @return the request access response object
+     */
+    public Optional<AccessResponseObject> requestAccess(AccessRequestObject accessRequestObject) {
+        return this.exchange("POST", ACCESS_INTERFACE_PATH, Map.of(), accessRequestObject, AccessResponseObject.class);
+    }
+
+    /**
+     * POST /v1/acknowledgement : During upload of information, an
+     * acknowledgement can be requested which is expected to be received when
+     * the uploaded message has been delivered to the end system (technical
+     * acknowledgement), and an acknowledgement when the message has been opened
+     * (read) by the end user (operational acknowledgement). The acknowledgement
+     * contains a reference to object delivered.
+     *
+     * @param acknowledgementObject  the acknowledgement object
+     * @return the acknowledgement response object
+     */
+    public Optional<AcknowledgementResponseObject> acknowledgment(AcknowledgementObject acknowledgementObject) {
+        // If a signature provider has been assigned, use it to sign the
+        // acknowledgment object envelop data.
+        if(this.signatureProvider != null) {
+            acknowledgementObject.signEnvelope(this.certificateProvider, this.signatureProvider);
+        }
+
+        // And perform the web-call
+        return this.exchange("POST", ACKNOWLEDGMENT_INTERFACE_PATH, Map.of(), acknowledgementObject, AcknowledgementResponseObject.class);
+    }
+
+    /**
+     * GET /v1/capability : The purpose of the interface is to provide a dynamic
+     * method to ask a service instance at runtime what interfaces are
+     * accessible, and what payload formats and version are valid.
+     *
+     * @return the capability response object
+     */
+    public Optional<CapabilityResponseObject> capability() {
+        return this.exchange("GET", CAPABILITY_INTERFACE_PATH, Map.of(), null, CapabilityResponseObject.class);
+    }
+
+    /**
+     * POST /v1/searchService : The purpose of this interface is to search for
+     * service instances to consume.
+     *
+     * @param searchFilterObject    The search filter object
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the result list of the search
+     */
+    public Optional<ResponseSearchObject> searchService(SearchFilterObject searchFilterObject,
+                                                        Integer page,
+                                                        Integer pageSize) {
+        final Map<String, Object> queryParams = new LinkedHashMap<>();
+        queryParams.put("page", page);
+        queryParams.put("pageSize", pageSize);
+        return this.exchange("POST", SEARCH_SERVICE_INTERFACE_PATH, queryParams, searchFilterObject, ResponseSearchObject.class);
+    }
+
+    /**
+     * POST /v1/encryptionkey/notify : The purpose of the interface is to
+     * exchange a temporary secret key. This operation enables a consumer to
+     * request an encrypted secret key from a producer by providing a reference
+     * to the encrypted data and a public certificate for symmetric key
+     * derivation used to protect the temporary encryption key during transfer.
+     *
+     * @param encryptionKeyNotificationObject the encryption key notification object
+     * @return the encryption key response object
+     */
+    public Optional<EncryptionKeyResponseObject> encryptionKeyNotify(EncryptionKeyNotificationObject encryptionKeyNotificationObject) {
+        return this.exchange("POST", ENCRYPTION_KEY_NOTIFY_INTERFACE_PATH, Map.of(), encryptionKeyNotificationObject, EncryptionKeyResponseObject.class);
+    }
+
+    /**
+     * POST /v1/encryptionkey : The purpose of the interface is to exchange a
+     * temporary secret key. This operation is used to upload (push) an
+     * encrypted secret key to a consumer.
+     *
+     * @param encryptionKeyObject the encryption key object
+     * @return the encryption key response object
+     */
+    public Optional<EncryptionKeyResponseObject> encryptionKey(EncryptionKeyObject encryptionKeyObject) {
+        // If a signature provider has been assigned, use it to sign the
+        // encryption key object envelop data.
+        if(this.signatureProvider != null) {
+            encryptionKeyObject.signEnvelope(this.certificateProvider, this.signatureProvider);
+        }
+
+        // And perform the web-call
+        return this.exchange("POST", ENCRYPTION_KEY_INTERFACE_PATH, Map.of(), encryptionKeyObject, EncryptionKeyResponseObject.class);
+    }
+
+    /**
+     * GET /v1/object/link : The Get By Link interface is used for pulling
+     * information from a data storage handled by the information owner. The
+     * link to the data storage can be exchanged with Upload Link interface.
+     * The owner of the information (provider) is responsible for relevant
+     * authentication and authorization procedure before returning information.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @return the object in an "application/octet-stream" encoding
+     */
+    public Optional<byte[]> getByLink(UUID transactionIdentifier) {
+        final Map<String, Object> queryParams = new LinkedHashMap<>();
+        queryParams.put("transactionIdentifier", transactionIdentifier);
+        return Optional.ofNullable(this.send("GET", GET_BY_LINK_INTERFACE_PATH, queryParams, null, "application/octet-stream"))
+                .filter(body -> body.length > 0);
+    }
+
+    /**
+     * GET /v1/object : The Get interface is used for pulling information from a
+     * service provider. The owner of the information (provider) is responsible
+     * for the authorization procedure before returning information.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the object information
+     */
+    public Optional<GetResponseObject> get(UUID dataReference,
+                                           ContainerTypeEnum containerType,
+                                           SECOM_DataProductType dataProductType,
+                                           String productVersion,
+                                           String geometry,
+                                           String unlocode,
+                                           Instant validFrom,
+                                           Instant validTo,
+                                           Integer page,
+                                           Integer pageSize) {
+        final Map<String, Object> queryParams = new LinkedHashMap<>();
+        queryParams.put("dataReference", dataReference);
+        queryParams.putAll(this.filterParams(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, pageSize));
+        return this.exchange("GET", GET_INTERFACE_PATH, queryParams, null, GetResponseObject.class)
+                .map(response -> response.decodeData())
+                .map(response -> response.decompressData(this.compressionProvider))
+                .map(response -> response.decryptData(this.encryptionProvider))
+                .map(GetResponseObject.class::cast);
+    }
+
+    /**
+     * GET /v1/object/summary :  A list of information shall be returned from
+     * this interface. The summary contains identity, status and short
+     * description of each information object. The actual information object
+     * shall be retrieved using the Get interface.
+     *
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the summary response object
+     */
+    public Optional<GetSummaryResponseObject> getSummary(ContainerTypeEnum containerType,
+                                                         SECOM_DataProductType dataProductType,
+                                                         String productVersion,
+                                                         String geometry,
+                                                         String unlocode,
+                                                         Instant validFrom,
+                                                         Instant validTo,
+                                                         Integer page,
+                                                         Integer pageSize) {
+        final Map<String, Object> queryParams = this.filterParams(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, pageSize);
+        return this.exchange("GET", GET_SUMMARY_INTERFACE_PATH, queryParams, null, GetSummaryResponseObject.class);
+    }
+
+    /**
+     * GET /v1/ping : The purpose of the interface is to provide a dynamic
+     * method to ask for the technical status of the specific service instance.
+     *
+     * @return the status response object
+     */
+    public Optional<PingResponseObject> ping() {
+        return this.exchange("GET", PING_INTERFACE_PATH, Map.of(), null, PingResponseObject.class);
+    }
+
+    /**
+     * DELETE /v1/subscription : Subscription(s) can be removed either
+     * internally by information owner, or externally by the consumer. This
+     * interface shall be used by the consumer to request removal of
+     * subscription.
+     *
+     * @param removeSubscriptionObject the remove subscription object
+     * @return the remove subscription response object
+     */
+    public Optional<RemoveSubscriptionResponseObject> removeSubscription(RemoveSubscriptionObject removeSubscriptionObject) {
+        return this.exchange("DELETE", REMOVE_SUBSCRIPTION_INTERFACE_PATH, Map.of(), removeSubscriptionObject, RemoveSubscriptionResponseObject.class);
+    }
+
+    /**
+     * POST /v1/subscription/notification : The interface receives notifications
+     * when a subscription is created or removed by the information provider.
+     *
+     * @param subscriptionNotificationObject the subscription notification request object
+     * @return the subscription notification response object
+     */
+    public Optional<SubscriptionNotificationResponseObject> subscriptionNotification(SubscriptionNotificationObject subscriptionNotificationObject) {
+        return this.exchange("POST", SUBSCRIPTION_NOTIFICATION_INTERFACE_PATH, Map.of(), subscriptionNotificationObject, SubscriptionNotificationResponseObject.class);
+    }
+
+    /**
+     * POST /v1/subscription : Request subscription on information, either
+     * specific information according to parameters, or the information
+     * accessible upon decision by the information provider.
+     *
+     * @param subscriptionRequestObject the subscription object
+     * @return the subscription response object
+     */
+    public Optional<SubscriptionResponseObject> subscription(SubscriptionRequestObject subscriptionRequestObject) {
+        return this.exchange("POST", SUBSCRIPTION_INTERFACE_PATH, Map.of(), subscriptionRequestObject, SubscriptionResponseObject.class);
+    }
+
+    /**
+     * POST /v1/object : The interface shall be used for uploading (pushing)
+     * data to a consumer. The operation expects one single data object and
+     * its metadata.
+     *
+     * @param uploadObject  the upload object
+     * @return the upload response object
+     */
+    public Optional<UploadResponseObject> upload(UploadObject uploadObject) {
+        //Prepare the upload envelope if valid
+        final EnvelopeUploadObject envelope = uploadObject.getEnvelope();
+        if(envelope != null) {
+            envelope.prepareMetadata(this.signatureProvider)
+                    .signData(this.certificateProvider, this.signatureProvider)
+                    .encryptData(this.encryptionProvider)
+                    .compressData(this.compressionProvider)
+                    .encodeData();
+        }
+
+        // If a signature provider has been assigned, use it to sign the
+        // upload object envelop data.
+        if(this.signatureProvider != null) {
+            uploadObject.signEnvelope(this.certificateProvider, this.signatureProvider);
+        }
+
+        // And perform the web-call
+        return this.exchange("POST", UPLOAD_INTERFACE_PATH, Map.of(), uploadObject, UploadResponseObject.class);
+    }
+
+    /**
+     * POST /v1/object/link : The REST operation POST /object/link. The
+     * interface shall be used for uploading (pushing) a link to data to a
+     * consumer.
+     *
+     * @param uploadLinkObject  the upload link object
+     * @return the upload link response object
+     */
+    public Optional<UploadLinkResponseObject> uploadLink(UploadLinkObject uploadLinkObject) {
+        //Prepare the upload link envelope if valid
+        final EnvelopeLinkObject envelope = uploadLinkObject.getEnvelope();
+        if(envelope != null) {
+            envelope.prepareMetadata(this.signatureProvider);
+        }
+
+        // If a signature provider has been assigned, use it to sign the
+        // upload object envelop data.
+        if(this.signatureProvider != null) {
+            uploadLinkObject.signEnvelope(this.certificateProvider, this.signatureProvider);
+        }
+
+        // And perform the web-call
+        return this.exchange("POST", UPLOAD_LINK_INTERFACE_PATH, Map.of(), uploadLinkObject, UploadLinkResponseObject.class);
+    }
+
+    /**
+     * Collects the common filtering query parameters of the Get and Get
+     * Summary interfaces.
+     *
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the query parameters map
+     */
+    private Map<String, Object> filterParams(ContainerTypeEnum containerType,
+                                             SECOM_DataProductType dataProductType,
+                                             String productVersion,
+                                             String geometry,
+                                             String unlocode,
+                                             Instant validFrom,
+                                             Instant validTo,
+                                             Integer page,
+                                             Integer pageSize) {
+        final Map<String, Object> queryParams = new LinkedHashMap<>();
+        queryParams.put("containerType", Optional.ofNullable(containerType).map(ContainerTypeEnum::getValue).orElse(null));
+        queryParams.put("dataProductType", Optional.ofNullable(dataProductType).map(SECOM_DataProductType::name).orElse(null));
+        queryParams.put("productVersion", productVersion);
+        queryParams.put("geometry", geometry);
+        queryParams.put("unlocode", unlocode);
+        queryParams.put("validFrom", Optional.ofNullable(validFrom).map(SECOM_DATE_TIME_CODEC::format).orElse(null));
+        queryParams.put("validTo", Optional.ofNullable(validTo).map(SECOM_DATE_TIME_CODEC::format).orElse(null));
+        queryParams.put("page", page);
+        queryParams.put("pageSize", pageSize);
+        return queryParams;
+    }
+
+    /**
+     * Performs a JSON exchange with the SECOM service, i.e. the request body
+     * (if any) is serialised into JSON and the response is deserialised into
+     * the provided class.
+     *
+     * @param method        the HTTP method
+     * @param path          the SECOM interface path
+     * @param queryParams   the query parameters, where null values are ignored
+     * @param body          the request body, or null if none
+     * @param responseClass the response class
+     * @return the deserialised response, if any
+     * @param <T> the response class type
+     */
+    protected <T> Optional<T> exchange(String method, String path, Map<String, Object> queryParams, Object body, Class<T> responseClass) {
+        final byte[] response = this.send(method, path, queryParams, body, "application/json");
+        if(response == null || response.length == 0) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(this.objectMapper.readValue(response, responseClass));
+        } catch (IOException ex) {
+            throw new SecomClientException("Failed to parse the SECOM response: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Sends a request to the SECOM service and returns the raw response
+     * body. Non-successful responses are raised as SECOM client exceptions.
+     *
+     * @param method        the HTTP method
+     * @param path          the SECOM interface path
+     * @param queryParams   the query parameters, where null values are ignored
+     * @param body          the request body, or null if none
+     * @param accept        the accepted response media type
+     * @return the raw response body
+     */
+    protected byte[] send(String method, String path, Map<String, Object> queryParams, Object body, String accept) {
+        // Build the request
+        final HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
+                .uri(this.buildUri(path, queryParams))
+                .header("Accept", accept);
+        Optional.ofNullable(this.requestTimeout).ifPresent(requestBuilder::timeout);
+        try {
+            if(body != null) {
+                requestBuilder.header("Content-Type", "application/json")
+                        .method(method, HttpRequest.BodyPublishers.ofByteArray(this.objectMapper.writeValueAsBytes(body)));
+            } else {
+                requestBuilder.method(method, HttpRequest.BodyPublishers.noBody());
+            }
+
+            // Perform the call and handle the response
+            final HttpResponse<byte[]> response = this.httpClient.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if(response.statusCode() < 200 || response.statusCode() >= 300) {
+                throw new SecomClientException(
+                        String.format("SECOM service responded with status %d for %s %s", response.statusCode(), method, path),
+                        response.statusCode(),
+                        Optional.ofNullable(response.body()).map(b -> new String(b, StandardCharsets.UTF_8)).orElse(null));
+            }
+            return response.body();
+        } catch (IOException ex) {
+            throw new SecomClientException(String.format("SECOM request %s %s failed: %s", method, path, ex.getMessage()), ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SecomClientException(String.format("SECOM request %s %s was interrupted", method, path), ex);
+        }
+    }
+
+    /**
+     * Builds the full URI for the provided SECOM interface path and query
+     * parameters. Any null query parameters are skipped.
+     *
+     * @param path          the SECOM interface path
+     * @param queryParams   the query parameters
+     * @return the full request URI
+     */
+    protected URI buildUri(String path, Map<String, Object> queryParams) {
+        final String query = Optional.ofNullable(queryParams)
+                .orElse(Collections.emptyMap())
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getValue() != null)
+                .map(entry -> URLEncoder.encode(entry.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(String.valueOf(entry.getValue()), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        return URI.create(this.baseUrl + path + (query.isEmpty() ? "" : "?" + query));
+    }
+
+}
@@ -28,7 +28,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_FORMATTER;
+import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_CODEC;
 
 /**
  * The Instant To S-100 Format Converter Provider.
@@ -72,7 +72,7 @@ public class InstantToS100ConverterProvider implements ParamConverterProvider {
         public Instant fromString(String value) {
             if (value == null || value.isEmpty()) return null;
             try {
-                return Instant.from(SECOM_DATE_TIME_FORMATTER.parse(value));
+                return SECOM_DATE_TIME_CODEC.parse(value);
             } catch (Exception ex) { // Direct to BAD_REQUEST
                 throw new SecomValidationException(ex.getMessage());
             }
@@ -87,7 +87,7 @@ public class InstantToS100ConverterProvider implements ParamConverterProvider {
         public String toString(Instant value) {
             if (value == null) return "";
             try {
-                return SECOM_DATE_TIME_FORMATTER.format(value);
+                return SECOM_DATE_TIME_CODEC.format(value);
             } catch (Exception ex) { // Direct to BAD_REQUEST
                 throw new SecomValidationException(ex.getMessage());
             }
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.components;
+
+import org.grad.secom.core.base.SecomConstants;
+import org.grad.secom.core.exceptions.SecomPayloadTooLargeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The SECOM Request Body Reader.
+ * <p/>
+ * A shared reader for the bodies of the incoming SECOM requests, which need
+ * to be fully read by the SECOM filters and interceptors before they can be
+ * processed. Instead of reading everything in memory and validating later,
+ * the declared Content-Length is checked up front, and the body is read in a
+ * growable buffer only up to a maximum size. As soon as the limit is
+ * exceeded, a {@link SecomPayloadTooLargeException} is thrown, which is then
+ * translated into the validation error response of the respective SECOM
+ * interface.
+ * <p/>
+ * The maximum size can be configured per SECOM interface path, with a
+ * default applying to all other paths.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomRequestBodyReader {
+
+    /**
+     * The default maximum request body size in bytes. SECOM limits the data
+     * payloads to MAX_PAYLOAD_SIZE_IN_KB, but these are transmitted Base64
+     * encoded and together with their envelopes and signatures, so some
+     * headroom is allowed.
+     */
+    public static final int DEFAULT_MAX_BODY_SIZE = 2 * SecomConstants.MAX_PAYLOAD_SIZE_IN_KB * 1024;
+
+    /**
+     * The initial buffer size when the body length is not known.
+     */
+    public static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
+    // Class Variables
+    private final int defaultMaxBodySize;
+    private final Map<String, Integer> interfaceMaxBodySizes;
+
+    /**
+     * The Class Constructor, using the default maximum body size for all
+     * SECOM interfaces.
+     */
+    public SecomRequestBodyReader() {
+        this(DEFAULT_MAX_BODY_SIZE, Map.of());
+    }
+
+    /**
+     * The Class Constructor.
+     *
+     * @param defaultMaxBodySize    The default maximum body size in bytes
+     * @param interfaceMaxBodySizes The maximum body sizes in bytes per SECOM interface path
+     */
+    public SecomRequestBodyReader(int defaultMaxBodySize, Map<String, Integer> interfaceMaxBodySizes) {
+        this.defaultMaxBodySize = defaultMaxBodySize;
+        this.interfaceMaxBodySizes = Optional.ofNullable(interfaceMaxBodySizes)
+                .map(Map::copyOf)
+                .orElse(Map.of());
+    }
+
+    /**
+     * Returns the maximum body size in bytes for the provided request path.
+     * The longest matching SECOM interface path is used, so for example the
+     * upload link requests are not matched by the upload interface path.
+     *
+     * @param path  The request path
+     * @return the maximum body size in bytes
+     */
+    public int getMaxBodySize(String path) {
+        return Optional.ofNullable(path)
+                .flatMap(p -> this.interfaceMaxBodySizes.entrySet()
+                        .stream()
+                        .filter(entry -> p.endsWith(entry.getKey()))
+                        .max(Comparator.comparingInt(entry -> entry.getKey().length())))
+                .map(Map.Entry::getValue)
+                .orElse(this.defaultMaxBodySize);
+    }
+
+    /**
+     * Reads the request body from the provided input stream, enforcing the
+     * maximum body size of the provided request path.
+     *
+     * @param is            The request input stream
+     * @param contentLength The declared content length, or a negative value if unknown
+     * @param path          The request path
+     * @return the request body
+     * @throws IOException for any IO exceptions while reading the data
+     * @throws SecomPayloadTooLargeException if the request body exceeds the maximum size
+     */
+    public byte[] read(InputStream is, long contentLength, String path) throws IOException {
+        final int maxBodySize = this.getMaxBodySize(path);
+
+        // Reject early if the declared length is already too large
+        if(contentLength > maxBodySize) {
+            throw new SecomPayloadTooLargeException(String.format("The request body of %d bytes exceeds the maximum of %d bytes", contentLength, maxBodySize));
+        }
+
+        // Size the buffer based on the declared length if available
+        byte[] buffer = new byte[contentLength >= 0 ? (int) contentLength : Math.min(INITIAL_BUFFER_SIZE, maxBodySize)];
+        int length = 0;
+        while(true) {
+            // When the buffer is full, check whether there is actually more
+            // data before growing it, but never beyond the limit
+            if(length == buffer.length) {
+                final int next = is.read();
+                if(next < 0) {
+                    break;
+                }
+                if(length >= maxBodySize) {
+                    throw new SecomPayloadTooLargeException(String.format("The request body exceeds the maximum of %d bytes", maxBodySize));
+                }
+                buffer = Arrays.copyOf(buffer, (int) Math.min(Math.max(2L * buffer.length, INITIAL_BUFFER_SIZE), maxBodySize));
+                buffer[length++] = (byte) next;
+                continue;
+            }
+            final int read = is.read(buffer, length, buffer.length - length);
+            if(read < 0) {
+                break;
+            }
+            length += read;
+        }
+
+        // Return the data read
+        return length == buffer.length ? buffer : Arrays.copyOf(buffer, length);
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.grad.secom.core.models.AbstractStreamingResponse;
+
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.WebApplicationException;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.Providers;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * The SECOM Streaming Response Writer.
+ * <p>
+ * This JAX-RS message body writer is able to serialise the SECOM streaming
+ * response objects, i.e. the ones extending the
+ * {@link AbstractStreamingResponse} class. Instead of building the whole
+ * response in memory, the items are written onto the output stream one by
+ * one as they are supplied by the handler, which improves the time to first
+ * byte and keeps the memory usage flat for large pages.
+ * </p>
+ * <p>
+ * Any per-item processing, like signing, encryption and compression, is
+ * registered onto the streaming response by the {@link SecomWriterInterceptor}
+ * before this writer is invoked.
+ * </p>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Provider
+@Produces(MediaType.APPLICATION_JSON)
+public class SecomStreamingResponseWriter implements MessageBodyWriter<AbstractStreamingResponse<?>> {
+
+    /**
+     * The JAX-RS Providers Context.
+     */
+    @Context
+    Providers providers;
+
+    /**
+     * Checks whether the provided type can be written by this writer.
+     *
+     * @param type          the class of the instance to be written
+     * @param genericType   the type of the instance to be written
+     * @param annotations   the annotations on the resource method
+     * @param mediaType     the media type of the HTTP entity
+     * @return whether the type can be written
+     */
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return AbstractStreamingResponse.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Writes the streaming response onto the entity output stream.
+     *
+     * @param streamingResponse the streaming response to be written
+     * @param type              the class of the instance to be written
+     * @param genericType       the type of the instance to be written
+     * @param annotations       the annotations on the resource method
+     * @param mediaType         the media type of the HTTP entity
+     * @param httpHeaders       the mutable map of the HTTP message headers
+     * @param entityStream      the output stream for the HTTP entity
+     * @throws IOException for any IO exceptions while writing
+     * @throws WebApplicationException for web-application failures
+     */
+    @Override
+    public void writeTo(AbstractStreamingResponse<?> streamingResponse,
+                        Class<?> type,
+                        Type genericType,
+                        Annotation[] annotations,
+                        MediaType mediaType,
+                        MultivaluedMap<String, Object> httpHeaders,
+                        OutputStream entityStream) throws IOException, WebApplicationException {
+        // Get the JAX-RS registered object mapper, or fallback to the default one
+        final ObjectMapper objectMapper = Optional.ofNullable(this.providers)
+                .map(p -> p.getContextResolver(ObjectMapper.class, mediaType))
+                .map(resolver -> resolver.getContext(type))
+                .orElseGet(SecomObjectMapperProvider::newDefaultObjectMapper);
+
+        // And stream the response
+        streamingResponse.writeTo(objectMapper, entityStream);
+    }
+
+}
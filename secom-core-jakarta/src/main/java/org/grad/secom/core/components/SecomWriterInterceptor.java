@@ -17,6 +17,7 @@
 package org.grad.secom.core.components;
 
 import org.grad.secom.core.base.*;
+import org.grad.secom.core.models.AbstractStreamingResponse;
 
 import jakarta.ws.rs.WebApplicationException;
 import jakarta.ws.rs.ext.Provider;
@@ -33,6 +34,7 @@ import java.util.Base64;
  * to SECOM is supported for the following message types:
  * <ul>
  *     <il>GetResponseObject</il>
+ *     <il>StreamingGetResponseObject</il>
  *     <il>GetByLink</il>
  * </ul>
  * </p>
@@ -104,6 +106,22 @@ public class SecomWriterInterceptor implements WriterInterceptor {
                     .compressData(this.compressionProvider)
                     .encodeData();
         }
+        /*
+         * For streaming responses the same operations are registered to be
+         * performed on each item while it is being written:
+         *  1. StreamingGetResponseObject
+         */
+        else if (entity instanceof AbstractStreamingResponse<?> streamingResponse) {
+            streamingResponse.peek(item -> {
+                if (item instanceof DigitalSignatureBearer digitalSignatureBearer) {
+                    digitalSignatureBearer.prepareMetadata(this.signatureProvider)
+                            .signData(this.certificateProvider, this.signatureProvider)
+                            .encryptData(this.encryptionProvider)
+                            .compressData(this.compressionProvider)
+                            .encodeData();
+                }
+            });
+        }
         /*
          * For plain binary data, we can also try to encrypt and compress if
          * possible. This can be used in the following cases:
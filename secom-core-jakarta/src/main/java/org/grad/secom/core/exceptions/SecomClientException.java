@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.exceptions;
+
+/**
+ * The SECOM Client Exception Class.
+ * <p/>
+ * Raised by the SECOM clients when a SECOM service responds with an error
+ * status, or when the communication with the service fails altogether.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomClientException extends SecomGenericException {
+
+    // Class Variables
+    private final int statusCode;
+    private final String responseBody;
+
+    /**
+     * Class Constructor.
+     *
+     * @param message       the exception message
+     */
+    public SecomClientException(String message) {
+        this(message, -1, null);
+    }
+
+    /**
+     * Class Constructor, for failures where no response was received.
+     *
+     * @param message       the exception message
+     * @param cause         the cause of the exception
+     */
+    public SecomClientException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = -1;
+        this.responseBody = null;
+    }
+
+    /**
+     * Class Constructor.
+     *
+     * @param message       the exception message
+     * @param statusCode    the HTTP status code of the response
+     * @param responseBody  the body of the response
+     */
+    public SecomClientException(String message, int statusCode, String responseBody) {
+        super(message);
+        this.statusCode = statusCode;
+        this.responseBody = responseBody;
+    }
+
+    /**
+     * Gets status code, or -1 if no response was received.
+     *
+     * @return the status code
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets response body.
+     *
+     * @return the response body
+     */
+    public String getResponseBody() {
+        return responseBody;
+    }
+
+}
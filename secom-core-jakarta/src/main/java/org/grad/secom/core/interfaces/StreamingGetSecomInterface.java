@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.interfaces;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.grad.secom.core.base.SecomV1Param;
+import org.grad.secom.core.models.GetResponseObject;
+import org.grad.secom.core.models.StreamingGetResponseObject;
+import org.grad.secom.core.models.enums.ContainerTypeEnum;
+import org.grad.secom.core.models.enums.SECOM_DataProductType;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.grad.secom.core.interfaces.GetSecomInterface.GET_INTERFACE_PATH;
+
+/**
+ * The SECOM Streaming Get Interface Definition.
+ * </p>
+ * This is an alternative definition of the {@link GetSecomInterface} where
+ * the implementing services can return the data response objects lazily,
+ * through a {@link StreamingGetResponseObject}. The response is written onto
+ * the output incrementally, while the signing, encryption and compression
+ * takes place per item. A service should implement either this or the
+ * {@link GetSecomInterface}, but not both.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface StreamingGetSecomInterface extends GenericSecomInterface {
+
+    /**
+     * GET /v1/object : The Get interface is used for pulling information from a
+     * service provider. The owner of the information (provider) is responsible
+     * for the authorization procedure before returning information.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the object information
+     */
+    @Path(GET_INTERFACE_PATH)
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = GetResponseObject.class)))
+    StreamingGetResponseObject get(@QueryParam("dataReference") UUID dataReference,
+                                   @QueryParam("containerType") @SecomV1Param ContainerTypeEnum containerType,
+                                   @QueryParam("dataProductType") @SecomV1Param SECOM_DataProductType dataProductType,
+                                   @QueryParam("productVersion") String productVersion,
+                                   @QueryParam("geometry") String geometry,
+                                   @QueryParam("unlocode") @Pattern(regexp = "[A-Z]{5}") String unlocode,
+                                   @QueryParam("validFrom") @Parameter(example = "20200101T123000", schema = @Schema(implementation = String.class, pattern = "(\\d{8})T(\\d{6})(Z|\\+\\d{4})?")) @SecomV1Param Instant validFrom,
+                                   @QueryParam("validTo") @Parameter(example = "20200101T123000", schema = @Schema(implementation = String.class, pattern = "(\\d{8})T(\\d{6})(Z|\\+\\d{4})?")) @SecomV1Param Instant validTo,
+                                   @QueryParam("page") @Min(1) Integer page,
+                                   @QueryParam("pageSize") @Min(0) Integer pageSize);
+
+}
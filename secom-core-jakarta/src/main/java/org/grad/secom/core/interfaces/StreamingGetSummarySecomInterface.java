@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.interfaces;
+
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.grad.secom.core.base.SecomV1Param;
+import org.grad.secom.core.models.GetSummaryResponseObject;
+import org.grad.secom.core.models.StreamingGetSummaryResponseObject;
+import org.grad.secom.core.models.enums.ContainerTypeEnum;
+import org.grad.secom.core.models.enums.SECOM_DataProductType;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import java.time.Instant;
+
+import static org.grad.secom.core.interfaces.GetSummarySecomInterface.GET_SUMMARY_INTERFACE_PATH;
+
+/**
+ * The SECOM Streaming Get Summary Interface Definition.
+ * </p>
+ * This is an alternative definition of the {@link GetSummarySecomInterface}
+ * where the implementing services can return the summary objects lazily,
+ * through a {@link StreamingGetSummaryResponseObject}. The response is written
+ * onto the output incrementally, so the whole summary list never needs to be
+ * held in memory. A service should implement either this or the
+ * {@link GetSummarySecomInterface}, but not both.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public interface StreamingGetSummarySecomInterface extends GenericSecomInterface {
+
+    /**
+     * GET /v1/object/summary :  A list of information shall be returned from
+     * this interface. The summary contains identity, status and short
+     * description of each information object. The actual information object
+     * shall be retrieved using the Get interface.
+     *
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the summary response object
+     */
+    @Path(GET_SUMMARY_INTERFACE_PATH)
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON, schema = @Schema(implementation = GetSummaryResponseObject.class)))
+    StreamingGetSummaryResponseObject getSummary(@QueryParam("containerType") @SecomV1Param ContainerTypeEnum containerType,
+                                                 @QueryParam("dataProductType") @SecomV1Param SECOM_DataProductType dataProductType,
+                                                 @QueryParam("productVersion") String productVersion,
+                                                 @QueryParam("geometry") String geometry,
+                                                 @QueryParam("unlocode") @Pattern(regexp = "[A-Z]{5}") String unlocode,
+                                                 @QueryParam("validFrom") @Parameter(example = "20200101T123000", schema = @Schema(implementation = String.class, pattern = "(\\d{8})T(\\d{6})(Z|\\+\\d{4})?")) @SecomV1Param Instant validFrom,
+                                                 @QueryParam("validTo") @Parameter(example = "20200101T123000", schema = @Schema(implementation = String.class, pattern = "(\\d{8})T(\\d{6})(Z|\\+\\d{4})?")) @SecomV1Param Instant validTo,
+                                                 @QueryParam("page") @Min(1) Integer page,
+                                                 @QueryParam("pageSize") @Min(0) Integer pageSize);
+
+}
@@ -17,12 +17,14 @@
 package org.grad.secom.core.utils;
 
 import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
 import javax.net.ssl.TrustManagerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
@@ -117,4 +119,36 @@ public class KeyStoreUtils {
         return trustManagerFactory;
     }
 
+    /**
+     * Initialises a TLS SSLContext object using the specified key-store and
+     * trust-store. Either of those can be omitted, in which case the default
+     * key and trust managers of the JVM will be used instead.
+     *
+     * @param keystore              The location of the keystore to be loaded
+     * @param keystorePassword      The password for the keystore to be loaded
+     * @param keystoreType          The type of the keystore to be loaded
+     * @param truststore            The location of the truststore to be loaded
+     * @param truststorePassword    The password for the truststore to be loaded
+     * @param truststoreType        The type of the truststore to be loaded
+     * @return the initialised SSLContext object
+     * @throws GeneralSecurityException When the key or trust stores fail to initialise
+     * @throws IOException When the key or trust store data cannot be loaded
+     */
+    public static SSLContext getSSLContext(String keystore,
+                                           String keystorePassword,
+                                           String keystoreType,
+                                           String truststore,
+                                           String truststorePassword,
+                                           String truststoreType) throws GeneralSecurityException, IOException {
+        final KeyManagerFactory keyManagerFactory = (keystore != null && keystorePassword != null) ?
+                getKeyManagerFactory(keystore, keystorePassword, keystoreType, null) : null;
+        final TrustManagerFactory trustManagerFactory = (truststore != null && truststorePassword != null) ?
+                getTrustManagerFactory(truststore, truststorePassword, truststoreType, null) : null;
+        final SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(Optional.ofNullable(keyManagerFactory).map(KeyManagerFactory::getKeyManagers).orElse(null),
+                Optional.ofNullable(trustManagerFactory).map(TrustManagerFactory::getTrustManagers).orElse(null),
+                null);
+        return sslContext;
+    }
+
 }
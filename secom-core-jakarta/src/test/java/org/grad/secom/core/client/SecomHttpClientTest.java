@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JSR310Module;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.grad.secom.core.components.SecomObjectMapperProvider;
+import org.grad.secom.core.exceptions.SecomClientException;
+import org.grad.secom.core.models.GetSummaryResponseObject;
+import org.grad.secom.core.models.PingResponseObject;
+import org.grad.secom.core.models.RemoveSubscriptionObject;
+import org.grad.secom.core.models.RemoveSubscriptionResponseObject;
+import org.grad.secom.core.models.enums.ContainerTypeEnum;
+import org.grad.secom.core.models.enums.SECOM_DataProductType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.grad.secom.core.interfaces.GetSummarySecomInterface.GET_SUMMARY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.PingSecomInterface.PING_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.RemoveSubscriptionSecomInterface.REMOVE_SUBSCRIPTION_INTERFACE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomHttpClientTest {
+
+    // Test Parameters
+    HttpServer server;
+    SecomHttpClient secomHttpClient;
+    AtomicReference<String> lastMethod;
+    AtomicReference<URI> lastUri;
+    AtomicReference<String> lastBody;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.lastMethod = new AtomicReference<>();
+        this.lastUri = new AtomicReference<>();
+        this.lastBody = new AtomicReference<>();
+
+        // Start a local server to respond to the SECOM requests
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/api/secom" + PING_INTERFACE_PATH, exchange ->
+                this.respond(exchange, 200, "{\"lastPrivateInteractionTime\":\"20230101T120000Z\"}"));
+        this.server.createContext("/api/secom" + GET_SUMMARY_INTERFACE_PATH, exchange ->
+                this.respond(exchange, 200, "{\"summaryObject\":[],\"responseText\":\"OK\"}"));
+        this.server.createContext("/api/secom" + REMOVE_SUBSCRIPTION_INTERFACE_PATH, exchange ->
+                this.respond(exchange, 400, "Bad subscription"));
+        this.server.start();
+
+        // Create a client pointing to the local server
+        final ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JSR310Module());
+        final URI url = URI.create("http://localhost:" + this.server.getAddress().getPort() + "/api/secom/");
+        this.secomHttpClient = new SecomHttpClient(url, SecomHttpClient.newHttpClient(null), mapper);
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Test that simple GET requests are performed and parsed correctly.
+     */
+    @Test
+    void testPing() {
+        final Optional<PingResponseObject> result = this.secomHttpClient.ping();
+
+        assertEquals("GET", this.lastMethod.get());
+        assertEquals("/api/secom" + PING_INTERFACE_PATH, this.lastUri.get().getPath());
+        assertNull(this.lastUri.get().getQuery());
+        assertTrue(result.isPresent());
+        assertEquals(Instant.parse("2023-01-01T12:00:00Z"), result.get().getLastPrivateInteractionTime());
+    }
+
+    /**
+     * Test that a client using the SECOM object mapper provider shares the
+     * object mapper of the provider.
+     */
+    @Test
+    void testObjectMapperProvider() {
+        final SecomObjectMapperProvider objectMapperProvider = new SecomObjectMapperProvider();
+        final SecomHttpClient client = new SecomHttpClient(URI.create("http://localhost:" + this.server.getAddress().getPort() + "/api/secom/"), null, objectMapperProvider);
+
+        final Optional<PingResponseObject> result = client.ping();
+
+        assertTrue(result.isPresent());
+        assertEquals(Instant.parse("2023-01-01T12:00:00Z"), result.get().getLastPrivateInteractionTime());
+    }
+
+    /**
+     * Test that the query parameters are encoded correctly, skipping the ones
+     * that are not provided.
+     */
+    @Test
+    void testGetSummaryQueryParams() {
+        final Optional<GetSummaryResponseObject> result = this.secomHttpClient.getSummary(
+                ContainerTypeEnum.S100_DataSet,
+                SECOM_DataProductType.S125,
+                null,
+                "POINT (1 51)",
+                null,
+                Instant.parse("2023-01-01T00:00:00Z"),
+                null,
+                0,
+                100);
+
+        assertEquals("GET", this.lastMethod.get());
+        assertEquals("containerType=0&dataProductType=S125&geometry=POINT+%281+51%29&validFrom=20230101T000000Z&page=0&pageSize=100",
+                this.lastUri.get().getRawQuery());
+        assertTrue(result.isPresent());
+        assertEquals("OK", result.get().getResponseText());
+        assertTrue(result.get().getSummaryObject().isEmpty());
+    }
+
+    /**
+     * Test that unsuccessful responses are raised as SECOM client exceptions,
+     * and that the request bodies are sent even for DELETE requests.
+     */
+    @Test
+    void testErrorResponse() {
+        final RemoveSubscriptionObject removeSubscriptionObject = new RemoveSubscriptionObject();
+        removeSubscriptionObject.setSubscriptionIdentifier(UUID.randomUUID());
+
+        final SecomClientException ex = assertThrows(SecomClientException.class, () ->
+                this.secomHttpClient.removeSubscription(removeSubscriptionObject));
+
+        assertEquals("DELETE", this.lastMethod.get());
+        assertTrue(this.lastBody.get().contains(removeSubscriptionObject.getSubscriptionIdentifier().toString()));
+        assertEquals(400, ex.getStatusCode());
+        assertEquals("Bad subscription", ex.getResponseBody());
+    }
+
+    /**
+     * Test that connection failures are raised as SECOM client exceptions
+     * without a status code, but with the original failure as their cause.
+     */
+    @Test
+    void testConnectionFailure() {
+        this.server.stop(0);
+
+        final SecomClientException ex = assertThrows(SecomClientException.class, () -> this.secomHttpClient.ping());
+        assertEquals(-1, ex.getStatusCode());
+        assertInstanceOf(IOException.class, ex.getCause());
+    }
+
+    /**
+     * Test that unparseable responses are raised as SECOM client exceptions,
+     * with the parsing failure as their cause.
+     */
+    @Test
+    void testParsingFailure() {
+        this.server.removeContext("/api/secom" + PING_INTERFACE_PATH);
+        this.server.createContext("/api/secom" + PING_INTERFACE_PATH, exchange ->
+                this.respond(exchange, 200, "{\"lastPrivateInteractionTime\":"));
+
+        final SecomClientException ex = assertThrows(SecomClientException.class, () -> this.secomHttpClient.ping());
+        assertInstanceOf(IOException.class, ex.getCause());
+    }
+
+    /**
+     * A helper function to record the incoming request and respond with the
+     * provided status and body.
+     *
+     * @param exchange  the HTTP exchange
+     * @param status    the response status
+     * @param body      the response body
+     * @throws IOException for any IO exceptions while responding
+     */
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        this.lastMethod.set(exchange.getRequestMethod());
+        this.lastUri.set(exchange.getRequestURI());
+        this.lastBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+        final byte[] response = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, response.length);
+        try(OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+
+}
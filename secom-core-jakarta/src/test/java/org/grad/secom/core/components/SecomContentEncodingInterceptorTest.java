@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.components;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedHashMap;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.WriterInterceptorContext;
+import org.grad.secom.core.models.DataResponseObject;
+import org.grad.secom.core.models.GetResponseObject;
+import org.grad.secom.core.models.SECOM_ExchangeMetadataObject;
+import org.grad.secom.core.models.SummaryObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecomContentEncodingInterceptorTest {
+
+    // Test Parameters
+    SecomContentEncodingInterceptor contentEncodingInterceptor;
+    HttpServletRequest request;
+    WriterInterceptorContext ctx;
+    MultivaluedMap<String, Object> headers;
+    AtomicReference<OutputStream> outputStream;
+    ByteArrayOutputStream target;
+    byte[] body;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.contentEncodingInterceptor = new SecomContentEncodingInterceptor(100);
+        this.request = mock(HttpServletRequest.class);
+        this.contentEncodingInterceptor.request = this.request;
+
+        // Mock a writer interceptor context writing the body into the current stream
+        this.body = String.join(",", Collections.nCopies(100, "{\"dataReference\":\"repeated\"}")).getBytes();
+        this.headers = new MultivaluedHashMap<>();
+        this.target = new ByteArrayOutputStream();
+        this.outputStream = new AtomicReference<>(this.target);
+        this.ctx = mock(WriterInterceptorContext.class);
+        doReturn(new SummaryObject()).when(this.ctx).getEntity();
+        doReturn(MediaType.APPLICATION_JSON_TYPE).when(this.ctx).getMediaType();
+        doReturn(this.headers).when(this.ctx).getHeaders();
+        doAnswer(inv -> this.outputStream.get()).when(this.ctx).getOutputStream();
+        doAnswer(inv -> { this.outputStream.set(inv.getArgument(0)); return null; }).when(this.ctx).setOutputStream(any());
+    }
+
+    /**
+     * Test that the content encoding is negotiated correctly based on the
+     * Accept-Encoding header values.
+     */
+    @Test
+    void testNegotiateEncoding() {
+        assertEquals("gzip", SecomContentEncodingInterceptor.negotiateEncoding("gzip, deflate, br"));
+        assertEquals("gzip", SecomContentEncodingInterceptor.negotiateEncoding("deflate, gzip"));
+        assertEquals("deflate", SecomContentEncodingInterceptor.negotiateEncoding("gzip;q=0.5, deflate"));
+        assertEquals("deflate", SecomContentEncodingInterceptor.negotiateEncoding("gzip;q=0, deflate;q=0.1"));
+        assertEquals("gzip", SecomContentEncodingInterceptor.negotiateEncoding("*"));
+        assertNull(SecomContentEncodingInterceptor.negotiateEncoding("br, identity"));
+        assertNull(SecomContentEncodingInterceptor.negotiateEncoding("gzip;q=0"));
+        assertNull(SecomContentEncodingInterceptor.negotiateEncoding(""));
+        assertNull(SecomContentEncodingInterceptor.negotiateEncoding(null));
+    }
+
+    /**
+     * Test that the responses above the minimum size are gzip encoded.
+     */
+    @Test
+    void testAroundWriteToGzip() throws IOException {
+        doReturn("gzip, deflate").when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+        doAnswer(inv -> { this.outputStream.get().write(this.body); return null; }).when(this.ctx).proceed();
+
+        this.contentEncodingInterceptor.aroundWriteTo(this.ctx);
+
+        assertEquals("gzip", this.headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(HttpHeaders.ACCEPT_ENCODING, this.headers.getFirst(HttpHeaders.VARY));
+        assertTrue(this.target.size() < this.body.length);
+        assertArrayEquals(this.body, new GZIPInputStream(new ByteArrayInputStream(this.target.toByteArray())).readAllBytes());
+        assertSame(this.target, this.outputStream.get());
+    }
+
+    /**
+     * Test that the responses above the minimum size are deflate encoded,
+     * even when written byte by byte.
+     */
+    @Test
+    void testAroundWriteToDeflate() throws IOException {
+        doReturn("deflate").when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+        doAnswer(inv -> {
+            for(byte b : this.body) {
+                this.outputStream.get().write(b);
+            }
+            return null;
+        }).when(this.ctx).proceed();
+
+        this.contentEncodingInterceptor.aroundWriteTo(this.ctx);
+
+        assertEquals("deflate", this.headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(this.body, new InflaterInputStream(new ByteArrayInputStream(this.target.toByteArray())).readAllBytes());
+    }
+
+    /**
+     * Test that the encoding streams are closed without closing the target
+     * output stream, for both of the supported encodings.
+     */
+    @Test
+    void testAroundWriteToKeepsTargetOpen() throws IOException {
+        doAnswer(inv -> { this.outputStream.get().write(this.body); return null; }).when(this.ctx).proceed();
+
+        for(String encoding : List.of("gzip", "deflate")) {
+            final ByteArrayOutputStream target = spy(new ByteArrayOutputStream());
+            this.outputStream.set(target);
+            this.headers.clear();
+            doReturn(encoding).when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+
+            this.contentEncodingInterceptor.aroundWriteTo(this.ctx);
+
+            assertEquals(encoding, this.headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+            final ByteArrayInputStream encoded = new ByteArrayInputStream(target.toByteArray());
+            assertArrayEquals(this.body, (encoding.equals("gzip") ? new GZIPInputStream(encoded) : new InflaterInputStream(encoded)).readAllBytes());
+            verify(target, never()).close();
+            assertSame(target, this.outputStream.get());
+        }
+    }
+
+    /**
+     * Test that the encoding stream is released when writing the response
+     * fails, without closing the target output stream.
+     */
+    @Test
+    void testAroundWriteToFailure() throws IOException {
+        final ByteArrayOutputStream target = spy(new ByteArrayOutputStream());
+        this.outputStream.set(target);
+        doReturn("gzip").when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+        doAnswer(inv -> {
+            this.outputStream.get().write(this.body);
+            throw new IOException("Serialisation failure");
+        }).when(this.ctx).proceed();
+
+        final IOException ex = assertThrows(IOException.class, () -> this.contentEncodingInterceptor.aroundWriteTo(this.ctx));
+
+        assertEquals("Serialisation failure", ex.getMessage());
+        verify(target, never()).close();
+        assertSame(target, this.outputStream.get());
+    }
+
+    /**
+     * Test that the responses below the minimum size are not encoded.
+     */
+    @Test
+    void testAroundWriteToBelowMinSize() throws IOException {
+        doReturn("gzip").when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+        doAnswer(inv -> { this.outputStream.get().write(this.body, 0, 50); return null; }).when(this.ctx).proceed();
+
+        this.contentEncodingInterceptor.aroundWriteTo(this.ctx);
+
+        assertFalse(this.headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(50, this.target.size());
+    }
+
+    /**
+     * Test that the responses are not encoded when no supported encoding is
+     * accepted, or when the response is not JSON.
+     */
+    @Test
+    void testAroundWriteToNotAccepted() throws IOException {
+        doAnswer(inv -> { this.outputStream.get().write(this.body); return null; }).when(this.ctx).proceed();
+
+        doReturn("br").when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+        this.contentEncodingInterceptor.aroundWriteTo(this.ctx);
+        assertFalse(this.headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(this.body, this.target.toByteArray());
+
+        this.target.reset();
+        doReturn("gzip").when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+        doReturn(MediaType.APPLICATION_OCTET_STREAM_TYPE).when(this.ctx).getMediaType();
+        this.contentEncodingInterceptor.aroundWriteTo(this.ctx);
+        assertFalse(this.headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(this.body, this.target.toByteArray());
+    }
+
+    /**
+     * Test that the responses carrying data payloads already compressed by
+     * SECOM are not encoded again.
+     */
+    @Test
+    void testAroundWriteToCompressedPayload() throws IOException {
+        final SECOM_ExchangeMetadataObject exchangeMetadata = new SECOM_ExchangeMetadataObject();
+        exchangeMetadata.setCompressionFlag(Boolean.TRUE);
+        final DataResponseObject dataResponseObject = new DataResponseObject();
+        dataResponseObject.setExchangeMetadata(exchangeMetadata);
+        final GetResponseObject getResponseObject = new GetResponseObject();
+        getResponseObject.setDataResponseObject(List.of(dataResponseObject));
+        doReturn(getResponseObject).when(this.ctx).getEntity();
+        doReturn("gzip").when(this.request).getHeader(HttpHeaders.ACCEPT_ENCODING);
+        doAnswer(inv -> { this.outputStream.get().write(this.body); return null; }).when(this.ctx).proceed();
+
+        this.contentEncodingInterceptor.aroundWriteTo(this.ctx);
+
+        assertFalse(this.headers.containsKey(HttpHeaders.CONTENT_ENCODING));
+        assertArrayEquals(this.body, this.target.toByteArray());
+
+        exchangeMetadata.setCompressionFlag(Boolean.FALSE);
+        assertFalse(SecomContentEncodingInterceptor.hasCompressedPayload(getResponseObject));
+        assertFalse(SecomContentEncodingInterceptor.hasCompressedPayload(new GetResponseObject()));
+    }
+
+}
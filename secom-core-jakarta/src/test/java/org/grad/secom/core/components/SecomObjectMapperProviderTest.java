@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.grad.secom.core.models.AbstractEnvelope;
+import org.grad.secom.core.models.StreamingGetResponseObject;
+import org.grad.secom.core.models.SummaryObject;
+import org.grad.secom.core.models.enums.AckTypeEnum;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomObjectMapperProviderTest {
+
+    /**
+     * Test that every class of the SECOM models package is covered by the
+     * model classes warmed up by the provider.
+     */
+    @Test
+    void testModelClassesCoverModelsPackage() throws IOException {
+        final Set<String> modelClassNames = SecomObjectMapperProvider.SECOM_MODEL_CLASSES.stream()
+                .map(Class::getSimpleName)
+                .collect(Collectors.toSet());
+
+        // Go through the model sources of the module
+        final List<String> sourceClassNames;
+        try (Stream<Path> files = Files.list(Paths.get("src", "main", "java", "org", "grad", "secom", "core", "models"))) {
+            sourceClassNames = files.map(file -> file.getFileName().toString())
+                    .filter(fileName -> fileName.endsWith(".java"))
+                    .map(fileName -> fileName.substring(0, fileName.length() - ".java".length()))
+                    .toList();
+        }
+
+        assertFalse(sourceClassNames.isEmpty());
+        sourceClassNames.forEach(className -> assertTrue(modelClassNames.contains(className), "Model class " + className + " is not covered"));
+        assertEquals(sourceClassNames.size(), modelClassNames.size());
+        assertTrue(SecomObjectMapperProvider.SECOM_MODEL_CLASSES.contains(AbstractEnvelope.class));
+        assertTrue(SecomObjectMapperProvider.SECOM_MODEL_CLASSES.contains(StreamingGetResponseObject.class));
+        assertFalse(SecomObjectMapperProvider.SECOM_MODEL_CLASSES.contains(AckTypeEnum.class));
+    }
+
+    /**
+     * Test that the provider warms up and returns the provided object
+     * mapper, which can then serialise the SECOM models.
+     */
+    @Test
+    void testWarmUp() throws IOException {
+        final ObjectMapper objectMapper = SecomObjectMapperProvider.newDefaultObjectMapper();
+        final SecomObjectMapperProvider provider = new SecomObjectMapperProvider(objectMapper);
+
+        assertSame(objectMapper, provider.getContext(SummaryObject.class));
+        assertNull(SecomObjectMapperProvider.warmUp(null));
+        assertNotNull(objectMapper.readValue(objectMapper.writeValueAsBytes(new SummaryObject()), SummaryObject.class));
+    }
+
+}
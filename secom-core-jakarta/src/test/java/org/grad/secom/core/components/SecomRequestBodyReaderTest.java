@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.components;
+
+import org.grad.secom.core.exceptions.SecomPayloadTooLargeException;
+import org.grad.secom.core.exceptions.SecomValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+import static org.grad.secom.core.interfaces.UploadLinkSecomInterface.UPLOAD_LINK_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadSecomInterface.UPLOAD_INTERFACE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomRequestBodyReaderTest {
+
+    // Test Parameters
+    SecomRequestBodyReader requestBodyReader;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.requestBodyReader = new SecomRequestBodyReader(100, Map.of(
+                UPLOAD_INTERFACE_PATH, 1000,
+                UPLOAD_LINK_INTERFACE_PATH, 10));
+    }
+
+    /**
+     * Test that the maximum body sizes are correctly picked per interface.
+     */
+    @Test
+    void testGetMaxBodySize() {
+        assertEquals(1000, this.requestBodyReader.getMaxBodySize("/api/secom" + UPLOAD_INTERFACE_PATH));
+        assertEquals(10, this.requestBodyReader.getMaxBodySize("/api/secom" + UPLOAD_LINK_INTERFACE_PATH));
+        assertEquals(100, this.requestBodyReader.getMaxBodySize("/api/secom/v1/ping"));
+        assertEquals(100, this.requestBodyReader.getMaxBodySize(null));
+        assertEquals(SecomRequestBodyReader.DEFAULT_MAX_BODY_SIZE, new SecomRequestBodyReader().getMaxBodySize(UPLOAD_INTERFACE_PATH));
+    }
+
+    /**
+     * Test that request bodies within the limits are read correctly, both
+     * with and without a declared content length.
+     */
+    @Test
+    void testRead() throws IOException {
+        final byte[] body = new byte[1000];
+        for(int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+
+        assertArrayEquals(body, this.requestBodyReader.read(new ByteArrayInputStream(body), body.length, UPLOAD_INTERFACE_PATH));
+        assertArrayEquals(body, this.requestBodyReader.read(new ByteArrayInputStream(body), -1, UPLOAD_INTERFACE_PATH));
+        assertArrayEquals(new byte[0], this.requestBodyReader.read(new ByteArrayInputStream(new byte[0]), 0, UPLOAD_INTERFACE_PATH));
+    }
+
+    /**
+     * Test that request bodies declaring a length above the limit are
+     * rejected without reading any of the data.
+     */
+    @Test
+    void testReadDeclaredLengthTooLarge() {
+        final InputStream is = new InputStream() {
+            @Override
+            public int read() {
+                fail("The request body should not have been read");
+                return -1;
+            }
+        };
+
+        assertThrows(SecomPayloadTooLargeException.class, () -> this.requestBodyReader.read(is, 11, UPLOAD_LINK_INTERFACE_PATH));
+    }
+
+    /**
+     * Test that request bodies exceeding the limit are rejected, even if
+     * the declared length is missing or wrong.
+     */
+    @Test
+    void testReadActualLengthTooLarge() {
+        final byte[] body = new byte[1001];
+
+        assertThrows(SecomPayloadTooLargeException.class, () -> this.requestBodyReader.read(new ByteArrayInputStream(body), -1, UPLOAD_INTERFACE_PATH));
+        assertThrows(SecomPayloadTooLargeException.class, () -> this.requestBodyReader.read(new ByteArrayInputStream(body), 50, UPLOAD_INTERFACE_PATH));
+        assertThrows(SecomValidationException.class, () -> this.requestBodyReader.read(new ByteArrayInputStream(body), -1, "/v1/ping"));
+    }
+
+}
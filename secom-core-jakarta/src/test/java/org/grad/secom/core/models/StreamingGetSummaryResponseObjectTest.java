@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JSR310Module;
+import org.grad.secom.core.models.enums.ContainerTypeEnum;
+import org.grad.secom.core.models.enums.SECOM_DataProductType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingGetSummaryResponseObjectTest {
+
+    // Class Variables
+    private List<SummaryObject> summaryObjects;
+    private ObjectMapper mapper;
+
+    /**
+     * Set up some base data.
+     */
+    @BeforeEach
+    void setup() {
+        //Setup an object mapper
+        this.mapper = new ObjectMapper();
+        this.mapper.registerModule(new JSR310Module());
+
+        // Create a list of summary objects
+        this.summaryObjects = IntStream.range(0, 20)
+                .mapToObj(i -> {
+                    SummaryObject summaryObject = new SummaryObject();
+                    summaryObject.setDataReference(UUID.randomUUID());
+                    summaryObject.setDataProtection(Boolean.TRUE);
+                    summaryObject.setDataCompression(Boolean.FALSE);
+                    summaryObject.setContainerType(ContainerTypeEnum.S100_DataSet);
+                    summaryObject.setDataProductType(SECOM_DataProductType.S101);
+                    summaryObject.setInfo_name("infoName" + i);
+                    summaryObject.setInfo_lastModifiedDate(Instant.now().truncatedTo(ChronoUnit.SECONDS));
+                    return summaryObject;
+                })
+                .toList();
+    }
+
+    /**
+     * Test that the streamed JSON output can be read back as a normal SECOM
+     * get summary response object, with the pagination computed while
+     * streaming.
+     */
+    @Test
+    void testWriteTo() throws IOException {
+        // Count the items while streaming them
+        AtomicInteger counter = new AtomicInteger();
+        StreamingGetSummaryResponseObject obj = new StreamingGetSummaryResponseObject(
+                this.summaryObjects.stream().peek(s -> counter.incrementAndGet()),
+                () -> new PaginationObject(counter.get(), 100));
+
+        // Stream the object and read it back
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        obj.writeTo(this.mapper, outputStream);
+        GetSummaryResponseObject result = this.mapper.readValue(outputStream.toByteArray(), GetSummaryResponseObject.class);
+
+        // Make sure it looks OK
+        assertNotNull(result);
+        assertNotNull(result.getSummaryObject());
+        assertEquals(this.summaryObjects.size(), result.getSummaryObject().size());
+        for(int i = 0; i < this.summaryObjects.size(); i++) {
+            assertEquals(this.summaryObjects.get(i).getDataReference(), result.getSummaryObject().get(i).getDataReference());
+            assertEquals(this.summaryObjects.get(i).getInfo_name(), result.getSummaryObject().get(i).getInfo_name());
+            assertEquals(this.summaryObjects.get(i).getInfo_lastModifiedDate(), result.getSummaryObject().get(i).getInfo_lastModifiedDate());
+        }
+        assertNotNull(result.getPagination());
+        assertEquals(this.summaryObjects.size(), result.getPagination().getTotalItems());
+        assertEquals(100, result.getPagination().getMaxItemsPerPage());
+        assertEquals("", result.getResponseText());
+    }
+
+}
@@ -25,7 +25,7 @@ import java.time.Instant;
 import java.util.Optional;
 
 import static java.util.function.Predicate.not;
-import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_FORMATTER;
+import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_CODEC;
 
 /**
  * The DateTimeDeSerializer Class
@@ -68,8 +68,7 @@ public class InstantDeserializer extends StdDeserializer<Instant> {
         final String value = jp.getCodec().readValue(jp, String.class);
         return Optional.ofNullable(value)
                 .filter(not(String::isBlank))
-                .map(SECOM_DATE_TIME_FORMATTER::parse)
-                .map(Instant::from)
+                .map(SECOM_DATE_TIME_CODEC::parse)
                 .orElse(null);
     }
 }
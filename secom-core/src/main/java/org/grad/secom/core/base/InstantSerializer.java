@@ -22,10 +22,9 @@ import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 
 import java.io.IOException;
 import java.time.Instant;
-import java.time.ZoneId;
 import java.util.Optional;
 
-import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_FORMATTER;
+import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_CODEC;
 
 /**
  * The DateTimeSerializer Class
@@ -67,8 +66,7 @@ public class InstantSerializer extends StdSerializer<Instant> {
     @Override
     public void serialize(Instant instant, JsonGenerator jg, SerializerProvider serializerProvider) throws IOException {
         jg.writeString(Optional.ofNullable(instant)
-                .map(dt -> dt.atZone(ZoneId.systemDefault()))
-                .map(SECOM_DATE_TIME_FORMATTER::format)
+                .map(SECOM_DATE_TIME_CODEC::format)
                 .orElse(""));
     }
 }
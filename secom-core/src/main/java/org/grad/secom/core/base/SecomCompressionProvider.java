@@ -18,6 +18,8 @@ package org.grad.secom.core.base;
 
 import org.grad.secom.core.models.enums.CompressionAlgorithmEnum;
 
+import java.io.OutputStream;
+
 /**
  * The SECOM Compression Provider Interface.
  *
@@ -61,4 +63,24 @@ public interface SecomCompressionProvider {
      */
     byte[] decompress(CompressionAlgorithmEnum compressionAlgorithm, byte[] data);
 
+    /**
+     * The streaming decompression operation. This returns an output stream
+     * that decompresses all data written to it into the provided target
+     * output stream. Closing the returned stream also closes the target.
+     * <p/>
+     * By default, the data are buffered and decompressed once the stream is
+     * closed. Providers that can decompress incrementally should override
+     * this operation, so that large payloads do not have to be held in
+     * memory. The returned stream should implement the {@link AbortableStream}
+     * interface if incomplete data can be discarded without decompressing
+     * them.
+     *
+     * @param compressionAlgorithm  The algorithm used for the compression
+     * @param target                The output stream to receive the decompressed data
+     * @return the decompressing output stream
+     */
+    default OutputStream decompressingStream(CompressionAlgorithmEnum compressionAlgorithm, OutputStream target) {
+        return new BufferedTransformingOutputStream(target, data -> this.decompress(compressionAlgorithm, data));
+    }
+
 }
@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.components;
+
+import javax.servlet.http.HttpServletRequest;
+import org.grad.secom.core.models.AbstractStreamingResponse;
+import org.grad.secom.core.models.DataResponseObject;
+import org.grad.secom.core.models.GetResponseObject;
+import org.grad.secom.core.models.SECOM_ExchangeMetadataObject;
+
+import javax.ws.rs.WebApplicationException;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BooleanSupplier;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The SECOM Content Encoding Interceptor.
+ * <p>
+ * The SECOM compression provider only applies to the data payloads, while the
+ * surrounding JSON, such as the summary listings, the search results and the
+ * certificates repeated in every data response, is sent uncompressed. This
+ * writer interceptor negotiates an HTTP content encoding (gzip or deflate)
+ * based on the Accept-Encoding header of the request, and compresses the JSON
+ * response bodies accordingly.
+ * </p>
+ * <p>
+ * Small bodies are not worth compressing, so the responses are buffered up to
+ * a minimum size and only encoded if they exceed it. Responses whose data
+ * payloads are already compressed by SECOM, the streaming responses and any
+ * non-JSON bodies are left untouched.
+ * </p>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Provider
+public class SecomContentEncodingInterceptor implements WriterInterceptor {
+
+    /**
+     * The default minimum response size in bytes for applying an encoding.
+     */
+    public static final int DEFAULT_MIN_SIZE = 1024;
+
+    /**
+     * The gzip content encoding.
+     */
+    public static final String GZIP_ENCODING = "gzip";
+
+    /**
+     * The deflate content encoding.
+     */
+    public static final String DEFLATE_ENCODING = "deflate";
+
+    /**
+     * The Request Context.
+     */
+    @Context
+    HttpServletRequest request;
+
+    // Class Variables
+    private final int minSize;
+
+    /**
+     * The Class Constructor, using the default minimum response size.
+     */
+    public SecomContentEncodingInterceptor() {
+        this(DEFAULT_MIN_SIZE);
+    }
+
+    /**
+     * The Class Constructor.
+     *
+     * @param minSize   The minimum response size in bytes for applying an encoding
+     */
+    public SecomContentEncodingInterceptor(int minSize) {
+        this.minSize = Math.max(0, minSize);
+    }
+
+    /**
+     * Returns the minimum response size in bytes for applying an encoding.
+     *
+     * @return the minimum response size in bytes
+     */
+    public int getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * The WriterInterceptor aroundWriteTo function implementation.
+     *
+     * @param ctx   The writer interceptor context
+     * @throws IOException When IO exceptions occur while accessing the context
+     * @throws WebApplicationException For web-application failures
+     */
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext ctx) throws IOException, WebApplicationException {
+        // Only encode the JSON bodies that have not been encoded already
+        if(ctx.getEntity() == null
+                || ctx.getEntity() instanceof AbstractStreamingResponse
+                || ctx.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+                || !MediaType.APPLICATION_JSON_TYPE.isCompatible(ctx.getMediaType())) {
+            ctx.proceed();
+            return;
+        }
+
+        // The response now depends on the Accept-Encoding header
+        ctx.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        // Negotiate the content encoding
+        final String encoding = negotiateEncoding(Optional.ofNullable(this.request)
+                .map(r -> r.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                .orElse(null));
+        if(encoding == null) {
+            ctx.proceed();
+            return;
+        }
+
+        // Write through a stream deciding on the encoding once enough is known
+        final OutputStream original = ctx.getOutputStream();
+        final ThresholdEncodingOutputStream os = new ThresholdEncodingOutputStream(original, this.minSize, () -> {
+            if(hasCompressedPayload(ctx.getEntity())) {
+                return false;
+            }
+            ctx.getHeaders().putSingle(HttpHeaders.CONTENT_ENCODING, encoding);
+            ctx.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return true;
+        }, encoding);
+        ctx.setOutputStream(os);
+        try {
+            ctx.proceed();
+            os.finish();
+        } catch (IOException | RuntimeException ex) {
+            // Still release the encoding stream on failures
+            try {
+                os.release();
+            } catch (IOException releaseException) {
+                ex.addSuppressed(releaseException);
+            }
+            throw ex;
+        } finally {
+            ctx.setOutputStream(original);
+        }
+    }
+
+    /**
+     * Negotiates the content encoding based on the provided Accept-Encoding
+     * header value. The gzip encoding is preferred over the deflate one, and
+     * the encodings with a zero quality value are not accepted. If none of
+     * the supported encodings is accepted, null will be returned.
+     *
+     * @param acceptEncoding    The Accept-Encoding header value
+     * @return the negotiated encoding, or null if none is accepted
+     */
+    static String negotiateEncoding(String acceptEncoding) {
+        if(acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+        String result = null;
+        double resultQuality = 0;
+        boolean wildcard = false;
+        for(String token : acceptEncoding.split(",")) {
+            final String[] parts = token.trim().split(";");
+            final String coding = parts[0].trim().toLowerCase();
+            final double quality = Arrays.stream(parts)
+                    .skip(1)
+                    .map(String::trim)
+                    .filter(p -> p.startsWith("q="))
+                    .findFirst()
+                    .map(p -> {
+                        try {
+                            return Double.parseDouble(p.substring(2));
+                        } catch (NumberFormatException ex) {
+                            return 0.0;
+                        }
+                    })
+                    .orElse(1.0);
+            if(quality <= 0) {
+                continue;
+            }
+            if(coding.equals("*")) {
+                wildcard = true;
+            } else if((coding.equals(GZIP_ENCODING) || coding.equals(DEFLATE_ENCODING))
+                    && (quality > resultQuality || (quality == resultQuality && coding.equals(GZIP_ENCODING)))) {
+                result = coding;
+                resultQuality = quality;
+            }
+        }
+        return result == null && wildcard ? GZIP_ENCODING : result;
+    }
+
+    /**
+     * Checks whether the provided entity carries any data payloads that have
+     * already been compressed by SECOM, and therefore would not benefit from
+     * a further encoding.
+     *
+     * @param entity    The response entity
+     * @return whether the entity carries compressed data payloads
+     */
+    static boolean hasCompressedPayload(Object entity) {
+        return entity instanceof GetResponseObject getResponseObject
+                && Optional.ofNullable(getResponseObject.getDataResponseObject())
+                .stream()
+                .flatMap(List::stream)
+                .filter(Objects::nonNull)
+                .map(DataResponseObject::getExchangeMetadata)
+                .filter(Objects::nonNull)
+                .map(SECOM_ExchangeMetadataObject::getCompressionFlag)
+                .anyMatch(Boolean.TRUE::equals);
+    }
+
+    /**
+     * An output stream that buffers the written data up to a threshold. If
+     * the data exceed it and the encoding is confirmed, everything is written
+     * encoded into the target output stream, otherwise it is written as is.
+     * The target output stream is never closed, while the encoding streams
+     * are always closed, so that their native deflaters are released.
+     */
+    static class ThresholdEncodingOutputStream extends OutputStream {
+
+        // Class Variables
+        private final OutputStream target;
+        private final int threshold;
+        private final BooleanSupplier confirmation;
+        private final String encoding;
+        private ByteArrayOutputStream buffer;
+        private OutputStream output;
+        private Deflater deflater;
+        private boolean released;
+
+        /**
+         * The Threshold Encoding Output Stream Constructor.
+         *
+         * @param target        The target output stream
+         * @param threshold     The size threshold in bytes for applying the encoding
+         * @param confirmation  The confirmation of the encoding, once the threshold is exceeded
+         * @param encoding      The content encoding to be applied
+         */
+        ThresholdEncodingOutputStream(OutputStream target, int threshold, BooleanSupplier confirmation, String encoding) {
+            this.target = Objects.requireNonNull(target);
+            this.threshold = threshold;
+            this.confirmation = Objects.requireNonNull(confirmation);
+            this.encoding = Objects.requireNonNull(encoding);
+            this.buffer = new ByteArrayOutputStream(Math.min(threshold, 8 * 1024) + 1);
+        }
+
+        /**
+         * Writes the provided byte.
+         *
+         * @param b the byte to be written
+         * @throws IOException for any IO exceptions while writing
+         */
+        @Override
+        public void write(int b) throws IOException {
+            this.write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        /**
+         * Writes the provided bytes, switching to the encoded or plain output
+         * once the threshold is exceeded.
+         *
+         * @param b     the bytes to be written
+         * @param off   the offset of the bytes
+         * @param len   the number of bytes
+         * @throws IOException for any IO exceptions while writing
+         */
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if(this.output != null) {
+                this.output.write(b, off, len);
+                return;
+            }
+            this.buffer.write(b, off, len);
+            if(this.buffer.size() > this.threshold) {
+                this.switchOutput(this.confirmation.getAsBoolean());
+            }
+        }
+
+        /**
+         * Flushes the stream. While still buffering, nothing is flushed, so
+         * that the encoding can still be decided.
+         *
+         * @throws IOException for any IO exceptions while flushing
+         */
+        @Override
+        public void flush() throws IOException {
+            if(this.output != null) {
+                this.output.flush();
+            }
+        }
+
+        /**
+         * Finishes the stream, writing any buffered data as is and completing
+         * the encoding, if applied. The target output stream is not closed.
+         *
+         * @throws IOException for any IO exceptions while writing
+         */
+        void finish() throws IOException {
+            if(this.output == null) {
+                this.switchOutput(false);
+            }
+            this.release();
+            this.target.flush();
+        }
+
+        /**
+         * Releases the encoding stream, if applied, by closing it. This also
+         * completes the encoding and ends its deflater, while the target
+         * output stream remains open. Releasing more than once has no effect.
+         *
+         * @throws IOException for any IO exceptions while completing the encoding
+         */
+        void release() throws IOException {
+            if(this.released || !(this.output instanceof DeflaterOutputStream)) {
+                return;
+            }
+            this.released = true;
+            try {
+                this.output.close();
+            } finally {
+                if(this.deflater != null) {
+                    this.deflater.end();
+                }
+            }
+        }
+
+        /**
+         * Switches from buffering to writing into the target output stream,
+         * either encoded or as is, and writes out the buffered data.
+         *
+         * @param encode    whether the encoding should be applied
+         * @throws IOException for any IO exceptions while writing
+         */
+        private void switchOutput(boolean encode) throws IOException {
+            if(encode && GZIP_ENCODING.equals(this.encoding)) {
+                this.output = new GZIPOutputStream(new NonClosingOutputStream(this.target), 8 * 1024);
+            } else if(encode) {
+                this.deflater = new Deflater();
+                this.output = new DeflaterOutputStream(new NonClosingOutputStream(this.target), this.deflater, 8 * 1024);
+            } else {
+                this.output = this.target;
+            }
+            this.buffer.writeTo(this.output);
+            this.buffer = null;
+        }
+
+    }
+
+    /**
+     * An output stream shielding the wrapped one from being closed, so that
+     * the encoding streams can be closed without closing the response.
+     */
+    static class NonClosingOutputStream extends FilterOutputStream {
+
+        /**
+         * The Non Closing Output Stream Constructor.
+         *
+         * @param out   The wrapped output stream
+         */
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        /**
+         * Writes the provided bytes directly into the wrapped output stream.
+         *
+         * @param b     the bytes to be written
+         * @param off   the offset of the bytes
+         * @param len   the number of bytes
+         * @throws IOException for any IO exceptions while writing
+         */
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            this.out.write(b, off, len);
+        }
+
+        /**
+         * Flushes the wrapped output stream without closing it.
+         *
+         * @throws IOException for any IO exceptions while flushing
+         */
+        @Override
+        public void close() throws IOException {
+            this.out.flush();
+        }
+
+    }
+
+}
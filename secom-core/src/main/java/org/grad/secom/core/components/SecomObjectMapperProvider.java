@@ -17,19 +17,56 @@
 package org.grad.secom.core.components;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.grad.secom.core.models.AbstractEnvelope;
 
 import javax.ws.rs.ext.ContextResolver;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
 
 /**
  * The ObjetMapper Provider.
+ * <p/>
+ * Upon construction, the provider will also warm up the serializer and
+ * deserializer caches of the provided object mapper for all the SECOM model
+ * classes. Jackson introspects each class through reflection the first time
+ * it is encountered, so by doing this eagerly the cost is paid once during
+ * the application startup, rather than on the first message of each type.
+ * The model classes are discovered by scanning the SECOM models package, so
+ * that any newly introduced models are covered as well.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 public class SecomObjectMapperProvider implements ContextResolver<ObjectMapper> {
 
+    /**
+     * The SECOM model classes exchanged through the SECOM interfaces, i.e.
+     * all the top-level classes of the SECOM models package, excluding the
+     * enums.
+     */
+    public static final List<Class<?>> SECOM_MODEL_CLASSES = scanModelClasses();
+
     // Class Variables
     ObjectMapper objectMapper;
 
+    /**
+     * The ObjetMapper Provider Constructor, using the default SECOM object
+     * mapper.
+     */
+    public SecomObjectMapperProvider() {
+        this(newDefaultObjectMapper());
+    }
+
     /**
      * The ObjetMapper Provider Constructor.
      *
@@ -37,6 +74,7 @@ public class SecomObjectMapperProvider implements ContextResolver<ObjectMapper>
      */
     public SecomObjectMapperProvider(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        warmUp(this.objectMapper);
     }
 
     /**
@@ -49,4 +87,118 @@ public class SecomObjectMapperProvider implements ContextResolver<ObjectMapper>
     public ObjectMapper getContext(Class<?> type) {
         return this.objectMapper;
     }
+
+    /**
+     * Creates the default SECOM object mapper, used whenever the application
+     * does not provide its own. All the Jackson modules available in the
+     * classpath, e.g. the Java time module, are registered, so that servers
+     * and clients without an application object mapper serialise the SECOM
+     * models in the same way.
+     *
+     * @return the default SECOM object mapper
+     */
+    public static ObjectMapper newDefaultObjectMapper() {
+        return new ObjectMapper().findAndRegisterModules();
+    }
+
+    /**
+     * Builds and caches the serializers and deserializers of all the SECOM
+     * model classes in the provided object mapper. Any class that cannot be
+     * handled is reported and skipped, and Jackson will report the relevant
+     * error again when the class is actually used.
+     *
+     * @param objectMapper the object mapper to be warmed up
+     * @return the same object mapper, for further processing
+     */
+    public static ObjectMapper warmUp(ObjectMapper objectMapper) {
+        // Sanity Check
+        if(objectMapper == null) {
+            return null;
+        }
+
+        // Go through all the SECOM model classes
+        for(Class<?> modelClass : SECOM_MODEL_CLASSES) {
+            try {
+                // Eager fetching resolves and caches the bean (de)serializers
+                objectMapper.writerFor(modelClass);
+                objectMapper.readerFor(modelClass);
+            } catch (Exception ex) {
+                Logger.getLogger(SecomObjectMapperProvider.class.getName())
+                        .log(Level.WARNING, "Unable to warm up the object mapper for " + modelClass.getName(), ex);
+            }
+        }
+
+        // Return the object mapper for further processing
+        return objectMapper;
+    }
+
+    /**
+     * Scans the SECOM models package for the model classes, both when loaded
+     * from a directory and from a JAR file. Only the location the models
+     * were actually loaded from is scanned. The nested classes and the enums
+     * are not included, while any scanning failures are reported and result
+     * in the classes found so far.
+     *
+     * @return the SECOM model classes, sorted by name
+     */
+    static List<Class<?>> scanModelClasses() {
+        final String packageName = AbstractEnvelope.class.getPackageName();
+        final String packagePath = packageName.replace('.', '/');
+        final ClassLoader classLoader = AbstractEnvelope.class.getClassLoader();
+        final Set<String> classNames = new TreeSet<>();
+        try {
+            final URL resource = Objects.requireNonNull(AbstractEnvelope.class.getResource(AbstractEnvelope.class.getSimpleName() + ".class"));
+            if("file".equals(resource.getProtocol())) {
+                try (Stream<Path> files = Files.list(Paths.get(resource.toURI()).getParent())) {
+                    files.map(file -> file.getFileName().toString())
+                            .forEach(fileName -> addModelClassName(classNames, packageName, fileName));
+                }
+            } else {
+                final URLConnection connection = resource.openConnection();
+                if(connection instanceof JarURLConnection jarConnection) {
+                    jarConnection.setUseCaches(false);
+                    jarConnection.getJarFile()
+                            .stream()
+                            .map(JarEntry::getName)
+                            .filter(name -> name.startsWith(packagePath + "/"))
+                            .map(name -> name.substring(packagePath.length() + 1))
+                            .filter(name -> !name.contains("/"))
+                            .forEach(fileName -> addModelClassName(classNames, packageName, fileName));
+                }
+            }
+        } catch (IOException | URISyntaxException | RuntimeException ex) {
+            Logger.getLogger(SecomObjectMapperProvider.class.getName())
+                    .log(Level.WARNING, "Unable to scan the SECOM model classes", ex);
+        }
+
+        // Load the found classes, without initialising them
+        final List<Class<?>> modelClasses = new ArrayList<>();
+        for(String className : classNames) {
+            try {
+                final Class<?> modelClass = Class.forName(className, false, classLoader);
+                if(!modelClass.isEnum() && !modelClass.isInterface() && !modelClass.isAnnotation()) {
+                    modelClasses.add(modelClass);
+                }
+            } catch (ClassNotFoundException | LinkageError ex) {
+                Logger.getLogger(SecomObjectMapperProvider.class.getName())
+                        .log(Level.WARNING, "Unable to load the SECOM model class " + className, ex);
+            }
+        }
+        return Collections.unmodifiableList(modelClasses);
+    }
+
+    /**
+     * Adds the class name of the provided class file name onto the provided
+     * set, if this is a top-level class file.
+     *
+     * @param classNames    the set of class names
+     * @param packageName   the name of the package of the class file
+     * @param fileName      the class file name
+     */
+    private static void addModelClassName(Set<String> classNames, String packageName, String fileName) {
+        if(fileName.endsWith(".class") && !fileName.contains("$")) {
+            classNames.add(packageName + "." + fileName.substring(0, fileName.length() - ".class".length()));
+        }
+    }
+
 }
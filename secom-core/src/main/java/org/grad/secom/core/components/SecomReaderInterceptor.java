@@ -34,6 +34,7 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.Optional;
 
 /**
  * The SECOM Reader Interceptor
@@ -75,6 +76,7 @@ public class SecomReaderInterceptor implements ReaderInterceptor {
     // Class Variables
     private SecomCompressionProvider compressionProvider;
     private SecomEncryptionProvider encryptionProvider;
+    private SecomRequestBodyReader requestBodyReader;
 
     /**
      * The Class Constructor.
@@ -84,8 +86,22 @@ public class SecomReaderInterceptor implements ReaderInterceptor {
      */
     public SecomReaderInterceptor(SecomCompressionProvider compressionProvider,
                                   SecomEncryptionProvider encryptionProvider) {
+        this(compressionProvider, encryptionProvider, new SecomRequestBodyReader());
+    }
+
+    /**
+     * The Class Constructor with a request body reader.
+     *
+     * @param compressionProvider   The SECOM compression provider
+     * @param encryptionProvider    The SECOM encryption provider
+     * @param requestBodyReader     The SECOM request body reader
+     */
+    public SecomReaderInterceptor(SecomCompressionProvider compressionProvider,
+                                  SecomEncryptionProvider encryptionProvider,
+                                  SecomRequestBodyReader requestBodyReader) {
         this.compressionProvider = compressionProvider;
         this.encryptionProvider = encryptionProvider;
+        this.requestBodyReader = Optional.ofNullable(requestBodyReader).orElseGet(SecomRequestBodyReader::new);
     }
 
     /**
@@ -180,7 +196,9 @@ public class SecomReaderInterceptor implements ReaderInterceptor {
      * Here is a pointer: https://github.com/quarkusio/quarkus/issues/17430
      * <p/>
      * Once we have the request we can use the provided object mapper to
-     * translate the JSON string into an actual SECOM object.
+     * translate the JSON string into an actual SECOM object. The request body
+     * is read through the SECOM request body reader, so that oversized
+     * requests are rejected before being buffered.
      *
      * @param is            The incoming input stream
      * @param mediaType     The incoming media type
@@ -191,7 +209,7 @@ public class SecomReaderInterceptor implements ReaderInterceptor {
      */
     private <T> T parseRequestBody(InputStream is, MediaType mediaType, Class<T> clazz) throws IOException {
         // Get the request input stream and read the data
-        final byte[] data = is.readAllBytes();
+        final byte[] data = this.requestBodyReader.read(is, this.request.getContentLength(), this.request.getPathInfo());
         final String body = new String(data, StandardCharsets.UTF_8);
 
         // Get the JAX-RS registered object mapper and map the data to the object
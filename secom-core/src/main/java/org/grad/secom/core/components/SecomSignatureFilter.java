@@ -71,6 +71,7 @@ public class SecomSignatureFilter implements ContainerRequestFilter {
     private SecomEncryptionProvider encryptionProvider;
     private SecomTrustStoreProvider trustStoreProvider;
     private SecomSignatureProvider signatureProvider;
+    private SecomRequestBodyReader requestBodyReader;
 
     /**
      * The Class Constructor.
@@ -82,10 +83,28 @@ public class SecomSignatureFilter implements ContainerRequestFilter {
                                 SecomEncryptionProvider encryptionProvider,
                                 SecomTrustStoreProvider trustStoreProvider,
                                 SecomSignatureProvider signatureProvider) {
+        this(compressionProvider, encryptionProvider, trustStoreProvider, signatureProvider, new SecomRequestBodyReader());
+    }
+
+    /**
+     * The Class Constructor with a request body reader.
+     *
+     * @param compressionProvider   The SECOM compression provider
+     * @param encryptionProvider    The SECOM encryption provider
+     * @param trustStoreProvider    The SECOM trust store provider
+     * @param signatureProvider     The SECOM signature provider
+     * @param requestBodyReader     The SECOM request body reader
+     */
+    public SecomSignatureFilter(SecomCompressionProvider compressionProvider,
+                                SecomEncryptionProvider encryptionProvider,
+                                SecomTrustStoreProvider trustStoreProvider,
+                                SecomSignatureProvider signatureProvider,
+                                SecomRequestBodyReader requestBodyReader) {
         this.compressionProvider = compressionProvider;
         this.encryptionProvider = encryptionProvider;
         this.trustStoreProvider = trustStoreProvider;
         this.signatureProvider = signatureProvider;
+        this.requestBodyReader = Optional.ofNullable(requestBodyReader).orElseGet(SecomRequestBodyReader::new);
     }
 
     /**
@@ -219,7 +238,9 @@ public class SecomSignatureFilter implements ContainerRequestFilter {
      * Here is a pointer: https://github.com/quarkusio/quarkus/issues/17430
      * <p/>
      * Once we have the request we can use the provided object mapper to
-     * translate the JSON string into an actual SECOM object.
+     * translate the JSON string into an actual SECOM object. The request body
+     * is read through the SECOM request body reader, so that oversized
+     * requests are rejected before being buffered.
      *
      * @param rqstCtx       The incoming request context
      * @param clazz         The class to map the request body into
@@ -230,7 +251,7 @@ public class SecomSignatureFilter implements ContainerRequestFilter {
     private <T> T parseRequestBody(ContainerRequestContext rqstCtx, Class<T> clazz) throws IOException {
         // Get the request input stream and read the data
         final InputStream is = rqstCtx.getEntityStream();
-        final byte[] data = is.readAllBytes();
+        final byte[] data = this.requestBodyReader.read(is, rqstCtx.getLength(), rqstCtx.getUriInfo().getPath());
         final String body = new String(data, StandardCharsets.UTF_8);
 
         // Update the input stream with a new one to re-initialise it
@@ -30,4 +30,14 @@ public class SecomGenericException extends RuntimeException {
         super(message);
     }
 
+    /**
+     * Class Constructor.
+     *
+     * @param message   the exception message
+     * @param cause     the cause of the exception
+     */
+    public SecomGenericException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
 }
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.exceptions;
+
+/**
+ * The SECOM Payload Too Large Exception Class.
+ * <p/>
+ * This is a validation exception, so that each SECOM interface responds
+ * with its own validation error response when the limit is exceeded.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomPayloadTooLargeException extends SecomValidationException {
+
+    /**
+     * Class Constructor.
+     */
+    public SecomPayloadTooLargeException(String message) {
+        super(message);
+    }
+
+}
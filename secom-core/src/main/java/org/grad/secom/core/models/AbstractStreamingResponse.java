@@ -0,0 +1,316 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.models;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The SECOM Abstract Streaming Response Class.
+ * <p/>
+ * Some SECOM responses (e.g. the Get and Get Summary ones) contain a list of
+ * items that can become quite large. Instead of building the whole list in
+ * memory, this class allows the handlers to supply the items as an iterator,
+ * a stream or a {@link Flow.Publisher}. The items are then written onto the
+ * output one by one, and the pagination information is only requested at the
+ * very end, so it can also be computed while streaming.
+ * <p/>
+ * The JSON output generated is identical to the one of the respective
+ * non-streaming response object.
+ *
+ * @param <T> the type of the items contained in the response
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public abstract class AbstractStreamingResponse<T> {
+
+    /**
+     * The default number of items buffered when consuming a publisher.
+     */
+    public static final int DEFAULT_PUBLISHER_BUFFER_SIZE = 16;
+
+    // Class Variables
+    private final Iterator<T> items;
+    private final Supplier<PaginationObject> pagination;
+    private final List<Consumer<? super T>> itemProcessors;
+    private final List<Runnable> closeHandlers;
+    private String responseText;
+
+    /**
+     * The Abstract Streaming Response Constructor.
+     *
+     * @param items         the iterator of the response items
+     * @param pagination    the supplier of the pagination, evaluated after all items are written
+     */
+    protected AbstractStreamingResponse(Iterator<T> items, Supplier<PaginationObject> pagination) {
+        this.items = Optional.ofNullable(items).orElseGet(Collections::emptyIterator);
+        this.pagination = Optional.ofNullable(pagination).orElse(() -> null);
+        this.itemProcessors = new ArrayList<>();
+        this.closeHandlers = new ArrayList<>();
+        this.responseText = "";
+    }
+
+    /**
+     * The Abstract Streaming Response Constructor for Java streams. The
+     * provided stream will be closed once the response has been written.
+     *
+     * @param items         the stream of the response items
+     * @param pagination    the supplier of the pagination, evaluated after all items are written
+     */
+    protected AbstractStreamingResponse(Stream<T> items, Supplier<PaginationObject> pagination) {
+        this(Optional.ofNullable(items).map(Stream::iterator).orElse(null), pagination);
+        Optional.ofNullable(items).ifPresent(stream -> this.onClose(stream::close));
+    }
+
+    /**
+     * The Abstract Streaming Response Constructor for reactive publishers. The
+     * publisher is consumed with a bounded buffer so that the producing side
+     * cannot run ahead of the output, and the subscription will be cancelled
+     * if the response is closed before the publisher completes.
+     *
+     * @param items         the publisher of the response items
+     * @param bufferSize    the maximum number of buffered items
+     * @param pagination    the supplier of the pagination, evaluated after all items are written
+     */
+    protected AbstractStreamingResponse(Flow.Publisher<T> items, int bufferSize, Supplier<PaginationObject> pagination) {
+        this(new PublisherIterator<>(items, bufferSize), pagination);
+        this.onClose(((PublisherIterator<T>) this.items)::cancel);
+    }
+
+    /**
+     * Returns the name of the JSON field the items should be written under.
+     *
+     * @return the name of the items JSON field
+     */
+    protected abstract String getItemsFieldName();
+
+    /**
+     * Gets response text.
+     *
+     * @return the response text
+     */
+    public String getResponseText() {
+        return responseText;
+    }
+
+    /**
+     * Sets response text.
+     *
+     * @param responseText the response text
+     */
+    public void setResponseText(String responseText) {
+        this.responseText = responseText;
+    }
+
+    /**
+     * Registers a processor that will be applied onto each item just before
+     * it gets written onto the output. This allows operations like signing,
+     * encryption or compression to take place per item while streaming.
+     *
+     * @param processor the item processor
+     * @return the streaming response object
+     */
+    public AbstractStreamingResponse<T> peek(Consumer<? super T> processor) {
+        Optional.ofNullable(processor).ifPresent(this.itemProcessors::add);
+        return this;
+    }
+
+    /**
+     * Registers a handler to be called when the response has been written,
+     * successfully or not. This can be used to release any resources held by
+     * the item source, e.g. database cursors.
+     *
+     * @param closeHandler the close handler
+     * @return the streaming response object
+     */
+    public AbstractStreamingResponse<T> onClose(Runnable closeHandler) {
+        Optional.ofNullable(closeHandler).ifPresent(this.closeHandlers::add);
+        return this;
+    }
+
+    /**
+     * Writes the response onto the provided output stream, using the provided
+     * object mapper for the serialisation of each individual item. The output
+     * is flushed after each item so that the recipient can start consuming
+     * the response as soon as possible.
+     *
+     * @param objectMapper  the object mapper to be used
+     * @param outputStream  the output stream to write the response to
+     * @throws IOException for any IO exceptions while writing
+     */
+    public void writeTo(ObjectMapper objectMapper, OutputStream outputStream) throws IOException {
+        final JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(outputStream, JsonEncoding.UTF8)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart(this.getItemsFieldName());
+            while (this.items.hasNext()) {
+                final T item = this.items.next();
+                this.itemProcessors.forEach(processor -> processor.accept(item));
+                objectMapper.writeValue(generator, item);
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.writeFieldName("pagination");
+            objectMapper.writeValue(generator, this.pagination.get());
+            generator.writeStringField("responseText", this.responseText);
+            generator.writeEndObject();
+            generator.flush();
+        } finally {
+            generator.close();
+            this.close();
+        }
+    }
+
+    /**
+     * Calls all the registered close handlers.
+     */
+    public void close() {
+        this.closeHandlers.forEach(Runnable::run);
+        this.closeHandlers.clear();
+    }
+
+    /**
+     * A blocking iterator over a {@link Flow.Publisher}, requesting the items
+     * in batches so that at most a bounded number of them is buffered. If the
+     * publisher delivers more items than requested, the subscription is
+     * cancelled and the iteration fails, rather than silently dropping them.
+     *
+     * @param <T> the type of the published items
+     */
+    private static class PublisherIterator<T> implements Iterator<T>, Flow.Subscriber<T> {
+
+        // Class Variables
+        private static final Object COMPLETE = new Object();
+        private final BlockingQueue<Object> queue;
+        private final int bufferSize;
+        private final int refillSize;
+        private Flow.Subscription subscription;
+        private Object next;
+        private int consumed;
+        private volatile PublisherError overflow;
+
+        /**
+         * The Publisher Iterator Constructor.
+         *
+         * @param publisher     the publisher to subscribe to
+         * @param bufferSize    the maximum number of buffered items
+         */
+        PublisherIterator(Flow.Publisher<T> publisher, int bufferSize) {
+            this.bufferSize = Math.max(1, bufferSize);
+            this.refillSize = Math.max(1, this.bufferSize / 2);
+            // Leave room for the terminal signal
+            this.queue = new ArrayBlockingQueue<>(this.bufferSize + 1);
+            Objects.requireNonNull(publisher).subscribe(this);
+        }
+
+        @Override
+        public synchronized void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(this.bufferSize);
+        }
+
+        @Override
+        public void onNext(T item) {
+            if (this.overflow == null && !this.queue.offer(item)) {
+                this.overflow = new PublisherError(new IllegalStateException(
+                        "The publisher delivered more items than requested"));
+                this.cancel();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.queue.offer(new PublisherError(throwable));
+        }
+
+        @Override
+        public void onComplete() {
+            this.queue.offer(COMPLETE);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.next == null && this.overflow != null) {
+                this.next = this.overflow;
+            }
+            if (this.next == null) {
+                try {
+                    this.next = this.queue.take();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    this.cancel();
+                    throw new IllegalStateException("Interrupted while waiting for the next streamed item", ex);
+                }
+            }
+            if (this.next instanceof PublisherError publisherError) {
+                throw new IllegalStateException(publisherError.throwable().getMessage(), publisherError.throwable());
+            }
+            return this.next != COMPLETE;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T item = (T) this.next;
+            this.next = null;
+            if (++this.consumed >= this.refillSize) {
+                this.request(this.consumed);
+                this.consumed = 0;
+            }
+            return item;
+        }
+
+        /**
+         * Requests more items from the subscription, if available.
+         *
+         * @param n the number of items to request
+         */
+        private synchronized void request(long n) {
+            Optional.ofNullable(this.subscription).ifPresent(s -> s.request(n));
+        }
+
+        /**
+         * Cancels the subscription, if available.
+         */
+        synchronized void cancel() {
+            Optional.ofNullable(this.subscription).ifPresent(Flow.Subscription::cancel);
+        }
+
+        /**
+         * A wrapper for the errors signalled by the publisher.
+         *
+         * @param throwable the signalled error
+         */
+        private record PublisherError(Throwable throwable) {}
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.models;
+
+import java.util.Iterator;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * The SECOM Streaming Get Response Object Class.
+ * <p/>
+ * A streaming variant of the {@link GetResponseObject}, where the
+ * data response items are supplied lazily by the handler and written onto the
+ * output one by one.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class StreamingGetResponseObject extends AbstractStreamingResponse<DataResponseObject> {
+
+    /**
+     * Instantiates a new Streaming Get Response object from an iterator.
+     *
+     * @param items         the iterator of the response items
+     * @param pagination    the supplier of the pagination, evaluated after all items are written
+     */
+    public StreamingGetResponseObject(Iterator<DataResponseObject> items, Supplier<PaginationObject> pagination) {
+        super(items, pagination);
+    }
+
+    /**
+     * Instantiates a new Streaming Get Response object from a stream.
+     *
+     * @param items         the stream of the response items
+     * @param pagination    the supplier of the pagination, evaluated after all items are written
+     */
+    public StreamingGetResponseObject(Stream<DataResponseObject> items, Supplier<PaginationObject> pagination) {
+        super(items, pagination);
+    }
+
+    /**
+     * Instantiates a new Streaming Get Response object from a publisher.
+     *
+     * @param items         the publisher of the response items
+     * @param pagination    the supplier of the pagination, evaluated after all items are written
+     */
+    public StreamingGetResponseObject(Flow.Publisher<DataResponseObject> items, Supplier<PaginationObject> pagination) {
+        super(items, DEFAULT_PUBLISHER_BUFFER_SIZE, pagination);
+    }
+
+    /**
+     * Returns the name of the JSON field the items should be written under.
+     *
+     * @return the name of the items JSON field
+     */
+    @Override
+    protected String getItemsFieldName() {
+        return "dataResponseObject";
+    }
+
+}
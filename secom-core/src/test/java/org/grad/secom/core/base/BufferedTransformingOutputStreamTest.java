@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.base;
+
+import org.grad.secom.core.models.enums.CompressionAlgorithmEnum;
+import org.grad.secom.core.models.enums.EncryptionAlgorithmEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BufferedTransformingOutputStreamTest {
+
+    // Test Variables
+    SecomCompressionProvider compressionProvider;
+    SecomEncryptionProvider encryptionProvider;
+
+    /**
+     * Set up some base data.
+     */
+    @BeforeEach
+    void setup() {
+        // A compression provider that just strips a "Z" prefix
+        this.compressionProvider = new SecomCompressionProvider() {
+            @Override
+            public byte[] compress(CompressionAlgorithmEnum compressionAlgorithm, byte[] payload) {
+                return ("Z" + new String(payload, StandardCharsets.UTF_8)).getBytes(StandardCharsets.UTF_8);
+            }
+            @Override
+            public byte[] decompress(CompressionAlgorithmEnum compressionAlgorithm, byte[] data) {
+                return new String(data, StandardCharsets.UTF_8).substring(1).getBytes(StandardCharsets.UTF_8);
+            }
+        };
+
+        // An encryption provider that just reverses the data
+        this.encryptionProvider = new SecomEncryptionProvider() {
+            @Override
+            public String getEncryptionKey() {
+                return "key";
+            }
+            @Override
+            public byte[] encrypt(EncryptionAlgorithmEnum encryptionAlgorithm, String encryptionKey, byte[] payload) {
+                return new StringBuilder(new String(payload, StandardCharsets.UTF_8)).reverse().toString().getBytes(StandardCharsets.UTF_8);
+            }
+            @Override
+            public byte[] decrypt(EncryptionAlgorithmEnum encryptionAlgorithm, String encryptionKey, byte[] data) {
+                return this.encrypt(encryptionAlgorithm, encryptionKey, data);
+            }
+        };
+    }
+
+    /**
+     * Test that the default streaming operations of the providers apply the
+     * array operations once the data are complete, and in the right order.
+     */
+    @Test
+    void testDefaultStreamingOperations() throws IOException {
+        final byte[] payload = "Hello SECOM".getBytes(StandardCharsets.UTF_8);
+        final byte[] received = this.compressionProvider.compress(null,
+                this.encryptionProvider.encrypt(null, "key", payload));
+
+        // Write the received data in chunks
+        final ByteArrayOutputStream target = new ByteArrayOutputStream();
+        final OutputStream decrypting = this.encryptionProvider.decryptingStream(null, "key", target);
+        final OutputStream decompressing = this.compressionProvider.decompressingStream(null, decrypting);
+        decompressing.write(received, 0, 4);
+        decompressing.write(received, 4, received.length - 4);
+
+        // Nothing should be written before closing
+        assertEquals(0, target.size());
+        decompressing.close();
+        assertArrayEquals(payload, target.toByteArray());
+
+        // Closing again should have no effect
+        decompressing.close();
+        assertArrayEquals(payload, target.toByteArray());
+    }
+
+    /**
+     * Test that closing the stream also closes the target output stream.
+     */
+    @Test
+    void testCloseTarget() throws IOException {
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final ByteArrayOutputStream target = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final OutputStream os = new BufferedTransformingOutputStream(target, data -> data);
+        os.write(new byte[]{1, 2, 3});
+        os.close();
+
+        assertTrue(closed.get());
+        assertArrayEquals(new byte[]{1, 2, 3}, target.toByteArray());
+    }
+
+    /**
+     * Test that aborting a chain of the default streaming operations discards
+     * the buffered data without transforming them, while the target output
+     * stream is still closed.
+     */
+    @Test
+    void testAbort() throws IOException {
+        final AtomicBoolean transformed = new AtomicBoolean(false);
+        final AtomicBoolean closed = new AtomicBoolean(false);
+        final ByteArrayOutputStream target = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        final OutputStream decrypting = new BufferedTransformingOutputStream(target, data -> {
+            transformed.set(true);
+            return data;
+        });
+        final OutputStream decompressing = this.compressionProvider.decompressingStream(null, decrypting);
+        decompressing.write("Zincomplete".getBytes(StandardCharsets.UTF_8));
+        AbortableStream.abort(decompressing);
+
+        assertFalse(transformed.get());
+        assertTrue(closed.get());
+        assertEquals(0, target.size());
+
+        // Closing after aborting should have no effect
+        decompressing.close();
+        assertFalse(transformed.get());
+        assertEquals(0, target.size());
+    }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.core.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_FORMATTER;
+
+class SecomDateTimeCodecTest {
+
+    // Test Parameters
+    static final List<ZoneId> ZONES = List.of(
+            ZoneId.of("UTC"),
+            ZoneId.of("Europe/London"),
+            ZoneId.of("America/St_Johns"),
+            ZoneId.of("Australia/Lord_Howe"),
+            ZoneId.of("Asia/Kathmandu"));
+    static final long MIN_EPOCH_SECOND = Instant.parse("0001-01-02T00:00:00Z").getEpochSecond();
+    static final long MAX_EPOCH_SECOND = Instant.parse("9999-12-30T00:00:00Z").getEpochSecond();
+    static final int ITERATIONS = 20000;
+
+    /**
+     * Make sure that the codec formats random instants in exactly the same
+     * way as the SECOM date-time formatter.
+     */
+    @Test
+    void testFormatMatchesFormatter() {
+        final Random random = new Random(1234);
+        for(ZoneId zone : ZONES) {
+            final DateTimeFormatter formatter = SECOM_DATE_TIME_FORMATTER.withZone(zone);
+            final SecomDateTimeCodec codec = new SecomDateTimeCodec(formatter);
+            for(int i = 0; i < ITERATIONS; i++) {
+                final Instant instant = this.randomInstant(random);
+                assertEquals(formatter.format(instant), codec.format(instant), "Formatting " + instant + " in " + zone);
+            }
+        }
+    }
+
+    /**
+     * Make sure that the codec parses random SECOM date-times in exactly the
+     * same way as the SECOM date-time formatter, including the local times
+     * that fall in the zone transition gaps and overlaps.
+     */
+    @Test
+    void testParseMatchesFormatter() {
+        final Random random = new Random(5678);
+        final String[] suffixes = {"", "Z", "z", "+0100", "-0330", "+0545", "-1200", "+1400", "+01:00", "+01", "-00:30"};
+        for(ZoneId zone : ZONES) {
+            final DateTimeFormatter formatter = SECOM_DATE_TIME_FORMATTER.withZone(zone);
+            final SecomDateTimeCodec codec = new SecomDateTimeCodec(formatter);
+            for(int i = 0; i < ITERATIONS; i++) {
+                final String text = String.format("%04d%02d%02d%c%02d%02d%02d%s",
+                        1 + random.nextInt(9999),
+                        1 + random.nextInt(12),
+                        1 + random.nextInt(28),
+                        random.nextBoolean() ? 'T' : 't',
+                        random.nextInt(24),
+                        random.nextInt(60),
+                        random.nextInt(60),
+                        suffixes[random.nextInt(suffixes.length)]);
+                this.assertSameParsing(formatter, codec, text);
+            }
+        }
+    }
+
+    /**
+     * Make sure that the codec parses the local times around the zone
+     * transitions in the same way as the SECOM date-time formatter.
+     */
+    @Test
+    void testParseTransitionsMatchesFormatter() {
+        final DateTimeFormatter formatter = SECOM_DATE_TIME_FORMATTER.withZone(ZoneId.of("Europe/London"));
+        final SecomDateTimeCodec codec = new SecomDateTimeCodec(formatter);
+        for(String day : List.of("20230326", "20231029", "20240331", "20241027")) {
+            for(int minute = 0; minute < 4 * 60; minute += 7) {
+                final String text = String.format("%sT%02d%02d%02d", day, minute / 60, minute % 60, minute % 60);
+                this.assertSameParsing(formatter, codec, text);
+            }
+        }
+    }
+
+    /**
+     * Make sure that the formatted output of the codec can be parsed back
+     * into the same instant, truncated to seconds. Note that this is only
+     * valid after the zone offsets became whole minutes.
+     */
+    @Test
+    void testRoundTrip() {
+        final Random random = new Random(9012);
+        final SecomDateTimeCodec codec = new SecomDateTimeCodec(SECOM_DATE_TIME_FORMATTER.withZone(ZoneId.of("Europe/London")));
+        for(int i = 0; i < ITERATIONS; i++) {
+            final Instant instant = this.randomInstant(random);
+            if(instant.isBefore(Instant.parse("1900-01-01T00:00:00Z"))) {
+                continue;
+            }
+            assertEquals(instant.getEpochSecond(), codec.parse(codec.format(instant)).getEpochSecond());
+        }
+    }
+
+    /**
+     * Make sure that the codec rejects invalid input just like the SECOM
+     * date-time formatter.
+     */
+    @Test
+    void testParseInvalid() {
+        final SecomDateTimeCodec codec = new SecomDateTimeCodec(SECOM_DATE_TIME_FORMATTER);
+        for(String text : List.of("", "2001", "20010101", "20010101X121314", "20011301T121314", "20010101T251314",
+                "2001010AT121314", "20010101T121314+2500", "20010101T121314Q", "00000101T121314")) {
+            assertThrows(RuntimeException.class, () -> SECOM_DATE_TIME_FORMATTER.parse(text, Instant::from), text);
+            assertThrows(RuntimeException.class, () -> codec.parse(text), text);
+        }
+    }
+
+    /**
+     * Asserts that the codec and the formatter either parse the provided
+     * text into the same instant, or both reject it.
+     *
+     * @param formatter the SECOM date-time formatter
+     * @param codec     the SECOM date-time codec
+     * @param text      the text to be parsed
+     */
+    private void assertSameParsing(DateTimeFormatter formatter, SecomDateTimeCodec codec, String text) {
+        final Instant expected;
+        try {
+            expected = formatter.parse(text, Instant::from);
+        } catch (DateTimeParseException ex) {
+            assertThrows(DateTimeParseException.class, () -> codec.parse(text), "Parsing " + text);
+            return;
+        }
+        assertEquals(expected, codec.parse(text), "Parsing " + text);
+    }
+
+    /**
+     * Generates a random instant within the 4-digit year range.
+     *
+     * @param random the random generator
+     * @return the random instant
+     */
+    private Instant randomInstant(Random random) {
+        return Instant.ofEpochSecond(MIN_EPOCH_SECOND + (long) (random.nextDouble() * (MAX_EPOCH_SECOND - MIN_EPOCH_SECOND)), random.nextInt(1_000_000_000));
+    }
+
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.core.models;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JSR310Module;
+import org.grad.secom.core.models.enums.AckRequestEnum;
+import org.grad.secom.core.models.enums.DigitalSignatureAlgorithmEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingGetResponseObjectTest {
+
+    // Class Variables
+    private List<DataResponseObject> dataResponseObjects;
+    private PaginationObject paginationObject;
+    private ObjectMapper mapper;
+
+    /**
+     * Set up some base data.
+     */
+    @BeforeEach
+    void setup() {
+        //Setup an object mapper
+        this.mapper = new ObjectMapper();
+        this.mapper.registerModule(new JSR310Module());
+
+        // Create a list of data response objects
+        this.dataResponseObjects = IntStream.range(0, 50)
+                .mapToObj(i -> {
+                    // Create a digital signature value
+                    DigitalSignatureValue digitalSignatureValue = new DigitalSignatureValue();
+                    digitalSignatureValue.setPublicRootCertificateThumbprint("thumbprint");
+                    digitalSignatureValue.setPublicCertificate("certificate");
+                    digitalSignatureValue.setDigitalSignature("signature");
+
+                    // Create SECOM exchange metadata
+                    SECOM_ExchangeMetadataObject exchangeMetadata = new SECOM_ExchangeMetadataObject();
+                    exchangeMetadata.setDataProtection(Boolean.FALSE);
+                    exchangeMetadata.setProtectionScheme("SECOM");
+                    exchangeMetadata.setDigitalSignatureReference(DigitalSignatureAlgorithmEnum.DSA);
+                    exchangeMetadata.setDigitalSignatureValue(digitalSignatureValue);
+                    exchangeMetadata.setCompressionFlag(Boolean.FALSE);
+
+                    // Create the data response object
+                    DataResponseObject dataResponseObject = new DataResponseObject();
+                    dataResponseObject.setData(("data" + i).getBytes(StandardCharsets.UTF_8));
+                    dataResponseObject.setExchangeMetadata(exchangeMetadata);
+                    dataResponseObject.setAckRequest(AckRequestEnum.NO_ACK_REQUESTED);
+                    return dataResponseObject;
+                })
+                .toList();
+
+        // Create a pagination object
+        this.paginationObject = new PaginationObject();
+        this.paginationObject.setMaxItemsPerPage(100);
+        this.paginationObject.setTotalItems(999);
+    }
+
+    /**
+     * Test that the streamed JSON output can be read back as a normal SECOM
+     * get response object.
+     */
+    @Test
+    void testWriteTo() throws IOException {
+        // Create the streaming object
+        StreamingGetResponseObject obj = new StreamingGetResponseObject(this.dataResponseObjects.iterator(), () -> this.paginationObject);
+        obj.setResponseText("Test");
+
+        // Stream the object and read it back
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        obj.writeTo(this.mapper, outputStream);
+        GetResponseObject result = this.mapper.readValue(outputStream.toByteArray(), GetResponseObject.class);
+
+        // Make sure it looks OK
+        assertNotNull(result);
+        assertNotNull(result.getDataResponseObject());
+        assertEquals(this.dataResponseObjects.size(), result.getDataResponseObject().size());
+        for(int i = 0; i < this.dataResponseObjects.size(); i++) {
+            assertEquals(new String(this.dataResponseObjects.get(i).getData()), new String(result.getDataResponseObject().get(i).getData()));
+            assertEquals(this.dataResponseObjects.get(i).getAckRequest(), result.getDataResponseObject().get(i).getAckRequest());
+            assertNotNull(result.getDataResponseObject().get(i).getExchangeMetadata());
+        }
+        assertNotNull(result.getPagination());
+        assertEquals(this.paginationObject.getMaxItemsPerPage(), result.getPagination().getMaxItemsPerPage());
+        assertEquals(this.paginationObject.getTotalItems(), result.getPagination().getTotalItems());
+        assertEquals("Test", result.getResponseText());
+    }
+
+    /**
+     * Test that the registered item processors are applied onto each item
+     * and that the close handlers are called once the stream is written.
+     */
+    @Test
+    void testPeekAndClose() throws IOException {
+        // Create the streaming object from a stream
+        AtomicInteger processed = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        StreamingGetResponseObject obj = new StreamingGetResponseObject(this.dataResponseObjects.stream().onClose(() -> closed.set(true)), () -> this.paginationObject);
+        obj.peek(item -> processed.incrementAndGet());
+
+        // Stream the object
+        obj.writeTo(this.mapper, new ByteArrayOutputStream());
+
+        // Make sure everything was processed
+        assertEquals(this.dataResponseObjects.size(), processed.get());
+        assertTrue(closed.get());
+    }
+
+    /**
+     * Test that the streaming object can also consume the items from a
+     * reactive publisher.
+     */
+    @Test
+    void testPublisher() throws IOException {
+        // Create the streaming object from a publisher
+        SubmissionPublisher<DataResponseObject> publisher = new SubmissionPublisher<>();
+        StreamingGetResponseObject obj = new StreamingGetResponseObject(publisher, () -> this.paginationObject);
+
+        // Publish all the items in a separate thread
+        new Thread(() -> {
+            this.dataResponseObjects.forEach(publisher::submit);
+            publisher.close();
+        }).start();
+
+        // Stream the object and read it back
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        obj.writeTo(this.mapper, outputStream);
+        GetResponseObject result = this.mapper.readValue(outputStream.toByteArray(), GetResponseObject.class);
+
+        // Make sure it looks OK
+        assertNotNull(result);
+        assertNotNull(result.getDataResponseObject());
+        assertEquals(this.dataResponseObjects.size(), result.getDataResponseObject().size());
+        assertEquals(new String(this.dataResponseObjects.get(0).getData()), new String(result.getDataResponseObject().get(0).getData()));
+        assertEquals(new String(this.dataResponseObjects.get(49).getData()), new String(result.getDataResponseObject().get(49).getData()));
+    }
+
+    /**
+     * Test that errors signalled by the publisher are propagated to the
+     * response writer.
+     */
+    @Test
+    void testPublisherError() {
+        // Create the streaming object from a publisher
+        SubmissionPublisher<DataResponseObject> publisher = new SubmissionPublisher<>();
+        StreamingGetResponseObject obj = new StreamingGetResponseObject(publisher, () -> this.paginationObject);
+
+        // Fail the publisher
+        publisher.closeExceptionally(new RuntimeException("Publisher failure"));
+
+        // Make sure the failure is propagated
+        assertThrows(IllegalStateException.class, () -> obj.writeTo(this.mapper, new ByteArrayOutputStream()));
+    }
+
+    /**
+     * Test that a publisher delivering more items than requested fails the
+     * response and gets cancelled, instead of having its items dropped.
+     */
+    @Test
+    void testPublisherOverflow() {
+        // Create a publisher ignoring the requested demand
+        AtomicBoolean cancelled = new AtomicBoolean();
+        Flow.Publisher<DataResponseObject> publisher = subscriber -> {
+            subscriber.onSubscribe(new Flow.Subscription() {
+                @Override
+                public void request(long n) {
+                    // Ignore the demand
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled.set(true);
+                }
+            });
+            this.dataResponseObjects.forEach(subscriber::onNext);
+            subscriber.onComplete();
+        };
+        StreamingGetResponseObject obj = new StreamingGetResponseObject(publisher, () -> this.paginationObject);
+
+        // Make sure the overflow is reported
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> obj.writeTo(this.mapper, new ByteArrayOutputStream()));
+        assertTrue(ex.getMessage().contains("more items than requested"));
+        assertTrue(cancelled.get());
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import java.time.Duration;
+
+/**
+ * The SECOM Circuit Breaker Class.
+ * <p/>
+ * A simple circuit breaker for a single SECOM endpoint. After a number of
+ * consecutive failures, the circuit is opened and all requests to the
+ * endpoint fail fast for a configurable duration. After that, a single probe
+ * request is allowed through (half-open state); if this succeeds the circuit
+ * is closed again, otherwise it is re-opened.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomCircuitBreaker {
+
+    /**
+     * The circuit breaker states.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    // Class Variables
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private State state;
+    private int consecutiveFailures;
+    private long openUntil;
+    private boolean probing;
+
+    /**
+     * The SECOM Circuit Breaker Constructor.
+     *
+     * @param failureThreshold  the number of consecutive failures that open the circuit
+     * @param openDuration      the duration the circuit remains open
+     */
+    public SecomCircuitBreaker(int failureThreshold, Duration openDuration) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationNanos = openDuration.toNanos();
+        this.state = State.CLOSED;
+    }
+
+    /**
+     * Gets the current state.
+     *
+     * @return the current state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Checks whether a request is allowed through the circuit breaker. When
+     * the open duration has elapsed, the first caller is allowed through as
+     * the half-open probe.
+     *
+     * @return whether the request is allowed
+     */
+    public synchronized boolean tryAcquire() {
+        switch (this.state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - this.openUntil < 0) {
+                    return false;
+                }
+                this.state = State.HALF_OPEN;
+                this.probing = true;
+                return true;
+            default:
+                if (this.probing) {
+                    return false;
+                }
+                this.probing = true;
+                return true;
+        }
+    }
+
+    /**
+     * Records a successful request, closing the circuit.
+     */
+    public synchronized void onSuccess() {
+        this.state = State.CLOSED;
+        this.consecutiveFailures = 0;
+        this.probing = false;
+    }
+
+    /**
+     * Records a failed request, opening the circuit if the failure threshold
+     * has been reached or the half-open probe failed.
+     */
+    public synchronized void onFailure() {
+        this.consecutiveFailures++;
+        if (this.state == State.HALF_OPEN || this.consecutiveFailures >= this.failureThreshold) {
+            this.state = State.OPEN;
+            this.openUntil = System.nanoTime() + this.openDurationNanos;
+            this.probing = false;
+        }
+    }
+
+    /**
+     * Records a request that was cancelled before completing, e.g. a hedged
+     * request that lost the race. If this was the half-open probe, another
+     * probe is allowed.
+     */
+    public synchronized void onCancel() {
+        this.probing = false;
+    }
+
+}
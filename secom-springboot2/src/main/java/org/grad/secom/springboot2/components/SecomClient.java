@@ -16,11 +16,20 @@
 
 package org.grad.secom.springboot2.components;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.OpenSsl;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.SslProvider;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.grad.secom.core.base.AbortableStream;
 import org.grad.secom.core.base.SecomCertificateProvider;
 import org.grad.secom.core.base.SecomCompressionProvider;
 import org.grad.secom.core.base.SecomEncryptionProvider;
@@ -29,18 +38,41 @@ import org.grad.secom.core.models.*;
 import org.grad.secom.core.models.enums.ContainerTypeEnum;
 import org.grad.secom.core.models.enums.SECOM_DataProductType;
 import org.grad.secom.core.utils.KeyStoreUtils;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
 
 import javax.validation.constraints.Min;
 import javax.ws.rs.QueryParam;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.KeyStoreException;
 import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
@@ -48,9 +80,20 @@ import java.security.cert.CertificateException;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.grad.secom.core.base.SecomConstants.SECOM_DATE_TIME_FORMATTER;
 import static org.grad.secom.core.interfaces.AccessNotificationSecomInterface.ACCESS_NOTIFICATION_INTERFACE_PATH;
@@ -76,17 +119,79 @@ import static org.grad.secom.core.interfaces.UploadSecomInterface.UPLOAD_INTERFA
  * This class can be used to register Springboot beans that connect to SECOM
  * compliant services and access/push information in the standardised
  * interfaces.
+ * <p/>
+ * Each SECOM interface is offered both as a blocking operation and as a
+ * reactive one (suffixed with "Async"), which returns a {@link Mono} and
+ * allows the composition of many concurrent SECOM exchanges without blocking
+ * the calling threads. Any CPU intensive processing such as the signing,
+ * encryption, compression and encoding of the data is performed on the
+ * processing scheduler, rather than the HTTP client event-loop threads.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
 public class SecomClient {
 
+    /**
+     * The default TLS handshake timeout.
+     */
+    public static final Duration DEFAULT_HANDSHAKE_TIMEOUT = Duration.of(2, ChronoUnit.SECONDS);
+
+    /**
+     * The object mapper used to generate the response cache keys.
+     */
+    private static final ObjectMapper CACHE_KEY_MAPPER = new ObjectMapper();
+
+    /**
+     * The object mapper used to copy the cached responses for each caller.
+     */
+    private static final ObjectMapper RESPONSE_COPY_MAPPER = Jackson2ObjectMapperBuilder.json().build();
+
+    /**
+     * The decoder of the Get response data while these are being received.
+     */
+    private static final SecomJsonItemDecoder<DataResponseObject> GET_DATA_DECODER = new SecomJsonItemDecoder<>(
+            Jackson2ObjectMapperBuilder.json().build(), "dataResponseObject", DataResponseObject.class);
+
+    /**
+     * The first page of the Get and Get Summary interfaces.
+     */
+    private static final int GET_FIRST_PAGE = 1;
+
+    /**
+     * The first page of the Search Service interface.
+     */
+    private static final int SEARCH_FIRST_PAGE = 0;
+
+    /**
+     * The SSL contexts shared between the clients of the same configuration,
+     * so that their TLS session caches are shared as well. Separate contexts
+     * are kept with and without the HTTP/2 negotiation.
+     */
+    private static final Map<SecomConfigProperties, Map<Boolean, SslContext>> SHARED_SSL_CONTEXTS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * The Class Logger.
+     */
+    private static final Log log = LogFactory.getLog(SecomClient.class);
+
     // Class Variables
+    URL url;
     WebClient secomClient;
     SecomCertificateProvider certificateProvider;
     SecomSignatureProvider signatureProvider;
     SecomEncryptionProvider encryptionProvider;
     SecomCompressionProvider compressionProvider;
+    Scheduler processingScheduler;
+    SecomResponseCache responseCache;
+    int paginationPageSize;
+    int paginationPrefetch;
+    int bulkConcurrency;
+    int bulkRetries;
+    Duration bulkDeadline;
+    List<URL> alternateUrls;
+    SecomResiliencePolicy resiliencePolicy;
+    SecomRequestCoalescer requestCoalescer;
+    SecomDataCache dataCache;
 
     /**
      * The SECOM Client Constructor.
@@ -94,7 +199,15 @@ public class SecomClient {
      * The client constructor is build as a simple class, not a Spring component
      * as it can be used for multiple connections. According to the provided
      * SECOM configuration properties, the SSL can be configured to pick up
-     * and also provide client certificates for the communication.
+     * and also provide client certificates for the communication. The client
+     * is tuned by the SECOM client configuration properties bean, if one is
+     * available in the application context.
+     *
+     * Note that each client created through this constructor creates its own
+     * HTTP connector and looks up the SECOM providers, although the SSL
+     * context is shared between the clients of the same configuration. When
+     * many clients are required, the {@link SecomClientFactory} should be
+     * used instead.
      *
      * @param url       the URL of the SECOM service
      * @param config    the SECOM configuration properties bundle
@@ -105,46 +218,97 @@ public class SecomClient {
      * @throws UnrecoverableKeyException for certificate key exceptions
      */
     public SecomClient(URL url, SecomConfigProperties config) throws IOException, KeyStoreException, NoSuchAlgorithmException, CertificateException, UnrecoverableKeyException {
-        // Initialise the HTTP connection configuration
-        HttpClient httpConnector = HttpClient
-                .create()
-                .followRedirect(true);
-
-        // When a valid SECOM configuration is provided, use it
-        if(Objects.nonNull(config)) {
-            // Start Setting up the SSL context builder.
-            SslContextBuilder sslContextBuilder = SslContextBuilder
-                    .forClient();
-
-            // If we have a keystore and a valid password
-            if (StringUtils.isNotBlank(config.getKeystore()) && StringUtils.isNotBlank(config.getKeystorePassword())) {
-                sslContextBuilder.keyManager(KeyStoreUtils.getKeyManagerFactory(
-                        config.getKeystore(), config.getKeystorePassword(), config.getKeystoreType(), null));
-            }
+        this(url, config, SecomSpringContext.getBean(SecomClientConfigProperties.class));
+    }
 
-            // If we have a truststore and a valid password
-            if (StringUtils.isNotBlank(config.getTruststore()) && StringUtils.isNotBlank(config.getTruststorePassword())) {
-                sslContextBuilder.trustManager(KeyStoreUtils.getTrustManagerFactory(
-                        config.getTruststore(), config.getTruststorePassword(), config.getTruststoreType(), null));
-            }
-            // Otherwise, check is an insecure policy it to be applied
-            else if (config.getInsecureSslPolicy()) {
-                 sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
-            }
+    /**
+     * The SECOM Client Constructor with the SECOM client configuration
+     * properties.
+     *
+     * Similarly to the {@link #SecomClient(URL, SecomConfigProperties)}
+     * constructor, each client created this way creates its own HTTP
+     * connector and looks up the SECOM providers, while it is tuned by the
+     * provided SECOM client configuration properties.
+     *
+     * @param url           the URL of the SECOM service
+     * @param config        the SECOM configuration properties bundle
+     * @param clientConfig  the SECOM client configuration properties
+     * @throws IOException for IO exceptions
+     * @throws KeyStoreException for exceptions while handling the key-store
+     * @throws NoSuchAlgorithmException for exceptions onthe key-store alghorithm
+     * @throws CertificateException for certificate exceptions
+     * @throws UnrecoverableKeyException for certificate key exceptions
+     */
+    public SecomClient(URL url, SecomConfigProperties config, SecomClientConfigProperties clientConfig) throws IOException, KeyStoreException, NoSuchAlgorithmException, CertificateException, UnrecoverableKeyException {
+        this(url,
+                configure(HttpClient.create(), getSharedSslContext(config, clientConfig), config, clientConfig),
+                config,
+                clientConfig,
+                SecomSpringContext.getBean(SecomCertificateProvider.class),
+                SecomSpringContext.getBean(SecomSignatureProvider.class),
+                SecomSpringContext.getBean(SecomEncryptionProvider.class),
+                SecomSpringContext.getBean(SecomCompressionProvider.class));
+    }
 
-            // Add the SSL context to the HTTP connector
-            SslContext sslContext = sslContextBuilder
-                    .sslProvider(SslProvider.JDK)
-                    .build();
-            httpConnector = httpConnector.secure(spec -> spec.sslContext(sslContext)
-                    .handshakeTimeout(Duration.of(2, ChronoUnit.SECONDS)));
-        }
+    /**
+     * The SECOM Client Constructor with a pre-configured HTTP connector.
+     *
+     * This allows the HTTP connector (and therefore its SSL context and
+     * connection pool), as well as the SECOM providers, to be shared between
+     * multiple SECOM clients. It is mainly used by the
+     * {@link SecomClientFactory}, which should be the preferred way of
+     * creating SECOM clients.
+     *
+     * @param url                   the URL of the SECOM service
+     * @param httpConnector         the HTTP connector to be used
+     * @param config                the SECOM configuration properties bundle
+     * @param clientConfig          the SECOM client configuration properties
+     * @param certificateProvider   the SECOM certificate provider
+     * @param signatureProvider     the SECOM signature provider
+     * @param encryptionProvider    the SECOM encryption provider
+     * @param compressionProvider   the SECOM compression provider
+     */
+    public SecomClient(URL url,
+                       HttpClient httpConnector,
+                       SecomConfigProperties config,
+                       SecomClientConfigProperties clientConfig,
+                       SecomCertificateProvider certificateProvider,
+                       SecomSignatureProvider signatureProvider,
+                       SecomEncryptionProvider encryptionProvider,
+                       SecomCompressionProvider compressionProvider) {
+        // Initialise the providers
+        this.url = url;
+        this.certificateProvider = certificateProvider;
+        this.signatureProvider = signatureProvider;
+        this.encryptionProvider = encryptionProvider;
+        this.compressionProvider = compressionProvider;
 
-        // Initialise the provider beans by default if possible
-        this.certificateProvider = SecomSpringContext.getBean(SecomCertificateProvider.class);
-        this.signatureProvider = SecomSpringContext.getBean(SecomSignatureProvider.class);
-        this.encryptionProvider = SecomSpringContext.getBean(SecomEncryptionProvider.class);
-        this.compressionProvider = SecomSpringContext.getBean(SecomCompressionProvider.class);
+        // The SECOM processing should not block the event-loop threads
+        this.processingScheduler = Schedulers.boundedElastic();
+
+        // Initialise the pagination settings
+        this.paginationPageSize = SecomPagination.DEFAULT_PAGE_SIZE;
+        this.paginationPrefetch = SecomPagination.DEFAULT_PREFETCH;
+        this.bulkConcurrency = SecomPagination.DEFAULT_BULK_CONCURRENCY;
+        this.bulkRetries = SecomPagination.DEFAULT_BULK_RETRIES;
+
+        // Cache the rarely changing responses, if configured
+        this.responseCache = SecomResponseCache.fromConfig(clientConfig).orElse(null);
+
+        // Protect against slow or failing services, if configured
+        this.alternateUrls = Collections.emptyList();
+        this.resiliencePolicy = SecomResiliencePolicy.fromConfig(clientConfig).orElse(null);
+
+        // Coalesce the identical concurrent requests, if configured
+        this.requestCoalescer = Optional.ofNullable(clientConfig)
+                .map(SecomClientConfigProperties::getResilience)
+                .map(SecomClientConfigProperties.Resilience::getCoalesceRequests)
+                .filter(Boolean.TRUE::equals)
+                .map(coalesce -> new SecomRequestCoalescer())
+                .orElse(null);
+
+        // Keep the retrieved data for repeated reads, if configured
+        this.dataCache = SecomDataCache.fromConfig(clientConfig).orElse(null);
 
         // And create the SECOM web client
         this.secomClient = WebClient.builder()
@@ -155,10 +319,196 @@ public class SecomClient {
                         .maxInMemorySize(Optional.ofNullable(config)
                                 .map(SecomConfigProperties::getClientMaxMemorySize)
                                 .orElse(-1)))
+                .filter(this.resilienceFilter())
                 //.filter(setJWT())
                 .build();
     }
 
+    /**
+     * Builds the client SSL context based on the provided SECOM configuration
+     * properties. This will load the configured keystore and truststore, if
+     * any, so it should ideally be performed once and the result shared. If no
+     * configuration is provided, null will be returned. The SECOM client
+     * configuration properties determine whether HTTP/2 should be negotiated.
+     *
+     * @param config        the SECOM configuration properties bundle
+     * @param clientConfig  the SECOM client configuration properties
+     * @return the client SSL context
+     * @throws IOException for IO exceptions
+     * @throws KeyStoreException for exceptions while handling the key-store
+     * @throws NoSuchAlgorithmException for exceptions onthe key-store alghorithm
+     * @throws CertificateException for certificate exceptions
+     * @throws UnrecoverableKeyException for certificate key exceptions
+     */
+    public static SslContext buildSslContext(SecomConfigProperties config, SecomClientConfigProperties clientConfig) throws IOException, KeyStoreException, NoSuchAlgorithmException, CertificateException, UnrecoverableKeyException {
+        // Sanity Check
+        if(Objects.isNull(config)) {
+            return null;
+        }
+
+        // Start Setting up the SSL context builder.
+        SslContextBuilder sslContextBuilder = SslContextBuilder
+                .forClient();
+
+        // If we have a keystore and a valid password
+        if (StringUtils.isNotBlank(config.getKeystore()) && StringUtils.isNotBlank(config.getKeystorePassword())) {
+            sslContextBuilder.keyManager(KeyStoreUtils.getKeyManagerFactory(
+                    config.getKeystore(), config.getKeystorePassword(), config.getKeystoreType(), null));
+        }
+
+        // If we have a truststore and a valid password
+        if (StringUtils.isNotBlank(config.getTruststore()) && StringUtils.isNotBlank(config.getTruststorePassword())) {
+            sslContextBuilder.trustManager(KeyStoreUtils.getTrustManagerFactory(
+                    config.getTruststore(), config.getTruststorePassword(), config.getTruststoreType(), null));
+        }
+        // Otherwise, check is an insecure policy it to be applied
+        else if (Boolean.TRUE.equals(config.getInsecureSslPolicy())) {
+             sslContextBuilder.trustManager(InsecureTrustManagerFactory.INSTANCE);
+        }
+
+        // If HTTP/2 is enabled, it should be negotiated through ALPN
+        if (isHttp2(clientConfig)) {
+            sslContextBuilder.applicationProtocolConfig(new ApplicationProtocolConfig(
+                    ApplicationProtocolConfig.Protocol.ALPN,
+                    ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+                    ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+                    ApplicationProtocolNames.HTTP_2,
+                    ApplicationProtocolNames.HTTP_1_1));
+        }
+
+        // Allow the TLS sessions to be resumed, avoiding the full handshakes
+        Optional.ofNullable(config.getClientSslSessionCacheSize())
+                .ifPresent(sslContextBuilder::sessionCacheSize);
+        Optional.ofNullable(config.getClientSslSessionTimeout())
+                .map(Duration::toSeconds)
+                .ifPresent(sslContextBuilder::sessionTimeout);
+
+        // And build the SSL context
+        return sslContextBuilder
+                .sslProvider(resolveSslProvider(config))
+                .build();
+    }
+
+    /**
+     * Returns the SSL context for the provided SECOM configuration properties,
+     * building it only on the first call. The SSL context, and therefore its
+     * TLS session cache, is shared between all the clients created with the
+     * same configuration, so that the connections to a peer already contacted
+     * can resume the previous session instead of performing a full handshake.
+     * If no configuration is provided, null will be returned.
+     *
+     * @param config        the SECOM configuration properties bundle
+     * @param clientConfig  the SECOM client configuration properties
+     * @return the shared client SSL context
+     * @throws IOException for IO exceptions
+     * @throws KeyStoreException for exceptions while handling the key-store
+     * @throws NoSuchAlgorithmException for exceptions onthe key-store alghorithm
+     * @throws CertificateException for certificate exceptions
+     * @throws UnrecoverableKeyException for certificate key exceptions
+     */
+    public static SslContext getSharedSslContext(SecomConfigProperties config, SecomClientConfigProperties clientConfig) throws IOException, KeyStoreException, NoSuchAlgorithmException, CertificateException, UnrecoverableKeyException {
+        // Sanity Check
+        if(Objects.isNull(config)) {
+            return null;
+        }
+
+        synchronized (SHARED_SSL_CONTEXTS) {
+            final Map<Boolean, SslContext> sslContexts = SHARED_SSL_CONTEXTS.computeIfAbsent(config, key -> new HashMap<>());
+            SslContext sslContext = sslContexts.get(isHttp2(clientConfig));
+            if(sslContext == null) {
+                sslContext = buildSslContext(config, clientConfig);
+                sslContexts.put(isHttp2(clientConfig), sslContext);
+            }
+            return sslContext;
+        }
+    }
+
+    /**
+     * Resolves the SSL provider to be used based on the provided SECOM
+     * configuration properties. The OpenSSL providers (e.g. using the
+     * BoringSSL native library) can perform the handshakes considerably
+     * faster, but require the netty-tcnative library to be available. If it
+     * is not, the JDK provider is used instead.
+     *
+     * @param config    the SECOM configuration properties bundle
+     * @return the SSL provider to be used
+     */
+    static SslProvider resolveSslProvider(SecomConfigProperties config) {
+        final SslProvider sslProvider = Optional.ofNullable(config)
+                .map(SecomConfigProperties::getClientSslProvider)
+                .orElse(SslProvider.JDK);
+        if(sslProvider != SslProvider.JDK && !OpenSsl.isAvailable()) {
+            log.warn("The " + sslProvider + " SSL provider is not available, falling back to the JDK one: " + OpenSsl.unavailabilityCause().getMessage());
+            return SslProvider.JDK;
+        }
+        return sslProvider;
+    }
+
+    /**
+     * Configures the provided HTTP connector for the SECOM communication, i.e.
+     * enables the redirect following and, if an SSL context is provided,
+     * secures the connections with it. Any connection tuning options of the
+     * SECOM client configuration properties, such as the timeouts, the HTTP/2
+     * support and the response compression, are also applied at this point.
+     *
+     * @param httpConnector the HTTP connector to be configured
+     * @param sslContext    the SSL context to be used, if any
+     * @param config        the SECOM configuration properties bundle
+     * @param clientConfig  the SECOM client configuration properties
+     * @return the configured HTTP connector
+     */
+    public static HttpClient configure(HttpClient httpConnector, SslContext sslContext, SecomConfigProperties config, SecomClientConfigProperties clientConfig) {
+        final Optional<SecomClientConfigProperties.Connection> connection = Optional.ofNullable(clientConfig)
+                .map(SecomClientConfigProperties::getConnection);
+
+        // Initialise the HTTP connection configuration
+        HttpClient secureHttpConnector = httpConnector.followRedirect(true);
+
+        // Add the SSL context to the HTTP connector
+        if(Objects.nonNull(sslContext)) {
+            final Duration handshakeTimeout = Optional.ofNullable(config)
+                    .map(SecomConfigProperties::getClientHandshakeTimeout)
+                    .orElse(DEFAULT_HANDSHAKE_TIMEOUT);
+            secureHttpConnector = secureHttpConnector.secure(spec -> spec.sslContext(sslContext)
+                    .handshakeTimeout(handshakeTimeout));
+
+            // HTTP/2 is only supported over TLS, with a fallback to HTTP/1.1
+            if(isHttp2(clientConfig)) {
+                secureHttpConnector = secureHttpConnector.protocol(HttpProtocol.H2, HttpProtocol.HTTP11);
+            }
+        }
+
+        // Accept the gzip and deflate encoded responses, if configured
+        if(connection.map(SecomClientConfigProperties.Connection::getCompression).orElse(Boolean.FALSE)) {
+            secureHttpConnector = secureHttpConnector.compress(true);
+        }
+
+        // Apply the connection and response timeouts, if configured
+        final Optional<Duration> connectTimeout = connection.map(SecomClientConfigProperties.Connection::getConnectTimeout);
+        if(connectTimeout.isPresent()) {
+            secureHttpConnector = secureHttpConnector.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.get().toMillis());
+        }
+        final Optional<Duration> responseTimeout = connection.map(SecomClientConfigProperties.Connection::getResponseTimeout);
+        if(responseTimeout.isPresent()) {
+            secureHttpConnector = secureHttpConnector.responseTimeout(responseTimeout.get());
+        }
+        return secureHttpConnector;
+    }
+
+    /**
+     * Returns whether HTTP/2 has been enabled in the provided SECOM client
+     * configuration properties.
+     *
+     * @param clientConfig  the SECOM client configuration properties
+     * @return whether HTTP/2 has been enabled
+     */
+    static boolean isHttp2(SecomClientConfigProperties clientConfig) {
+        return Optional.ofNullable(clientConfig)
+                .map(SecomClientConfigProperties::getConnection)
+                .map(SecomClientConfigProperties.Connection::getHttp2)
+                .orElse(Boolean.FALSE);
+    }
+
     /**
      * Gets certificate provider.
      *
@@ -195,6 +545,219 @@ public class SecomClient {
         this.signatureProvider = signatureProvider;
     }
 
+    /**
+     * Gets processing scheduler.
+     *
+     * @return the processing scheduler
+     */
+    public Scheduler getProcessingScheduler() {
+        return processingScheduler;
+    }
+
+    /**
+     * Sets processing scheduler.
+     *
+     * @param processingScheduler the processing scheduler
+     */
+    public void setProcessingScheduler(Scheduler processingScheduler) {
+        this.processingScheduler = processingScheduler;
+    }
+
+    /**
+     * Gets response cache.
+     *
+     * @return the response cache
+     */
+    public SecomResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    /**
+     * Sets response cache. This is used to cache the responses of the
+     * Capability, Ping and Search Service interfaces. If set to null, no
+     * caching will take place.
+     *
+     * @param responseCache the response cache
+     */
+    public void setResponseCache(SecomResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Gets alternate urls.
+     *
+     * @return the alternate urls
+     */
+    public List<URL> getAlternateUrls() {
+        return alternateUrls;
+    }
+
+    /**
+     * Sets alternate urls. These are the URLs of other instances of the same
+     * SECOM service, to which hedged requests can be sent by the resilience
+     * policy.
+     *
+     * @param alternateUrls the alternate urls
+     */
+    public void setAlternateUrls(List<URL> alternateUrls) {
+        this.alternateUrls = Optional.ofNullable(alternateUrls).orElse(Collections.emptyList());
+    }
+
+    /**
+     * Gets resilience policy.
+     *
+     * @return the resilience policy
+     */
+    public SecomResiliencePolicy getResiliencePolicy() {
+        return resiliencePolicy;
+    }
+
+    /**
+     * Sets resilience policy. This applies the timeouts, retries, hedged
+     * requests and circuit breakers onto all the client requests. If set to
+     * null, the requests are performed only once and as they are.
+     *
+     * @param resiliencePolicy the resilience policy
+     */
+    public void setResiliencePolicy(SecomResiliencePolicy resiliencePolicy) {
+        this.resiliencePolicy = resiliencePolicy;
+    }
+
+    /**
+     * Gets request coalescer.
+     *
+     * @return the request coalescer
+     */
+    public SecomRequestCoalescer getRequestCoalescer() {
+        return requestCoalescer;
+    }
+
+    /**
+     * Sets request coalescer. This allows identical concurrent Get and Get
+     * Summary requests to share a single in-flight request and its processed
+     * result. If set to null, each call performs its own request.
+     *
+     * @param requestCoalescer the request coalescer
+     */
+    public void setRequestCoalescer(SecomRequestCoalescer requestCoalescer) {
+        this.requestCoalescer = requestCoalescer;
+    }
+
+    /**
+     * Gets data cache.
+     *
+     * @return the data cache
+     */
+    public SecomDataCache getDataCache() {
+        return dataCache;
+    }
+
+    /**
+     * Sets data cache. This is used to serve repeated Get requests without
+     * accessing the network or processing the data again. If set to null, no
+     * caching will take place.
+     *
+     * @param dataCache the data cache
+     */
+    public void setDataCache(SecomDataCache dataCache) {
+        this.dataCache = dataCache;
+    }
+
+    /**
+     * Gets pagination page size.
+     *
+     * @return the pagination page size
+     */
+    public int getPaginationPageSize() {
+        return paginationPageSize;
+    }
+
+    /**
+     * Sets pagination page size. This is the page size used by the
+     * paginating operations, i.e. the ones returning fluxes and streams.
+     *
+     * @param paginationPageSize the pagination page size
+     */
+    public void setPaginationPageSize(int paginationPageSize) {
+        this.paginationPageSize = Math.max(1, paginationPageSize);
+    }
+
+    /**
+     * Gets pagination prefetch.
+     *
+     * @return the pagination prefetch
+     */
+    public int getPaginationPrefetch() {
+        return paginationPrefetch;
+    }
+
+    /**
+     * Sets pagination prefetch. This is the number of pages the paginating
+     * operations request ahead of the consumer.
+     *
+     * @param paginationPrefetch the pagination prefetch
+     */
+    public void setPaginationPrefetch(int paginationPrefetch) {
+        this.paginationPrefetch = Math.max(1, paginationPrefetch);
+    }
+
+    /**
+     * Gets bulk concurrency.
+     *
+     * @return the bulk concurrency
+     */
+    public int getBulkConcurrency() {
+        return bulkConcurrency;
+    }
+
+    /**
+     * Sets bulk concurrency. This is the maximum number of concurrent page
+     * requests of the bulk operations.
+     *
+     * @param bulkConcurrency the bulk concurrency
+     */
+    public void setBulkConcurrency(int bulkConcurrency) {
+        this.bulkConcurrency = Math.max(1, bulkConcurrency);
+    }
+
+    /**
+     * Gets bulk retries.
+     *
+     * @return the bulk retries
+     */
+    public int getBulkRetries() {
+        return bulkRetries;
+    }
+
+    /**
+     * Sets bulk retries. This is the number of times each page request of the
+     * bulk operations is retried on server or connection errors.
+     *
+     * @param bulkRetries the bulk retries
+     */
+    public void setBulkRetries(int bulkRetries) {
+        this.bulkRetries = Math.max(0, bulkRetries);
+    }
+
+    /**
+     * Gets bulk deadline.
+     *
+     * @return the bulk deadline
+     */
+    public Duration getBulkDeadline() {
+        return bulkDeadline;
+    }
+
+    /**
+     * Sets bulk deadline. This is the maximum duration of the bulk
+     * operations, or null for no limit.
+     *
+     * @param bulkDeadline the bulk deadline
+     */
+    public void setBulkDeadline(Duration bulkDeadline) {
+        this.bulkDeadline = bulkDeadline;
+    }
+
     /**
      * POST /v1/access/notification : Result from Access Request performed on a
      * service instance shall be sent asynchronous through this client
@@ -204,6 +767,18 @@ public class SecomClient {
      * @return the access notification response object
      */
     public Optional<AccessNotificationResponseObject> accessNotification(AccessNotificationObject accessNotificationObject) {
+        return this.accessNotificationAsync(accessNotificationObject).blockOptional();
+    }
+
+    /**
+     * POST /v1/access/notification : Result from Access Request performed on a
+     * service instance shall be sent asynchronous through this client
+     * interface.
+     *
+     * @param accessNotificationObject  the access notification object
+     * @return a mono of the access notification response object
+     */
+    public Mono<AccessNotificationResponseObject> accessNotificationAsync(AccessNotificationObject accessNotificationObject) {
         return this.secomClient
                 .post()
                 .uri(ACCESS_NOTIFICATION_INTERFACE_PATH)
@@ -211,8 +786,7 @@ public class SecomClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(accessNotificationObject))
                 .retrieve()
-                .bodyToMono(AccessNotificationResponseObject.class)
-                .blockOptional();
+                .bodyToMono(AccessNotificationResponseObject.class);
     }
 
     /**
@@ -223,6 +797,17 @@ public class SecomClient {
      * @return the request access response object
      */
     public Optional<AccessResponseObject> requestAccess(AccessRequestObject accessRequestObject) {
+        return this.requestAccessAsync(accessRequestObject).blockOptional();
+    }
+
+    /**
+     * POST /v1/access : Access to the service instance information can be
+     * requested through the Request Access interface.
+     *
+     * @param accessRequestObject the request access object
+     * @return a mono of the request access response object
+     */
+    public Mono<AccessResponseObject> requestAccessAsync(AccessRequestObject accessRequestObject) {
         return this.secomClient
                 .post()
                 .uri(ACCESS_INTERFACE_PATH)
@@ -230,8 +815,7 @@ public class SecomClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(accessRequestObject))
                 .retrieve()
-                .bodyToMono(AccessResponseObject.class)
-                .blockOptional();
+                .bodyToMono(AccessResponseObject.class);
     }
 
     /**
@@ -246,39 +830,70 @@ public class SecomClient {
      * @return the acknowledgement response object
      */
     public Optional<AcknowledgementResponseObject> acknowledgment(AcknowledgementObject acknowledgementObject) {
-        // If a signature provider has been assigned, use it to sign the
-        // acknowledgment object envelop data.
-        if(this.signatureProvider != null) {
-            acknowledgementObject.signEnvelope(this.certificateProvider, this.signatureProvider);
-        }
-
-        // And perform the web-call
-        return this.secomClient
-                .post()
-                .uri(ACKNOWLEDGMENT_INTERFACE_PATH)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromValue(acknowledgementObject))
-                .retrieve()
-                .bodyToMono(AcknowledgementResponseObject.class)
-                .blockOptional();
+        return this.acknowledgmentAsync(acknowledgementObject).blockOptional();
     }
 
     /**
-     * GET /v1/capability : The purpose of the interface is to provide a dynamic
+     * POST /v1/acknowledgement : During upload of information, an
+     * acknowledgement can be requested which is expected to be received when
+     * the uploaded message has been delivered to the end system (technical
+     * acknowledgement), and an acknowledgement when the message has been opened
+     * (read) by the end user (operational acknowledgement). The acknowledgement
+     * contains a reference to object delivered.
+     *
+     * @param acknowledgementObject  the acknowledgement object
+     * @return a mono of the acknowledgement response object
+     */
+    public Mono<AcknowledgementResponseObject> acknowledgmentAsync(AcknowledgementObject acknowledgementObject) {
+        return Mono.fromCallable(() -> this.prepareAcknowledgement(acknowledgementObject))
+                .subscribeOn(this.processingScheduler)
+                // And perform the web-call
+                .flatMap(obj -> this.secomClient
+                        .post()
+                        .uri(ACKNOWLEDGMENT_INTERFACE_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromValue(obj))
+                        .retrieve()
+                        .bodyToMono(AcknowledgementResponseObject.class));
+    }
+
+    /**
+     * GET /v1/capability : The purpose of the interface is to provide a dynamic
      * method to ask a service instance at runtime what interfaces are
      * accessible, and what payload formats and version are valid.
      *
      * @return the capability response object
      */
     public Optional<CapabilityResponseObject> capability() {
+        return this.capabilityAsync().blockOptional();
+    }
+
+    /**
+     * GET /v1/capability : The purpose of the interface is to provide a dynamic
+     * method to ask a service instance at runtime what interfaces are
+     * accessible, and what payload formats and version are valid.
+     *
+     * @return a mono of the capability response object
+     */
+    public Mono<CapabilityResponseObject> capabilityAsync() {
+        // If a response cache has been assigned, use it
+        if(this.responseCache != null) {
+            return this.responseCache.get(CAPABILITY_INTERFACE_PATH, this.responseCache.getCapabilityTtl(), cached ->
+                    this.conditionalExchange(this.secomClient
+                            .get()
+                            .uri(CAPABILITY_INTERFACE_PATH)
+                            .accept(MediaType.APPLICATION_JSON), cached, CapabilityResponseObject.class),
+                    jsonCopier(CapabilityResponseObject.class));
+        }
+
+        // Otherwise, perform the web-call directly
         return this.secomClient
                 .get()
                 .uri(CAPABILITY_INTERFACE_PATH)
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToMono(CapabilityResponseObject.class)
-                .blockOptional();
+                .bodyToMono(CapabilityResponseObject.class);
     }
 
     /**
@@ -293,6 +908,39 @@ public class SecomClient {
     public Optional<ResponseSearchObject> searchService(SearchFilterObject searchFilterObject,
                                                         Integer page,
                                                         Integer pageSize) {
+        return this.searchServiceAsync(searchFilterObject, page, pageSize).blockOptional();
+    }
+
+    /**
+     * POST /v1/searchService : The purpose of this interface is to search for
+     * service instances to consume.
+     *
+     * @param searchFilterObject    The search filter object
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return a mono of the result list of the search
+     */
+    public Mono<ResponseSearchObject> searchServiceAsync(SearchFilterObject searchFilterObject,
+                                                         Integer page,
+                                                         Integer pageSize) {
+        // If a response cache has been assigned, use it
+        final String cacheKey = this.responseCache != null ? this.searchCacheKey(searchFilterObject, page, pageSize) : null;
+        if(cacheKey != null) {
+            return this.responseCache.get(cacheKey, this.responseCache.getSearchTtl(), cached ->
+                    this.conditionalExchange(this.secomClient
+                            .post()
+                            .uri(uriBuilder -> uriBuilder
+                                    .path(SEARCH_SERVICE_INTERFACE_PATH)
+                                    .queryParam("page", page)
+                                    .queryParam("pageSize", pageSize)
+                                    .build())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .body(BodyInserters.fromValue(searchFilterObject)), cached, ResponseSearchObject.class),
+                    jsonCopier(ResponseSearchObject.class));
+        }
+
+        // Otherwise, perform the web-call directly
         return this.secomClient
                 .post()
                 .uri(uriBuilder -> uriBuilder
@@ -304,8 +952,36 @@ public class SecomClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(searchFilterObject))
                 .retrieve()
-                .bodyToMono(ResponseSearchObject.class)
-                .blockOptional();
+                .bodyToMono(ResponseSearchObject.class);
+    }
+
+    /**
+     * POST /v1/searchService : Searches for service instances to consume,
+     * returning the results of all pages as a single flux. The pages are
+     * requested ahead of the consumer according to the configured pagination
+     * page size and prefetch depth.
+     *
+     * @param searchFilterObject    The search filter object
+     * @return a flux of all the search results
+     */
+    public Flux<SearchObjectResult> searchServiceFlux(SearchFilterObject searchFilterObject) {
+        return SecomPagination.paginate(SEARCH_FIRST_PAGE, this.paginationPageSize, this.paginationPrefetch,
+                page -> this.searchServiceAsync(searchFilterObject, page, this.paginationPageSize),
+                ResponseSearchObject::getSearchServiceResult,
+                response -> null);
+    }
+
+    /**
+     * POST /v1/searchService : Searches for service instances to consume,
+     * returning the results of all pages as a lazy blocking stream. The
+     * stream should be closed if not fully consumed, so that any pending
+     * page requests are cancelled.
+     *
+     * @param searchFilterObject    The search filter object
+     * @return a stream of all the search results
+     */
+    public Stream<SearchObjectResult> searchServiceStream(SearchFilterObject searchFilterObject) {
+        return this.searchServiceFlux(searchFilterObject).toStream(this.paginationPageSize);
     }
 
     /**
@@ -318,6 +994,19 @@ public class SecomClient {
      * @return the encryption key response object
      */
     public Optional<EncryptionKeyResponseObject> encryptionKeyNotify(EncryptionKeyNotificationObject encryptionKeyNotificationObject) {
+        return this.encryptionKeyNotifyAsync(encryptionKeyNotificationObject).blockOptional();
+    }
+
+    /**
+     * POST /v1/encryptionkey/notify : The purpose of the interface is to
+     * exchange a temporary secret key. This operation enables a consumer to
+     * request an encrypted secret key from a producer by providing a reference
+     * to the encrypted data and a public certificate for symmetric key
+     * derivation used to protect the temporary encryption key during transfer.
+     *
+     * @return a mono of the encryption key response object
+     */
+    public Mono<EncryptionKeyResponseObject> encryptionKeyNotifyAsync(EncryptionKeyNotificationObject encryptionKeyNotificationObject) {
         return this.secomClient
                 .post()
                 .uri(ENCRYPTION_KEY_NOTIFY_INTERFACE_PATH)
@@ -325,8 +1014,7 @@ public class SecomClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(encryptionKeyNotificationObject))
                 .retrieve()
-                .bodyToMono(EncryptionKeyResponseObject.class)
-                .blockOptional();
+                .bodyToMono(EncryptionKeyResponseObject.class);
     }
 
     /**
@@ -337,23 +1025,35 @@ public class SecomClient {
      * @return the encryption key response object
      */
     public Optional<EncryptionKeyResponseObject> encryptionKey(EncryptionKeyObject encryptionKeyObject) {
-        // If a signature provider has been assigned, use it to sign the
-        // encryption key object envelop data.
-        if(this.signatureProvider != null) {
-            encryptionKeyObject.signEnvelope(this.certificateProvider, this.signatureProvider);
-        }
-
+        return this.encryptionKeyAsync(encryptionKeyObject).blockOptional();
+    }
 
-        // And perform the web-call
-        return this.secomClient
-                .post()
-                .uri(ENCRYPTION_KEY_INTERFACE_PATH)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromValue(encryptionKeyObject))
-                .retrieve()
-                .bodyToMono(EncryptionKeyResponseObject.class)
-                .blockOptional();
+    /**
+     * POST /v1/encryptionkey : The purpose of the interface is to exchange a
+     * temporary secret key. This operation is used to upload (push) an
+     * encrypted secret key to a consumer.
+     *
+     * @return a mono of the encryption key response object
+     */
+    public Mono<EncryptionKeyResponseObject> encryptionKeyAsync(EncryptionKeyObject encryptionKeyObject) {
+        return Mono.fromCallable(() -> {
+                    // If a signature provider has been assigned, use it to sign the
+                    // encryption key object envelop data.
+                    if(this.signatureProvider != null) {
+                        encryptionKeyObject.signEnvelope(this.certificateProvider, this.signatureProvider);
+                    }
+                    return encryptionKeyObject;
+                })
+                .subscribeOn(this.processingScheduler)
+                // And perform the web-call
+                .flatMap(obj -> this.secomClient
+                        .post()
+                        .uri(ENCRYPTION_KEY_INTERFACE_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromValue(obj))
+                        .retrieve()
+                        .bodyToMono(EncryptionKeyResponseObject.class));
     }
 
     /**
@@ -366,25 +1066,678 @@ public class SecomClient {
      * @param transactionIdentifier the transaction identifier
      * @return the object in an "application/octet-stream" encoding
      */
-    public Optional<byte[]> getByLink(UUID transactionIdentifier) {
-        return this.secomClient
-                .get()
-                .uri(uriBuilder -> uriBuilder
-                        .path(GET_BY_LINK_INTERFACE_PATH)
-                        .queryParam("transactionIdentifier", transactionIdentifier)
-                        .build())
-                .accept(MediaType.APPLICATION_OCTET_STREAM)
-                .retrieve()
-                .bodyToMono(byte[].class)
-                .blockOptional();
+    public Optional<byte[]> getByLink(UUID transactionIdentifier) {
+        return this.getByLinkAsync(transactionIdentifier).blockOptional();
+    }
+
+    /**
+     * GET /v1/object/link : The Get By Link interface is used for pulling
+     * information from a data storage handled by the information owner. The
+     * link to the data storage can be exchanged with Upload Link interface.
+     * The owner of the information (provider) is responsible for relevant
+     * authentication and authorization procedure before returning information.
+     * <p/>
+     * The received object is decompressed and decrypted by the assigned
+     * SECOM providers, in the same way as by the streaming variants.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @return a mono of the object in an "application/octet-stream" encoding
+     */
+    public Mono<byte[]> getByLinkAsync(UUID transactionIdentifier) {
+        return this.secomClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(GET_BY_LINK_INTERFACE_PATH)
+                        .queryParam("transactionIdentifier", transactionIdentifier)
+                        .build())
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .retrieve()
+                .bodyToMono(byte[].class)
+                // Decompress and decrypt away from the event-loop
+                .publishOn(this.processingScheduler)
+                .map(this::incomingData);
+    }
+
+    /**
+     * GET /v1/object/link : The streaming variant of the Get By Link
+     * interface, writing the linked object directly into the provided file.
+     * The received data are decompressed and decrypted incrementally, so that
+     * large objects do not need to be held in memory.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @param target the file to write the object into
+     * @param progressListener the progress listener, if any
+     * @return the number of bytes received
+     */
+    public long getByLink(UUID transactionIdentifier, Path target, SecomProgressListener progressListener) {
+        return this.getByLinkAsync(transactionIdentifier, target, progressListener)
+                .blockOptional()
+                .orElse(0L);
+    }
+
+    /**
+     * GET /v1/object/link : The streaming variant of the Get By Link
+     * interface, writing the linked object directly into the provided file.
+     * The file is created, or truncated if it exists, upon subscription.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @param target the file to write the object into
+     * @param progressListener the progress listener, if any
+     * @return a mono of the number of bytes received
+     */
+    public Mono<Long> getByLinkAsync(UUID transactionIdentifier, Path target, SecomProgressListener progressListener) {
+        return Mono.using(
+                () -> FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                channel -> this.getByLinkAsync(transactionIdentifier, channel, progressListener),
+                channel -> {
+                    try {
+                        channel.close();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+
+    /**
+     * GET /v1/object/link : The streaming variant of the Get By Link
+     * interface, writing the linked object into the provided channel. The
+     * channel is not closed once the transfer completes.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @param target the channel to write the object into
+     * @param progressListener the progress listener, if any
+     * @return a mono of the number of bytes received
+     */
+    public Mono<Long> getByLinkAsync(UUID transactionIdentifier, WritableByteChannel target, SecomProgressListener progressListener) {
+        return this.getByLinkAsync(transactionIdentifier, Channels.newOutputStream(target), progressListener);
+    }
+
+    /**
+     * GET /v1/object/link : The streaming variant of the Get By Link
+     * interface, writing the linked object into the provided sink as the
+     * data buffers arrive. Each buffer is decompressed and decrypted through
+     * the streaming operations of the assigned SECOM providers, away from the
+     * event-loop threads. The sink is flushed but not closed once the
+     * transfer completes. If the transfer fails or is cancelled, the
+     * processing streams are aborted, so that the incomplete data are
+     * discarded rather than decrypted or decompressed.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @param sink the output stream to write the object into
+     * @param progressListener the progress listener, if any
+     * @return a mono of the number of bytes received
+     */
+    public Mono<Long> getByLinkAsync(UUID transactionIdentifier, OutputStream sink, SecomProgressListener progressListener) {
+        return this.secomClient
+                .get()
+                .uri(uriBuilder -> uriBuilder
+                        .path(GET_BY_LINK_INTERFACE_PATH)
+                        .queryParam("transactionIdentifier", transactionIdentifier)
+                        .build())
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .exchangeToMono(response -> {
+                    if(response.statusCode().isError()) {
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    final long total = response.headers().contentLength().orElse(-1L);
+                    final OutputStream output = this.incomingDataStream(sink);
+                    return response.bodyToFlux(DataBuffer.class)
+                            .publishOn(this.processingScheduler)
+                            .reduce(0L, (transferred, dataBuffer) -> {
+                                final byte[] chunk = new byte[dataBuffer.readableByteCount()];
+                                dataBuffer.read(chunk);
+                                DataBufferUtils.release(dataBuffer);
+                                try {
+                                    synchronized (output) {
+                                        output.write(chunk);
+                                    }
+                                } catch (IOException ex) {
+                                    throw new UncheckedIOException(ex);
+                                }
+                                Optional.ofNullable(progressListener).ifPresent(l -> l.onProgress(transferred + chunk.length, total));
+                                return transferred + chunk.length;
+                            })
+                            .flatMap(transferred -> Mono.fromCallable(() -> {
+                                synchronized (output) {
+                                    output.close();
+                                }
+                                return transferred;
+                            }))
+                            .doFinally(signal -> {
+                                if(signal != SignalType.ON_COMPLETE) {
+                                    this.abortIncomingDataStream(output);
+                                }
+                            });
+                });
+    }
+
+    /**
+     * GET /v1/object : The Get interface is used for pulling information from a
+     * service provider. The owner of the information (provider) is responsible
+     * for the authorization procedure before returning information.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the object information
+     */
+    public Optional<GetResponseObject> get(@QueryParam("dataReference") UUID dataReference,
+                                           @QueryParam("containerType") ContainerTypeEnum containerType,
+                                           @QueryParam("dataProductType") SECOM_DataProductType dataProductType,
+                                           @QueryParam("productVersion") String productVersion,
+                                           @QueryParam("geometry") String geometry,
+                                           @QueryParam("unlocode") String unlocode,
+                                           @QueryParam("validFrom") LocalDateTime validFrom,
+                                           @QueryParam("validTo") LocalDateTime validTo,
+                                           @QueryParam("page") @Min(0) Integer page,
+                                           @QueryParam("pageSize") @Min(0) Integer pageSize) {
+        return this.getAsync(dataReference, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, pageSize).blockOptional();
+    }
+
+    /**
+     * GET /v1/object : The Get interface is used for pulling information from a
+     * service provider. The owner of the information (provider) is responsible
+     * for the authorization procedure before returning information.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return a mono of the object information
+     */
+    public Mono<GetResponseObject> getAsync(@QueryParam("dataReference") UUID dataReference,
+                                            @QueryParam("containerType") ContainerTypeEnum containerType,
+                                            @QueryParam("dataProductType") SECOM_DataProductType dataProductType,
+                                            @QueryParam("productVersion") String productVersion,
+                                            @QueryParam("geometry") String geometry,
+                                            @QueryParam("unlocode") String unlocode,
+                                            @QueryParam("validFrom") LocalDateTime validFrom,
+                                            @QueryParam("validTo") LocalDateTime validTo,
+                                            @QueryParam("page") @Min(0) Integer page,
+                                            @QueryParam("pageSize") @Min(0) Integer pageSize) {
+        final Mono<GetResponseObject> request = this.secomClient
+                .get()
+                .uri(uriBuilder -> {
+                    UriBuilder builder = uriBuilder.path(GET_INTERFACE_PATH);
+                    builder = dataReference != null ? builder.queryParam("dataReference", dataReference) : builder;
+                    builder = containerType != null ? builder.queryParam("containerType", containerType.getValue()) : builder;
+                    builder = dataProductType != null ? builder .queryParam("dataProductType", dataProductType.name()) : builder;
+                    builder = productVersion != null ? builder.queryParam("productVersion", productVersion) : builder;
+                    builder = geometry != null ? builder.queryParam("geometry", geometry): builder;
+                    builder = unlocode != null ? builder.queryParam("unlocode", unlocode) : builder;
+                    builder = validFrom != null ? builder.queryParam("validFrom", SECOM_DATE_TIME_FORMATTER.format(validFrom)) : builder;
+                    builder = validTo != null ? builder.queryParam("validTo", SECOM_DATE_TIME_FORMATTER.format(validTo)) : builder;
+                    builder = page != null ? builder.queryParam("page", page) : builder;
+                    builder = pageSize != null ? builder.queryParam("pageSize", pageSize) : builder;
+                    return builder.build();
+                })
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(GetResponseObject.class)
+                // Process away from the event-loop
+                .publishOn(this.processingScheduler);
+
+        // Store the retrieved data for repeated reads, if configured
+        final String requestKey = this.requestKey(GET_INTERFACE_PATH, dataReference, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, pageSize);
+        final Mono<GetResponseObject> fetched = Optional.ofNullable(this.dataCache)
+                .map(cache -> request.map(received -> {
+                    final GetResponseObject response = this.incomingGetResponse(SecomRequestCoalescer.copyOf(received));
+                    cache.put(requestKey, dataReference, validTo, received, response);
+                    return response;
+                }))
+                .orElseGet(() -> request.map(this::incomingGetResponse));
+
+        // Share the identical concurrent requests, if configured
+        final Mono<GetResponseObject> coalesced = Optional.ofNullable(this.requestCoalescer)
+                .map(coalescer -> coalescer.coalesce(requestKey, () -> fetched, SecomRequestCoalescer::copyOf))
+                .orElse(fetched);
+
+        // And look up the data cache first, if configured
+        return Optional.ofNullable(this.dataCache)
+                .map(cache -> Mono.fromCallable(() -> cache.get(requestKey, this::incomingGetResponse))
+                        .subscribeOn(this.processingScheduler)
+                        .flatMap(Mono::justOrEmpty)
+                        .switchIfEmpty(coalesced))
+                .orElse(coalesced);
+    }
+
+    /**
+     * GET /v1/object : Pulls a single page of information from a service
+     * provider, decoding each data response object as soon as it has been
+     * received, rather than buffering the whole response first. Each item is
+     * then decoded, decompressed and decrypted separately on the processing
+     * scheduler, so the processing can start before the full response has
+     * arrived and the memory required is bounded by the size of the items.
+     * Note that the responses retrieved this way bypass the data cache and
+     * the request coalescing.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the streamed page of the object data
+     */
+    public SecomStreamedPage<DataResponseObject> getStreamed(UUID dataReference,
+                                                             ContainerTypeEnum containerType,
+                                                             SECOM_DataProductType dataProductType,
+                                                             String productVersion,
+                                                             String geometry,
+                                                             String unlocode,
+                                                             LocalDateTime validFrom,
+                                                             LocalDateTime validTo,
+                                                             Integer page,
+                                                             Integer pageSize) {
+        final SecomStreamedPage<DataResponseObject> streamedPage = GET_DATA_DECODER.decode(this.secomClient
+                .get()
+                .uri(uriBuilder -> {
+                    UriBuilder builder = uriBuilder.path(GET_INTERFACE_PATH);
+                    builder = dataReference != null ? builder.queryParam("dataReference", dataReference) : builder;
+                    builder = containerType != null ? builder.queryParam("containerType", containerType.getValue()) : builder;
+                    builder = dataProductType != null ? builder .queryParam("dataProductType", dataProductType.name()) : builder;
+                    builder = productVersion != null ? builder.queryParam("productVersion", productVersion) : builder;
+                    builder = geometry != null ? builder.queryParam("geometry", geometry): builder;
+                    builder = unlocode != null ? builder.queryParam("unlocode", unlocode) : builder;
+                    builder = validFrom != null ? builder.queryParam("validFrom", SECOM_DATE_TIME_FORMATTER.format(validFrom)) : builder;
+                    builder = validTo != null ? builder.queryParam("validTo", SECOM_DATE_TIME_FORMATTER.format(validTo)) : builder;
+                    builder = page != null ? builder.queryParam("page", page) : builder;
+                    builder = pageSize != null ? builder.queryParam("pageSize", pageSize) : builder;
+                    return builder.build();
+                })
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class));
+
+        // Decode, decompress and decrypt each item away from the event-loop
+        return new SecomStreamedPage<>(streamedPage.items()
+                .publishOn(this.processingScheduler)
+                .map(dataResponseObject -> dataResponseObject.decodeData())
+                .map(dataResponseObject -> dataResponseObject.decompressData(this.compressionProvider))
+                .map(dataResponseObject -> dataResponseObject.decryptData(this.encryptionProvider))
+                .map(DataResponseObject.class::cast),
+                streamedPage.pagination());
+    }
+
+    /**
+     * GET /v1/object : Pulls information from a service provider, returning
+     * the data of all pages as a single flux. The pages are requested ahead
+     * of the consumer according to the configured pagination page size and
+     * prefetch depth.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return a flux of all the object data
+     */
+    public Flux<DataResponseObject> getFlux(UUID dataReference,
+                                            ContainerTypeEnum containerType,
+                                            SECOM_DataProductType dataProductType,
+                                            String productVersion,
+                                            String geometry,
+                                            String unlocode,
+                                            LocalDateTime validFrom,
+                                            LocalDateTime validTo) {
+        return SecomPagination.paginate(GET_FIRST_PAGE, this.paginationPageSize, this.paginationPrefetch,
+                page -> this.getAsync(dataReference, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, this.paginationPageSize),
+                GetResponseObject::getDataResponseObject,
+                GetResponseObject::getPagination);
+    }
+
+    /**
+     * GET /v1/object : Pulls information from a service provider, returning
+     * the data of all pages as a lazy blocking stream. The stream should be
+     * closed if not fully consumed, so that any pending page requests are
+     * cancelled.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return a stream of all the object data
+     */
+    public Stream<DataResponseObject> getStream(UUID dataReference,
+                                                ContainerTypeEnum containerType,
+                                                SECOM_DataProductType dataProductType,
+                                                String productVersion,
+                                                String geometry,
+                                                String unlocode,
+                                                LocalDateTime validFrom,
+                                                LocalDateTime validTo) {
+        return this.getFlux(dataReference, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo)
+                .toStream(this.paginationPageSize);
+    }
+
+    /**
+     * GET /v1/object : Pulls all the available information from a service
+     * provider in bulk. After the first page, all remaining pages are
+     * requested concurrently, up to the configured bulk concurrency limit,
+     * and the results are merged in order.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return the list of all the object data
+     */
+    public List<DataResponseObject> getBulk(UUID dataReference,
+                                            ContainerTypeEnum containerType,
+                                            SECOM_DataProductType dataProductType,
+                                            String productVersion,
+                                            String geometry,
+                                            String unlocode,
+                                            LocalDateTime validFrom,
+                                            LocalDateTime validTo) {
+        return this.getBulkAsync(dataReference, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo)
+                .blockOptional()
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * GET /v1/object : Pulls all the available information from a service
+     * provider in bulk. After the first page, all remaining pages are
+     * requested concurrently, up to the configured bulk concurrency limit,
+     * and the results are merged in order. Each page request is retried on
+     * server and connection errors, while the whole operation must complete
+     * within the configured bulk deadline.
+     *
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return a mono of the list of all the object data
+     */
+    public Mono<List<DataResponseObject>> getBulkAsync(UUID dataReference,
+                                                       ContainerTypeEnum containerType,
+                                                       SECOM_DataProductType dataProductType,
+                                                       String productVersion,
+                                                       String geometry,
+                                                       String unlocode,
+                                                       LocalDateTime validFrom,
+                                                       LocalDateTime validTo) {
+        return SecomPagination.fetchAll(GET_FIRST_PAGE, this.paginationPageSize, this.bulkConcurrency, this.bulkRetry(), this.bulkDeadline,
+                page -> this.getAsync(dataReference, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, this.paginationPageSize),
+                GetResponseObject::getDataResponseObject,
+                GetResponseObject::getPagination);
+    }
+
+    /**
+     * GET /v1/object/summary :  A list of information shall be returned from
+     * this interface. The summary contains identity, status and short
+     * description of each information object. The actual information object
+     * shall be retrieved using the Get interface.
+     *
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the summary response object
+     */
+    public Optional<GetSummaryResponseObject> getSummary(@QueryParam("containerType") ContainerTypeEnum containerType,
+                                                         @QueryParam("dataProductType") SECOM_DataProductType dataProductType,
+                                                         @QueryParam("productVersion") String productVersion,
+                                                         @QueryParam("geometry") String geometry,
+                                                         @QueryParam("unlocode") String unlocode,
+                                                         @QueryParam("validFrom") LocalDateTime validFrom,
+                                                         @QueryParam("validTo") LocalDateTime validTo,
+                                                         @QueryParam("page") @Min(0) Integer page,
+                                                         @QueryParam("pageSize") @Min(0) Integer pageSize) {
+        return this.getSummaryAsync(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, pageSize).blockOptional();
+    }
+
+    /**
+     * GET /v1/object/summary :  A list of information shall be returned from
+     * this interface. The summary contains identity, status and short
+     * description of each information object. The actual information object
+     * shall be retrieved using the Get interface.
+     *
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return a mono of the summary response object
+     */
+    public Mono<GetSummaryResponseObject> getSummaryAsync(@QueryParam("containerType") ContainerTypeEnum containerType,
+                                                          @QueryParam("dataProductType") SECOM_DataProductType dataProductType,
+                                                          @QueryParam("productVersion") String productVersion,
+                                                          @QueryParam("geometry") String geometry,
+                                                          @QueryParam("unlocode") String unlocode,
+                                                          @QueryParam("validFrom") LocalDateTime validFrom,
+                                                          @QueryParam("validTo") LocalDateTime validTo,
+                                                          @QueryParam("page") @Min(0) Integer page,
+                                                          @QueryParam("pageSize") @Min(0) Integer pageSize) {
+        final Mono<GetSummaryResponseObject> request = this.secomClient
+                .get()
+                .uri(uriBuilder -> {
+                    UriBuilder builder = uriBuilder.path(GET_SUMMARY_INTERFACE_PATH);
+                    builder = containerType != null ? builder.queryParam("containerType", containerType.getValue()) : builder;
+                    builder = dataProductType != null ? builder .queryParam("dataProductType", dataProductType.name()) : builder;
+                    builder = productVersion != null ? builder.queryParam("productVersion", productVersion) : builder;
+                    builder = geometry != null ? builder.queryParam("geometry", geometry): builder;
+                    builder = unlocode != null ? builder.queryParam("unlocode", unlocode) : builder;
+                    builder = validFrom != null ? builder.queryParam("validFrom", SECOM_DATE_TIME_FORMATTER.format(validFrom)) : builder;
+                    builder = validTo != null ? builder.queryParam("validTo", SECOM_DATE_TIME_FORMATTER.format(validTo)) : builder;
+                    builder = page != null ? builder.queryParam("page", page) : builder;
+                    builder = pageSize != null ? builder.queryParam("pageSize", pageSize) : builder;
+                    return builder.build();
+                })
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(GetSummaryResponseObject.class);
+
+        // Share the identical concurrent requests, if configured
+        return Optional.ofNullable(this.requestCoalescer)
+                .map(coalescer -> coalescer.coalesce(
+                        this.requestKey(GET_SUMMARY_INTERFACE_PATH, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, pageSize),
+                        () -> request,
+                        SecomRequestCoalescer::copyOf))
+                .orElse(request);
+    }
+
+    /**
+     * GET /v1/object/summary : Retrieves the summary of the available
+     * information, returning the summary objects of all pages as a single
+     * flux. The pages are requested ahead of the consumer according to the
+     * configured pagination page size and prefetch depth.
+     *
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return a flux of all the summary objects
+     */
+    public Flux<SummaryObject> getSummaryFlux(ContainerTypeEnum containerType,
+                                              SECOM_DataProductType dataProductType,
+                                              String productVersion,
+                                              String geometry,
+                                              String unlocode,
+                                              LocalDateTime validFrom,
+                                              LocalDateTime validTo) {
+        return SecomPagination.paginate(GET_FIRST_PAGE, this.paginationPageSize, this.paginationPrefetch,
+                page -> this.getSummaryAsync(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, this.paginationPageSize),
+                GetSummaryResponseObject::getSummaryObject,
+                GetSummaryResponseObject::getPagination);
+    }
+
+    /**
+     * GET /v1/object/summary : Retrieves the summary of the available
+     * information, returning the summary objects of all pages as a lazy
+     * blocking stream. The stream should be closed if not fully consumed, so
+     * that any pending page requests are cancelled.
+     *
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return a stream of all the summary objects
+     */
+    public Stream<SummaryObject> getSummaryStream(ContainerTypeEnum containerType,
+                                                  SECOM_DataProductType dataProductType,
+                                                  String productVersion,
+                                                  String geometry,
+                                                  String unlocode,
+                                                  LocalDateTime validFrom,
+                                                  LocalDateTime validTo) {
+        return this.getSummaryFlux(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo)
+                .toStream(this.paginationPageSize);
+    }
+
+    /**
+     * GET /v1/object/summary : Synchronises incrementally with the service,
+     * based on the provided sync index. The summary of the available
+     * information is compared against the last known state, and only the
+     * new or changed datasets are retrieved through the Get interface,
+     * concurrently according to the configured bulk concurrency. The datasets
+     * no longer listed are reported as deleted once the whole summary has
+     * been received.
+     * <p/>
+     * The index is updated as each change is emitted, so that a failed
+     * synchronisation can be resumed without retrieving the already
+     * processed datasets again. The same index should always be used with
+     * the same summary filters. Any entries of the changed or deleted
+     * datasets in the data cache are invalidated first, so that the changes
+     * are always retrieved from the service.
+     *
+     * @param syncIndex the sync index of this service
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return a flux of the detected changes
+     */
+    public Flux<SecomSyncEvent> syncFlux(SecomSyncIndex syncIndex,
+                                         ContainerTypeEnum containerType,
+                                         SECOM_DataProductType dataProductType,
+                                         String productVersion,
+                                         String geometry,
+                                         String unlocode,
+                                         LocalDateTime validFrom,
+                                         LocalDateTime validTo) {
+        Objects.requireNonNull(syncIndex);
+        return Flux.defer(() -> {
+            final Set<UUID> listed = ConcurrentHashMap.newKeySet();
+            return this.getSummaryFlux(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo)
+                    .filter(summaryObject -> Objects.nonNull(summaryObject.getDataReference()))
+                    .filter(summaryObject -> listed.add(summaryObject.getDataReference()))
+                    .filter(syncIndex::isChanged)
+                    .flatMap(summaryObject -> {
+                        final SecomSyncEvent.Type type = syncIndex.contains(summaryObject.getDataReference()) ? SecomSyncEvent.Type.UPDATED : SecomSyncEvent.Type.ADDED;
+                        return this.invalidateCachedData(summaryObject.getDataReference())
+                                .thenMany(Flux.defer(() -> this.getFlux(summaryObject.getDataReference(), null, null, null, null, null, null, null)))
+                                .collectList()
+                                .map(data -> new SecomSyncEvent(type, summaryObject.getDataReference(), summaryObject, data))
+                                .doOnNext(event -> syncIndex.update(summaryObject));
+                    }, this.bulkConcurrency)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(syncIndex.getDataReferences())
+                            .filter(dataReference -> !listed.contains(dataReference))
+                            .concatMap(dataReference -> this.invalidateCachedData(dataReference)
+                                    .thenReturn(new SecomSyncEvent(SecomSyncEvent.Type.DELETED, dataReference, null, null)))
+                            .doOnNext(event -> syncIndex.remove(event.dataReference()))));
+        });
+    }
+
+    /**
+     * Invalidates any entries of the provided data reference in the assigned
+     * data cache. Since this might access the disk, it is performed on the
+     * processing scheduler.
+     *
+     * @param dataReference the data reference to be invalidated
+     * @return a mono completing once the entries have been invalidated
+     */
+    protected Mono<Void> invalidateCachedData(UUID dataReference) {
+        return Optional.ofNullable(this.dataCache)
+                .map(cache -> Mono.fromRunnable(() -> cache.invalidate(dataReference))
+                        .subscribeOn(this.processingScheduler)
+                        .then())
+                .orElseGet(Mono::empty);
+    }
+
+    /**
+     * GET /v1/object/summary : Synchronises incrementally with the service,
+     * based on the provided sync index, returning the detected changes as a
+     * blocking Java stream. See {@link #syncFlux} for more details.
+     *
+     * @param syncIndex the sync index of this service
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return a stream of the detected changes
+     */
+    public Stream<SecomSyncEvent> syncStream(SecomSyncIndex syncIndex,
+                                             ContainerTypeEnum containerType,
+                                             SECOM_DataProductType dataProductType,
+                                             String productVersion,
+                                             String geometry,
+                                             String unlocode,
+                                             LocalDateTime validFrom,
+                                             LocalDateTime validTo) {
+        return this.syncFlux(syncIndex, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo)
+                .toStream(this.bulkConcurrency);
     }
 
     /**
-     * GET /v1/object : The Get interface is used for pulling information from a
-     * service provider. The owner of the information (provider) is responsible
-     * for the authorization procedure before returning information.
+     * GET /v1/object/summary : Retrieves the complete summary of the
+     * available information in bulk. After the first page, all remaining
+     * pages are requested concurrently, up to the configured bulk concurrency
+     * limit, and the results are merged in order.
      *
-     * @param dataReference the object data reference
      * @param containerType the object data container type
      * @param dataProductType the object data product type
      * @param productVersion the object data product version
@@ -392,51 +1745,27 @@ public class SecomClient {
      * @param unlocode the object UNLOCODE
      * @param validFrom the object valid from time
      * @param validTo the object valid to time
-     * @param page the page number to be retrieved
-     * @param pageSize the maximum page size
-     * @return the object information
+     * @return the list of all the summary objects
      */
-    public Optional<GetResponseObject> get(@QueryParam("dataReference") UUID dataReference,
-                                           @QueryParam("containerType") ContainerTypeEnum containerType,
-                                           @QueryParam("dataProductType") SECOM_DataProductType dataProductType,
-                                           @QueryParam("productVersion") String productVersion,
-                                           @QueryParam("geometry") String geometry,
-                                           @QueryParam("unlocode") String unlocode,
-                                           @QueryParam("validFrom") LocalDateTime validFrom,
-                                           @QueryParam("validTo") LocalDateTime validTo,
-                                           @QueryParam("page") @Min(0) Integer page,
-                                           @QueryParam("pageSize") @Min(0) Integer pageSize) {
-        return this.secomClient
-                .get()
-                .uri(uriBuilder -> {
-                    UriBuilder builder = uriBuilder.path(GET_INTERFACE_PATH);
-                    builder = dataReference != null ? builder.queryParam("dataReference", dataReference) : builder;
-                    builder = containerType != null ? builder.queryParam("containerType", containerType.getValue()) : builder;
-                    builder = dataProductType != null ? builder .queryParam("dataProductType", dataProductType.name()) : builder;
-                    builder = productVersion != null ? builder.queryParam("productVersion", productVersion) : builder;
-                    builder = geometry != null ? builder.queryParam("geometry", geometry): builder;
-                    builder = unlocode != null ? builder.queryParam("unlocode", unlocode) : builder;
-                    builder = validFrom != null ? builder.queryParam("validFrom", SECOM_DATE_TIME_FORMATTER.format(validFrom)) : builder;
-                    builder = validTo != null ? builder.queryParam("validTo", SECOM_DATE_TIME_FORMATTER.format(validTo)) : builder;
-                    builder = page != null ? builder.queryParam("page", page) : builder;
-                    builder = pageSize != null ? builder.queryParam("pageSize", pageSize) : builder;
-                    return builder.build();
-                })
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(GetResponseObject.class)
+    public List<SummaryObject> getSummaryBulk(ContainerTypeEnum containerType,
+                                              SECOM_DataProductType dataProductType,
+                                              String productVersion,
+                                              String geometry,
+                                              String unlocode,
+                                              LocalDateTime validFrom,
+                                              LocalDateTime validTo) {
+        return this.getSummaryBulkAsync(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo)
                 .blockOptional()
-                .map(response -> response.decodeData())
-                .map(response -> response.decompressData(this.compressionProvider))
-                .map(response -> response.decryptData(this.encryptionProvider))
-                .map(GetResponseObject.class::cast);
+                .orElse(Collections.emptyList());
     }
 
     /**
-     * GET /v1/object/summary :  A list of information shall be returned from
-     * this interface. The summary contains identity, status and short
-     * description of each information object. The actual information object
-     * shall be retrieved using the Get interface.
+     * GET /v1/object/summary : Retrieves the complete summary of the
+     * available information in bulk. After the first page, all remaining
+     * pages are requested concurrently, up to the configured bulk concurrency
+     * limit, and the results are merged in order. Each page request is
+     * retried on server and connection errors, while the whole operation
+     * must complete within the configured bulk deadline.
      *
      * @param containerType the object data container type
      * @param dataProductType the object data product type
@@ -445,38 +1774,19 @@ public class SecomClient {
      * @param unlocode the object UNLOCODE
      * @param validFrom the object valid from time
      * @param validTo the object valid to time
-     * @param page the page number to be retrieved
-     * @param pageSize the maximum page size
-     * @return the summary response object
+     * @return a mono of the list of all the summary objects
      */
-    public Optional<GetSummaryResponseObject> getSummary(@QueryParam("containerType") ContainerTypeEnum containerType,
-                                                         @QueryParam("dataProductType") SECOM_DataProductType dataProductType,
-                                                         @QueryParam("productVersion") String productVersion,
-                                                         @QueryParam("geometry") String geometry,
-                                                         @QueryParam("unlocode") String unlocode,
-                                                         @QueryParam("validFrom") LocalDateTime validFrom,
-                                                         @QueryParam("validTo") LocalDateTime validTo,
-                                                         @QueryParam("page") @Min(0) Integer page,
-                                                         @QueryParam("pageSize") @Min(0) Integer pageSize) {
-        return this.secomClient
-                .get()
-                .uri(uriBuilder -> {
-                    UriBuilder builder = uriBuilder.path(GET_SUMMARY_INTERFACE_PATH);
-                    builder = containerType != null ? builder.queryParam("containerType", containerType.getValue()) : builder;
-                    builder = dataProductType != null ? builder .queryParam("dataProductType", dataProductType.name()) : builder;
-                    builder = productVersion != null ? builder.queryParam("productVersion", productVersion) : builder;
-                    builder = geometry != null ? builder.queryParam("geometry", geometry): builder;
-                    builder = unlocode != null ? builder.queryParam("unlocode", unlocode) : builder;
-                    builder = validFrom != null ? builder.queryParam("validFrom", SECOM_DATE_TIME_FORMATTER.format(validFrom)) : builder;
-                    builder = validTo != null ? builder.queryParam("validTo", SECOM_DATE_TIME_FORMATTER.format(validTo)) : builder;
-                    builder = page != null ? builder.queryParam("page", page) : builder;
-                    builder = pageSize != null ? builder.queryParam("pageSize", pageSize) : builder;
-                    return builder.build();
-                })
-                .accept(MediaType.APPLICATION_JSON)
-                .retrieve()
-                .bodyToMono(GetSummaryResponseObject.class)
-                .blockOptional();
+    public Mono<List<SummaryObject>> getSummaryBulkAsync(ContainerTypeEnum containerType,
+                                                         SECOM_DataProductType dataProductType,
+                                                         String productVersion,
+                                                         String geometry,
+                                                         String unlocode,
+                                                         LocalDateTime validFrom,
+                                                         LocalDateTime validTo) {
+        return SecomPagination.fetchAll(GET_FIRST_PAGE, this.paginationPageSize, this.bulkConcurrency, this.bulkRetry(), this.bulkDeadline,
+                page -> this.getSummaryAsync(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo, page, this.paginationPageSize),
+                GetSummaryResponseObject::getSummaryObject,
+                GetSummaryResponseObject::getPagination);
     }
 
     /**
@@ -486,13 +1796,44 @@ public class SecomClient {
      * @return the status response object
      */
     public Optional<PingResponseObject> ping() {
+        return this.pingAsync().blockOptional();
+    }
+
+    /**
+     * GET /v1/ping : The purpose of the interface is to provide a dynamic
+     * method to ask for the technical status of the specific service instance.
+     *
+     * @return a mono of the status response object
+     */
+    public Mono<PingResponseObject> pingAsync() {
+        // If a response cache has been assigned, use it
+        if(this.responseCache != null) {
+            return this.responseCache.get(PING_INTERFACE_PATH, this.responseCache.getPingTtl(), cached ->
+                    this.conditionalExchange(this.secomClient
+                            .get()
+                            .uri(PING_INTERFACE_PATH)
+                            .accept(MediaType.APPLICATION_JSON), cached, PingResponseObject.class),
+                    jsonCopier(PingResponseObject.class));
+        }
+
+        // Otherwise, perform the web-call directly
+        return this.pingUncachedAsync();
+    }
+
+    /**
+     * GET /v1/ping : Asks for the technical status of the specific service
+     * instance, always performing the web-call and bypassing any response
+     * cache, e.g. for measuring the service latency.
+     *
+     * @return a mono of the status response object
+     */
+    Mono<PingResponseObject> pingUncachedAsync() {
         return this.secomClient
                 .get()
                 .uri(PING_INTERFACE_PATH)
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .bodyToMono(PingResponseObject.class)
-                .blockOptional();
+                .bodyToMono(PingResponseObject.class);
     }
 
     /**
@@ -505,6 +1846,19 @@ public class SecomClient {
      * @return the remove subscription response object
      */
     public Optional<RemoveSubscriptionResponseObject> removeSubscription(RemoveSubscriptionObject removeSubscriptionObject) {
+        return this.removeSubscriptionAsync(removeSubscriptionObject).blockOptional();
+    }
+
+    /**
+     * DELETE /v1/subscription : Subscription(s) can be removed either
+     * internally by information owner, or externally by the consumer. This
+     * interface shall be used by the consumer to request removal of
+     * subscription.
+     *
+     * @param removeSubscriptionObject the remove subscription object
+     * @return a mono of the remove subscription response object
+     */
+    public Mono<RemoveSubscriptionResponseObject> removeSubscriptionAsync(RemoveSubscriptionObject removeSubscriptionObject) {
         return this.secomClient
                 .method(HttpMethod.DELETE)
                 .uri(REMOVE_SUBSCRIPTION_INTERFACE_PATH)
@@ -512,8 +1866,7 @@ public class SecomClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(removeSubscriptionObject))
                 .retrieve()
-                .bodyToMono(RemoveSubscriptionResponseObject.class)
-                .blockOptional();
+                .bodyToMono(RemoveSubscriptionResponseObject.class);
     }
 
     /**
@@ -524,6 +1877,17 @@ public class SecomClient {
      * @return the subscription notification response object
      */
     public Optional<SubscriptionNotificationResponseObject> subscriptionNotification(SubscriptionNotificationObject subscriptionNotificationObject) {
+        return this.subscriptionNotificationAsync(subscriptionNotificationObject).blockOptional();
+    }
+
+    /**
+     * POST /v1/subscription/notification : The interface receives notifications
+     * when a subscription is created or removed by the information provider.
+     *
+     * @param subscriptionNotificationObject the subscription notification request object
+     * @return a mono of the subscription notification response object
+     */
+    public Mono<SubscriptionNotificationResponseObject> subscriptionNotificationAsync(SubscriptionNotificationObject subscriptionNotificationObject) {
         return this.secomClient
                 .post()
                 .uri(SUBSCRIPTION_NOTIFICATION_INTERFACE_PATH)
@@ -531,8 +1895,7 @@ public class SecomClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(subscriptionNotificationObject))
                 .retrieve()
-                .bodyToMono(SubscriptionNotificationResponseObject.class)
-                .blockOptional();
+                .bodyToMono(SubscriptionNotificationResponseObject.class);
     }
 
     /**
@@ -544,6 +1907,18 @@ public class SecomClient {
      * @return the subscription response object
      */
     public Optional<SubscriptionResponseObject> subscription(SubscriptionRequestObject subscriptionRequestObject) {
+        return this.subscriptionAsync(subscriptionRequestObject).blockOptional();
+    }
+
+    /**
+     * POST /v1/subscription : Request subscription on information, either
+     * specific information according to parameters, or the information
+     * accessible upon decision by the information provider.
+     *
+     * @param subscriptionRequestObject the subscription object
+     * @return a mono of the subscription response object
+     */
+    public Mono<SubscriptionResponseObject> subscriptionAsync(SubscriptionRequestObject subscriptionRequestObject) {
         return this.secomClient
                 .post()
                 .uri(SUBSCRIPTION_INTERFACE_PATH)
@@ -551,8 +1926,7 @@ public class SecomClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(BodyInserters.fromValue(subscriptionRequestObject))
                 .retrieve()
-                .bodyToMono(SubscriptionResponseObject.class)
-                .blockOptional();
+                .bodyToMono(SubscriptionResponseObject.class);
     }
 
     /**
@@ -564,6 +1938,113 @@ public class SecomClient {
      * @return the upload response object
      */
     public Optional<UploadResponseObject> upload(UploadObject uploadObject) {
+        return this.uploadAsync(uploadObject).blockOptional();
+    }
+
+    /**
+     * POST /v1/object : The interface shall be used for uploading (pushing)
+     * data to a consumer. The operation expects one single data object and
+     * its metadata.
+     *
+     * @param uploadObject  the upload object
+     * @return a mono of the upload response object
+     */
+    public Mono<UploadResponseObject> uploadAsync(UploadObject uploadObject) {
+        return Mono.fromCallable(() -> this.prepareUpload(uploadObject))
+                .subscribeOn(this.processingScheduler)
+                // And perform the web-call
+                .flatMap(obj -> this.secomClient
+                        .post()
+                        .uri(UPLOAD_INTERFACE_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromValue(obj))
+                        .retrieve()
+                        .bodyToMono(UploadResponseObject.class));
+    }
+
+    /**
+     * POST /v1/object/link : The REST operation POST /object/link. The
+     * interface shall be used for uploading (pushing) a link to data to a
+     * consumer.
+     *
+     * @param uploadLinkObject  the upload link object
+     * @return the upload link response object
+     */
+    public Optional<UploadLinkResponseObject> uploadLink(UploadLinkObject uploadLinkObject) {
+        return this.uploadLinkAsync(uploadLinkObject).blockOptional();
+    }
+
+    /**
+     * POST /v1/object/link : The REST operation POST /object/link. The
+     * interface shall be used for uploading (pushing) a link to data to a
+     * consumer.
+     *
+     * @param uploadLinkObject  the upload link object
+     * @return a mono of the upload link response object
+     */
+    public Mono<UploadLinkResponseObject> uploadLinkAsync(UploadLinkObject uploadLinkObject) {
+        return Mono.fromCallable(() -> this.prepareUploadLink(uploadLinkObject))
+                .subscribeOn(this.processingScheduler)
+                // And perform the web-call
+                .flatMap(obj -> this.secomClient
+                        .post()
+                        .uri(UPLOAD_LINK_INTERFACE_PATH)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromValue(obj))
+                        .retrieve()
+                        .bodyToMono(UploadLinkResponseObject.class));
+    }
+
+    /**
+     * Performs a conditional web-call, using the validators (i.e. ETag and
+     * Last-Modified headers) of the previously cached response if available.
+     * If the SECOM service responds with a "304 Not Modified" status, the
+     * previously cached response is returned again.
+     *
+     * @param request       the request to be performed
+     * @param cached        the previously cached response, if any
+     * @param responseClass the class of the response
+     * @return the response along with its validators
+     * @param <T> the class of the response
+     */
+    protected <T> Mono<SecomResponseCache.CachedResponse<T>> conditionalExchange(WebClient.RequestHeadersSpec<?> request,
+                                                                                 SecomResponseCache.CachedResponse<T> cached,
+                                                                                 Class<T> responseClass) {
+        // Add the validators, if available
+        Optional.ofNullable(cached)
+                .map(SecomResponseCache.CachedResponse::eTag)
+                .ifPresent(eTag -> request.header(HttpHeaders.IF_NONE_MATCH, eTag));
+        Optional.ofNullable(cached)
+                .map(SecomResponseCache.CachedResponse::lastModified)
+                .ifPresent(lastModified -> request.header(HttpHeaders.IF_MODIFIED_SINCE, lastModified));
+
+        // And perform the exchange
+        return request.exchangeToMono(response -> {
+            if(cached != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+                return response.releaseBody().thenReturn(cached);
+            }
+            else if(response.statusCode().isError()) {
+                return response.createException().flatMap(Mono::error);
+            }
+            final HttpHeaders headers = response.headers().asHttpHeaders();
+            return response.bodyToMono(responseClass)
+                    .map(body -> new SecomResponseCache.CachedResponse<>(body,
+                            headers.getFirst(HttpHeaders.ETAG),
+                            headers.getFirst(HttpHeaders.LAST_MODIFIED)));
+        });
+    }
+
+    /**
+     * Prepares the provided upload object to be sent, i.e. signs, encrypts,
+     * compresses and encodes its data, and finally signs its envelope, as
+     * long as the respective SECOM providers are available.
+     *
+     * @param uploadObject  the upload object
+     * @return the prepared upload object
+     */
+    protected UploadObject prepareUpload(UploadObject uploadObject) {
         //Prepare the upload envelope if valid
         final EnvelopeUploadObject envelope = uploadObject.getEnvelope();
         if(envelope != null) {
@@ -579,28 +2060,18 @@ public class SecomClient {
         if(this.signatureProvider != null) {
             uploadObject.signEnvelope(this.certificateProvider, this.signatureProvider);
         }
-
-        // And perform the web-call
-        return this.secomClient
-                .post()
-                .uri(UPLOAD_INTERFACE_PATH)
-                .contentType(MediaType.APPLICATION_JSON)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromValue(uploadObject))
-                .retrieve()
-                .bodyToMono(UploadResponseObject.class)
-                .blockOptional();
+        return uploadObject;
     }
 
     /**
-     * POST /v1/object/link : The REST operation POST /object/link. The
-     * interface shall be used for uploading (pushing) a link to data to a
-     * consumer.
+     * Prepares the provided upload link object to be sent, i.e. prepares its
+     * metadata and signs its envelope, as long as the respective SECOM
+     * providers are available.
      *
      * @param uploadLinkObject  the upload link object
-     * @return the upload link response object
+     * @return the prepared upload link object
      */
-    public Optional<UploadLinkResponseObject> uploadLink(UploadLinkObject uploadLinkObject) {
+    protected UploadLinkObject prepareUploadLink(UploadLinkObject uploadLinkObject) {
         //Prepare the upload link envelope if valid
         final EnvelopeLinkObject envelope = uploadLinkObject.getEnvelope();
         if(envelope != null) {
@@ -612,17 +2083,227 @@ public class SecomClient {
         if(this.signatureProvider != null) {
             uploadLinkObject.signEnvelope(this.certificateProvider, this.signatureProvider);
         }
+        return uploadLinkObject;
+    }
+
+    /**
+     * Prepares the provided acknowledgement object to be sent, i.e. signs its
+     * envelope, as long as a SECOM signature provider is available.
+     *
+     * @param acknowledgementObject the acknowledgement object
+     * @return the prepared acknowledgement object
+     */
+    protected AcknowledgementObject prepareAcknowledgement(AcknowledgementObject acknowledgementObject) {
+        // If a signature provider has been assigned, use it to sign the
+        // acknowledgment object envelop data.
+        if(this.signatureProvider != null) {
+            acknowledgementObject.signEnvelope(this.certificateProvider, this.signatureProvider);
+        }
+        return acknowledgementObject;
+    }
 
-        // And perform the web-call
+    /**
+     * Posts an already prepared JSON request body onto the provided SECOM
+     * interface. This is used for replaying the messages stored by the
+     * {@link SecomOutboundQueue}, without processing them again.
+     *
+     * @param interfacePath the SECOM interface path
+     * @param body          the prepared JSON request body
+     * @return the mono of the request completion
+     */
+    Mono<Void> postPrepared(String interfacePath, byte[] body) {
         return this.secomClient
                 .post()
-                .uri(UPLOAD_LINK_INTERFACE_PATH)
+                .uri(interfacePath)
                 .contentType(MediaType.APPLICATION_JSON)
                 .accept(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromValue(uploadLinkObject))
+                .body(BodyInserters.fromValue(body))
                 .retrieve()
-                .bodyToMono(UploadLinkResponseObject.class)
-                .blockOptional();
+                .toBodilessEntity()
+                .then();
+    }
+
+    /**
+     * Creates the web-client filter that applies the resilience policy onto
+     * the client requests. The policy is looked up on each request, so that
+     * it can be changed after the client has been created.
+     *
+     * @return the resilience exchange filter function
+     */
+    protected ExchangeFilterFunction resilienceFilter() {
+        return (request, next) -> Optional.ofNullable(this.resiliencePolicy)
+                .map(policy -> policy.exchange(request, next, this.alternateUrls
+                        .stream()
+                        .map(alternate -> this.alternateUri(request.url(), alternate))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList())))
+                .orElseGet(() -> next.exchange(request));
+    }
+
+    /**
+     * Translates the provided request URI onto the alternate SECOM service
+     * URL, by replacing the base URL of this client.
+     *
+     * @param uri       the request URI
+     * @param alternate the alternate SECOM service URL
+     * @return the alternate request URI, or null if it cannot be translated
+     */
+    private URI alternateUri(URI uri, URL alternate) {
+        final String base = this.url.toString().replaceAll("/+$", "");
+        final String requested = uri.toString();
+        if(!requested.startsWith(base)) {
+            return null;
+        }
+        return URI.create(alternate.toString().replaceAll("/+$", "") + requested.substring(base.length()));
+    }
+
+    /**
+     * Generates the key identifying the request with the provided interface
+     * and parameters, used for the request coalescing and the data cache.
+     * The service URL is also included, since the data cache may be shared
+     * between the clients of multiple services.
+     *
+     * @param interfacePath the SECOM interface path
+     * @param parameters    the request parameters
+     * @return the request key
+     */
+    private String requestKey(String interfacePath, Object... parameters) {
+        return this.url + interfacePath + Arrays.toString(parameters);
+    }
+
+    /**
+     * Generates the response cache key for the search service requests,
+     * based on the search filter and pagination parameters. If the search
+     * filter cannot be serialised, null will be returned and the response
+     * will not be cached.
+     *
+     * @param searchFilterObject    The search filter object
+     * @param page the page number to be retrieved
+     * @param pageSize the maximum page size
+     * @return the response cache key
+     */
+    protected String searchCacheKey(SearchFilterObject searchFilterObject, Integer page, Integer pageSize) {
+        try {
+            return String.format("%s?page=%s&pageSize=%s#%s",
+                    SEARCH_SERVICE_INTERFACE_PATH, page, pageSize, CACHE_KEY_MAPPER.writeValueAsString(searchFilterObject));
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns an operator copying the response objects of the provided class
+     * through their JSON representation, so that every caller of the
+     * response cache receives its own copy of the cached responses.
+     *
+     * @param type  the class of the response objects
+     * @return the response copy operator
+     * @param <T> the class of the response objects
+     */
+    protected static <T> UnaryOperator<T> jsonCopier(Class<T> type) {
+        return value -> {
+            try {
+                return RESPONSE_COPY_MAPPER.readValue(RESPONSE_COPY_MAPPER.writeValueAsBytes(value), type);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        };
+    }
+
+    /**
+     * Builds the retry specification for the bulk page requests. Only server
+     * and connection errors are retried, since client errors would just be
+     * repeated. Once the retries are exhausted, the original error is
+     * propagated.
+     *
+     * @return the bulk retry specification
+     */
+    protected Retry bulkRetry() {
+        return Retry.backoff(this.bulkRetries, SecomPagination.DEFAULT_RETRY_BACKOFF)
+                .filter(ex -> !(ex instanceof WebClientResponseException responseException)
+                        || responseException.getStatusCode().is5xxServerError())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Processes the incoming Get response object, i.e. its data are decoded,
+     * decompressed and decrypted, as long as the respective SECOM providers
+     * are available. The provided object is modified in place.
+     *
+     * @param response the received Get response object
+     * @return the processed Get response object
+     */
+    protected GetResponseObject incomingGetResponse(GetResponseObject response) {
+        return (GetResponseObject) response.decodeData()
+                .decompressData(this.compressionProvider)
+                .decryptData(this.encryptionProvider);
+    }
+
+    /**
+     * Processes the incoming binary data, i.e. the received data are first
+     * decompressed and then decrypted, in the same order as the output
+     * stream chain of {@link #incomingDataStream(OutputStream)}.
+     *
+     * @param data the received data
+     * @return the processed data
+     */
+    protected byte[] incomingData(byte[] data) {
+        if(this.compressionProvider != null) {
+            data = this.compressionProvider.decompress(this.compressionProvider.getCompressionAlgorithm(), data);
+        }
+        if(this.encryptionProvider != null) {
+            data = this.encryptionProvider.decrypt(this.encryptionProvider.getEncryptionAlgorithm(), this.encryptionProvider.getEncryptionKey(), data);
+        }
+        return data;
+    }
+
+    /**
+     * Releases the output stream chain of a failed or cancelled transfer.
+     * Since the transferred data are incomplete, the processing streams are
+     * aborted where supported, discarding their pending data instead of
+     * decompressing or decrypting them into the sink. Any other streams are
+     * just closed to free their resources, e.g. any native compression
+     * buffers. The sink itself is left open and any failures are ignored.
+     *
+     * @param output the output stream chain of the transfer
+     */
+    protected void abortIncomingDataStream(OutputStream output) {
+        synchronized (output) {
+            try {
+                AbortableStream.abort(output);
+            } catch (IOException | RuntimeException ex) {
+                log.debug("Failed to release an aborted Get By Link transfer: " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Builds the output stream chain for the incoming binary data, i.e. the
+     * received data are first decompressed and then decrypted before being
+     * written into the provided sink. Closing the returned stream completes
+     * these operations and flushes the sink, without closing it.
+     *
+     * @param sink the output stream to receive the processed data
+     * @return the output stream for the incoming data
+     */
+    protected OutputStream incomingDataStream(OutputStream sink) {
+        OutputStream output = new FilterOutputStream(sink) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                this.out.write(b, off, len);
+            }
+            @Override
+            public void close() throws IOException {
+                this.out.flush();
+            }
+        };
+        if(this.encryptionProvider != null) {
+            output = this.encryptionProvider.decryptingStream(this.encryptionProvider.getEncryptionAlgorithm(), this.encryptionProvider.getEncryptionKey(), output);
+        }
+        if(this.compressionProvider != null) {
+            output = this.compressionProvider.decompressingStream(this.compressionProvider.getCompressionAlgorithm(), output);
+        }
+        return output;
     }
 
 }
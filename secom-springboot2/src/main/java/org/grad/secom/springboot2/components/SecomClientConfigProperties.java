@@ -0,0 +1,1123 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.springboot2.components;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * The SECOM Client Configuration properties.
+ * <p/>
+ * These tune the behaviour of the SECOM clients, separately from the SSL
+ * settings of the SECOM configuration properties. They are grouped by
+ * concern, e.g. the connection pool settings are configured under the
+ * "secom.client.connection" prefix and the acknowledgement dispatching
+ * under the "secom.client.ack" one. All of them are optional.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@ConfigurationProperties(prefix = "secom.client")
+public class SecomClientConfigProperties {
+
+    // Configuration Variables
+    private final Connection connection = new Connection();
+    private final Cache cache = new Cache();
+    private final Resilience resilience = new Resilience();
+    private final DataCache dataCache = new DataCache();
+    private final Ack ack = new Ack();
+    private final OutboundQueue outboundQueue = new OutboundQueue();
+    private final Discovery discovery = new Discovery();
+    private final LoadBalancer loadBalancer = new LoadBalancer();
+    private final ScatterGather scatterGather = new ScatterGather();
+
+    /**
+     * Gets connection.
+     *
+     * @return the connection
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Gets cache.
+     *
+     * @return the cache
+     */
+    public Cache getCache() {
+        return cache;
+    }
+
+    /**
+     * Gets resilience.
+     *
+     * @return the resilience
+     */
+    public Resilience getResilience() {
+        return resilience;
+    }
+
+    /**
+     * Gets data cache.
+     *
+     * @return the data cache
+     */
+    public DataCache getDataCache() {
+        return dataCache;
+    }
+
+    /**
+     * Gets ack.
+     *
+     * @return the ack
+     */
+    public Ack getAck() {
+        return ack;
+    }
+
+    /**
+     * Gets outbound queue.
+     *
+     * @return the outbound queue
+     */
+    public OutboundQueue getOutboundQueue() {
+        return outboundQueue;
+    }
+
+    /**
+     * Gets discovery.
+     *
+     * @return the discovery
+     */
+    public Discovery getDiscovery() {
+        return discovery;
+    }
+
+    /**
+     * Gets load balancer.
+     *
+     * @return the load balancer
+     */
+    public LoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    /**
+     * Gets scatter gather.
+     *
+     * @return the scatter gather
+     */
+    public ScatterGather getScatterGather() {
+        return scatterGather;
+    }
+
+    /**
+     * The connection pool and connection settings, shared by the clients of a SECOM client factory.
+     */
+    public static class Connection {
+
+        // Configuration Variables
+        private Integer maxConnections;
+        private Integer pendingAcquireMaxCount;
+        private Duration pendingAcquireTimeout;
+        private Duration maxIdleTime;
+        private Duration maxLifeTime;
+        private Duration evictionInterval;
+        private Duration connectTimeout;
+        private Duration responseTimeout;
+        private Boolean http2;
+        private Boolean compression;
+        private Boolean poolMetrics;
+
+        /**
+         * Gets max connections.
+         *
+         * @return the max connections
+         */
+        public Integer getMaxConnections() {
+            return maxConnections;
+        }
+
+        /**
+         * Sets max connections.
+         *
+         * @param maxConnections the max connections
+         */
+        public void setMaxConnections(Integer maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+
+        /**
+         * Gets pending acquire max count.
+         *
+         * @return the pending acquire max count
+         */
+        public Integer getPendingAcquireMaxCount() {
+            return pendingAcquireMaxCount;
+        }
+
+        /**
+         * Sets pending acquire max count.
+         *
+         * @param pendingAcquireMaxCount the pending acquire max count
+         */
+        public void setPendingAcquireMaxCount(Integer pendingAcquireMaxCount) {
+            this.pendingAcquireMaxCount = pendingAcquireMaxCount;
+        }
+
+        /**
+         * Gets pending acquire timeout.
+         *
+         * @return the pending acquire timeout
+         */
+        public Duration getPendingAcquireTimeout() {
+            return pendingAcquireTimeout;
+        }
+
+        /**
+         * Sets pending acquire timeout.
+         *
+         * @param pendingAcquireTimeout the pending acquire timeout
+         */
+        public void setPendingAcquireTimeout(Duration pendingAcquireTimeout) {
+            this.pendingAcquireTimeout = pendingAcquireTimeout;
+        }
+
+        /**
+         * Gets max idle time.
+         *
+         * @return the max idle time
+         */
+        public Duration getMaxIdleTime() {
+            return maxIdleTime;
+        }
+
+        /**
+         * Sets max idle time.
+         *
+         * @param maxIdleTime the max idle time
+         */
+        public void setMaxIdleTime(Duration maxIdleTime) {
+            this.maxIdleTime = maxIdleTime;
+        }
+
+        /**
+         * Gets max life time.
+         *
+         * @return the max life time
+         */
+        public Duration getMaxLifeTime() {
+            return maxLifeTime;
+        }
+
+        /**
+         * Sets max life time.
+         *
+         * @param maxLifeTime the max life time
+         */
+        public void setMaxLifeTime(Duration maxLifeTime) {
+            this.maxLifeTime = maxLifeTime;
+        }
+
+        /**
+         * Gets eviction interval.
+         *
+         * @return the eviction interval
+         */
+        public Duration getEvictionInterval() {
+            return evictionInterval;
+        }
+
+        /**
+         * Sets eviction interval.
+         *
+         * @param evictionInterval the eviction interval
+         */
+        public void setEvictionInterval(Duration evictionInterval) {
+            this.evictionInterval = evictionInterval;
+        }
+
+        /**
+         * Gets connect timeout.
+         *
+         * @return the connect timeout
+         */
+        public Duration getConnectTimeout() {
+            return connectTimeout;
+        }
+
+        /**
+         * Sets connect timeout.
+         *
+         * @param connectTimeout the connect timeout
+         */
+        public void setConnectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+        }
+
+        /**
+         * Gets response timeout.
+         *
+         * @return the response timeout
+         */
+        public Duration getResponseTimeout() {
+            return responseTimeout;
+        }
+
+        /**
+         * Sets response timeout.
+         *
+         * @param responseTimeout the response timeout
+         */
+        public void setResponseTimeout(Duration responseTimeout) {
+            this.responseTimeout = responseTimeout;
+        }
+
+        /**
+         * Gets http2.
+         *
+         * @return the http2
+         */
+        public Boolean getHttp2() {
+            return http2;
+        }
+
+        /**
+         * Sets http2.
+         *
+         * @param http2 the http2
+         */
+        public void setHttp2(Boolean http2) {
+            this.http2 = http2;
+        }
+
+        /**
+         * Gets compression.
+         *
+         * @return the compression
+         */
+        public Boolean getCompression() {
+            return compression;
+        }
+
+        /**
+         * Sets compression.
+         *
+         * @param compression the compression
+         */
+        public void setCompression(Boolean compression) {
+            this.compression = compression;
+        }
+
+        /**
+         * Gets pool metrics.
+         *
+         * @return the pool metrics
+         */
+        public Boolean getPoolMetrics() {
+            return poolMetrics;
+        }
+
+        /**
+         * Sets pool metrics.
+         *
+         * @param poolMetrics the pool metrics
+         */
+        public void setPoolMetrics(Boolean poolMetrics) {
+            this.poolMetrics = poolMetrics;
+        }
+
+    }
+
+    /**
+     * The caching of the rarely changing Capability, Ping and Search Service responses.
+     */
+    public static class Cache {
+
+        // Configuration Variables
+        private Duration capabilityTtl;
+        private Duration pingTtl;
+        private Duration searchTtl;
+        private Duration staleWhileRevalidate;
+        private Integer maxEntries;
+
+        /**
+         * Gets capability ttl.
+         *
+         * @return the capability ttl
+         */
+        public Duration getCapabilityTtl() {
+            return capabilityTtl;
+        }
+
+        /**
+         * Sets capability ttl.
+         *
+         * @param capabilityTtl the capability ttl
+         */
+        public void setCapabilityTtl(Duration capabilityTtl) {
+            this.capabilityTtl = capabilityTtl;
+        }
+
+        /**
+         * Gets ping ttl.
+         *
+         * @return the ping ttl
+         */
+        public Duration getPingTtl() {
+            return pingTtl;
+        }
+
+        /**
+         * Sets ping ttl.
+         *
+         * @param pingTtl the ping ttl
+         */
+        public void setPingTtl(Duration pingTtl) {
+            this.pingTtl = pingTtl;
+        }
+
+        /**
+         * Gets search ttl.
+         *
+         * @return the search ttl
+         */
+        public Duration getSearchTtl() {
+            return searchTtl;
+        }
+
+        /**
+         * Sets search ttl.
+         *
+         * @param searchTtl the search ttl
+         */
+        public void setSearchTtl(Duration searchTtl) {
+            this.searchTtl = searchTtl;
+        }
+
+        /**
+         * Gets stale while revalidate.
+         *
+         * @return the stale while revalidate
+         */
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        /**
+         * Sets stale while revalidate.
+         *
+         * @param staleWhileRevalidate the stale while revalidate
+         */
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        /**
+         * Gets max entries.
+         *
+         * @return the max entries
+         */
+        public Integer getMaxEntries() {
+            return maxEntries;
+        }
+
+        /**
+         * Sets max entries.
+         *
+         * @param maxEntries the max entries
+         */
+        public void setMaxEntries(Integer maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+    }
+
+    /**
+     * The timeouts, retries, circuit breaking, hedging and coalescing of the SECOM requests.
+     */
+    public static class Resilience {
+
+        // Configuration Variables
+        private Integer retries;
+        private Duration retryBackoff;
+        private Double retryJitter;
+        private Double retryBudgetRatio;
+        private Integer circuitBreakerFailureThreshold;
+        private Duration circuitBreakerOpenDuration;
+        private Duration hedgeDelay;
+        private Map<String, Duration> interfaceTimeouts;
+        private Boolean coalesceRequests;
+
+        /**
+         * Gets retries.
+         *
+         * @return the retries
+         */
+        public Integer getRetries() {
+            return retries;
+        }
+
+        /**
+         * Sets retries.
+         *
+         * @param retries the retries
+         */
+        public void setRetries(Integer retries) {
+            this.retries = retries;
+        }
+
+        /**
+         * Gets retry backoff.
+         *
+         * @return the retry backoff
+         */
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        /**
+         * Sets retry backoff.
+         *
+         * @param retryBackoff the retry backoff
+         */
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        /**
+         * Gets retry jitter.
+         *
+         * @return the retry jitter
+         */
+        public Double getRetryJitter() {
+            return retryJitter;
+        }
+
+        /**
+         * Sets retry jitter.
+         *
+         * @param retryJitter the retry jitter
+         */
+        public void setRetryJitter(Double retryJitter) {
+            this.retryJitter = retryJitter;
+        }
+
+        /**
+         * Gets retry budget ratio.
+         *
+         * @return the retry budget ratio
+         */
+        public Double getRetryBudgetRatio() {
+            return retryBudgetRatio;
+        }
+
+        /**
+         * Sets retry budget ratio.
+         *
+         * @param retryBudgetRatio the retry budget ratio
+         */
+        public void setRetryBudgetRatio(Double retryBudgetRatio) {
+            this.retryBudgetRatio = retryBudgetRatio;
+        }
+
+        /**
+         * Gets circuit breaker failure threshold.
+         *
+         * @return the circuit breaker failure threshold
+         */
+        public Integer getCircuitBreakerFailureThreshold() {
+            return circuitBreakerFailureThreshold;
+        }
+
+        /**
+         * Sets circuit breaker failure threshold.
+         *
+         * @param circuitBreakerFailureThreshold the circuit breaker failure threshold
+         */
+        public void setCircuitBreakerFailureThreshold(Integer circuitBreakerFailureThreshold) {
+            this.circuitBreakerFailureThreshold = circuitBreakerFailureThreshold;
+        }
+
+        /**
+         * Gets circuit breaker open duration.
+         *
+         * @return the circuit breaker open duration
+         */
+        public Duration getCircuitBreakerOpenDuration() {
+            return circuitBreakerOpenDuration;
+        }
+
+        /**
+         * Sets circuit breaker open duration.
+         *
+         * @param circuitBreakerOpenDuration the circuit breaker open duration
+         */
+        public void setCircuitBreakerOpenDuration(Duration circuitBreakerOpenDuration) {
+            this.circuitBreakerOpenDuration = circuitBreakerOpenDuration;
+        }
+
+        /**
+         * Gets hedge delay.
+         *
+         * @return the hedge delay
+         */
+        public Duration getHedgeDelay() {
+            return hedgeDelay;
+        }
+
+        /**
+         * Sets hedge delay.
+         *
+         * @param hedgeDelay the hedge delay
+         */
+        public void setHedgeDelay(Duration hedgeDelay) {
+            this.hedgeDelay = hedgeDelay;
+        }
+
+        /**
+         * Gets interface timeouts.
+         *
+         * @return the interface timeouts
+         */
+        public Map<String, Duration> getInterfaceTimeouts() {
+            return interfaceTimeouts;
+        }
+
+        /**
+         * Sets interface timeouts.
+         *
+         * @param interfaceTimeouts the interface timeouts
+         */
+        public void setInterfaceTimeouts(Map<String, Duration> interfaceTimeouts) {
+            this.interfaceTimeouts = interfaceTimeouts;
+        }
+
+        /**
+         * Gets coalesce requests.
+         *
+         * @return the coalesce requests
+         */
+        public Boolean getCoalesceRequests() {
+            return coalesceRequests;
+        }
+
+        /**
+         * Sets coalesce requests.
+         *
+         * @param coalesceRequests the coalesce requests
+         */
+        public void setCoalesceRequests(Boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+        }
+
+    }
+
+    /**
+     * The caching of the retrieved SECOM data, on the heap and optionally on disk.
+     */
+    public static class DataCache {
+
+        // Configuration Variables
+        private Duration ttl;
+        private Integer heapEntries;
+        private String directory;
+        private Long maxDiskSize;
+
+        /**
+         * Gets ttl.
+         *
+         * @return the ttl
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        /**
+         * Sets ttl.
+         *
+         * @param ttl the ttl
+         */
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        /**
+         * Gets heap entries.
+         *
+         * @return the heap entries
+         */
+        public Integer getHeapEntries() {
+            return heapEntries;
+        }
+
+        /**
+         * Sets heap entries.
+         *
+         * @param heapEntries the heap entries
+         */
+        public void setHeapEntries(Integer heapEntries) {
+            this.heapEntries = heapEntries;
+        }
+
+        /**
+         * Gets directory.
+         *
+         * @return the directory
+         */
+        public String getDirectory() {
+            return directory;
+        }
+
+        /**
+         * Sets directory.
+         *
+         * @param directory the directory
+         */
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Gets max disk size.
+         *
+         * @return the max disk size
+         */
+        public Long getMaxDiskSize() {
+            return maxDiskSize;
+        }
+
+        /**
+         * Sets max disk size.
+         *
+         * @param maxDiskSize the max disk size
+         */
+        public void setMaxDiskSize(Long maxDiskSize) {
+            this.maxDiskSize = maxDiskSize;
+        }
+
+    }
+
+    /**
+     * The asynchronous dispatching of the SECOM acknowledgements.
+     */
+    public static class Ack {
+
+        // Configuration Variables
+        private Integer concurrency;
+        private Duration coalesceWindow;
+        private Integer retries;
+        private Duration redeliveryDelay;
+        private String journal;
+
+        /**
+         * Gets concurrency.
+         *
+         * @return the concurrency
+         */
+        public Integer getConcurrency() {
+            return concurrency;
+        }
+
+        /**
+         * Sets concurrency.
+         *
+         * @param concurrency the concurrency
+         */
+        public void setConcurrency(Integer concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        /**
+         * Gets coalesce window.
+         *
+         * @return the coalesce window
+         */
+        public Duration getCoalesceWindow() {
+            return coalesceWindow;
+        }
+
+        /**
+         * Sets coalesce window.
+         *
+         * @param coalesceWindow the coalesce window
+         */
+        public void setCoalesceWindow(Duration coalesceWindow) {
+            this.coalesceWindow = coalesceWindow;
+        }
+
+        /**
+         * Gets retries.
+         *
+         * @return the retries
+         */
+        public Integer getRetries() {
+            return retries;
+        }
+
+        /**
+         * Sets retries.
+         *
+         * @param retries the retries
+         */
+        public void setRetries(Integer retries) {
+            this.retries = retries;
+        }
+
+        /**
+         * Gets redelivery delay.
+         *
+         * @return the redelivery delay
+         */
+        public Duration getRedeliveryDelay() {
+            return redeliveryDelay;
+        }
+
+        /**
+         * Sets redelivery delay.
+         *
+         * @param redeliveryDelay the redelivery delay
+         */
+        public void setRedeliveryDelay(Duration redeliveryDelay) {
+            this.redeliveryDelay = redeliveryDelay;
+        }
+
+        /**
+         * Gets journal.
+         *
+         * @return the journal
+         */
+        public String getJournal() {
+            return journal;
+        }
+
+        /**
+         * Sets journal.
+         *
+         * @param journal the journal
+         */
+        public void setJournal(String journal) {
+            this.journal = journal;
+        }
+
+    }
+
+    /**
+     * The durable queue of the outgoing SECOM messages.
+     */
+    public static class OutboundQueue {
+
+        // Configuration Variables
+        private String directory;
+        private Integer parallelism;
+        private Duration syncInterval;
+        private Long maxSegmentSize;
+        private Integer maxAttempts;
+
+        /**
+         * Gets directory.
+         *
+         * @return the directory
+         */
+        public String getDirectory() {
+            return directory;
+        }
+
+        /**
+         * Sets directory.
+         *
+         * @param directory the directory
+         */
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        /**
+         * Gets parallelism.
+         *
+         * @return the parallelism
+         */
+        public Integer getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * Sets parallelism.
+         *
+         * @param parallelism the parallelism
+         */
+        public void setParallelism(Integer parallelism) {
+            this.parallelism = parallelism;
+        }
+
+        /**
+         * Gets sync interval.
+         *
+         * @return the sync interval
+         */
+        public Duration getSyncInterval() {
+            return syncInterval;
+        }
+
+        /**
+         * Sets sync interval.
+         *
+         * @param syncInterval the sync interval
+         */
+        public void setSyncInterval(Duration syncInterval) {
+            this.syncInterval = syncInterval;
+        }
+
+        /**
+         * Gets max segment size.
+         *
+         * @return the max segment size
+         */
+        public Long getMaxSegmentSize() {
+            return maxSegmentSize;
+        }
+
+        /**
+         * Sets max segment size.
+         *
+         * @param maxSegmentSize the max segment size
+         */
+        public void setMaxSegmentSize(Long maxSegmentSize) {
+            this.maxSegmentSize = maxSegmentSize;
+        }
+
+        /**
+         * Gets max attempts.
+         *
+         * @return the max attempts
+         */
+        public Integer getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        /**
+         * Sets max attempts.
+         *
+         * @param maxAttempts the max attempts
+         */
+        public void setMaxAttempts(Integer maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+    }
+
+    /**
+     * The caching of the service registry Search Service results.
+     */
+    public static class Discovery {
+
+        // Configuration Variables
+        private String url;
+        private Duration ttl;
+        private Duration refreshAhead;
+        private Duration staleIfError;
+        private Integer maxEntries;
+
+        /**
+         * Gets url.
+         *
+         * @return the url
+         */
+        public String getUrl() {
+            return url;
+        }
+
+        /**
+         * Sets url.
+         *
+         * @param url the url
+         */
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * Gets ttl.
+         *
+         * @return the ttl
+         */
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        /**
+         * Sets ttl.
+         *
+         * @param ttl the ttl
+         */
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        /**
+         * Gets refresh ahead.
+         *
+         * @return the refresh ahead
+         */
+        public Duration getRefreshAhead() {
+            return refreshAhead;
+        }
+
+        /**
+         * Sets refresh ahead.
+         *
+         * @param refreshAhead the refresh ahead
+         */
+        public void setRefreshAhead(Duration refreshAhead) {
+            this.refreshAhead = refreshAhead;
+        }
+
+        /**
+         * Gets stale if error.
+         *
+         * @return the stale if error
+         */
+        public Duration getStaleIfError() {
+            return staleIfError;
+        }
+
+        /**
+         * Sets stale if error.
+         *
+         * @param staleIfError the stale if error
+         */
+        public void setStaleIfError(Duration staleIfError) {
+            this.staleIfError = staleIfError;
+        }
+
+        /**
+         * Gets max entries.
+         *
+         * @return the max entries
+         */
+        public Integer getMaxEntries() {
+            return maxEntries;
+        }
+
+        /**
+         * Sets max entries.
+         *
+         * @param maxEntries the max entries
+         */
+        public void setMaxEntries(Integer maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+    }
+
+    /**
+     * The selection between the instances of a SECOM service.
+     */
+    public static class LoadBalancer {
+
+        // Configuration Variables
+        private Duration decay;
+        private Duration probeInterval;
+
+        /**
+         * Gets decay.
+         *
+         * @return the decay
+         */
+        public Duration getDecay() {
+            return decay;
+        }
+
+        /**
+         * Sets decay.
+         *
+         * @param decay the decay
+         */
+        public void setDecay(Duration decay) {
+            this.decay = decay;
+        }
+
+        /**
+         * Gets probe interval.
+         *
+         * @return the probe interval
+         */
+        public Duration getProbeInterval() {
+            return probeInterval;
+        }
+
+        /**
+         * Sets probe interval.
+         *
+         * @param probeInterval the probe interval
+         */
+        public void setProbeInterval(Duration probeInterval) {
+            this.probeInterval = probeInterval;
+        }
+
+    }
+
+    /**
+     * The concurrent querying of multiple SECOM service providers.
+     */
+    public static class ScatterGather {
+
+        // Configuration Variables
+        private Duration timeout;
+        private Integer concurrency;
+
+        /**
+         * Gets timeout.
+         *
+         * @return the timeout
+         */
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        /**
+         * Sets timeout.
+         *
+         * @param timeout the timeout
+         */
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        /**
+         * Gets concurrency.
+         *
+         * @return the concurrency
+         */
+        public Integer getConcurrency() {
+            return concurrency;
+        }
+
+        /**
+         * Sets concurrency.
+         *
+         * @param concurrency the concurrency
+         */
+        public void setConcurrency(Integer concurrency) {
+            this.concurrency = concurrency;
+        }
+
+    }
+
+}
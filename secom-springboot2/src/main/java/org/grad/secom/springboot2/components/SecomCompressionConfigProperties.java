@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The SECOM Response Compression Configuration properties.
+ * <p/>
+ * By default, the JSON responses of the SECOM interfaces are compressed with
+ * the gzip or deflate HTTP content encoding, as negotiated by the
+ * Accept-Encoding header of each request, as long as they exceed a minimum
+ * size. This can be disabled, or the minimum size adjusted, through these
+ * properties.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@ConfigurationProperties(prefix = "secom.compression")
+public class SecomCompressionConfigProperties {
+
+    // Configuration Variables
+    private Boolean enabled;
+    private Integer minSize;
+
+    /**
+     * Gets enabled.
+     *
+     * @return the enabled
+     */
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets enabled.
+     *
+     * @param enabled the enabled
+     */
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Gets min size.
+     *
+     * @return the min size
+     */
+    public Integer getMinSize() {
+        return minSize;
+    }
+
+    /**
+     * Sets min size.
+     *
+     * @param minSize the min size
+     */
+    public void setMinSize(Integer minSize) {
+        this.minSize = minSize;
+    }
+
+}
@@ -16,8 +16,11 @@
 
 package org.grad.secom.springboot2.components;
 
+import io.netty.handler.ssl.SslProvider;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 /**
  * The SECOM Configuration properties.
  *
@@ -35,6 +38,10 @@ public class SecomConfigProperties {
     private String truststorePassword;
     private Boolean insecureSslPolicy;
     private Integer clientMaxMemorySize;
+    private Duration clientHandshakeTimeout;
+    private SslProvider clientSslProvider;
+    private Long clientSslSessionCacheSize;
+    private Duration clientSslSessionTimeout;
 
     /**
      * Gets keystore.
@@ -179,4 +186,77 @@ public class SecomConfigProperties {
     public void setClientMaxMemorySize(Integer clientMaxMemorySize) {
         this.clientMaxMemorySize = clientMaxMemorySize;
     }
-}
\ No newline at end of file
+
+    /**
+     * Gets client handshake timeout.
+     *
+     * @return the client handshake timeout
+     */
+    public Duration getClientHandshakeTimeout() {
+        return clientHandshakeTimeout;
+    }
+
+    /**
+     * Sets client handshake timeout.
+     *
+     * @param clientHandshakeTimeout the client handshake timeout
+     */
+    public void setClientHandshakeTimeout(Duration clientHandshakeTimeout) {
+        this.clientHandshakeTimeout = clientHandshakeTimeout;
+    }
+
+    /**
+     * Gets client ssl provider.
+     *
+     * @return the client ssl provider
+     */
+    public SslProvider getClientSslProvider() {
+        return clientSslProvider;
+    }
+
+    /**
+     * Sets client ssl provider.
+     *
+     * @param clientSslProvider the client ssl provider
+     */
+    public void setClientSslProvider(SslProvider clientSslProvider) {
+        this.clientSslProvider = clientSslProvider;
+    }
+
+    /**
+     * Gets client ssl session cache size.
+     *
+     * @return the client ssl session cache size
+     */
+    public Long getClientSslSessionCacheSize() {
+        return clientSslSessionCacheSize;
+    }
+
+    /**
+     * Sets client ssl session cache size.
+     *
+     * @param clientSslSessionCacheSize the client ssl session cache size
+     */
+    public void setClientSslSessionCacheSize(Long clientSslSessionCacheSize) {
+        this.clientSslSessionCacheSize = clientSslSessionCacheSize;
+    }
+
+    /**
+     * Gets client ssl session timeout.
+     *
+     * @return the client ssl session timeout
+     */
+    public Duration getClientSslSessionTimeout() {
+        return clientSslSessionTimeout;
+    }
+
+    /**
+     * Sets client ssl session timeout.
+     *
+     * @param clientSslSessionTimeout the client ssl session timeout
+     */
+    public void setClientSslSessionTimeout(Duration clientSslSessionTimeout) {
+        this.clientSslSessionTimeout = clientSslSessionTimeout;
+    }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * The SECOM Request Logging Configuration properties.
+ * <p/>
+ * By default, all incoming SECOM requests are logged through the Spring
+ * commons request logging filter. Alternatively, the sampled logging mode
+ * can be selected, where only a configurable portion of the requests
+ * (per SECOM interface) is logged, along with any failed requests.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@ConfigurationProperties(prefix = "secom.logging")
+public class SecomLoggingConfigProperties {
+
+    /**
+     * The SECOM Request Logging Modes.
+     */
+    public enum Mode {
+        COMMONS,
+        SAMPLED
+    }
+
+    // Configuration Variables
+    private Mode mode;
+    private Double sampleRate;
+    private Map<String, Double> interfaceSampleRates;
+    private Integer maxPayloadLength;
+    private Integer queueSize;
+
+    /**
+     * Gets mode.
+     *
+     * @return the mode
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Sets mode.
+     *
+     * @param mode the mode
+     */
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Gets sample rate.
+     *
+     * @return the sample rate
+     */
+    public Double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * Sets sample rate.
+     *
+     * @param sampleRate the sample rate
+     */
+    public void setSampleRate(Double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Gets interface sample rates.
+     *
+     * @return the interface sample rates
+     */
+    public Map<String, Double> getInterfaceSampleRates() {
+        return interfaceSampleRates;
+    }
+
+    /**
+     * Sets interface sample rates.
+     *
+     * @param interfaceSampleRates the interface sample rates
+     */
+    public void setInterfaceSampleRates(Map<String, Double> interfaceSampleRates) {
+        this.interfaceSampleRates = interfaceSampleRates;
+    }
+
+    /**
+     * Gets max payload length.
+     *
+     * @return the max payload length
+     */
+    public Integer getMaxPayloadLength() {
+        return maxPayloadLength;
+    }
+
+    /**
+     * Sets max payload length.
+     *
+     * @param maxPayloadLength the max payload length
+     */
+    public void setMaxPayloadLength(Integer maxPayloadLength) {
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    /**
+     * Gets queue size.
+     *
+     * @return the queue size
+     */
+    public Integer getQueueSize() {
+        return queueSize;
+    }
+
+    /**
+     * Sets queue size.
+     *
+     * @param queueSize the queue size
+     */
+    public void setQueueSize(Integer queueSize) {
+        this.queueSize = queueSize;
+    }
+}
@@ -0,0 +1,894 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.grad.secom.core.models.AcknowledgementObject;
+import org.grad.secom.core.models.UploadLinkObject;
+import org.grad.secom.core.models.UploadObject;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.SignalType;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.*;
+import java.net.URI;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.grad.secom.core.interfaces.AcknowledgementSecomInterface.ACKNOWLEDGMENT_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadLinkSecomInterface.UPLOAD_LINK_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadSecomInterface.UPLOAD_INTERFACE_PATH;
+
+/**
+ * The SECOM Outbound Queue Class.
+ * <p/>
+ * A durable store-and-forward queue for the outgoing SECOM messages, i.e. the
+ * upload, upload link and acknowledgement objects, intended for intermittent
+ * links such as the ship-shore ones. The messages are prepared (signed,
+ * encrypted, compressed and encoded) once, and the resulting request bodies
+ * are appended onto a segmented write-ahead log on the local disk. The log
+ * is synchronised onto the disk in batches, and an enqueue operation only
+ * completes once its message has been made durable.
+ * <p/>
+ * The queued messages are then sent in order per destination, with a
+ * configurable number of destinations being drained in parallel. Messages
+ * failing due to connectivity issues are retried indefinitely with an
+ * exponential backoff, and so are the ones answered with a server error or a
+ * timeout/throttling response, up to a maximum number of attempts, so that a
+ * failing destination cannot block its queue forever. Messages rejected by
+ * the destination, or exhausting their attempts, are logged and dropped.
+ * Completed messages are recorded in a commit log, and the
+ * segments are deleted once all of their messages have been completed. On
+ * restart, all the messages not yet completed are sent again, so delivery is
+ * at-least-once.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomOutboundQueue {
+
+    /**
+     * The default number of destinations drained in parallel.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    /**
+     * The default interval for synchronising the log onto the disk.
+     */
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofMillis(10);
+
+    /**
+     * The default maximum size of each log segment in bytes.
+     */
+    public static final long DEFAULT_MAX_SEGMENT_SIZE = 64L * 1024L * 1024L;
+
+    /**
+     * The default initial backoff between retries.
+     */
+    public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * The default maximum backoff between retries.
+     */
+    public static final Duration DEFAULT_MAX_RETRY_BACKOFF = Duration.ofMinutes(1);
+
+    /**
+     * The default maximum number of attempts for messages answered with an
+     * error response by the destination.
+     */
+    public static final int DEFAULT_MAX_ATTEMPTS = 10;
+
+    /**
+     * The file name prefix of the log segments.
+     */
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    /**
+     * The file name extension of the log segments.
+     */
+    private static final String SEGMENT_EXTENSION = ".log";
+
+    /**
+     * The file name of the commit log.
+     */
+    private static final String COMMIT_FILE = "committed.log";
+
+    /**
+     * The size of the record headers, i.e. the payload length and checksum.
+     */
+    private static final int RECORD_HEADER_SIZE = Integer.BYTES + Long.BYTES;
+
+    /**
+     * The Class Logger.
+     */
+    private static final Log log = LogFactory.getLog(SecomOutboundQueue.class);
+
+    // Class Variables
+    private final Function<URL, SecomClient> clientResolver;
+    private final Path directory;
+    private final long maxSegmentSize;
+    private final int maxAttempts;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Deque<OutboundRecord>> pending;
+    private final TreeMap<Long, Segment> segments;
+    private final List<Waiter> unsynced;
+    private final Set<String> draining;
+    private final Sinks.Many<String> wakeups;
+    private final Scheduler syncScheduler;
+    private final Disposable drainSubscription;
+    private final Disposable syncSubscription;
+    private final AtomicLong droppedCount;
+    private Duration retryBackoff;
+    private Segment current;
+    private FileChannel commitChannel;
+    private boolean commitDirty;
+    private long nextSequence;
+    private boolean disposed;
+    private boolean closed;
+
+    /**
+     * The SECOM Outbound Queue Constructor, using the default maximum number
+     * of attempts. Any messages already stored in the provided directory and
+     * not yet completed will be picked up and sent.
+     *
+     * @param clientResolver    the function resolving the SECOM clients of the destinations
+     * @param directory         the directory of the write-ahead log
+     * @param parallelism       the number of destinations drained in parallel
+     * @param syncInterval      the interval for synchronising the log onto the disk
+     * @param maxSegmentSize    the maximum size of each log segment in bytes
+     */
+    public SecomOutboundQueue(Function<URL, SecomClient> clientResolver, Path directory, int parallelism, Duration syncInterval, long maxSegmentSize) {
+        this(clientResolver, directory, parallelism, syncInterval, maxSegmentSize, DEFAULT_MAX_ATTEMPTS);
+    }
+
+    /**
+     * The SECOM Outbound Queue Constructor. Any messages already stored in the
+     * provided directory and not yet completed will be picked up and sent.
+     *
+     * @param clientResolver    the function resolving the SECOM clients of the destinations
+     * @param directory         the directory of the write-ahead log
+     * @param parallelism       the number of destinations drained in parallel
+     * @param syncInterval      the interval for synchronising the log onto the disk
+     * @param maxSegmentSize    the maximum size of each log segment in bytes
+     * @param maxAttempts       the maximum number of attempts for messages answered with an error response
+     */
+    public SecomOutboundQueue(Function<URL, SecomClient> clientResolver, Path directory, int parallelism, Duration syncInterval, long maxSegmentSize, int maxAttempts) {
+        this.clientResolver = Objects.requireNonNull(clientResolver);
+        this.directory = Objects.requireNonNull(directory);
+        this.maxSegmentSize = maxSegmentSize;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.droppedCount = new AtomicLong();
+        this.retryBackoff = DEFAULT_RETRY_BACKOFF;
+        this.objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.pending = new HashMap<>();
+        this.segments = new TreeMap<>();
+        this.unsynced = new ArrayList<>();
+        this.draining = ConcurrentHashMap.newKeySet();
+        this.wakeups = Sinks.many().unicast().onBackpressureBuffer();
+
+        // Recover the stored messages
+        try {
+            this.recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        // Start draining and synchronising the log
+        this.drainSubscription = this.wakeups.asFlux()
+                .flatMap(this::drain, Math.max(1, parallelism))
+                .subscribe();
+        final long syncMillis = Math.max(1, Optional.ofNullable(syncInterval).orElse(DEFAULT_SYNC_INTERVAL).toMillis());
+        this.syncScheduler = Schedulers.newSingle("secom-outbound-sync");
+        this.syncSubscription = this.syncScheduler.schedulePeriodically(this::sync, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+        new ArrayList<>(this.pending.keySet()).forEach(this::wake);
+    }
+
+    /**
+     * Creates a new SECOM outbound queue based on the provided SECOM client
+     * configuration properties, using the provided SECOM client factory to
+     * resolve the destinations. If no outbound queue directory has been
+     * configured, then no queue will be created at all.
+     *
+     * @param clientFactory the SECOM client factory
+     * @param config        the SECOM client configuration properties
+     * @return the SECOM outbound queue, if configured
+     */
+    public static Optional<SecomOutboundQueue> fromConfig(SecomClientFactory clientFactory, SecomClientConfigProperties config) {
+        return Optional.ofNullable(config)
+                .map(SecomClientConfigProperties::getOutboundQueue)
+                .filter(c -> Objects.nonNull(c.getDirectory()))
+                .map(c -> new SecomOutboundQueue(clientFactory::getClient,
+                        Paths.get(c.getDirectory()),
+                        Optional.ofNullable(c.getParallelism()).orElse(DEFAULT_PARALLELISM),
+                        Optional.ofNullable(c.getSyncInterval()).orElse(DEFAULT_SYNC_INTERVAL),
+                        Optional.ofNullable(c.getMaxSegmentSize()).orElse(DEFAULT_MAX_SEGMENT_SIZE),
+                        Optional.ofNullable(c.getMaxAttempts()).orElse(DEFAULT_MAX_ATTEMPTS)));
+    }
+
+    /**
+     * Sets the initial backoff between retries.
+     *
+     * @param retryBackoff the initial backoff between retries
+     */
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = Optional.ofNullable(retryBackoff).orElse(DEFAULT_RETRY_BACKOFF);
+    }
+
+    /**
+     * Returns the number of the queued messages not yet completed.
+     *
+     * @return the number of the pending messages
+     */
+    public synchronized int getPendingCount() {
+        return this.pending.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    /**
+     * Returns the number of the queued messages dropped so far, i.e. the ones
+     * rejected by their destinations or exhausting their attempts.
+     *
+     * @return the number of the dropped messages
+     */
+    public long getDroppedCount() {
+        return this.droppedCount.get();
+    }
+
+    /**
+     * POST /v1/object : Queues the provided upload object to be sent to the
+     * provided destination, blocking until it has been stored durably.
+     *
+     * @param destination   the URL of the destination SECOM service
+     * @param uploadObject  the upload object
+     */
+    public void enqueueUpload(URL destination, UploadObject uploadObject) {
+        this.enqueueUploadAsync(destination, uploadObject).block();
+    }
+
+    /**
+     * POST /v1/object : Queues the provided upload object to be sent to the
+     * provided destination.
+     *
+     * @param destination   the URL of the destination SECOM service
+     * @param uploadObject  the upload object
+     * @return a mono completing once the message has been stored durably
+     */
+    public Mono<Void> enqueueUploadAsync(URL destination, UploadObject uploadObject) {
+        return this.enqueue(destination, UPLOAD_INTERFACE_PATH, secomClient -> secomClient.prepareUpload(uploadObject));
+    }
+
+    /**
+     * POST /v1/object/link : Queues the provided upload link object to be sent
+     * to the provided destination, blocking until it has been stored durably.
+     *
+     * @param destination       the URL of the destination SECOM service
+     * @param uploadLinkObject  the upload link object
+     */
+    public void enqueueUploadLink(URL destination, UploadLinkObject uploadLinkObject) {
+        this.enqueueUploadLinkAsync(destination, uploadLinkObject).block();
+    }
+
+    /**
+     * POST /v1/object/link : Queues the provided upload link object to be sent
+     * to the provided destination.
+     *
+     * @param destination       the URL of the destination SECOM service
+     * @param uploadLinkObject  the upload link object
+     * @return a mono completing once the message has been stored durably
+     */
+    public Mono<Void> enqueueUploadLinkAsync(URL destination, UploadLinkObject uploadLinkObject) {
+        return this.enqueue(destination, UPLOAD_LINK_INTERFACE_PATH, secomClient -> secomClient.prepareUploadLink(uploadLinkObject));
+    }
+
+    /**
+     * POST /v1/acknowledgement : Queues the provided acknowledgement object to
+     * be sent to the provided destination, blocking until it has been stored
+     * durably.
+     *
+     * @param destination           the URL of the destination SECOM service
+     * @param acknowledgementObject the acknowledgement object
+     */
+    public void enqueueAcknowledgement(URL destination, AcknowledgementObject acknowledgementObject) {
+        this.enqueueAcknowledgementAsync(destination, acknowledgementObject).block();
+    }
+
+    /**
+     * POST /v1/acknowledgement : Queues the provided acknowledgement object to
+     * be sent to the provided destination.
+     *
+     * @param destination           the URL of the destination SECOM service
+     * @param acknowledgementObject the acknowledgement object
+     * @return a mono completing once the message has been stored durably
+     */
+    public Mono<Void> enqueueAcknowledgementAsync(URL destination, AcknowledgementObject acknowledgementObject) {
+        return this.enqueue(destination, ACKNOWLEDGMENT_INTERFACE_PATH, secomClient -> secomClient.prepareAcknowledgement(acknowledgementObject));
+    }
+
+    /**
+     * Stops draining the queue and closes the write-ahead log. Any messages
+     * not yet completed remain stored, to be sent on the next start.
+     */
+    public void dispose() {
+        synchronized (this) {
+            this.disposed = true;
+        }
+        this.drainSubscription.dispose();
+        this.syncSubscription.dispose();
+        this.sync();
+        this.syncScheduler.dispose();
+        synchronized (this) {
+            this.closed = true;
+            this.closeQuietly(this.current.channel());
+            this.closeQuietly(this.commitChannel);
+        }
+    }
+
+    /**
+     * Prepares the message through the SECOM client of the destination and
+     * appends the resulting request body onto the write-ahead log.
+     *
+     * @param destination   the URL of the destination SECOM service
+     * @param interfacePath the SECOM interface path
+     * @param preparer      the function preparing the message
+     * @return a mono completing once the message has been stored durably
+     */
+    private Mono<Void> enqueue(URL destination, String interfacePath, Function<SecomClient, Object> preparer) {
+        Objects.requireNonNull(destination);
+        return Mono.fromCallable(() -> this.clientResolver.apply(destination))
+                .flatMap(secomClient -> Mono.fromCallable(() -> this.objectMapper.writeValueAsBytes(preparer.apply(secomClient)))
+                        .subscribeOn(secomClient.processingScheduler))
+                .flatMap(body -> Mono.<Void>create(sink -> {
+                    try {
+                        this.append(destination.toString(), interfacePath, body, sink);
+                    } catch (IOException | RuntimeException ex) {
+                        sink.error(ex);
+                    }
+                }));
+    }
+
+    /**
+     * Appends a new record onto the current log segment. The provided sink
+     * will be completed once the record has been synchronised onto the disk.
+     *
+     * @param destination   the URL of the destination SECOM service
+     * @param interfacePath the SECOM interface path
+     * @param body          the prepared request body
+     * @param sink          the sink to be completed once the record is durable
+     * @throws IOException for any IO exceptions while writing
+     */
+    private synchronized void append(String destination, String interfacePath, byte[] body, MonoSink<Void> sink) throws IOException {
+        if(this.disposed) {
+            throw new IllegalStateException("The SECOM outbound queue has been disposed");
+        }
+        if(this.current.size() >= this.maxSegmentSize) {
+            this.roll();
+        }
+
+        // Build the record payload
+        final long sequence = this.nextSequence++;
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream(body.length + 256);
+        try (DataOutputStream os = new DataOutputStream(bos)) {
+            os.writeLong(sequence);
+            os.writeUTF(destination);
+            os.writeUTF(interfacePath);
+            os.writeInt(body.length);
+            os.write(body);
+        }
+        final byte[] payload = bos.toByteArray();
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+
+        // And write it onto the segment
+        final long start = this.current.size();
+        final ByteBuffer[] buffers = new ByteBuffer[] {
+                ByteBuffer.allocate(RECORD_HEADER_SIZE).putInt(payload.length).putLong(crc.getValue()).flip(),
+                ByteBuffer.wrap(payload)
+        };
+        while(buffers[1].hasRemaining()) {
+            this.current.channel().write(buffers);
+        }
+        this.current.setSize(start + RECORD_HEADER_SIZE + payload.length);
+        this.current.increment();
+        final long bodyOffset = start + RECORD_HEADER_SIZE + payload.length - body.length;
+        this.unsynced.add(new Waiter(new OutboundRecord(sequence, this.current, destination, interfacePath, bodyOffset, body.length), start, sink));
+    }
+
+    /**
+     * Synchronises the log segments and the commit log onto the disk, and
+     * then releases the records appended in the meantime for draining. If
+     * the synchronisation fails, the records appended in the meantime are
+     * rolled back, so that they are not sent after their enqueue operations
+     * have failed.
+     */
+    private void sync() {
+        final List<Waiter> waiters;
+        final List<Waiter> failed;
+        IOException failure = null;
+        synchronized (this) {
+            if(this.closed || (this.unsynced.isEmpty() && !this.commitDirty)) {
+                return;
+            }
+            waiters = new ArrayList<>(this.unsynced);
+            this.unsynced.clear();
+            try {
+                this.force(this.current.channel());
+                this.force(this.commitChannel);
+                this.commitDirty = false;
+            } catch (IOException ex) {
+                log.error("Failed to synchronise the SECOM outbound queue: " + ex.getMessage());
+                failure = ex;
+            }
+            failed = failure != null ? this.rollback(waiters) : Collections.emptyList();
+            waiters.removeAll(failed);
+            waiters.forEach(waiter -> this.pending
+                    .computeIfAbsent(waiter.record().destination(), key -> new ArrayDeque<>())
+                    .add(waiter.record()));
+        }
+        for(Waiter waiter : failed) {
+            waiter.sink().error(failure);
+        }
+        waiters.forEach(waiter -> {
+            waiter.sink().success();
+            this.wake(waiter.record().destination());
+        });
+    }
+
+    /**
+     * Forces the provided channel onto the disk.
+     *
+     * @param channel   the channel to be forced
+     * @throws IOException for any IO exceptions while forcing
+     */
+    protected void force(FileChannel channel) throws IOException {
+        channel.force(false);
+    }
+
+    /**
+     * Rolls back the records that failed to be synchronised, by truncating
+     * the current segment before the first one of them. Records in the
+     * previous segments have already been forced onto the disk when rolling,
+     * so these are not rolled back. Must be called while holding the lock.
+     *
+     * @param waiters   the records that failed to be synchronised
+     * @return the records that have been rolled back
+     */
+    private List<Waiter> rollback(List<Waiter> waiters) {
+        final List<Waiter> rolledBack = waiters.stream()
+                .filter(waiter -> waiter.record().segment() == this.current)
+                .collect(Collectors.toList());
+        if(rolledBack.isEmpty()) {
+            return rolledBack;
+        }
+        final long start = rolledBack.stream().mapToLong(Waiter::start).min().orElse(this.current.size());
+        rolledBack.forEach(waiter -> this.current.decrement());
+        this.current.setSize(start);
+        try {
+            this.current.channel().truncate(start);
+        } catch (IOException ex) {
+            log.error("Failed to roll back the SECOM outbound queue: " + ex.getMessage());
+        }
+        return rolledBack;
+    }
+
+    /**
+     * Wakes up the draining of the provided destination.
+     *
+     * @param destination   the URL of the destination SECOM service
+     */
+    private synchronized void wake(String destination) {
+        this.wakeups.tryEmitNext(destination);
+    }
+
+    /**
+     * Returns the next record to be sent to the provided destination, if any.
+     *
+     * @param destination   the URL of the destination SECOM service
+     * @return the next record, or null if nothing is pending
+     */
+    private synchronized OutboundRecord peek(String destination) {
+        return Optional.ofNullable(this.pending.get(destination))
+                .map(Deque::peekFirst)
+                .orElse(null);
+    }
+
+    /**
+     * Sends all the pending records of the provided destination in order,
+     * unless it is already being drained.
+     *
+     * @param destination   the URL of the destination SECOM service
+     * @return the mono of the draining completion
+     */
+    private Mono<Void> drain(String destination) {
+        if(!this.draining.add(destination)) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> Mono.justOrEmpty(this.peek(destination)))
+                .flatMap(record -> this.send(record).then(Mono.fromRunnable(() -> this.commit(record))))
+                .repeat(() -> this.peek(destination) != null)
+                .then()
+                .doFinally(signal -> {
+                    this.draining.remove(destination);
+                    if(signal != SignalType.CANCEL && this.peek(destination) != null) {
+                        this.wake(destination);
+                    }
+                });
+    }
+
+    /**
+     * Sends the provided record, retrying indefinitely on connectivity
+     * failures. Error responses of the destination are retried up to the
+     * maximum number of attempts, unless the message is rejected, while
+     * messages that cannot be read back from the log are not retried at all.
+     *
+     * @param record    the record to be sent
+     * @return the mono of the sending completion
+     */
+    private Mono<Void> send(OutboundRecord record) {
+        final AtomicInteger attempts = new AtomicInteger();
+        return Mono.fromCallable(() -> this.readBody(record))
+                .subscribeOn(Schedulers.boundedElastic())
+                .zipWith(Mono.fromCallable(() -> this.clientResolver.apply(URI.create(record.destination()).toURL())))
+                .flatMap(tuple -> tuple.getT2().postPrepared(record.interfacePath(), tuple.getT1()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, this.retryBackoff)
+                        .maxBackoff(DEFAULT_MAX_RETRY_BACKOFF)
+                        .filter(ex -> this.isRetryable(ex, attempts)))
+                .onErrorResume(ex -> {
+                    log.warn("Dropping the queued SECOM message " + record.sequence() + " for " + record.destination() + ": " + ex.getMessage());
+                    this.droppedCount.incrementAndGet();
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * Checks whether a message failing with the provided exception should be
+     * retried. Request timeouts and throttling responses are retried just
+     * like the server errors, counting towards the maximum number of
+     * attempts.
+     *
+     * @param ex        the failure exception
+     * @param attempts  the number of error responses received so far
+     * @return whether the message should be retried
+     */
+    private boolean isRetryable(Throwable ex, AtomicInteger attempts) {
+        if(ex instanceof IOException) {
+            return false;
+        }
+        if(ex instanceof WebClientResponseException responseException) {
+            final int status = responseException.getStatusCode().value();
+            if(responseException.getStatusCode().is4xxClientError() && status != 408 && status != 429) {
+                return false;
+            }
+            return attempts.incrementAndGet() < this.maxAttempts;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the request body of the provided record back from the log.
+     *
+     * @param record    the record
+     * @return the request body
+     * @throws IOException for any IO exceptions while reading
+     */
+    private byte[] readBody(OutboundRecord record) throws IOException {
+        try (FileChannel channel = FileChannel.open(record.segment().path(), StandardOpenOption.READ)) {
+            final ByteBuffer buffer = ByteBuffer.allocate(record.length());
+            while(buffer.hasRemaining()) {
+                if(channel.read(buffer, record.offset() + buffer.position()) < 0) {
+                    throw new EOFException("Truncated SECOM outbound queue record " + record.sequence());
+                }
+            }
+            return buffer.array();
+        }
+    }
+
+    /**
+     * Marks the provided record as completed. Segments without any pending
+     * records are deleted, and once nothing is pending at all, the log is
+     * reset so that it does not grow indefinitely.
+     *
+     * @param record    the completed record
+     */
+    private synchronized void commit(OutboundRecord record) {
+        Optional.ofNullable(this.pending.get(record.destination())).ifPresent(deque -> {
+            deque.remove(record);
+            if(deque.isEmpty()) {
+                this.pending.remove(record.destination());
+            }
+        });
+        if(this.disposed) {
+            return;
+        }
+        try {
+            this.commitChannel.write(ByteBuffer.allocate(Long.BYTES).putLong(record.sequence()).flip());
+            this.commitDirty = true;
+            record.segment().decrement();
+            if(record.segment() != this.current && record.segment().outstanding() == 0) {
+                this.segments.remove(record.segment().number());
+                Files.deleteIfExists(record.segment().path());
+            }
+            if(this.pending.isEmpty() && this.unsynced.isEmpty() && this.segments.size() == 1 && this.current.outstanding() == 0) {
+                this.reset();
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to commit the queued SECOM message " + record.sequence() + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Closes the current log segment and starts a new one. Must be called
+     * while holding the lock.
+     *
+     * @throws IOException for any IO exceptions while rolling
+     */
+    private void roll() throws IOException {
+        this.current.channel().force(false);
+        this.current.channel().close();
+        if(this.current.outstanding() == 0 && this.unsynced.isEmpty()) {
+            this.segments.remove(this.current.number());
+            Files.deleteIfExists(this.current.path());
+        }
+        this.current = this.openSegment(this.current.number() + 1);
+    }
+
+    /**
+     * Resets the log once all records have been completed, by replacing the
+     * current segment and truncating the commit log. Must be called while
+     * holding the lock.
+     *
+     * @throws IOException for any IO exceptions while resetting
+     */
+    private void reset() throws IOException {
+        if(this.current.size() > 0) {
+            this.current.channel().close();
+            this.segments.remove(this.current.number());
+            Files.deleteIfExists(this.current.path());
+            this.current = this.openSegment(this.current.number() + 1);
+        }
+        this.commitChannel.truncate(0);
+        this.commitChannel.force(false);
+        this.commitDirty = false;
+    }
+
+    /**
+     * Opens a new log segment with the provided number for writing.
+     *
+     * @param number    the segment number
+     * @return the opened segment
+     * @throws IOException for any IO exceptions while opening
+     */
+    private Segment openSegment(long number) throws IOException {
+        final Path path = this.directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, number, SEGMENT_EXTENSION));
+        final Segment segment = new Segment(number, path, FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+        this.segments.put(number, segment);
+        return segment;
+    }
+
+    /**
+     * Recovers the stored records that have not been completed yet. Any
+     * partially written records at the end of a segment, e.g. due to a crash,
+     * are discarded. The fully completed segments are deleted, the commit log
+     * is compacted and a new segment is opened for writing.
+     *
+     * @throws IOException for any IO exceptions while recovering
+     */
+    private synchronized void recover() throws IOException {
+        Files.createDirectories(this.directory);
+
+        // Read the completed record sequences
+        final Path commitPath = this.directory.resolve(COMMIT_FILE);
+        final Set<Long> committed = new HashSet<>();
+        if(Files.exists(commitPath)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(commitPath));
+            while(buffer.remaining() >= Long.BYTES) {
+                committed.add(buffer.getLong());
+            }
+        }
+
+        // Scan the existing segments
+        final List<Path> segmentPaths;
+        try (Stream<Path> files = Files.list(this.directory)) {
+            segmentPaths = files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .filter(path -> path.getFileName().toString().endsWith(SEGMENT_EXTENSION))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        final Set<Long> retained = new HashSet<>();
+        long lastNumber = -1;
+        for(Path path : segmentPaths) {
+            final String name = path.getFileName().toString();
+            final long number = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_EXTENSION.length()));
+            lastNumber = Math.max(lastNumber, number);
+            final Segment segment = new Segment(number, path, null);
+            this.scanSegment(segment, committed, retained);
+            if(segment.outstanding() > 0) {
+                this.segments.put(number, segment);
+            } else {
+                Files.deleteIfExists(path);
+            }
+        }
+
+        // Compact the commit log
+        this.commitChannel = FileChannel.open(commitPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        final ByteBuffer compacted = ByteBuffer.allocate(retained.size() * Long.BYTES);
+        retained.forEach(compacted::putLong);
+        compacted.flip();
+        while(compacted.hasRemaining()) {
+            this.commitChannel.write(compacted);
+        }
+        this.commitChannel.force(false);
+
+        // And open a new segment for writing
+        this.current = this.openSegment(lastNumber + 1);
+    }
+
+    /**
+     * Scans the provided segment, registering its records that have not been
+     * completed yet as pending. Scanning stops at the first partially written
+     * or corrupted record, and the segment is truncated at that point.
+     *
+     * @param segment   the segment to be scanned
+     * @param committed the completed record sequences
+     * @param retained  the completed record sequences of the retained segments
+     * @throws IOException for any IO exceptions while scanning
+     */
+    private void scanSegment(Segment segment, Set<Long> committed, Set<Long> retained) throws IOException {
+        final Set<Long> segmentCommitted = new HashSet<>();
+        try (FileChannel channel = FileChannel.open(segment.path(), StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final long size = channel.size();
+            long position = 0;
+            while(position + RECORD_HEADER_SIZE <= size) {
+                final ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+                channel.read(header, position);
+                header.flip();
+                final int length = header.getInt();
+                final long checksum = header.getLong();
+                if(length <= 0 || position + RECORD_HEADER_SIZE + length > size) {
+                    break;
+                }
+                final ByteBuffer payload = ByteBuffer.allocate(length);
+                while(payload.hasRemaining() && channel.read(payload, position + RECORD_HEADER_SIZE + payload.position()) >= 0);
+                final CRC32 crc = new CRC32();
+                crc.update(payload.array());
+                if(crc.getValue() != checksum) {
+                    break;
+                }
+
+                // Parse the record
+                final DataInputStream is = new DataInputStream(new ByteArrayInputStream(payload.array()));
+                final long sequence = is.readLong();
+                final String destination = is.readUTF();
+                final String interfacePath = is.readUTF();
+                final int bodyLength = is.readInt();
+                this.nextSequence = Math.max(this.nextSequence, sequence + 1);
+                if(committed.contains(sequence)) {
+                    segmentCommitted.add(sequence);
+                } else {
+                    final long bodyOffset = position + RECORD_HEADER_SIZE + length - bodyLength;
+                    this.pending.computeIfAbsent(destination, key -> new ArrayDeque<>())
+                            .add(new OutboundRecord(sequence, segment, destination, interfacePath, bodyOffset, bodyLength));
+                    segment.increment();
+                }
+                position += RECORD_HEADER_SIZE + length;
+            }
+            if(position < size) {
+                log.warn("Discarding a partially written record at the end of " + segment.path());
+                channel.truncate(position);
+            }
+            segment.setSize(position);
+        }
+        if(segment.outstanding() > 0) {
+            retained.addAll(segmentCommitted);
+        }
+    }
+
+    /**
+     * Closes the provided channel, ignoring any errors.
+     *
+     * @param channel   the channel to be closed
+     */
+    private void closeQuietly(Closeable channel) {
+        try {
+            if(channel != null) {
+                channel.close();
+            }
+        } catch (IOException ex) {
+            log.debug("Failed to close the SECOM outbound queue: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * A segment of the write-ahead log.
+     */
+    private static class Segment {
+
+        // Class Variables
+        private final long number;
+        private final Path path;
+        private final FileChannel channel;
+        private long size;
+        private int outstanding;
+
+        /**
+         * The Segment Constructor.
+         *
+         * @param number    the segment number
+         * @param path      the segment file path
+         * @param channel   the segment channel, if open for writing
+         */
+        Segment(long number, Path path, FileChannel channel) {
+            this.number = number;
+            this.path = path;
+            this.channel = channel;
+        }
+
+        long number() { return number; }
+        Path path() { return path; }
+        FileChannel channel() { return channel; }
+        long size() { return size; }
+        void setSize(long size) { this.size = size; }
+        int outstanding() { return outstanding; }
+        void increment() { this.outstanding++; }
+        void decrement() { this.outstanding--; }
+    }
+
+    /**
+     * A queued record of the write-ahead log.
+     *
+     * @param sequence      the record sequence
+     * @param segment       the segment containing the record
+     * @param destination   the URL of the destination SECOM service
+     * @param interfacePath the SECOM interface path
+     * @param offset        the offset of the request body within the segment
+     * @param length        the length of the request body
+     */
+    private record OutboundRecord(long sequence, Segment segment, String destination, String interfacePath, long offset, int length) {}
+
+    /**
+     * A record waiting to be synchronised onto the disk.
+     *
+     * @param record    the record
+     * @param start     the offset of the record within the segment
+     * @param sink      the sink to be completed once the record is durable
+     */
+    private record Waiter(OutboundRecord record, long start, MonoSink<Void> sink) {}
+
+}
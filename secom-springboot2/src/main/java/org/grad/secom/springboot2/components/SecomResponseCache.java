@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * The SECOM Response Cache Class.
+ * <p/>
+ * Some SECOM responses, such as the ones of the Capability, Ping and Search
+ * Service interfaces, change very rarely but are requested very often, e.g.
+ * before every exchange with a SECOM service. This cache allows the
+ * {@link SecomClient} to keep these responses in memory for a configurable
+ * time-to-live (TTL), per endpoint.
+ * <p/>
+ * Once the TTL of a response expires, the cached response can still be served
+ * for an additional stale-while-revalidate period, while a fresh copy is
+ * retrieved in the background. Where the SECOM services provide ETag or
+ * Last-Modified headers, these are used for a conditional revalidation, so
+ * that unchanged responses are not transferred again.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomResponseCache {
+
+    /**
+     * The default maximum number of cached responses.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * The Class Logger.
+     */
+    private static final Log log = LogFactory.getLog(SecomResponseCache.class);
+
+    // Class Variables
+    private final Map<String, Entry> entries;
+    private final Set<String> revalidating;
+    private Duration capabilityTtl;
+    private Duration pingTtl;
+    private Duration searchTtl;
+    private Duration staleWhileRevalidate;
+    private int maxEntries;
+
+    /**
+     * The SECOM Response Cache Constructor. By default, no TTLs are defined
+     * so nothing will be cached.
+     */
+    public SecomResponseCache() {
+        this.entries = new ConcurrentHashMap<>();
+        this.revalidating = ConcurrentHashMap.newKeySet();
+        this.staleWhileRevalidate = Duration.ZERO;
+        this.maxEntries = DEFAULT_MAX_ENTRIES;
+    }
+
+    /**
+     * Creates a new SECOM response cache based on the provided SECOM client
+     * configuration properties. If no cache TTLs are configured, then no
+     * cache will be created at all.
+     *
+     * @param config    the SECOM client configuration properties
+     * @return the SECOM response cache, if configured
+     */
+    public static Optional<SecomResponseCache> fromConfig(SecomClientConfigProperties config) {
+        return Optional.ofNullable(config)
+                .map(SecomClientConfigProperties::getCache)
+                .filter(c -> Objects.nonNull(c.getCapabilityTtl())
+                        || Objects.nonNull(c.getPingTtl())
+                        || Objects.nonNull(c.getSearchTtl()))
+                .map(c -> {
+                    final SecomResponseCache responseCache = new SecomResponseCache();
+                    responseCache.setCapabilityTtl(c.getCapabilityTtl());
+                    responseCache.setPingTtl(c.getPingTtl());
+                    responseCache.setSearchTtl(c.getSearchTtl());
+                    Optional.ofNullable(c.getStaleWhileRevalidate()).ifPresent(responseCache::setStaleWhileRevalidate);
+                    Optional.ofNullable(c.getMaxEntries()).ifPresent(responseCache::setMaxEntries);
+                    return responseCache;
+                });
+    }
+
+    /**
+     * Gets capability ttl.
+     *
+     * @return the capability ttl
+     */
+    public Duration getCapabilityTtl() {
+        return capabilityTtl;
+    }
+
+    /**
+     * Sets capability ttl.
+     *
+     * @param capabilityTtl the capability ttl
+     */
+    public void setCapabilityTtl(Duration capabilityTtl) {
+        this.capabilityTtl = capabilityTtl;
+    }
+
+    /**
+     * Gets ping ttl.
+     *
+     * @return the ping ttl
+     */
+    public Duration getPingTtl() {
+        return pingTtl;
+    }
+
+    /**
+     * Sets ping ttl.
+     *
+     * @param pingTtl the ping ttl
+     */
+    public void setPingTtl(Duration pingTtl) {
+        this.pingTtl = pingTtl;
+    }
+
+    /**
+     * Gets search ttl.
+     *
+     * @return the search ttl
+     */
+    public Duration getSearchTtl() {
+        return searchTtl;
+    }
+
+    /**
+     * Sets search ttl.
+     *
+     * @param searchTtl the search ttl
+     */
+    public void setSearchTtl(Duration searchTtl) {
+        this.searchTtl = searchTtl;
+    }
+
+    /**
+     * Gets stale while revalidate.
+     *
+     * @return the stale while revalidate
+     */
+    public Duration getStaleWhileRevalidate() {
+        return staleWhileRevalidate;
+    }
+
+    /**
+     * Sets stale while revalidate.
+     *
+     * @param staleWhileRevalidate the stale while revalidate
+     */
+    public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+        this.staleWhileRevalidate = Optional.ofNullable(staleWhileRevalidate).orElse(Duration.ZERO);
+    }
+
+    /**
+     * Gets max entries.
+     *
+     * @return the max entries
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Sets max entries.
+     *
+     * @param maxEntries the max entries
+     */
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    /**
+     * Returns the cached response for the provided key if still fresh.
+     * Otherwise, the provided loader is used to retrieve the response, and
+     * receives the previously cached response (if any), so that it can
+     * perform a conditional request. If the cached response is stale but
+     * within the stale-while-revalidate period, it is returned immediately
+     * while the loader is called in the background.
+     * <p/>
+     * If no valid TTL is provided, the loader is always called and the
+     * response is not cached.
+     * <p/>
+     * The cache is checked upon subscription, so that every subscription
+     * sees the current state of the cache, and each subscriber receives its
+     * own copy of the cached response value, using the provided copy
+     * operator, so that any changes made by one subscriber do not affect
+     * the others.
+     *
+     * @param key       the cache key
+     * @param ttl       the time-to-live of the response
+     * @param loader    the loader of the response, given the previous one
+     * @param copier    the operator copying the cached value for each subscriber
+     * @return the cached or loaded response value
+     * @param <T> the class of the response value
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> get(String key, Duration ttl, Function<CachedResponse<T>, Mono<CachedResponse<T>>> loader, UnaryOperator<T> copier) {
+        // If caching is not enabled, just load the response
+        if(ttl == null || ttl.isZero() || ttl.isNegative()) {
+            return Mono.defer(() -> loader.apply(null)).map(CachedResponse::value);
+        }
+
+        return Mono.defer(() -> {
+            // Check the cached entry, if any
+            final long now = System.nanoTime();
+            final Entry entry = this.entries.get(key);
+            final CachedResponse<T> cached = entry != null ? (CachedResponse<T>) entry.response() : null;
+            if(entry != null && now - entry.freshUntil() < 0) {
+                return Mono.justOrEmpty(cached.value()).map(copier);
+            }
+            else if(entry != null && now - entry.staleUntil() < 0) {
+                this.revalidate(key, ttl, cached, loader);
+                return Mono.justOrEmpty(cached.value()).map(copier);
+            }
+
+            // Otherwise, load the response and cache it
+            return loader.apply(cached)
+                    .doOnNext(response -> this.put(key, ttl, response))
+                    .map(CachedResponse::value)
+                    .map(copier);
+        });
+    }
+
+    /**
+     * Removes the cached response for the provided key, if any.
+     *
+     * @param key the cache key
+     */
+    public void evict(String key) {
+        this.entries.remove(key);
+    }
+
+    /**
+     * Removes all the cached responses.
+     */
+    public void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * Returns the number of the cached responses.
+     *
+     * @return the number of the cached responses
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Revalidates the cached response for the provided key in the
+     * background. Only one revalidation per key can take place at any time,
+     * and any failures are ignored so that the stale response keeps being
+     * served until it expires.
+     *
+     * @param key       the cache key
+     * @param ttl       the time-to-live of the response
+     * @param cached    the currently cached response
+     * @param loader    the loader of the response, given the previous one
+     * @param <T> the class of the response value
+     */
+    private <T> void revalidate(String key, Duration ttl, CachedResponse<T> cached, Function<CachedResponse<T>, Mono<CachedResponse<T>>> loader) {
+        if(this.revalidating.add(key)) {
+            Mono.defer(() -> loader.apply(cached))
+                    .doFinally(signal -> this.revalidating.remove(key))
+                    .subscribe(
+                            response -> this.put(key, ttl, response),
+                            ex -> log.debug("Failed to revalidate the cached SECOM response for " + key + ": " + ex.getMessage()));
+        }
+    }
+
+    /**
+     * Stores the provided response into the cache. If the maximum number of
+     * entries is exceeded, the expired entries are removed first, followed
+     * by the ones closest to expiring.
+     *
+     * @param key       the cache key
+     * @param ttl       the time-to-live of the response
+     * @param response  the response to be cached
+     */
+    private void put(String key, Duration ttl, CachedResponse<?> response) {
+        final long now = System.nanoTime();
+        final long freshUntil = now + ttl.toNanos();
+        this.entries.put(key, new Entry(response, freshUntil, freshUntil + this.staleWhileRevalidate.toNanos()));
+
+        // Make sure we don't exceed the maximum number of entries
+        if(this.entries.size() > this.maxEntries) {
+            this.entries.values().removeIf(entry -> now - entry.staleUntil() >= 0);
+            while(this.entries.size() > this.maxEntries) {
+                this.entries.entrySet()
+                        .stream()
+                        .min(Comparator.comparingLong(e -> e.getValue().staleUntil() - now))
+                        .ifPresent(e -> this.entries.remove(e.getKey(), e.getValue()));
+            }
+        }
+    }
+
+    /**
+     * A cached SECOM response, along with its validators, i.e. the ETag and
+     * Last-Modified headers provided by the SECOM service.
+     *
+     * @param value         the response value
+     * @param eTag          the response ETag header, if any
+     * @param lastModified  the response Last-Modified header, if any
+     * @param <T> the class of the response value
+     */
+    public record CachedResponse<T>(T value, String eTag, String lastModified) {}
+
+    /**
+     * A cache entry, holding the cached response along with the times (as
+     * given by {@link System#nanoTime()}) it stops being fresh and usable
+     * respectively.
+     *
+     * @param response      the cached response
+     * @param freshUntil    the time the response stops being fresh
+     * @param staleUntil    the time the response stops being usable
+     */
+    private record Entry(CachedResponse<?> response, long freshUntil, long staleUntil) {}
+
+}
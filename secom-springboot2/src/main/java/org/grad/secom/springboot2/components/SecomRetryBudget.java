@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The SECOM Retry Budget Class.
+ * <p/>
+ * Limits the number of retries to a fraction of the original requests, so
+ * that retries cannot multiply the load on SECOM services that are already
+ * struggling. Every original request deposits a fraction of a token into
+ * the budget, while every retry withdraws a whole token. A small reserve of
+ * tokens is available from the start, so that clients with low traffic can
+ * still perform some retries.
+ * <p/>
+ * A single budget is meant to be shared between all the clients of the
+ * application.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomRetryBudget {
+
+    /**
+     * The default fraction of retries allowed per original request.
+     */
+    public static final double DEFAULT_RATIO = 0.1;
+
+    /**
+     * The default number of tokens initially available.
+     */
+    public static final int DEFAULT_RESERVE = 10;
+
+    /**
+     * The default maximum number of tokens that can be accumulated.
+     */
+    public static final int DEFAULT_MAX_TOKENS = 100;
+
+    /**
+     * The token resolution, i.e. the tokens are held as thousandths.
+     */
+    private static final long TOKEN_SCALE = 1000;
+
+    // Class Variables
+    private final long deposit;
+    private final long maxBalance;
+    private final AtomicLong balance;
+
+    /**
+     * The SECOM Retry Budget Constructor, using the default settings.
+     */
+    public SecomRetryBudget() {
+        this(DEFAULT_RATIO, DEFAULT_RESERVE, DEFAULT_MAX_TOKENS);
+    }
+
+    /**
+     * The SECOM Retry Budget Constructor.
+     *
+     * @param ratio     the fraction of retries allowed per original request
+     * @param reserve   the number of tokens initially available
+     * @param maxTokens the maximum number of tokens that can be accumulated
+     */
+    public SecomRetryBudget(double ratio, int reserve, int maxTokens) {
+        this.deposit = Math.max(0, Math.round(ratio * TOKEN_SCALE));
+        this.maxBalance = Math.max(1, maxTokens) * TOKEN_SCALE;
+        this.balance = new AtomicLong(Math.min(Math.max(0, reserve) * TOKEN_SCALE, this.maxBalance));
+    }
+
+    /**
+     * Records an original request, depositing the respective fraction of a
+     * token into the budget.
+     */
+    public void recordRequest() {
+        this.balance.getAndUpdate(current -> Math.min(current + this.deposit, this.maxBalance));
+    }
+
+    /**
+     * Tries to withdraw a token for a retry.
+     *
+     * @return whether the retry is allowed by the budget
+     */
+    public boolean tryAcquire() {
+        return this.balance.getAndUpdate(current -> current >= TOKEN_SCALE ? current - TOKEN_SCALE : current) >= TOKEN_SCALE;
+    }
+
+    /**
+     * Returns the number of the currently available tokens.
+     *
+     * @return the number of available tokens
+     */
+    public double getAvailableTokens() {
+        return (double) this.balance.get() / TOKEN_SCALE;
+    }
+
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.grad.secom.core.models.DataResponseObject;
+import org.grad.secom.core.models.SummaryObject;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The SECOM Sync Event Record.
+ * <p/>
+ * Describes a single change detected while synchronising with a SECOM
+ * service. For new or updated datasets, the summary object and the retrieved
+ * data are provided, while for deleted ones only the data reference is
+ * available.
+ *
+ * @param type          the type of the change
+ * @param dataReference the data reference of the dataset
+ * @param summaryObject the summary object of the dataset, if not deleted
+ * @param data          the retrieved data of the dataset, if not deleted
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record SecomSyncEvent(Type type, UUID dataReference, SummaryObject summaryObject, List<DataResponseObject> data) {
+
+    /**
+     * The types of the synchronisation changes.
+     */
+    public enum Type {
+        ADDED,
+        UPDATED,
+        DELETED
+    }
+
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.grad.secom.core.models.SummaryObject;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SECOM Sync Index Class.
+ * <p/>
+ * Keeps the last known state of the datasets of a single SECOM service, i.e.
+ * the last modification date and product version of each data reference, as
+ * reported by the Get Summary interface. This allows the SECOM client to
+ * synchronise with the service incrementally, only retrieving the datasets
+ * that are new or have changed since the last synchronisation.
+ * <p/>
+ * The index can be persisted onto a compact binary file, so that the state
+ * is retained between the runs of the application. Note that each index
+ * should always be used for the same service and summary filters, otherwise
+ * the datasets outside the filters will be reported as deleted.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomSyncIndex {
+
+    /**
+     * The magic number identifying the index files.
+     */
+    private static final int FILE_MAGIC = 0x53594E43;
+
+    /**
+     * The format version of the index files.
+     */
+    private static final int FILE_VERSION = 1;
+
+    // Class Variables
+    private final Map<UUID, Entry> entries;
+
+    /**
+     * The SECOM Sync Index Constructor.
+     */
+    public SecomSyncIndex() {
+        this.entries = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Loads the SECOM sync index from the provided file. If the file does
+     * not exist, an empty index is returned.
+     *
+     * @param path  the index file path
+     * @return the loaded SECOM sync index
+     * @throws IOException for any IO exceptions while reading
+     */
+    public static SecomSyncIndex load(Path path) throws IOException {
+        final SecomSyncIndex index = new SecomSyncIndex();
+        if(!Files.exists(path)) {
+            return index;
+        }
+        try (DataInputStream is = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if(is.readInt() != FILE_MAGIC || is.readInt() != FILE_VERSION) {
+                throw new IOException("Not a SECOM sync index file");
+            }
+            final int count = is.readInt();
+            for(int i = 0; i < count; i++) {
+                final UUID dataReference = new UUID(is.readLong(), is.readLong());
+                final Instant lastModified = is.readBoolean() ? Instant.ofEpochSecond(is.readLong(), is.readInt()) : null;
+                final String productVersion = is.readBoolean() ? is.readUTF() : null;
+                index.entries.put(dataReference, new Entry(lastModified, productVersion));
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Saves the SECOM sync index onto the provided file. The file is
+     * replaced atomically, so that a failure while saving will not corrupt
+     * the previous state.
+     *
+     * @param path  the index file path
+     * @throws IOException for any IO exceptions while writing
+     */
+    public void save(Path path) throws IOException {
+        final Path directory = Optional.ofNullable(path.toAbsolutePath().getParent()).orElse(path.toAbsolutePath());
+        Files.createDirectories(directory);
+        final Path temp = Files.createTempFile(directory, "index", ".tmp");
+        try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            final Map<UUID, Entry> snapshot = new HashMap<>(this.entries);
+            os.writeInt(FILE_MAGIC);
+            os.writeInt(FILE_VERSION);
+            os.writeInt(snapshot.size());
+            for(Map.Entry<UUID, Entry> entry : snapshot.entrySet()) {
+                os.writeLong(entry.getKey().getMostSignificantBits());
+                os.writeLong(entry.getKey().getLeastSignificantBits());
+                os.writeBoolean(entry.getValue().lastModified() != null);
+                if(entry.getValue().lastModified() != null) {
+                    os.writeLong(entry.getValue().lastModified().getEpochSecond());
+                    os.writeInt(entry.getValue().lastModified().getNano());
+                }
+                os.writeBoolean(entry.getValue().productVersion() != null);
+                if(entry.getValue().productVersion() != null) {
+                    os.writeUTF(entry.getValue().productVersion());
+                }
+            }
+        } catch (IOException ex) {
+            Files.deleteIfExists(temp);
+            throw ex;
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the number of the indexed datasets.
+     *
+     * @return the number of the indexed datasets
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Returns the last known state of the provided data reference, if any.
+     *
+     * @param dataReference the data reference
+     * @return the last known state
+     */
+    public Optional<Entry> get(UUID dataReference) {
+        return Optional.ofNullable(dataReference).map(this.entries::get);
+    }
+
+    /**
+     * Checks whether the provided data reference is indexed.
+     *
+     * @param dataReference the data reference
+     * @return whether the data reference is indexed
+     */
+    public boolean contains(UUID dataReference) {
+        return this.get(dataReference).isPresent();
+    }
+
+    /**
+     * Returns a snapshot of all the indexed data references.
+     *
+     * @return the indexed data references
+     */
+    public Set<UUID> getDataReferences() {
+        return new HashSet<>(this.entries.keySet());
+    }
+
+    /**
+     * Checks whether the provided summary object describes a new or changed
+     * dataset. If the service does not report the last modification date,
+     * the dataset is always considered to have changed.
+     *
+     * @param summaryObject the summary object
+     * @return whether the dataset is new or has changed
+     */
+    public boolean isChanged(SummaryObject summaryObject) {
+        return this.get(summaryObject.getDataReference())
+                .map(entry -> summaryObject.getInfo_lastModifiedDate() == null
+                        || !Objects.equals(entry.lastModified(), summaryObject.getInfo_lastModifiedDate())
+                        || !Objects.equals(entry.productVersion(), summaryObject.getInfo_productVersion()))
+                .orElse(true);
+    }
+
+    /**
+     * Updates the state of the dataset described by the provided summary
+     * object.
+     *
+     * @param summaryObject the summary object
+     */
+    public void update(SummaryObject summaryObject) {
+        this.entries.put(Objects.requireNonNull(summaryObject.getDataReference()),
+                new Entry(summaryObject.getInfo_lastModifiedDate(), summaryObject.getInfo_productVersion()));
+    }
+
+    /**
+     * Removes the provided data reference from the index.
+     *
+     * @param dataReference the data reference
+     */
+    public void remove(UUID dataReference) {
+        Optional.ofNullable(dataReference).ifPresent(this.entries::remove);
+    }
+
+    /**
+     * The last known state of an indexed dataset.
+     *
+     * @param lastModified      the last modification date
+     * @param productVersion    the product version
+     */
+    public record Entry(Instant lastModified, String productVersion) {}
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.config;
+
+import org.grad.secom.springboot2.components.SecomAckDispatcher;
+import org.grad.secom.springboot2.components.SecomClientConfigProperties;
+import org.grad.secom.springboot2.components.SecomClientFactory;
+import org.grad.secom.springboot2.components.SecomConfigProperties;
+import org.grad.secom.springboot2.components.SecomDiscoveryCache;
+import org.grad.secom.springboot2.components.SecomLoadBalancer;
+import org.grad.secom.springboot2.components.SecomOutboundQueue;
+import org.grad.secom.springboot2.components.SecomScatterGather;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The SECOM Client Factory Configuration Class.
+ *
+ * This class registers a shared {@link SecomClientFactory} bean, so that all
+ * the SECOM clients of the application can share the same SSL context and
+ * connection pool. The bean is only registered when the Spring WebFlux
+ * web-client is available, since that is required by the SECOM clients.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@Configuration
+@ConditionalOnClass(name = "org.springframework.web.reactive.function.client.WebClient")
+public class SecomClientFactoryConfig {
+
+    /**
+     * Registers the SECOM client factory bean, based on the SECOM
+     * configuration and SECOM client configuration properties.
+     *
+     * @param config        the SECOM configuration properties
+     * @param clientConfig  the SECOM client configuration properties
+     * @return the SECOM client factory bean
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean
+    public SecomClientFactory secomClientFactory(@Autowired(required = false) SecomConfigProperties config,
+                                                 @Autowired(required = false) SecomClientConfigProperties clientConfig) {
+        return new SecomClientFactory(config, clientConfig);
+    }
+
+    /**
+     * Registers the SECOM acknowledgement dispatcher bean, which sends the
+     * acknowledgements asynchronously through the SECOM client factory.
+     *
+     * @param secomClientFactory    the SECOM client factory
+     * @param clientConfig          the SECOM client configuration properties
+     * @return the SECOM acknowledgement dispatcher bean
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean
+    public SecomAckDispatcher secomAckDispatcher(SecomClientFactory secomClientFactory,
+                                                 @Autowired(required = false) SecomClientConfigProperties clientConfig) {
+        return SecomAckDispatcher.fromConfig(secomClientFactory, clientConfig);
+    }
+
+    /**
+     * Registers the SECOM outbound queue bean, which stores the outgoing SECOM
+     * messages durably and forwards them through the SECOM client factory.
+     * This is only registered when an outbound queue directory is configured.
+     *
+     * @param secomClientFactory    the SECOM client factory
+     * @param clientConfig          the SECOM client configuration properties
+     * @return the SECOM outbound queue bean
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "secom.client.outbound-queue", name = "directory")
+    public SecomOutboundQueue secomOutboundQueue(SecomClientFactory secomClientFactory,
+                                                 @Autowired(required = false) SecomClientConfigProperties clientConfig) {
+        return SecomOutboundQueue.fromConfig(secomClientFactory, clientConfig)
+                .orElseThrow(() -> new IllegalStateException("No SECOM outbound queue directory has been configured"));
+    }
+
+    /**
+     * Registers the SECOM discovery cache bean, which caches the Search
+     * Service results of the configured service registry. This is only
+     * registered when a discovery URL is configured.
+     *
+     * @param secomClientFactory    the SECOM client factory
+     * @param clientConfig          the SECOM client configuration properties
+     * @return the SECOM discovery cache bean
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "secom.client.discovery", name = "url")
+    public SecomDiscoveryCache secomDiscoveryCache(SecomClientFactory secomClientFactory,
+                                                   @Autowired(required = false) SecomClientConfigProperties clientConfig) {
+        return SecomDiscoveryCache.fromConfig(secomClientFactory, clientConfig)
+                .orElseThrow(() -> new IllegalStateException("No SECOM discovery URL has been configured"));
+    }
+
+    /**
+     * Registers the SECOM load balancer bean, which selects between the
+     * instances of a SECOM service based on their observed performance.
+     *
+     * @param secomClientFactory    the SECOM client factory
+     * @param clientConfig          the SECOM client configuration properties
+     * @return the SECOM load balancer bean
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnMissingBean
+    public SecomLoadBalancer secomLoadBalancer(SecomClientFactory secomClientFactory,
+                                               @Autowired(required = false) SecomClientConfigProperties clientConfig) {
+        return SecomLoadBalancer.fromConfig(secomClientFactory, clientConfig);
+    }
+
+    /**
+     * Registers the SECOM scatter gather bean, which runs the same query
+     * against multiple SECOM service providers concurrently.
+     *
+     * @param secomClientFactory    the SECOM client factory
+     * @param clientConfig          the SECOM client configuration properties
+     * @return the SECOM scatter gather bean
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SecomScatterGather secomScatterGather(SecomClientFactory secomClientFactory,
+                                                 @Autowired(required = false) SecomClientConfigProperties clientConfig) {
+        return SecomScatterGather.fromConfig(secomClientFactory, clientConfig);
+    }
+
+}
@@ -21,9 +21,14 @@ import io.swagger.v3.jaxrs2.integration.resources.AcceptHeaderOpenApiResource;
 import io.swagger.v3.jaxrs2.integration.resources.OpenApiResource;
 import org.grad.secom.core.base.*;
 import org.grad.secom.core.components.*;
+import org.grad.secom.core.interfaces.*;
+import org.grad.secom.springboot2.components.SecomCompressionConfigProperties;
+import org.grad.secom.springboot2.components.SecomRequestBodyConfigProperties;
 import org.jboss.resteasy.plugins.interceptors.CorsFilter;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.annotation.Bean;
@@ -32,6 +37,8 @@ import org.springframework.context.annotation.Configuration;
 import javax.ws.rs.ApplicationPath;
 import javax.ws.rs.core.Application;
 import javax.ws.rs.ext.ExceptionMapper;
+import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -46,6 +53,25 @@ import java.util.stream.Collectors;
 @ApplicationPath("/api/secom/")
 public class SecomV1JaxrsApplication extends Application implements ApplicationContextAware {
 
+    /**
+     * The SECOM interface paths that accept request bodies, by the normalised
+     * interface name, so that the request body limits can also be configured
+     * by name.
+     */
+    static final Map<String, String> SECOM_INTERFACE_PATHS = Map.ofEntries(
+            Map.entry("accessnotification", AccessNotificationSecomInterface.ACCESS_NOTIFICATION_INTERFACE_PATH),
+            Map.entry("access", AccessSecomInterface.ACCESS_INTERFACE_PATH),
+            Map.entry("acknowledgement", AcknowledgementSecomInterface.ACKNOWLEDGMENT_INTERFACE_PATH),
+            Map.entry("encryptionkeynotify", EncryptionKeyNotifySecomInterface.ENCRYPTION_KEY_NOTIFY_INTERFACE_PATH),
+            Map.entry("encryptionkey", EncryptionKeySecomInterface.ENCRYPTION_KEY_INTERFACE_PATH),
+            Map.entry("uploadlink", UploadLinkSecomInterface.UPLOAD_LINK_INTERFACE_PATH),
+            Map.entry("upload", UploadSecomInterface.UPLOAD_INTERFACE_PATH),
+            Map.entry("searchservice", SearchServiceSecomInterface.SEARCH_SERVICE_INTERFACE_PATH),
+            Map.entry("subscriptionnotification", SubscriptionNotificationSecomInterface.SUBSCRIPTION_NOTIFICATION_INTERFACE_PATH),
+            Map.entry("subscription", SubscriptionSecomInterface.SUBSCRIPTION_INTERFACE_PATH),
+            Map.entry("removesubscription", RemoveSubscriptionSecomInterface.REMOVE_SUBSCRIPTION_INTERFACE_PATH)
+    );
+
     /**
      * The Springboot Application Context.
      */
@@ -89,8 +115,9 @@ public class SecomV1JaxrsApplication extends Application implements ApplicationC
     SecomSignatureFilter secomSignatureFilter(@Autowired(required = false) SecomCompressionProvider compressionProvider,
                                               @Autowired(required = false) SecomEncryptionProvider encryptionProvider,
                                               @Autowired(required = false) SecomTrustStoreProvider trustStoreProvider,
-                                              @Autowired(required = false) SecomSignatureProvider signatureProvider) {
-        return new SecomSignatureFilter(compressionProvider, encryptionProvider, trustStoreProvider, signatureProvider);
+                                              @Autowired(required = false) SecomSignatureProvider signatureProvider,
+                                              @Autowired(required = false) SecomRequestBodyReader requestBodyReader) {
+        return new SecomSignatureFilter(compressionProvider, encryptionProvider, trustStoreProvider, signatureProvider, requestBodyReader);
     }
 
     /**
@@ -100,8 +127,46 @@ public class SecomV1JaxrsApplication extends Application implements ApplicationC
      */
     @Bean("secomV1ReaderInterceptor")
     SecomReaderInterceptor secomReaderInterceptor(@Autowired(required = false) SecomCompressionProvider compressionProvider,
-                                                  @Autowired(required = false) SecomEncryptionProvider encryptionProvider) {
-        return new SecomReaderInterceptor(compressionProvider, encryptionProvider);
+                                                  @Autowired(required = false) SecomEncryptionProvider encryptionProvider,
+                                                  @Autowired(required = false) SecomRequestBodyReader requestBodyReader) {
+        return new SecomReaderInterceptor(compressionProvider, encryptionProvider, requestBodyReader);
+    }
+
+    /**
+     * Initialise the SECOM request body reader, shared by the SECOM signature
+     * filter and reader interceptor, with the default and per-interface
+     * maximum body sizes of the SECOM request body configuration properties.
+     * The per-interface sizes can be keyed either by the interface name or
+     * by its path.
+     *
+     * @return the SECOM request body reader bean
+     */
+    @Bean("secomV1RequestBodyReader")
+    @ConditionalOnMissingBean(SecomRequestBodyReader.class)
+    SecomRequestBodyReader secomRequestBodyReader(@Autowired(required = false) SecomRequestBodyConfigProperties requestBodyConfigProperties) {
+        final Map<String, Integer> interfaceMaxBodySizes = new HashMap<>();
+        Optional.ofNullable(requestBodyConfigProperties)
+                .map(SecomRequestBodyConfigProperties::getInterfaceMaxSizes)
+                .orElse(Map.of())
+                .forEach((name, size) -> interfaceMaxBodySizes.put(resolveInterfacePath(name), size));
+        return new SecomRequestBodyReader(Optional.ofNullable(requestBodyConfigProperties)
+                .map(SecomRequestBodyConfigProperties::getMaxSize)
+                .orElse(SecomRequestBodyReader.DEFAULT_MAX_BODY_SIZE), interfaceMaxBodySizes);
+    }
+
+    /**
+     * Initialise the SECOM content encoding interceptor, which compresses the
+     * JSON responses based on the Accept-Encoding header of the requests,
+     * unless disabled through the SECOM compression configuration properties.
+     *
+     * @return the SECOM content encoding interceptor bean
+     */
+    @Bean("secomV1ContentEncodingInterceptor")
+    @ConditionalOnProperty(prefix = "secom.compression", name = "enabled", matchIfMissing = true)
+    SecomContentEncodingInterceptor secomContentEncodingInterceptor(@Autowired(required = false) SecomCompressionConfigProperties compressionConfigProperties) {
+        return new SecomContentEncodingInterceptor(Optional.ofNullable(compressionConfigProperties)
+                .map(SecomCompressionConfigProperties::getMinSize)
+                .orElse(SecomContentEncodingInterceptor.DEFAULT_MIN_SIZE));
     }
 
     /**
@@ -119,7 +184,11 @@ public class SecomV1JaxrsApplication extends Application implements ApplicationC
                  */
                 InstantToS100ConverterProvider.class,
                 ContainerTypeConverterProvider.class,
-                DigitalSignatureAlgorithmConverterProvider.class
+                DigitalSignatureAlgorithmConverterProvider.class,
+                /*
+                 * Add the JaxRS Application Message Body Writers.
+                 */
+                SecomStreamingResponseWriter.class
         );
     }
 
@@ -140,7 +209,7 @@ public class SecomV1JaxrsApplication extends Application implements ApplicationC
                  * Add the JaxRS Application Object Mapper.
                  */
                 new SecomObjectMapperProvider(Optional.ofNullable(this.objectMapper)
-                        .orElse(new ObjectMapper()))
+                        .orElseGet(SecomObjectMapperProvider::newDefaultObjectMapper))
         );
     }
 
@@ -159,6 +228,18 @@ public class SecomV1JaxrsApplication extends Application implements ApplicationC
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    /**
+     * Resolves the SECOM interface path of the provided interface name, e.g.
+     * "upload-link" or "uploadLink". Names that are not recognised, like the
+     * interface paths themselves, are returned as they are.
+     *
+     * @param name the SECOM interface name or path
+     * @return the SECOM interface path
+     */
+    static String resolveInterfacePath(String name) {
+        return SECOM_INTERFACE_PATHS.getOrDefault(name.replace("-", "").replace("_", "").toLowerCase(Locale.ROOT), name);
+    }
+
     /**
      * Allows the retrieval of the Springboot application context.
      *
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomCircuitBreakerTest {
+
+    // Test Parameters
+    SecomCircuitBreaker circuitBreaker;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.circuitBreaker = new SecomCircuitBreaker(3, Duration.ofMillis(50));
+    }
+
+    /**
+     * Test that the circuit only opens once the failure threshold has been
+     * reached, and that any success resets the consecutive failures.
+     */
+    @Test
+    void testOpensOnFailureThreshold() {
+        assertEquals(SecomCircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+
+        this.circuitBreaker.onFailure();
+        this.circuitBreaker.onFailure();
+        this.circuitBreaker.onSuccess();
+        this.circuitBreaker.onFailure();
+        this.circuitBreaker.onFailure();
+        assertEquals(SecomCircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+        assertTrue(this.circuitBreaker.tryAcquire());
+
+        this.circuitBreaker.onFailure();
+        assertEquals(SecomCircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+        assertFalse(this.circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * Test that once the open duration has elapsed, a single half-open probe
+     * is allowed through, and its success closes the circuit.
+     */
+    @Test
+    void testHalfOpenProbeSuccess() throws InterruptedException {
+        this.openCircuit();
+        Thread.sleep(80);
+
+        assertTrue(this.circuitBreaker.tryAcquire());
+        assertEquals(SecomCircuitBreaker.State.HALF_OPEN, this.circuitBreaker.getState());
+        assertFalse(this.circuitBreaker.tryAcquire());
+
+        this.circuitBreaker.onSuccess();
+        assertEquals(SecomCircuitBreaker.State.CLOSED, this.circuitBreaker.getState());
+        assertTrue(this.circuitBreaker.tryAcquire());
+        assertTrue(this.circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * Test that a failed half-open probe opens the circuit again straight
+     * away, without waiting for the failure threshold.
+     */
+    @Test
+    void testHalfOpenProbeFailure() throws InterruptedException {
+        this.openCircuit();
+        Thread.sleep(80);
+
+        assertTrue(this.circuitBreaker.tryAcquire());
+        this.circuitBreaker.onFailure();
+        assertEquals(SecomCircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+        assertFalse(this.circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * Test that a cancelled half-open probe allows another probe through.
+     */
+    @Test
+    void testHalfOpenProbeCancel() throws InterruptedException {
+        this.openCircuit();
+        Thread.sleep(80);
+
+        assertTrue(this.circuitBreaker.tryAcquire());
+        assertFalse(this.circuitBreaker.tryAcquire());
+        this.circuitBreaker.onCancel();
+        assertEquals(SecomCircuitBreaker.State.HALF_OPEN, this.circuitBreaker.getState());
+        assertTrue(this.circuitBreaker.tryAcquire());
+    }
+
+    /**
+     * Opens the circuit of the tested circuit breaker.
+     */
+    private void openCircuit() {
+        for(int i = 0; i < 3; i++) {
+            this.circuitBreaker.onFailure();
+        }
+        assertEquals(SecomCircuitBreaker.State.OPEN, this.circuitBreaker.getState());
+    }
+
+}
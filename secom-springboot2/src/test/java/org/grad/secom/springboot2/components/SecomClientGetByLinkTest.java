@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import com.sun.net.httpserver.HttpServer;
+import org.grad.secom.core.base.SecomCompressionProvider;
+import org.grad.secom.core.base.SecomEncryptionProvider;
+import org.grad.secom.core.models.enums.CompressionAlgorithmEnum;
+import org.grad.secom.core.models.enums.EncryptionAlgorithmEnum;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.grad.secom.core.interfaces.GetByLinkSecomInterface.GET_BY_LINK_INTERFACE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomClientGetByLinkTest {
+
+    // Test Parameters
+    HttpServer server;
+    SecomClient secomClient;
+    AtomicBoolean stall;
+    CountDownLatch released;
+    AtomicInteger transformations;
+    ByteArrayOutputStream sink;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.stall = new AtomicBoolean(true);
+        this.released = new CountDownLatch(1);
+        this.transformations = new AtomicInteger();
+        this.sink = new ByteArrayOutputStream();
+
+        // Start a local server sending only part of the announced object
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/api/secom" + GET_BY_LINK_INTERFACE_PATH, exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "application/octet-stream");
+            exchange.sendResponseHeaders(200, 1000);
+            final OutputStream os = exchange.getResponseBody();
+            os.write(new byte[100]);
+            os.flush();
+            if(this.stall.get()) {
+                try {
+                    this.released.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            exchange.close();
+        });
+        this.server.start();
+
+        // Create a client with both compression and encryption configured
+        this.secomClient = new SecomClient(new URL("http://localhost:" + this.server.getAddress().getPort() + "/api/secom"),
+                HttpClient.create(), null, null, null, null, new SecomEncryptionProvider() {
+                    @Override
+                    public String getEncryptionKey() {
+                        return "key";
+                    }
+                    @Override
+                    public byte[] encrypt(EncryptionAlgorithmEnum encryptionAlgorithm, String encryptionKey, byte[] payload) {
+                        return payload;
+                    }
+                    @Override
+                    public byte[] decrypt(EncryptionAlgorithmEnum encryptionAlgorithm, String encryptionKey, byte[] data) {
+                        transformations.incrementAndGet();
+                        return data;
+                    }
+                }, new SecomCompressionProvider() {
+                    @Override
+                    public byte[] compress(CompressionAlgorithmEnum compressionAlgorithm, byte[] payload) {
+                        return payload;
+                    }
+                    @Override
+                    public byte[] decompress(CompressionAlgorithmEnum compressionAlgorithm, byte[] data) {
+                        transformations.incrementAndGet();
+                        return data;
+                    }
+                });
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.released.countDown();
+        this.server.stop(0);
+    }
+
+    /**
+     * Test that when a Get By Link transfer is cancelled half-way, the
+     * received data are discarded without being decompressed or decrypted,
+     * and nothing is written into the sink.
+     */
+    @Test
+    void testCancelledTransfer() throws InterruptedException {
+        final CountDownLatch received = new CountDownLatch(1);
+
+        final Disposable transfer = this.secomClient.getByLinkAsync(UUID.randomUUID(), this.sink, (transferred, total) -> received.countDown())
+                .subscribe();
+        assertTrue(received.await(5, TimeUnit.SECONDS));
+        transfer.dispose();
+
+        assertEquals(0, this.transformations.get());
+        assertEquals(0, this.sink.size());
+    }
+
+    /**
+     * Test that when a Get By Link transfer fails half-way, e.g. due to the
+     * connection being closed prematurely, the received data are discarded
+     * without being decompressed or decrypted, and nothing is written into
+     * the sink.
+     */
+    @Test
+    void testFailedTransfer() {
+        this.stall.set(false);
+
+        StepVerifier.create(this.secomClient.getByLinkAsync(UUID.randomUUID(), this.sink, null))
+                .expectError()
+                .verify(Duration.ofSeconds(5));
+
+        assertEquals(0, this.transformations.get());
+        assertEquals(0, this.sink.size());
+    }
+
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.grad.secom.core.exceptions.SecomClientException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.grad.secom.core.interfaces.PingSecomInterface.PING_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadSecomInterface.UPLOAD_INTERFACE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecomResiliencePolicyTest {
+
+    // Test Parameters
+    SecomRetryBudget retryBudget;
+    SecomResiliencePolicy resiliencePolicy;
+    ExchangeFunction next;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.retryBudget = new SecomRetryBudget(0.1, 10, 100);
+        this.resiliencePolicy = new SecomResiliencePolicy(this.retryBudget);
+        this.resiliencePolicy.setRetryBackoff(Duration.ofMillis(1));
+        this.resiliencePolicy.setFailureThreshold(3);
+        this.resiliencePolicy.setOpenDuration(Duration.ofMinutes(1));
+        this.next = mock(ExchangeFunction.class);
+    }
+
+    /**
+     * Test that idempotent requests are retried on server errors, spending
+     * the retry budget.
+     */
+    @Test
+    void testRetryIdempotentRequest() {
+        when(this.next.exchange(any())).thenReturn(
+                Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()),
+                Mono.just(ClientResponse.create(HttpStatus.OK).build()));
+
+        StepVerifier.create(this.resiliencePolicy.exchange(this.request(HttpMethod.GET, PING_INTERFACE_PATH), this.next, Collections.emptyList()))
+                .assertNext(response -> assertEquals(200, response.statusCode().value()))
+                .verifyComplete();
+
+        verify(this.next, times(2)).exchange(any());
+        assertEquals(SecomCircuitBreaker.State.CLOSED, this.resiliencePolicy.getCircuitBreaker(this.url(PING_INTERFACE_PATH)).getState());
+        assertTrue(this.retryBudget.getAvailableTokens() < 10.0);
+    }
+
+    /**
+     * Test that non-idempotent requests are not retried on server errors,
+     * since they might have already been processed.
+     */
+    @Test
+    void testNoRetryNonIdempotentRequest() {
+        when(this.next.exchange(any())).thenReturn(
+                Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+
+        StepVerifier.create(this.resiliencePolicy.exchange(this.request(HttpMethod.POST, UPLOAD_INTERFACE_PATH), this.next, Collections.emptyList()))
+                .expectError(WebClientResponseException.class)
+                .verify();
+
+        verify(this.next, times(1)).exchange(any());
+    }
+
+    /**
+     * Test that the retries stop once the retry budget has been exhausted.
+     */
+    @Test
+    void testRetryBudgetExhausted() {
+        this.resiliencePolicy = new SecomResiliencePolicy(new SecomRetryBudget(0.0, 0, 100));
+        when(this.next.exchange(any())).thenReturn(
+                Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()));
+
+        StepVerifier.create(this.resiliencePolicy.exchange(this.request(HttpMethod.GET, PING_INTERFACE_PATH), this.next, Collections.emptyList()))
+                .expectError(WebClientResponseException.class)
+                .verify();
+
+        verify(this.next, times(1)).exchange(any());
+    }
+
+    /**
+     * Test that the circuit of an endpoint opens after consecutive server
+     * errors, after which requests are rejected without being sent.
+     */
+    @Test
+    void testCircuitOpens() {
+        this.resiliencePolicy.setMaxRetries(0);
+        when(this.next.exchange(any())).thenReturn(
+                Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build()));
+
+        for(int i = 0; i < 3; i++) {
+            StepVerifier.create(this.resiliencePolicy.exchange(this.request(HttpMethod.GET, PING_INTERFACE_PATH), this.next, Collections.emptyList()))
+                    .expectError(WebClientResponseException.class)
+                    .verify();
+        }
+        assertEquals(SecomCircuitBreaker.State.OPEN, this.resiliencePolicy.getCircuitBreaker(this.url(PING_INTERFACE_PATH)).getState());
+
+        StepVerifier.create(this.resiliencePolicy.exchange(this.request(HttpMethod.GET, PING_INTERFACE_PATH), this.next, Collections.emptyList()))
+                .expectError(SecomClientException.class)
+                .verify();
+        verify(this.next, times(3)).exchange(any());
+    }
+
+    /**
+     * Test that client errors neither trip the circuit nor get retried.
+     */
+    @Test
+    void testClientErrorsIgnored() {
+        when(this.next.exchange(any())).thenReturn(
+                Mono.just(ClientResponse.create(HttpStatus.BAD_REQUEST).build()));
+
+        for(int i = 0; i < 5; i++) {
+            StepVerifier.create(this.resiliencePolicy.exchange(this.request(HttpMethod.GET, PING_INTERFACE_PATH), this.next, Collections.emptyList()))
+                    .assertNext(response -> assertEquals(400, response.statusCode().value()))
+                    .verifyComplete();
+        }
+
+        verify(this.next, times(5)).exchange(any());
+        assertEquals(SecomCircuitBreaker.State.CLOSED, this.resiliencePolicy.getCircuitBreaker(this.url(PING_INTERFACE_PATH)).getState());
+    }
+
+    /**
+     * Test that when both endpoints of a hedged request respond, the first
+     * response is returned while the body of the losing one is released,
+     * even if it arrives after the primary attempt has been cancelled.
+     */
+    @Test
+    void testHedgedLoserReleased() throws InterruptedException {
+        final URI alternate = URI.create("http://localhost:8765/api/secom" + PING_INTERFACE_PATH);
+        final CountDownLatch primaryReleased = new CountDownLatch(1);
+        final AtomicBoolean alternateReleased = new AtomicBoolean();
+        this.resiliencePolicy.setHedgeDelay(Duration.ofMillis(10));
+        when(this.next.exchange(any())).thenAnswer(invocation -> {
+            final ClientRequest request = invocation.getArgument(0);
+            if(alternate.equals(request.url())) {
+                return Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header("X-Endpoint", "alternate")
+                        .body(Flux.<DataBuffer>empty().doOnSubscribe(s -> alternateReleased.set(true)))
+                        .build());
+            }
+            // The primary response arrives regardless of any cancellation
+            return Mono.<ClientResponse>create(sink -> Schedulers.parallel().schedule(() -> sink.success(ClientResponse.create(HttpStatus.OK)
+                    .header("X-Endpoint", "primary")
+                    .body(Flux.<DataBuffer>empty().doOnSubscribe(s -> primaryReleased.countDown()))
+                    .build()), 100, TimeUnit.MILLISECONDS));
+        });
+
+        StepVerifier.create(this.resiliencePolicy.exchange(this.request(HttpMethod.GET, PING_INTERFACE_PATH), this.next, List.of(alternate)))
+                .assertNext(response -> assertEquals("alternate", response.headers().asHttpHeaders().getFirst("X-Endpoint")))
+                .verifyComplete();
+
+        verify(this.next, times(2)).exchange(any());
+        assertTrue(primaryReleased.await(5, TimeUnit.SECONDS));
+        assertFalse(alternateReleased.get());
+    }
+
+    /**
+     * Builds a client request for the provided SECOM interface path.
+     *
+     * @param method    the request method
+     * @param path      the SECOM interface path
+     * @return the client request
+     */
+    private ClientRequest request(HttpMethod method, String path) {
+        return ClientRequest.create(method, this.url(path)).build();
+    }
+
+    /**
+     * Builds the test URL for the provided SECOM interface path.
+     *
+     * @param path  the SECOM interface path
+     * @return the test URL
+     */
+    private URI url(String path) {
+        return URI.create("http://localhost:8764/api/secom" + path);
+    }
+
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import com.sun.net.httpserver.HttpServer;
+import org.grad.secom.core.models.CapabilityResponseObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.grad.secom.core.interfaces.CapabilitySecomInterface.CAPABILITY_INTERFACE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomResponseCacheTest {
+
+    // Test Parameters
+    SecomResponseCache responseCache;
+    AtomicInteger loads;
+    AtomicReference<String> value;
+    AtomicReference<SecomResponseCache.CachedResponse<List<String>>> previous;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.responseCache = new SecomResponseCache();
+        this.loads = new AtomicInteger();
+        this.value = new AtomicReference<>("first");
+        this.previous = new AtomicReference<>();
+    }
+
+    /**
+     * Test that fresh responses are served from the cache, with each
+     * subscriber receiving its own copy.
+     */
+    @Test
+    void testFreshResponse() {
+        final List<String> first = this.get(Duration.ofHours(1)).block();
+        final List<String> second = this.get(Duration.ofHours(1)).block();
+
+        assertEquals(1, this.loads.get());
+        assertEquals(List.of("first"), second);
+        assertNotSame(first, second);
+        assertEquals(1, this.responseCache.size());
+    }
+
+    /**
+     * Test that once the TTL expires, the stale response is served while a
+     * fresh one is retrieved in the background, using the validators of the
+     * stale one.
+     */
+    @Test
+    void testStaleWhileRevalidate() throws InterruptedException {
+        this.responseCache.setStaleWhileRevalidate(Duration.ofHours(1));
+        assertEquals(List.of("first"), this.get(Duration.ofMillis(50)).block());
+        assertNull(this.previous.get());
+
+        // Once the response is stale, it should still be served
+        Thread.sleep(100);
+        this.value.set("second");
+        assertEquals(List.of("first"), this.get(Duration.ofMillis(50)).block());
+        assertEquals(2, this.loads.get());
+        assertEquals("etag-first", this.previous.get().eTag());
+
+        // And the revalidated response should be served next
+        assertEquals(List.of("second"), this.get(Duration.ofMillis(50)).block());
+        assertEquals(2, this.loads.get());
+    }
+
+    /**
+     * Test that if the background revalidation fails, the stale response
+     * keeps being served.
+     */
+    @Test
+    void testStaleWhileRevalidateFailure() throws InterruptedException {
+        this.responseCache.setStaleWhileRevalidate(Duration.ofHours(1));
+        assertEquals(List.of("first"), this.get(Duration.ofMillis(50)).block());
+
+        // Once the response is stale, the revalidation should fail
+        Thread.sleep(100);
+        this.value.set(null);
+        assertEquals(List.of("first"), this.get(Duration.ofMillis(50)).block());
+        assertEquals(List.of("first"), this.get(Duration.ofMillis(50)).block());
+        assertEquals(3, this.loads.get());
+    }
+
+    /**
+     * Test that without a stale-while-revalidate period, expired responses
+     * are loaded again before being returned, and that failures are
+     * propagated to the callers.
+     */
+    @Test
+    void testExpiredResponse() throws InterruptedException {
+        assertEquals(List.of("first"), this.get(Duration.ofMillis(50)).block());
+
+        Thread.sleep(100);
+        this.value.set("second");
+        assertEquals(List.of("second"), this.get(Duration.ofMillis(50)).block());
+        assertEquals(2, this.loads.get());
+
+        Thread.sleep(100);
+        this.value.set(null);
+        StepVerifier.create(this.get(Duration.ofMillis(50)))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    /**
+     * Test that when the SECOM service responds with a "304 Not Modified"
+     * status to the conditional revalidation, the cached response is
+     * returned again without being transferred.
+     */
+    @Test
+    void testNotModified() throws IOException, InterruptedException {
+        final AtomicInteger requests = new AtomicInteger();
+        final AtomicReference<String> ifNoneMatch = new AtomicReference<>();
+        final HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/secom" + CAPABILITY_INTERFACE_PATH, exchange -> {
+            requests.incrementAndGet();
+            ifNoneMatch.set(exchange.getRequestHeaders().getFirst("If-None-Match"));
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            if("\"v1\"".equals(ifNoneMatch.get())) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            final byte[] bytes = "{\"capability\":[{\"serviceVersion\":\"1.0.0\"}]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(bytes);
+            }
+        });
+        server.start();
+        try {
+            final SecomClient secomClient = new SecomClient(new URL("http://localhost:" + server.getAddress().getPort() + "/api/secom"),
+                    HttpClient.create(), null, null, null, null, null, null);
+            this.responseCache.setCapabilityTtl(Duration.ofMillis(50));
+            secomClient.setResponseCache(this.responseCache);
+
+            final CapabilityResponseObject first = secomClient.capabilityAsync().block(Duration.ofSeconds(5));
+            assertNull(ifNoneMatch.get());
+
+            Thread.sleep(100);
+            final CapabilityResponseObject second = secomClient.capabilityAsync().block(Duration.ofSeconds(5));
+            assertEquals(2, requests.get());
+            assertEquals("\"v1\"", ifNoneMatch.get());
+            assertNotSame(first, second);
+            assertEquals("1.0.0", second.getCapability().get(0).getServiceVersion());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    /**
+     * Retrieves the test response through the response cache. The loader
+     * records the previously cached response and fails if no value is
+     * currently available.
+     *
+     * @param ttl   the time-to-live of the response
+     * @return the mono of the cached or loaded response
+     */
+    private Mono<List<String>> get(Duration ttl) {
+        return this.responseCache.get("test", ttl, cached -> Mono.fromCallable(() -> {
+            this.loads.incrementAndGet();
+            this.previous.set(cached);
+            final String current = this.value.get();
+            if(current == null) {
+                throw new IllegalStateException("Service unavailable");
+            }
+            return new SecomResponseCache.CachedResponse<>(Collections.singletonList(current), "etag-" + current, null);
+        }), ArrayList::new);
+    }
+
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomRetryBudgetTest {
+
+    /**
+     * Test that the initial reserve of tokens can be spent, after which no
+     * more retries are allowed.
+     */
+    @Test
+    void testReserve() {
+        final SecomRetryBudget retryBudget = new SecomRetryBudget(0.1, 2, 10);
+
+        assertEquals(2.0, retryBudget.getAvailableTokens());
+        assertTrue(retryBudget.tryAcquire());
+        assertTrue(retryBudget.tryAcquire());
+        assertFalse(retryBudget.tryAcquire());
+        assertEquals(0.0, retryBudget.getAvailableTokens());
+    }
+
+    /**
+     * Test that each original request deposits the configured fraction of a
+     * token, so that one retry is allowed every ten requests.
+     */
+    @Test
+    void testDeposits() {
+        final SecomRetryBudget retryBudget = new SecomRetryBudget(0.1, 0, 10);
+
+        for(int i = 0; i < 9; i++) {
+            retryBudget.recordRequest();
+        }
+        assertFalse(retryBudget.tryAcquire());
+
+        retryBudget.recordRequest();
+        assertTrue(retryBudget.tryAcquire());
+        assertFalse(retryBudget.tryAcquire());
+    }
+
+    /**
+     * Test that the tokens cannot accumulate beyond the maximum.
+     */
+    @Test
+    void testMaxTokens() {
+        final SecomRetryBudget retryBudget = new SecomRetryBudget(1.0, 0, 3);
+
+        for(int i = 0; i < 10; i++) {
+            retryBudget.recordRequest();
+        }
+        assertEquals(3.0, retryBudget.getAvailableTokens());
+    }
+
+}
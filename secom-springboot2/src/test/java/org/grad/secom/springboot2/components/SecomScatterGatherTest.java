@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot2.components;
+
+import org.grad.secom.core.models.DataResponseObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecomScatterGatherTest {
+
+    // Test Parameters
+    URL firstUrl;
+    URL secondUrl;
+    SecomClient firstClient;
+    SecomClient secondClient;
+    SecomScatterGather scatterGather;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        this.firstUrl = new URL("http://first.example.org/api/secom");
+        this.secondUrl = new URL("http://second.example.org/api/secom");
+        this.firstClient = mock(SecomClient.class);
+        this.secondClient = mock(SecomClient.class);
+        final Map<String, SecomClient> clients = Map.of(this.firstUrl.toString(), this.firstClient, this.secondUrl.toString(), this.secondClient);
+        this.scatterGather = new SecomScatterGather(url -> clients.get(url.toString()), Duration.ofSeconds(5), 4);
+    }
+
+    /**
+     * Test that the data objects with the same content are only emitted once,
+     * even when received from different providers.
+     */
+    @Test
+    void testGetSkipsDuplicateData() {
+        when(this.firstClient.getFlux(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Flux.just(this.dataResponse("first"), this.dataResponse("shared")));
+        when(this.secondClient.getFlux(any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(Flux.just(this.dataResponse("shared"), this.dataResponse("second")));
+
+        final SecomGatheredResults<DataResponseObject> results = this.scatterGather.get(List.of(this.firstUrl, this.secondUrl), null, null, null, null, null, null, null, null);
+
+        StepVerifier.create(results.items().map(item -> new String(item.getData(), StandardCharsets.UTF_8)).collectList())
+                .assertNext(data -> {
+                    assertEquals(3, data.size());
+                    assertTrue(data.containsAll(List.of("first", "shared", "second")));
+                })
+                .verifyComplete();
+        StepVerifier.create(results.failures())
+                .assertNext(failures -> assertTrue(failures.isEmpty()))
+                .verifyComplete();
+    }
+
+    /**
+     * Test that the de-duplication keys of the data are fixed-size digests,
+     * regardless of the data size.
+     */
+    @Test
+    void testDigest() {
+        final byte[] large = new byte[1024 * 1024];
+        assertEquals(64, SecomScatterGather.digest(large).length());
+        assertEquals(64, SecomScatterGather.digest(new byte[0]).length());
+        assertEquals(SecomScatterGather.digest("data".getBytes(StandardCharsets.UTF_8)), SecomScatterGather.digest("data".getBytes(StandardCharsets.UTF_8)));
+        assertNotEquals(SecomScatterGather.digest("data".getBytes(StandardCharsets.UTF_8)), SecomScatterGather.digest("other".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Builds a data response object with the provided data.
+     *
+     * @param data  the data
+     * @return the data response object
+     */
+    private DataResponseObject dataResponse(String data) {
+        final DataResponseObject dataResponseObject = new DataResponseObject();
+        dataResponseObject.setData(data.getBytes(StandardCharsets.UTF_8));
+        return dataResponseObject;
+    }
+
+}
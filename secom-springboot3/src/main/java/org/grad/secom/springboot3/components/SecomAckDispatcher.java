@@ -0,0 +1,554 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.grad.secom.core.models.AcknowledgementObject;
+import org.grad.secom.core.models.EnvelopeAckObject;
+import org.grad.secom.core.models.enums.AckTypeEnum;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * The SECOM Acknowledgement Dispatcher Class.
+ * <p/>
+ * Sends the SECOM acknowledgements asynchronously, so that the callers, e.g.
+ * the upload handlers, can return immediately. The submitted acknowledgements
+ * are queued per destination and transaction, and after a short coalescing
+ * window they are signed on the processing scheduler of the respective SECOM
+ * client and sent with a bounded concurrency. If an opened acknowledgement is
+ * submitted while the delivered acknowledgement of the same transaction is
+ * still pending, only the opened one is sent, since it also implies the
+ * delivery.
+ * <p/>
+ * Failed acknowledgements are retried with an exponential backoff. If they
+ * still fail, e.g. because the destination is unreachable, they are kept and
+ * sent again after a redelivery delay. Only the acknowledgements rejected by
+ * the destination with a client error are dropped. If a journal file has
+ * been configured, the pending acknowledgements are also persisted by a
+ * background worker, so that they are sent once the application restarts.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomAckDispatcher {
+
+    /**
+     * The default maximum number of acknowledgements sent concurrently.
+     */
+    public static final int DEFAULT_CONCURRENCY = 8;
+
+    /**
+     * The default window for coalescing the acknowledgements.
+     */
+    public static final Duration DEFAULT_COALESCE_WINDOW = Duration.ofMillis(500);
+
+    /**
+     * The default number of retries for failed acknowledgements.
+     */
+    public static final int DEFAULT_RETRIES = 5;
+
+    /**
+     * The default initial backoff between retries.
+     */
+    public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofSeconds(1);
+
+    /**
+     * The default delay before resending the acknowledgements that failed.
+     */
+    public static final Duration DEFAULT_REDELIVERY_DELAY = Duration.ofMinutes(1);
+
+    /**
+     * The Class Logger.
+     */
+    private static final Log log = LogFactory.getLog(SecomAckDispatcher.class);
+
+    /**
+     * The object mapper used for the journal records.
+     */
+    private static final ObjectMapper JOURNAL_MAPPER = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    // Class Variables
+    private final Function<URL, SecomClient> clientResolver;
+    private final Duration coalesceWindow;
+    private final int retries;
+    private final Duration retryBackoff;
+    private final Path journal;
+    private final ExecutorService journalExecutor;
+    private final Map<String, PendingAck> pending;
+    private final Map<String, PendingAck> inFlight;
+    private final Map<String, String> pendingDelivered;
+    private final Sinks.Many<String> queue;
+    private final Disposable subscription;
+    private Duration redeliveryDelay;
+    private BufferedWriter journalWriter;
+    private boolean disposed;
+
+    /**
+     * The SECOM Acknowledgement Dispatcher Constructor, using the default
+     * settings and no journal.
+     *
+     * @param clientResolver    the function resolving the SECOM clients of the destinations
+     */
+    public SecomAckDispatcher(Function<URL, SecomClient> clientResolver) {
+        this(clientResolver, DEFAULT_CONCURRENCY, DEFAULT_COALESCE_WINDOW, DEFAULT_RETRIES, null);
+    }
+
+    /**
+     * The SECOM Acknowledgement Dispatcher Constructor. If a journal file is
+     * provided, any acknowledgements still pending in it will be picked up
+     * and sent.
+     *
+     * @param clientResolver    the function resolving the SECOM clients of the destinations
+     * @param concurrency       the maximum number of acknowledgements sent concurrently
+     * @param coalesceWindow    the window for coalescing the acknowledgements
+     * @param retries           the number of retries for failed acknowledgements
+     * @param journal           the journal file for the pending acknowledgements, if any
+     */
+    public SecomAckDispatcher(Function<URL, SecomClient> clientResolver, int concurrency, Duration coalesceWindow, int retries, Path journal) {
+        this.clientResolver = Objects.requireNonNull(clientResolver);
+        this.coalesceWindow = Optional.ofNullable(coalesceWindow).orElse(Duration.ZERO);
+        this.retries = Math.max(0, retries);
+        this.retryBackoff = DEFAULT_RETRY_BACKOFF;
+        this.redeliveryDelay = DEFAULT_REDELIVERY_DELAY;
+        this.journal = journal;
+        this.journalExecutor = this.journal == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "secom-ack-journal");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.pending = new LinkedHashMap<>();
+        this.inFlight = new LinkedHashMap<>();
+        this.pendingDelivered = new HashMap<>();
+        this.queue = Sinks.many().unicast().onBackpressureBuffer();
+        this.subscription = this.queue.asFlux()
+                .flatMap(this::dispatch, Math.max(1, concurrency))
+                .subscribe();
+
+        // Recover the pending acknowledgements from the journal
+        if(this.journal != null) {
+            this.recoverJournal();
+        }
+    }
+
+    /**
+     * Creates a new SECOM acknowledgement dispatcher based on the provided
+     * SECOM client configuration properties, using the provided SECOM client
+     * factory to resolve the destinations.
+     *
+     * @param clientFactory the SECOM client factory
+     * @param config        the SECOM client configuration properties
+     * @return the SECOM acknowledgement dispatcher
+     */
+    public static SecomAckDispatcher fromConfig(SecomClientFactory clientFactory, SecomClientConfigProperties config) {
+        final Optional<SecomClientConfigProperties.Ack> properties = Optional.ofNullable(config).map(SecomClientConfigProperties::getAck);
+        final SecomAckDispatcher ackDispatcher = new SecomAckDispatcher(clientFactory::getClient,
+                properties.map(SecomClientConfigProperties.Ack::getConcurrency).orElse(DEFAULT_CONCURRENCY),
+                properties.map(SecomClientConfigProperties.Ack::getCoalesceWindow).orElse(DEFAULT_COALESCE_WINDOW),
+                properties.map(SecomClientConfigProperties.Ack::getRetries).orElse(DEFAULT_RETRIES),
+                properties.map(SecomClientConfigProperties.Ack::getJournal).map(Paths::get).orElse(null));
+        properties.map(SecomClientConfigProperties.Ack::getRedeliveryDelay).ifPresent(ackDispatcher::setRedeliveryDelay);
+        return ackDispatcher;
+    }
+
+    /**
+     * Gets redelivery delay.
+     *
+     * @return the redelivery delay
+     */
+    public Duration getRedeliveryDelay() {
+        return redeliveryDelay;
+    }
+
+    /**
+     * Sets redelivery delay. This is the time to wait before resending an
+     * acknowledgement that still failed after all its retries.
+     *
+     * @param redeliveryDelay the redelivery delay
+     */
+    public void setRedeliveryDelay(Duration redeliveryDelay) {
+        this.redeliveryDelay = Optional.ofNullable(redeliveryDelay).orElse(DEFAULT_REDELIVERY_DELAY);
+    }
+
+    /**
+     * Returns the number of the pending acknowledgements, including the ones
+     * being sent that have not been confirmed yet.
+     *
+     * @return the number of the pending acknowledgements
+     */
+    public synchronized int getPendingCount() {
+        return this.pending.size() + this.inFlight.size();
+    }
+
+    /**
+     * Submits the provided acknowledgement to be sent to the provided
+     * destination. This returns immediately, while the acknowledgement will
+     * be sent once the coalescing window has elapsed. Any journaling takes
+     * place on the background worker.
+     *
+     * @param destination           the URL of the destination SECOM service
+     * @param acknowledgementObject the acknowledgement to be sent
+     */
+    public void submit(URL destination, AcknowledgementObject acknowledgementObject) {
+        Objects.requireNonNull(destination);
+        Objects.requireNonNull(acknowledgementObject);
+        final String coalesceKey = this.coalesceKey(destination, acknowledgementObject);
+        final AckTypeEnum ackType = Optional.ofNullable(acknowledgementObject.getEnvelope())
+                .map(EnvelopeAckObject::getAckType)
+                .orElse(null);
+
+        synchronized (this) {
+            // An opened acknowledgement supersedes a pending delivered one
+            final String deliveredId = Optional.ofNullable(coalesceKey).map(this.pendingDelivered::get).orElse(null);
+            if(ackType == AckTypeEnum.OPENED_ACK && deliveredId != null) {
+                this.pendingDelivered.remove(coalesceKey);
+                final PendingAck coalesced = new PendingAck(deliveredId, destination, acknowledgementObject);
+                this.pending.put(deliveredId, coalesced);
+                this.writeJournal(() -> this.appendJournal(new JournalRecord(deliveredId, destination.toString(), acknowledgementObject, false)));
+                return;
+            }
+
+            // Otherwise queue a new acknowledgement
+            final PendingAck pendingAck = new PendingAck(UUID.randomUUID().toString(), destination, acknowledgementObject);
+            this.pending.put(pendingAck.id(), pendingAck);
+            if(ackType == AckTypeEnum.DELIVERED_ACK && coalesceKey != null) {
+                this.pendingDelivered.put(coalesceKey, pendingAck.id());
+            }
+            this.writeJournal(() -> this.appendJournal(new JournalRecord(pendingAck.id(), destination.toString(), acknowledgementObject, false)));
+            this.schedule(pendingAck.id(), this.coalesceWindow);
+        }
+    }
+
+    /**
+     * Stops dispatching the acknowledgements. Any acknowledgements still
+     * pending, or being sent without having been confirmed, remain in the
+     * journal, if configured, to be sent on the next start. The journal
+     * records already submitted to the background worker are written before
+     * the journal is closed.
+     */
+    public synchronized void dispose() {
+        if(this.disposed) {
+            return;
+        }
+        this.disposed = true;
+        this.subscription.dispose();
+        Optional.ofNullable(this.journalExecutor).ifPresent(executor -> {
+            executor.execute(() -> Optional.ofNullable(this.journalWriter).ifPresent(writer -> {
+                try {
+                    writer.close();
+                } catch (IOException ex) {
+                    log.debug("Failed to close the SECOM acknowledgement journal: " + ex.getMessage());
+                }
+            }));
+            executor.shutdown();
+            try {
+                if(!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Timed out while closing the SECOM acknowledgement journal");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    /**
+     * Schedules the pending acknowledgement with the provided identifier to
+     * be dispatched after the provided delay.
+     *
+     * @param id    the pending acknowledgement identifier
+     * @param delay the delay before dispatching
+     */
+    private void schedule(String id, Duration delay) {
+        if(delay.isZero() || delay.isNegative()) {
+            this.emit(id);
+            return;
+        }
+        Mono.delay(delay).subscribe(tick -> this.emit(id));
+    }
+
+    /**
+     * Emits the provided identifier onto the dispatching queue. The sink does
+     * not allow concurrent emissions, so these are serialised. Once the
+     * dispatcher has been disposed, the emissions are simply ignored.
+     *
+     * @param id    the pending acknowledgement identifier
+     */
+    private synchronized void emit(String id) {
+        this.queue.tryEmitNext(id);
+    }
+
+    /**
+     * Dispatches the pending acknowledgement with the provided identifier, if
+     * still pending, retrying on failures that might be transient. While
+     * being sent, the acknowledgement is kept in flight so that it remains
+     * journaled until its outcome is known. If the retries are exhausted,
+     * the acknowledgement is redelivered later, unless it was rejected by
+     * the destination. If the dispatching is cancelled, e.g. on disposal,
+     * the acknowledgement is not completed.
+     *
+     * @param id    the pending acknowledgement identifier
+     * @return the mono of the dispatching completion
+     */
+    private Mono<Void> dispatch(String id) {
+        final PendingAck pendingAck;
+        synchronized (this) {
+            pendingAck = this.pending.remove(id);
+            this.pendingDelivered.values().remove(id);
+            Optional.ofNullable(pendingAck).ifPresent(ack -> this.inFlight.put(id, ack));
+        }
+        if(pendingAck == null) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> this.clientResolver.apply(pendingAck.destination()).acknowledgmentAsync(pendingAck.acknowledgementObject()))
+                .retryWhen(Retry.backoff(this.retries, this.retryBackoff)
+                        .filter(ex -> !this.isRejected(ex))
+                        .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+                .then(Mono.fromRunnable(() -> this.completeJournal(id)))
+                .onErrorResume(ex -> {
+                    if(this.isRejected(ex)) {
+                        log.warn("The SECOM acknowledgement was rejected by " + pendingAck.destination() + ": " + ex.getMessage());
+                        this.completeJournal(id);
+                    } else {
+                        log.warn("Failed to send the SECOM acknowledgement to " + pendingAck.destination() + ", retrying in " + this.redeliveryDelay + ": " + ex.getMessage());
+                        this.redeliver(pendingAck);
+                    }
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Returns the in-flight acknowledgement back to the pending ones, to be
+     * dispatched again after the redelivery delay. Its journal record is
+     * kept, so it will also be sent after a restart.
+     *
+     * @param pendingAck    the in-flight acknowledgement
+     */
+    private synchronized void redeliver(PendingAck pendingAck) {
+        this.inFlight.remove(pendingAck.id());
+        if(this.disposed) {
+            return;
+        }
+        this.pending.put(pendingAck.id(), pendingAck);
+        final String coalesceKey = this.coalesceKey(pendingAck.destination(), pendingAck.acknowledgementObject());
+        final AckTypeEnum ackType = Optional.ofNullable(pendingAck.acknowledgementObject().getEnvelope())
+                .map(EnvelopeAckObject::getAckType)
+                .orElse(null);
+        if(ackType == AckTypeEnum.DELIVERED_ACK && coalesceKey != null) {
+            this.pendingDelivered.putIfAbsent(coalesceKey, pendingAck.id());
+        }
+        this.schedule(pendingAck.id(), this.redeliveryDelay);
+    }
+
+    /**
+     * Checks whether the provided error means that the acknowledgement was
+     * rejected by the destination, i.e. with a client error, so it should
+     * not be sent again.
+     *
+     * @param ex    the error
+     * @return whether the acknowledgement was rejected
+     */
+    private boolean isRejected(Throwable ex) {
+        return ex instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError();
+    }
+
+    /**
+     * Generates the coalescing key of the provided acknowledgement, i.e. its
+     * destination and transaction identifier.
+     *
+     * @param destination           the destination URL
+     * @param acknowledgementObject the acknowledgement
+     * @return the coalescing key, or null if no transaction is identified
+     */
+    private String coalesceKey(URL destination, AcknowledgementObject acknowledgementObject) {
+        return Optional.ofNullable(acknowledgementObject.getEnvelope())
+                .map(EnvelopeAckObject::getTransactionIdentifier)
+                .map(transactionIdentifier -> destination + "|" + transactionIdentifier)
+                .orElse(null);
+    }
+
+    /**
+     * Marks the in-flight acknowledgement with the provided identifier as
+     * completed in the journal. Once nothing is pending or in flight anymore,
+     * the journal is truncated so that it does not grow indefinitely.
+     *
+     * @param id    the in-flight acknowledgement identifier
+     */
+    private synchronized void completeJournal(String id) {
+        this.inFlight.remove(id);
+        if(this.journal == null || this.disposed) {
+            return;
+        }
+        if(this.pending.isEmpty() && this.inFlight.isEmpty()) {
+            this.writeJournal(() -> this.rewriteJournal(Collections.emptyList()));
+        } else {
+            this.writeJournal(() -> this.appendJournal(new JournalRecord(id, null, null, true)));
+        }
+    }
+
+    /**
+     * Submits the provided journal operation to the background worker, if a
+     * journal has been configured. Must be called while holding the lock, so
+     * that the operations are written in the same order as the changes of
+     * the pending acknowledgements they record.
+     *
+     * @param operation the journal operation
+     */
+    private void writeJournal(Runnable operation) {
+        if(this.journalExecutor == null || this.disposed) {
+            return;
+        }
+        this.journalExecutor.execute(operation);
+    }
+
+    /**
+     * Appends the provided record onto the journal, if configured. Must be
+     * called on the journal worker.
+     *
+     * @param record    the journal record
+     */
+    private void appendJournal(JournalRecord record) {
+        if(this.journalWriter == null) {
+            return;
+        }
+        try {
+            this.journalWriter.write(JOURNAL_MAPPER.writeValueAsString(record));
+            this.journalWriter.newLine();
+            this.journalWriter.flush();
+        } catch (IOException ex) {
+            log.warn("Failed to persist the SECOM acknowledgement " + record.id() + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the journal so that it only contains the provided pending and
+     * in-flight acknowledgements. Must be called on the journal worker.
+     *
+     * @param pendingAcks   the pending and in-flight acknowledgements
+     */
+    private void rewriteJournal(List<PendingAck> pendingAcks) {
+        try {
+            Optional.ofNullable(this.journalWriter).ifPresent(writer -> {
+                try {
+                    writer.close();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            this.journalWriter = Files.newBufferedWriter(this.journal, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            for(PendingAck pendingAck : pendingAcks) {
+                this.appendJournal(new JournalRecord(pendingAck.id(), pendingAck.destination().toString(), pendingAck.acknowledgementObject(), false));
+            }
+        } catch (IOException | UncheckedIOException ex) {
+            log.warn("Failed to rewrite the SECOM acknowledgement journal: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Recovers the pending acknowledgements from the journal and schedules
+     * them for dispatching. The journal is then compacted to contain only
+     * the recovered acknowledgements.
+     */
+    private synchronized void recoverJournal() {
+        try {
+            Optional.ofNullable(this.journal.toAbsolutePath().getParent()).ifPresent(directory -> {
+                try {
+                    Files.createDirectories(directory);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            if(Files.exists(this.journal)) {
+                try (Stream<String> lines = Files.lines(this.journal, StandardCharsets.UTF_8)) {
+                    lines.filter(line -> !line.isBlank()).forEach(this::replayJournal);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        final List<PendingAck> recovered = new ArrayList<>(this.pending.values());
+        this.writeJournal(() -> this.rewriteJournal(recovered));
+        recovered.forEach(pendingAck -> this.schedule(pendingAck.id(), Duration.ZERO));
+    }
+
+    /**
+     * Replays a single journal line onto the pending acknowledgements. Any
+     * unreadable lines, e.g. partially written ones, are skipped.
+     *
+     * @param line  the journal line
+     */
+    private void replayJournal(String line) {
+        try {
+            final JournalRecord record = JOURNAL_MAPPER.readValue(line, JournalRecord.class);
+            if(record.done()) {
+                this.pending.remove(record.id());
+            } else {
+                this.pending.put(record.id(), new PendingAck(record.id(), URI.create(record.destination()).toURL(), record.acknowledgementObject()));
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            log.debug("Skipping unreadable SECOM acknowledgement journal entry: " + ex.getMessage());
+        }
+    }
+
+    /**
+     * A pending acknowledgement.
+     *
+     * @param id                    the pending acknowledgement identifier
+     * @param destination           the destination URL
+     * @param acknowledgementObject the acknowledgement
+     */
+    private record PendingAck(String id, URL destination, AcknowledgementObject acknowledgementObject) {}
+
+    /**
+     * A journal record, either registering a pending acknowledgement or
+     * marking it as completed.
+     *
+     * @param id                    the pending acknowledgement identifier
+     * @param destination           the destination URL
+     * @param acknowledgementObject the acknowledgement
+     * @param done                  whether the acknowledgement has been completed
+     */
+    private record JournalRecord(String id, String destination, AcknowledgementObject acknowledgementObject, boolean done) {}
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import io.netty.handler.ssl.SslContext;
+import org.grad.secom.core.base.SecomCertificateProvider;
+import org.grad.secom.core.base.SecomCompressionProvider;
+import org.grad.secom.core.base.SecomEncryptionProvider;
+import org.grad.secom.core.base.SecomSignatureProvider;
+import reactor.netty.http.client.HttpClient;
+import org.springframework.util.ClassUtils;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.net.URL;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The SECOM Client Factory Class.
+ * <p/>
+ * Creating a {@link SecomClient} from scratch involves loading the configured
+ * keystore and truststore, building a new SSL context and connection pool,
+ * as well as looking up the SECOM provider beans. This factory performs all
+ * these operations only once and shares the results between all the clients
+ * it creates, so that client creation becomes practically free and the
+ * connections to the SECOM services are reused between logically separate
+ * clients.
+ * <p/>
+ * The clients are also cached per URL, so that the same client is returned
+ * for repeated requests to the same SECOM service. Since the cached clients
+ * are shared, any changes to their providers will affect all their users;
+ * the {@link #newClient(URL)} operation should be used if a dedicated client
+ * is required.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomClientFactory {
+
+    /**
+     * The name of the shared connection provider.
+     */
+    public static final String CONNECTION_PROVIDER_NAME = "secom-client";
+
+    /**
+     * The default maximum number of connections per SECOM service.
+     */
+    public static final int DEFAULT_MAX_CONNECTIONS = 100;
+
+    /**
+     * The default maximum number of requests waiting for a connection.
+     */
+    public static final int DEFAULT_PENDING_ACQUIRE_MAX_COUNT = 1000;
+
+    /**
+     * The default maximum time to wait for a connection from the pool.
+     */
+    public static final Duration DEFAULT_PENDING_ACQUIRE_TIMEOUT = Duration.ofSeconds(45);
+
+    /**
+     * The default time a connection can remain idle in the pool.
+     */
+    public static final Duration DEFAULT_MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+    /**
+     * The default interval for evicting idle connections in the background.
+     */
+    public static final Duration DEFAULT_EVICTION_INTERVAL = Duration.ofSeconds(60);
+
+    /**
+     * The Micrometer class required for exporting the pool metrics.
+     */
+    private static final String MICROMETER_METRICS_CLASS = "io.micrometer.core.instrument.Metrics";
+
+    // Class Variables
+    private final SecomConfigProperties config;
+    private final SecomClientConfigProperties clientConfig;
+    private final Map<String, SecomClient> clients;
+    private final SecomResiliencePolicy resiliencePolicy;
+    private final SecomDataCache dataCache;
+    private ConnectionProvider connectionProvider;
+    private HttpClient httpConnector;
+    private boolean providersResolved;
+    private SecomCertificateProvider certificateProvider;
+    private SecomSignatureProvider signatureProvider;
+    private SecomEncryptionProvider encryptionProvider;
+    private SecomCompressionProvider compressionProvider;
+
+    /**
+     * The SECOM Client Factory Constructor.
+     *
+     * @param config        the SECOM configuration properties bundle
+     * @param clientConfig  the SECOM client configuration properties
+     */
+    public SecomClientFactory(SecomConfigProperties config, SecomClientConfigProperties clientConfig) {
+        this.config = config;
+        this.clientConfig = clientConfig;
+        this.clients = new ConcurrentHashMap<>();
+        this.resiliencePolicy = SecomResiliencePolicy.fromConfig(clientConfig).orElse(null);
+        this.dataCache = SecomDataCache.fromConfig(clientConfig).orElse(null);
+    }
+
+    /**
+     * Gets the SECOM configuration properties of the factory.
+     *
+     * @return the SECOM configuration properties
+     */
+    public SecomConfigProperties getConfig() {
+        return config;
+    }
+
+    /**
+     * Gets the SECOM client configuration properties of the factory.
+     *
+     * @return the SECOM client configuration properties
+     */
+    public SecomClientConfigProperties getClientConfig() {
+        return clientConfig;
+    }
+
+    /**
+     * Gets the resilience policy shared by all clients of the factory, so
+     * that the retry budget is enforced globally and each endpoint has a
+     * single circuit breaker. This will be null if not configured.
+     *
+     * @return the shared resilience policy
+     */
+    public SecomResiliencePolicy getResiliencePolicy() {
+        return resiliencePolicy;
+    }
+
+    /**
+     * Gets the data cache shared by all clients of the factory, so that a
+     * single disk tier is maintained. This will be null if not configured.
+     *
+     * @return the shared data cache
+     */
+    public SecomDataCache getDataCache() {
+        return dataCache;
+    }
+
+    /**
+     * Returns the cached SECOM client for the provided URL, creating it if it
+     * does not exist yet.
+     *
+     * @param url   the URL of the SECOM service
+     * @return the SECOM client for the provided URL
+     */
+    public SecomClient getClient(URL url) {
+        return this.clients.computeIfAbsent(Objects.requireNonNull(url).toString(), key -> this.newClient(url));
+    }
+
+    /**
+     * Creates a new dedicated SECOM client for the provided URL. The client
+     * still shares the SSL context, the connection pool and the default
+     * providers with all other clients of this factory, but it is not cached.
+     *
+     * @param url   the URL of the SECOM service
+     * @return the new SECOM client
+     */
+    public SecomClient newClient(URL url) {
+        final HttpClient httpConnector = this.getHttpConnector();
+        this.resolveProviders();
+        final SecomClient secomClient = new SecomClient(url,
+                httpConnector,
+                this.config,
+                this.clientConfig,
+                this.certificateProvider,
+                this.signatureProvider,
+                this.encryptionProvider,
+                this.compressionProvider);
+        secomClient.setResiliencePolicy(this.resiliencePolicy);
+        secomClient.setDataCache(this.dataCache);
+        return secomClient;
+    }
+
+    /**
+     * Removes the cached SECOM client for the provided URL, if any.
+     *
+     * @param url   the URL of the SECOM service
+     */
+    public void evict(URL url) {
+        this.clients.remove(Objects.requireNonNull(url).toString());
+    }
+
+    /**
+     * Returns the number of the cached SECOM clients.
+     *
+     * @return the number of the cached SECOM clients
+     */
+    public int size() {
+        return this.clients.size();
+    }
+
+    /**
+     * Returns the shared HTTP connector, creating it on the first call. The
+     * SSL context is shared with the other clients of the same configuration.
+     *
+     * @return the shared HTTP connector
+     */
+    public synchronized HttpClient getHttpConnector() {
+        if(this.httpConnector == null) {
+            final SslContext sslContext;
+            try {
+                sslContext = SecomClient.getSharedSslContext(this.config, this.clientConfig);
+            } catch (IOException | GeneralSecurityException ex) {
+                throw new IllegalStateException("Failed to initialise the SECOM client SSL context: " + ex.getMessage(), ex);
+            }
+            this.connectionProvider = this.createConnectionProvider();
+            this.httpConnector = SecomClient.configure(HttpClient.create(this.connectionProvider), sslContext, this.config, this.clientConfig);
+        }
+        return this.httpConnector;
+    }
+
+    /**
+     * Creates the connection provider shared by all the clients of this
+     * factory, based on the connection settings of the SECOM client
+     * configuration properties. If requested and Micrometer is available, the pool gauges
+     * (total, active, idle and pending connections) are also exported.
+     * Sub-classes can override this to further tune the connection pool.
+     *
+     * @return the shared connection provider
+     */
+    protected ConnectionProvider createConnectionProvider() {
+        final Optional<SecomClientConfigProperties.Connection> connection = Optional.ofNullable(this.clientConfig)
+                .map(SecomClientConfigProperties::getConnection);
+        final ConnectionProvider.Builder builder = ConnectionProvider.builder(CONNECTION_PROVIDER_NAME)
+                .maxConnections(connection.map(SecomClientConfigProperties.Connection::getMaxConnections).orElse(DEFAULT_MAX_CONNECTIONS))
+                .pendingAcquireMaxCount(connection.map(SecomClientConfigProperties.Connection::getPendingAcquireMaxCount).orElse(DEFAULT_PENDING_ACQUIRE_MAX_COUNT))
+                .pendingAcquireTimeout(connection.map(SecomClientConfigProperties.Connection::getPendingAcquireTimeout).orElse(DEFAULT_PENDING_ACQUIRE_TIMEOUT))
+                .maxIdleTime(connection.map(SecomClientConfigProperties.Connection::getMaxIdleTime).orElse(DEFAULT_MAX_IDLE_TIME))
+                .evictInBackground(connection.map(SecomClientConfigProperties.Connection::getEvictionInterval).orElse(DEFAULT_EVICTION_INTERVAL));
+        connection.map(SecomClientConfigProperties.Connection::getMaxLifeTime)
+                .ifPresent(builder::maxLifeTime);
+        connection.map(SecomClientConfigProperties.Connection::getPoolMetrics)
+                .filter(Boolean.TRUE::equals)
+                .filter(metrics -> ClassUtils.isPresent(MICROMETER_METRICS_CLASS, this.getClass().getClassLoader()))
+                .ifPresent(builder::metrics);
+        return builder.build();
+    }
+
+    /**
+     * Looks up the SECOM provider beans once, so that they can be shared
+     * between all the clients of this factory.
+     */
+    protected synchronized void resolveProviders() {
+        if(!this.providersResolved) {
+            this.certificateProvider = SecomSpringContext.getBean(SecomCertificateProvider.class);
+            this.signatureProvider = SecomSpringContext.getBean(SecomSignatureProvider.class);
+            this.encryptionProvider = SecomSpringContext.getBean(SecomEncryptionProvider.class);
+            this.compressionProvider = SecomSpringContext.getBean(SecomCompressionProvider.class);
+            this.providersResolved = true;
+        }
+    }
+
+    /**
+     * Clears all cached clients and releases the shared connection pool. Any
+     * subsequent client requests will re-initialise the shared resources.
+     */
+    public synchronized void dispose() {
+        this.clients.clear();
+        if(this.connectionProvider != null) {
+            this.connectionProvider.dispose();
+        }
+        this.connectionProvider = null;
+        this.httpConnector = null;
+        this.providersResolved = false;
+    }
+
+}
@@ -0,0 +1,670 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.grad.secom.core.models.*;
+import org.grad.secom.core.models.enums.AckRequestEnum;
+import org.grad.secom.core.models.enums.DigitalSignatureAlgorithmEnum;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+/**
+ * The SECOM Data Cache Class.
+ * <p/>
+ * A two-tier cache for the responses of the SECOM Get interface, allowing
+ * repeated reads of the same datasets to avoid both the network and the
+ * whole decoding, decompression and decryption pipeline. The first tier is a
+ * small on-heap LRU of the processed response objects, while the optional
+ * second tier is a larger on-disk store of the payloads as they were
+ * received, which are read back through memory-mapped files. The disk tier
+ * survives restarts of the application, since its index is rebuilt from the
+ * stored files.
+ * <p/>
+ * Since the disk tier keeps the received form of the payloads, any data
+ * protected by the SECOM services remain encrypted at rest. These entries
+ * are processed again, e.g. decompressed and decrypted, when they are read
+ * back and promoted onto the heap. Caches configured through
+ * {@link #fromConfig} are shared per disk tier directory, so that the
+ * clients of the same directory do not overwrite each other's index.
+ * <p/>
+ * The entries are keyed by the query parameters, including the data
+ * reference and the product version, and they expire after the configured
+ * time-to-live. If the query defined a validity window, the entries will
+ * never outlive its end. Entries can also be invalidated explicitly, either
+ * for a specific data reference or altogether.
+ * <p/>
+ * Since the response objects are mutable, the cache always stores and returns
+ * copies of them.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomDataCache {
+
+    /**
+     * The default maximum number of entries kept on the heap.
+     */
+    public static final int DEFAULT_MAX_HEAP_ENTRIES = 64;
+
+    /**
+     * The default maximum size of the disk tier in bytes.
+     */
+    public static final long DEFAULT_MAX_DISK_SIZE = 1024L * 1024L * 1024L;
+
+    /**
+     * The extension of the disk tier files.
+     */
+    public static final String FILE_EXTENSION = ".secom";
+
+    /**
+     * The magic number identifying the disk tier files.
+     */
+    private static final int FILE_MAGIC = 0x5345434D;
+
+    /**
+     * The format version of the disk tier files.
+     */
+    private static final int FILE_VERSION = 2;
+
+    /**
+     * The Class Logger.
+     */
+    private static final Log log = LogFactory.getLog(SecomDataCache.class);
+
+    /**
+     * The data caches configured so far, per disk tier directory.
+     */
+    private static final Map<Path, SecomDataCache> SHARED_DATA_CACHES = new ConcurrentHashMap<>();
+
+    // Class Variables
+    private final Duration ttl;
+    private final int maxHeapEntries;
+    private final Path directory;
+    private final long maxDiskSize;
+    private final LinkedHashMap<String, HeapEntry> heapEntries;
+    private final LinkedHashMap<String, DiskEntry> diskEntries;
+    private long diskSize;
+    private boolean diskIndexLoaded;
+
+    /**
+     * The SECOM Data Cache Constructor, using only the heap tier.
+     *
+     * @param ttl               the time-to-live of the entries
+     * @param maxHeapEntries    the maximum number of entries kept on the heap
+     */
+    public SecomDataCache(Duration ttl, int maxHeapEntries) {
+        this(ttl, maxHeapEntries, null, 0);
+    }
+
+    /**
+     * The SECOM Data Cache Constructor. If a directory is provided, it will be
+     * used for the disk tier, and any entries already stored there will be
+     * picked up on first access.
+     *
+     * @param ttl               the time-to-live of the entries
+     * @param maxHeapEntries    the maximum number of entries kept on the heap
+     * @param directory         the directory of the disk tier, if any
+     * @param maxDiskSize       the maximum size of the disk tier in bytes
+     */
+    public SecomDataCache(Duration ttl, int maxHeapEntries, Path directory, long maxDiskSize) {
+        this.ttl = Objects.requireNonNull(ttl);
+        this.maxHeapEntries = Math.max(0, maxHeapEntries);
+        this.directory = directory;
+        this.maxDiskSize = maxDiskSize;
+        this.heapEntries = new LinkedHashMap<>(16, 0.75f, true);
+        this.diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Creates a new SECOM data cache based on the provided SECOM client
+     * configuration properties. If no data cache time-to-live has been configured, then no
+     * cache will be created at all. If a disk tier directory has been
+     * configured, the cache already created for that directory will be
+     * returned instead, if any.
+     *
+     * @param config    the SECOM client configuration properties
+     * @return the SECOM data cache, if configured
+     */
+    public static Optional<SecomDataCache> fromConfig(SecomClientConfigProperties config) {
+        return Optional.ofNullable(config)
+                .map(SecomClientConfigProperties::getDataCache)
+                .filter(c -> Objects.nonNull(c.getTtl()))
+                .map(c -> {
+                    final int maxHeapEntries = Optional.ofNullable(c.getHeapEntries()).orElse(DEFAULT_MAX_HEAP_ENTRIES);
+                    final long maxDiskSize = Optional.ofNullable(c.getMaxDiskSize()).orElse(DEFAULT_MAX_DISK_SIZE);
+                    return Optional.ofNullable(c.getDirectory())
+                            .map(directory -> Paths.get(directory).toAbsolutePath().normalize())
+                            .map(directory -> SHARED_DATA_CACHES.computeIfAbsent(directory, d -> new SecomDataCache(c.getTtl(), maxHeapEntries, d, maxDiskSize)))
+                            .orElseGet(() -> new SecomDataCache(c.getTtl(), maxHeapEntries, null, maxDiskSize));
+                });
+    }
+
+    /**
+     * Gets the time-to-live of the entries.
+     *
+     * @return the time-to-live of the entries
+     */
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    /**
+     * Returns the number of entries kept on the heap.
+     *
+     * @return the number of heap entries
+     */
+    public synchronized int getHeapSize() {
+        return this.heapEntries.size();
+    }
+
+    /**
+     * Returns the number of entries kept on the disk.
+     *
+     * @return the number of disk entries
+     */
+    public synchronized int getDiskSize() {
+        this.loadDiskIndex();
+        return this.diskEntries.size();
+    }
+
+    /**
+     * Returns a copy of the cached response for the provided key, if it
+     * exists and has not expired. This should only be used for responses
+     * stored without any further processing, see {@link #get(String, UnaryOperator)}.
+     *
+     * @param key   the cache key
+     * @return the cached response, if available
+     */
+    public Optional<GetResponseObject> get(String key) {
+        return this.get(key, UnaryOperator.identity());
+    }
+
+    /**
+     * Returns a copy of the cached response for the provided key, if it
+     * exists and has not expired. Entries found only on disk are in their
+     * received form, so they are first passed through the provided
+     * processor, and then promoted back onto the heap. Since this might
+     * access the disk, it should not be called from the event-loop threads.
+     *
+     * @param key       the cache key
+     * @param processor the processor of the received responses read from disk
+     * @return the cached response, if available
+     */
+    public Optional<GetResponseObject> get(String key, UnaryOperator<GetResponseObject> processor) {
+        final long now = System.currentTimeMillis();
+
+        // First try the heap tier
+        final DiskEntry diskEntry;
+        synchronized (this) {
+            final HeapEntry heapEntry = this.heapEntries.get(key);
+            if(heapEntry != null) {
+                if(heapEntry.expiresAt() > now) {
+                    return Optional.of(SecomRequestCoalescer.copyOf(heapEntry.response()));
+                }
+                this.heapEntries.remove(key);
+            }
+            this.loadDiskIndex();
+            diskEntry = this.diskEntries.get(key);
+        }
+
+        // Then the disk tier
+        if(diskEntry == null) {
+            return Optional.empty();
+        }
+        if(diskEntry.expiresAt() <= now) {
+            this.removeDiskEntry(key, diskEntry);
+            return Optional.empty();
+        }
+        try {
+            final GetResponseObject response = processor.apply(this.readFile(diskEntry.path()).response());
+            synchronized (this) {
+                this.putHeapEntry(key, new HeapEntry(diskEntry.dataReference(), response, diskEntry.expiresAt()));
+            }
+            return Optional.of(SecomRequestCoalescer.copyOf(response));
+        } catch (IOException | RuntimeException ex) {
+            log.debug("Failed to read the cached SECOM data for " + key + ": " + ex.getMessage());
+            this.removeDiskEntry(key, diskEntry);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Stores a copy of the provided response under the provided key, for
+     * responses that do not require any processing once received. See
+     * {@link #put(String, UUID, LocalDateTime, GetResponseObject, GetResponseObject)}.
+     *
+     * @param key           the cache key
+     * @param dataReference the data reference of the query, if any
+     * @param validTo       the end of the validity window of the query, if any
+     * @param response      the response to be cached
+     */
+    public void put(String key, UUID dataReference, LocalDateTime validTo, GetResponseObject response) {
+        this.put(key, dataReference, validTo, response, response);
+    }
+
+    /**
+     * Stores a copy of the provided response under the provided key. The
+     * heap tier keeps the processed response, while the disk tier keeps the
+     * response as it was received, so that any protected data are not
+     * written onto the disk in clear. The entry will expire after the
+     * configured time-to-live, or at the end of the validity window of the
+     * query, whichever comes first. Since this might access the disk, it
+     * should not be called from the event-loop threads.
+     *
+     * @param key           the cache key
+     * @param dataReference the data reference of the query, if any
+     * @param validTo       the end of the validity window of the query, if any
+     * @param received      the response as received, before any processing
+     * @param response      the processed response to be cached
+     */
+    public void put(String key, UUID dataReference, LocalDateTime validTo, GetResponseObject received, GetResponseObject response) {
+        final long now = System.currentTimeMillis();
+        final long expiresAt = Math.min(now + this.ttl.toMillis(), Optional.ofNullable(validTo)
+                .map(v -> v.toInstant(ZoneOffset.UTC).toEpochMilli())
+                .orElse(Long.MAX_VALUE));
+        if(received == null || response == null || expiresAt <= now) {
+            return;
+        }
+
+        // Store onto the heap tier
+        final GetResponseObject copy = SecomRequestCoalescer.copyOf(response);
+        synchronized (this) {
+            this.putHeapEntry(key, new HeapEntry(dataReference, copy, expiresAt));
+        }
+
+        // And onto the disk tier, if available
+        if(this.directory != null) {
+            try {
+                synchronized (this) {
+                    this.loadDiskIndex();
+                }
+                final Path path = this.directory.resolve(this.fileName(key));
+                final Path temp = Files.createTempFile(this.directory, "entry", ".tmp");
+                try (DataOutputStream os = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                    this.writeEntry(os, key, dataReference, expiresAt, received);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                synchronized (this) {
+                    this.putDiskEntry(key, new DiskEntry(path, dataReference, expiresAt, Files.size(path)));
+                }
+            } catch (IOException ex) {
+                log.debug("Failed to store the cached SECOM data for " + key + ": " + ex.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Invalidates all cached entries for the provided data reference.
+     *
+     * @param dataReference the data reference to be invalidated
+     */
+    public void invalidate(UUID dataReference) {
+        final List<Map.Entry<String, DiskEntry>> removed = new ArrayList<>();
+        synchronized (this) {
+            this.heapEntries.values().removeIf(entry -> Objects.equals(entry.dataReference(), dataReference));
+            this.loadDiskIndex();
+            this.diskEntries.entrySet().stream()
+                    .filter(entry -> Objects.equals(entry.getValue().dataReference(), dataReference))
+                    .forEach(removed::add);
+        }
+        removed.forEach(entry -> this.removeDiskEntry(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Invalidates all cached entries.
+     */
+    public void invalidateAll() {
+        final List<Map.Entry<String, DiskEntry>> removed;
+        synchronized (this) {
+            this.heapEntries.clear();
+            this.loadDiskIndex();
+            removed = new ArrayList<>(this.diskEntries.entrySet());
+        }
+        removed.forEach(entry -> this.removeDiskEntry(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Adds an entry onto the heap tier, evicting the least recently used
+     * entries if the tier is full. Must be called while holding the lock.
+     *
+     * @param key   the cache key
+     * @param entry the heap entry
+     */
+    private void putHeapEntry(String key, HeapEntry entry) {
+        if(this.maxHeapEntries == 0) {
+            return;
+        }
+        this.heapEntries.put(key, entry);
+        final Iterator<String> iterator = this.heapEntries.keySet().iterator();
+        while(this.heapEntries.size() > this.maxHeapEntries && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Adds an entry onto the disk tier index, evicting the least recently
+     * used entries if the tier has grown too large. Must be called while
+     * holding the lock.
+     *
+     * @param key   the cache key
+     * @param entry the disk entry
+     */
+    private void putDiskEntry(String key, DiskEntry entry) {
+        Optional.ofNullable(this.diskEntries.put(key, entry))
+                .ifPresent(previous -> this.diskSize -= previous.size());
+        this.diskSize += entry.size();
+        final Iterator<Map.Entry<String, DiskEntry>> iterator = this.diskEntries.entrySet().iterator();
+        while(this.diskSize > this.maxDiskSize && iterator.hasNext()) {
+            final Map.Entry<String, DiskEntry> eldest = iterator.next();
+            if(eldest.getValue() == entry) {
+                continue;
+            }
+            iterator.remove();
+            this.diskSize -= eldest.getValue().size();
+            this.deleteFile(eldest.getValue().path());
+        }
+    }
+
+    /**
+     * Removes the provided entry from the disk tier, if still present.
+     *
+     * @param key   the cache key
+     * @param entry the disk entry
+     */
+    private void removeDiskEntry(String key, DiskEntry entry) {
+        synchronized (this) {
+            if(!this.diskEntries.remove(key, entry)) {
+                return;
+            }
+            this.diskSize -= entry.size();
+        }
+        this.deleteFile(entry.path());
+    }
+
+    /**
+     * Rebuilds the disk tier index from the files found in the cache
+     * directory, deleting the expired or unreadable ones. This only takes
+     * place once, and must be called while holding the lock.
+     */
+    private void loadDiskIndex() {
+        if(this.directory == null || this.diskIndexLoaded) {
+            return;
+        }
+        this.diskIndexLoaded = true;
+        final long now = System.currentTimeMillis();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        try (Stream<Path> files = Files.list(this.directory)) {
+            files.filter(path -> path.getFileName().toString().endsWith(FILE_EXTENSION))
+                    .forEach(path -> {
+                        try {
+                            final StoredEntry stored = this.readFile(path);
+                            if(stored.expiresAt() > now) {
+                                this.putDiskEntry(stored.key(), new DiskEntry(path, stored.dataReference(), stored.expiresAt(), Files.size(path)));
+                                return;
+                            }
+                        } catch (IOException | RuntimeException ex) {
+                            log.debug("Ignoring unreadable SECOM data cache file " + path + ": " + ex.getMessage());
+                        }
+                        this.deleteFile(path);
+                    });
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Deletes the provided file, ignoring any errors.
+     *
+     * @param path  the file path
+     */
+    private void deleteFile(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException ex) {
+            log.debug("Failed to delete the SECOM data cache file " + path + ": " + ex.getMessage());
+        }
+    }
+
+    /**
+     * Generates the file name of the provided cache key.
+     *
+     * @param key   the cache key
+     * @return the file name
+     */
+    private String fileName(String key) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(key.getBytes(StandardCharsets.UTF_8))) + FILE_EXTENSION;
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Writes the provided entry onto the provided output.
+     *
+     * @param os            the data output stream
+     * @param key           the cache key
+     * @param dataReference the data reference of the query, if any
+     * @param expiresAt     the expiry time of the entry in epoch milliseconds
+     * @param response      the response to be written
+     * @throws IOException for any IO exceptions while writing
+     */
+    private void writeEntry(DataOutputStream os, String key, UUID dataReference, long expiresAt, GetResponseObject response) throws IOException {
+        os.writeInt(FILE_MAGIC);
+        os.writeInt(FILE_VERSION);
+        this.writeString(os, key);
+        this.writeString(os, Optional.ofNullable(dataReference).map(UUID::toString).orElse(null));
+        os.writeLong(expiresAt);
+        this.writeString(os, response.getResponseText());
+        this.writeInteger(os, Optional.ofNullable(response.getPagination()).map(PaginationObject::getTotalItems).orElse(null));
+        this.writeInteger(os, Optional.ofNullable(response.getPagination()).map(PaginationObject::getMaxItemsPerPage).orElse(null));
+        final List<DataResponseObject> dataResponseObjects = Optional.ofNullable(response.getDataResponseObject()).orElse(Collections.emptyList());
+        os.writeInt(dataResponseObjects.size());
+        for(DataResponseObject dataResponseObject : dataResponseObjects) {
+            this.writeBytes(os, dataResponseObject.getData());
+            this.writeString(os, Optional.ofNullable(dataResponseObject.getAckRequest()).map(Enum::name).orElse(null));
+            final SECOM_ExchangeMetadataObject metadata = Optional.ofNullable(dataResponseObject.getExchangeMetadata()).orElseGet(SECOM_ExchangeMetadataObject::new);
+            this.writeString(os, Optional.ofNullable(metadata.getDataProtection()).map(String::valueOf).orElse(null));
+            this.writeString(os, metadata.getProtectionScheme());
+            this.writeString(os, Optional.ofNullable(metadata.getDigitalSignatureReference()).map(Enum::name).orElse(null));
+            final Optional<DigitalSignatureValue> signatureValue = Optional.ofNullable(metadata.getDigitalSignatureValue());
+            os.writeBoolean(signatureValue.isPresent());
+            this.writeString(os, signatureValue.map(DigitalSignatureValue::getPublicRootCertificateThumbprint).orElse(null));
+            this.writeString(os, signatureValue.map(DigitalSignatureValue::getPublicCertificate).orElse(null));
+            this.writeString(os, signatureValue.map(DigitalSignatureValue::getDigitalSignature).orElse(null));
+            this.writeString(os, Optional.ofNullable(metadata.getCompressionFlag()).map(String::valueOf).orElse(null));
+        }
+    }
+
+    /**
+     * Reads the stored entry from the provided file, through a memory-mapped
+     * buffer.
+     *
+     * @param path  the file path
+     * @return the stored entry
+     * @throws IOException for any IO exceptions while reading
+     */
+    private StoredEntry readFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if(buffer.getInt() != FILE_MAGIC || buffer.getInt() != FILE_VERSION) {
+                throw new IOException("Not a SECOM data cache file");
+            }
+            final String key = this.readString(buffer);
+            final UUID dataReference = Optional.ofNullable(this.readString(buffer)).map(UUID::fromString).orElse(null);
+            final long expiresAt = buffer.getLong();
+            final GetResponseObject response = new GetResponseObject();
+            response.setResponseText(this.readString(buffer));
+            final Integer totalItems = this.readInteger(buffer);
+            final Integer maxItemsPerPage = this.readInteger(buffer);
+            if(totalItems != null || maxItemsPerPage != null) {
+                response.setPagination(new PaginationObject(totalItems, maxItemsPerPage));
+            }
+            final int count = buffer.getInt();
+            final List<DataResponseObject> dataResponseObjects = new ArrayList<>(count);
+            for(int i = 0; i < count; i++) {
+                final DataResponseObject dataResponseObject = new DataResponseObject();
+                dataResponseObject.setData(this.readBytes(buffer));
+                dataResponseObject.setAckRequest(Optional.ofNullable(this.readString(buffer)).map(AckRequestEnum::valueOf).orElse(null));
+                final SECOM_ExchangeMetadataObject metadata = new SECOM_ExchangeMetadataObject();
+                metadata.setDataProtection(Optional.ofNullable(this.readString(buffer)).map(Boolean::valueOf).orElse(null));
+                metadata.setProtectionScheme(this.readString(buffer));
+                metadata.setDigitalSignatureReference(Optional.ofNullable(this.readString(buffer)).map(DigitalSignatureAlgorithmEnum::valueOf).orElse(null));
+                final boolean hasSignatureValue = buffer.get() != 0;
+                final DigitalSignatureValue signatureValue = new DigitalSignatureValue();
+                signatureValue.setPublicRootCertificateThumbprint(this.readString(buffer));
+                signatureValue.setPublicCertificate(this.readString(buffer));
+                signatureValue.setDigitalSignature(this.readString(buffer));
+                metadata.setDigitalSignatureValue(hasSignatureValue ? signatureValue : null);
+                metadata.setCompressionFlag(Optional.ofNullable(this.readString(buffer)).map(Boolean::valueOf).orElse(null));
+                dataResponseObject.setExchangeMetadata(metadata);
+                dataResponseObjects.add(dataResponseObject);
+            }
+            response.setDataResponseObject(dataResponseObjects);
+            return new StoredEntry(key, dataReference, expiresAt, response);
+        }
+    }
+
+    /**
+     * Writes a nullable byte array onto the provided output.
+     *
+     * @param os    the data output stream
+     * @param bytes the byte array
+     * @throws IOException for any IO exceptions while writing
+     */
+    private void writeBytes(DataOutputStream os, byte[] bytes) throws IOException {
+        os.writeInt(bytes == null ? -1 : bytes.length);
+        if(bytes != null) {
+            os.write(bytes);
+        }
+    }
+
+    /**
+     * Reads a nullable byte array from the provided buffer.
+     *
+     * @param buffer    the byte buffer
+     * @return the byte array
+     */
+    private byte[] readBytes(ByteBuffer buffer) {
+        final int length = buffer.getInt();
+        if(length < 0) {
+            return null;
+        }
+        final byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    /**
+     * Writes a nullable string onto the provided output.
+     *
+     * @param os    the data output stream
+     * @param value the string
+     * @throws IOException for any IO exceptions while writing
+     */
+    private void writeString(DataOutputStream os, String value) throws IOException {
+        this.writeBytes(os, value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads a nullable string from the provided buffer.
+     *
+     * @param buffer    the byte buffer
+     * @return the string
+     */
+    private String readString(ByteBuffer buffer) {
+        return Optional.ofNullable(this.readBytes(buffer))
+                .map(bytes -> new String(bytes, StandardCharsets.UTF_8))
+                .orElse(null);
+    }
+
+    /**
+     * Writes a nullable integer onto the provided output.
+     *
+     * @param os    the data output stream
+     * @param value the integer
+     * @throws IOException for any IO exceptions while writing
+     */
+    private void writeInteger(DataOutputStream os, Integer value) throws IOException {
+        os.writeBoolean(value != null);
+        os.writeInt(value == null ? 0 : value);
+    }
+
+    /**
+     * Reads a nullable integer from the provided buffer.
+     *
+     * @param buffer    the byte buffer
+     * @return the integer
+     */
+    private Integer readInteger(ByteBuffer buffer) {
+        final boolean present = buffer.get() != 0;
+        final int value = buffer.getInt();
+        return present ? value : null;
+    }
+
+    /**
+     * A heap tier entry.
+     *
+     * @param dataReference the data reference of the query
+     * @param response      the cached response
+     * @param expiresAt     the expiry time in epoch milliseconds
+     */
+    private record HeapEntry(UUID dataReference, GetResponseObject response, long expiresAt) {}
+
+    /**
+     * A disk tier index entry.
+     *
+     * @param path          the file path
+     * @param dataReference the data reference of the query
+     * @param expiresAt     the expiry time in epoch milliseconds
+     * @param size          the file size in bytes
+     */
+    private record DiskEntry(Path path, UUID dataReference, long expiresAt, long size) {}
+
+    /**
+     * An entry read from the disk tier.
+     *
+     * @param key           the cache key
+     * @param dataReference the data reference of the query
+     * @param expiresAt     the expiry time in epoch milliseconds
+     * @param response      the cached response
+     */
+    private record StoredEntry(String key, UUID dataReference, long expiresAt, GetResponseObject response) {}
+
+}
@@ -0,0 +1,472 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.grad.secom.core.models.SearchFilterObject;
+import org.grad.secom.core.models.SearchObjectResult;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The SECOM Discovery Cache Class.
+ * <p/>
+ * Keeps the results of the Search Service requests to a SECOM service
+ * registry, so that the consumer and provider endpoints can be resolved
+ * without calling the registry before every exchange. The results are cached
+ * per normalised search filter, i.e. regardless of the order of its fields,
+ * its empty fields and the requested pages, since all pages are retrieved.
+ * <p/>
+ * The entries that are in use are refreshed in the background shortly before
+ * they expire, so that the lookups are normally served from the cache. If
+ * the registry is unavailable, the expired entries keep being served for a
+ * configurable stale-if-error period. All the cached results are also
+ * indexed locally by their instance ID, MRN and UN/LOCODE, so that they can
+ * be looked up directly.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomDiscoveryCache {
+
+    /**
+     * The default time-to-live of the cached results.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    /**
+     * The default time before the expiry at which the results are refreshed.
+     */
+    public static final Duration DEFAULT_REFRESH_AHEAD = Duration.ofMinutes(1);
+
+    /**
+     * The default period the expired results are served if the registry fails.
+     */
+    public static final Duration DEFAULT_STALE_IF_ERROR = Duration.ofHours(1);
+
+    /**
+     * The default maximum number of cached search filters.
+     */
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /**
+     * The object mapper used to normalise the search filters.
+     */
+    private static final ObjectMapper KEY_MAPPER = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .serializationInclusion(JsonInclude.Include.NON_EMPTY)
+            .build();
+
+    /**
+     * The Class Logger.
+     */
+    private static final Log log = LogFactory.getLog(SecomDiscoveryCache.class);
+
+    // Class Variables
+    private final Function<SearchFilterObject, Mono<List<SearchObjectResult>>> loader;
+    private final Duration ttl;
+    private final Duration refreshAhead;
+    private final Duration staleIfError;
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+    private final Map<String, Mono<List<SearchObjectResult>>> loading;
+    private final Set<String> accessed;
+    private final Map<String, Map<String, List<SearchObjectResult>>> instanceIdIndex;
+    private final Map<String, Map<String, List<SearchObjectResult>>> mrnIndex;
+    private final Map<String, Map<String, List<SearchObjectResult>>> unlocodeIndex;
+    private final Disposable refreshSubscription;
+
+    /**
+     * The SECOM Discovery Cache Constructor, searching through the provided
+     * SECOM client of the service registry.
+     *
+     * @param registryClient    the SECOM client of the service registry
+     * @param ttl               the time-to-live of the cached results
+     * @param refreshAhead      the time before the expiry at which the results are refreshed
+     * @param staleIfError      the period the expired results are served if the registry fails
+     * @param maxEntries        the maximum number of cached search filters
+     */
+    public SecomDiscoveryCache(SecomClient registryClient, Duration ttl, Duration refreshAhead, Duration staleIfError, int maxEntries) {
+        this(filter -> registryClient.searchServiceFlux(filter).collectList(), ttl, refreshAhead, staleIfError, maxEntries);
+    }
+
+    /**
+     * The SECOM Discovery Cache Constructor, using the provided loader to
+     * retrieve all the search results of a search filter.
+     *
+     * @param loader            the loader of the search results
+     * @param ttl               the time-to-live of the cached results
+     * @param refreshAhead      the time before the expiry at which the results are refreshed
+     * @param staleIfError      the period the expired results are served if the registry fails
+     * @param maxEntries        the maximum number of cached search filters
+     */
+    public SecomDiscoveryCache(Function<SearchFilterObject, Mono<List<SearchObjectResult>>> loader, Duration ttl, Duration refreshAhead, Duration staleIfError, int maxEntries) {
+        this.loader = Objects.requireNonNull(loader);
+        this.ttl = Optional.ofNullable(ttl).filter(d -> !d.isNegative() && !d.isZero()).orElse(DEFAULT_TTL);
+        this.refreshAhead = Optional.ofNullable(refreshAhead).filter(d -> !d.isNegative()).filter(d -> d.compareTo(this.ttl) < 0).orElse(Duration.ZERO);
+        this.staleIfError = Optional.ofNullable(staleIfError).filter(d -> !d.isNegative()).orElse(Duration.ZERO);
+        this.maxEntries = Math.max(1, maxEntries);
+        this.entries = new ConcurrentHashMap<>();
+        this.loading = new ConcurrentHashMap<>();
+        this.accessed = ConcurrentHashMap.newKeySet();
+        this.instanceIdIndex = new HashMap<>();
+        this.mrnIndex = new HashMap<>();
+        this.unlocodeIndex = new HashMap<>();
+
+        // Periodically refresh the entries in use and drop the unusable ones
+        final long checkMillis = Math.max(1000, Optional.of(this.refreshAhead)
+                .filter(d -> !d.isZero())
+                .orElse(this.ttl)
+                .toMillis() / 2);
+        this.refreshSubscription = Schedulers.parallel().schedulePeriodically(this::maintain, checkMillis, checkMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a new SECOM discovery cache based on the provided SECOM client
+     * configuration properties, using the provided SECOM client factory to
+     * access the service registry. If no discovery URL has been configured,
+     * then no cache will be created at all.
+     *
+     * @param clientFactory the SECOM client factory
+     * @param config        the SECOM client configuration properties
+     * @return the SECOM discovery cache, if configured
+     */
+    public static Optional<SecomDiscoveryCache> fromConfig(SecomClientFactory clientFactory, SecomClientConfigProperties config) {
+        return Optional.ofNullable(config)
+                .map(SecomClientConfigProperties::getDiscovery)
+                .filter(c -> Objects.nonNull(c.getUrl()))
+                .map(c -> {
+                    try {
+                        return new SecomDiscoveryCache(clientFactory.getClient(URI.create(c.getUrl()).toURL()),
+                                Optional.ofNullable(c.getTtl()).orElse(DEFAULT_TTL),
+                                Optional.ofNullable(c.getRefreshAhead()).orElse(DEFAULT_REFRESH_AHEAD),
+                                Optional.ofNullable(c.getStaleIfError()).orElse(DEFAULT_STALE_IF_ERROR),
+                                Optional.ofNullable(c.getMaxEntries()).orElse(DEFAULT_MAX_ENTRIES));
+                    } catch (MalformedURLException ex) {
+                        throw new IllegalArgumentException("Invalid SECOM discovery URL: " + c.getUrl(), ex);
+                    }
+                });
+    }
+
+    /**
+     * Searches for the service instances matching the provided search
+     * filter. Fresh cached results are returned directly, while the others
+     * are retrieved from the registry, falling back to the expired results
+     * within the stale-if-error period if the registry fails. Concurrent
+     * searches for the same filter share a single registry request.
+     *
+     * @param searchFilterObject    the search filter object
+     * @return a mono of all the matching search results
+     */
+    public Mono<List<SearchObjectResult>> search(SearchFilterObject searchFilterObject) {
+        final String key = normalise(searchFilterObject);
+        return Mono.defer(() -> {
+            final long now = System.nanoTime();
+            final Entry entry = this.entries.get(key);
+            if(entry != null) {
+                this.accessed.add(key);
+                if(now - entry.freshUntil() < 0) {
+                    if(now - (entry.freshUntil() - this.refreshAhead.toNanos()) >= 0) {
+                        this.refresh(key, searchFilterObject);
+                    }
+                    return Mono.just(entry.results());
+                }
+            }
+            return this.load(key, searchFilterObject)
+                    .onErrorResume(ex -> {
+                        if(entry == null || now - entry.usableUntil() >= 0) {
+                            return Mono.error(ex);
+                        }
+                        log.warn("SECOM service registry unavailable, serving the expired search results: " + ex.getMessage());
+                        return Mono.just(entry.results());
+                    });
+        });
+    }
+
+    /**
+     * Looks up the cached search results by their instance ID.
+     *
+     * @param instanceId    the instance ID
+     * @return the matching cached search results
+     */
+    public List<SearchObjectResult> findByInstanceId(String instanceId) {
+        return this.find(this.instanceIdIndex, instanceId);
+    }
+
+    /**
+     * Looks up the cached search results by an MRN, i.e. either their
+     * instance or their organization MRN.
+     *
+     * @param mrn   the MRN
+     * @return the matching cached search results
+     */
+    public List<SearchObjectResult> findByMrn(String mrn) {
+        return this.find(this.mrnIndex, mrn);
+    }
+
+    /**
+     * Looks up the cached search results by their UN/LOCODE.
+     *
+     * @param unlocode  the UN/LOCODE
+     * @return the matching cached search results
+     */
+    public List<SearchObjectResult> findByUnlocode(String unlocode) {
+        return this.find(this.unlocodeIndex, unlocode);
+    }
+
+    /**
+     * Removes the cached results of the provided search filter, if any.
+     *
+     * @param searchFilterObject    the search filter object
+     */
+    public void invalidate(SearchFilterObject searchFilterObject) {
+        this.remove(normalise(searchFilterObject));
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public void invalidateAll() {
+        new ArrayList<>(this.entries.keySet()).forEach(this::remove);
+    }
+
+    /**
+     * Returns the number of the cached search filters.
+     *
+     * @return the number of the cached search filters
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * Stops the background refreshing of the cached results.
+     */
+    public void dispose() {
+        this.refreshSubscription.dispose();
+    }
+
+    /**
+     * Normalises the provided search filter into a cache key. The fields are
+     * sorted, the empty ones are omitted, and the paging parameters are
+     * ignored since all pages are retrieved.
+     *
+     * @param searchFilterObject    the search filter object
+     * @return the normalised cache key
+     */
+    static String normalise(SearchFilterObject searchFilterObject) {
+        if(searchFilterObject == null) {
+            return "{}";
+        }
+        try {
+            final Map<?, ?> filter = KEY_MAPPER.convertValue(searchFilterObject, Map.class);
+            Optional.ofNullable(filter.get("query"))
+                    .filter(Map.class::isInstance)
+                    .map(Map.class::cast)
+                    .ifPresent(query -> {
+                        query.remove("page");
+                        query.remove("pageSize");
+                        if(query.isEmpty()) {
+                            filter.remove("query");
+                        }
+                    });
+            return KEY_MAPPER.writeValueAsString(filter);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Invalid SECOM search filter: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Loads the search results of the provided filter from the registry and
+     * caches them. Concurrent loads of the same filter are shared.
+     *
+     * @param key                   the cache key
+     * @param searchFilterObject    the search filter object
+     * @return a mono of the loaded search results
+     */
+    private Mono<List<SearchObjectResult>> load(String key, SearchFilterObject searchFilterObject) {
+        return this.loading.computeIfAbsent(key, k -> Mono.defer(() -> this.loader.apply(searchFilterObject))
+                .map(List::copyOf)
+                .doOnNext(results -> this.put(key, searchFilterObject, results))
+                .doFinally(signal -> this.loading.remove(key))
+                .cache());
+    }
+
+    /**
+     * Refreshes the search results of the provided filter in the background.
+     * Any failures are ignored, so that the current results keep being
+     * served.
+     *
+     * @param key                   the cache key
+     * @param searchFilterObject    the search filter object
+     */
+    private void refresh(String key, SearchFilterObject searchFilterObject) {
+        if(!this.loading.containsKey(key)) {
+            this.accessed.remove(key);
+            this.load(key, searchFilterObject).subscribe(
+                    results -> {},
+                    ex -> log.debug("Failed to refresh the SECOM search results for " + key + ": " + ex.getMessage()));
+        }
+    }
+
+    /**
+     * Refreshes the entries that are about to expire, as long as they have
+     * been used since they were last loaded, and removes the entries that
+     * can no longer be served.
+     */
+    private void maintain() {
+        final long now = System.nanoTime();
+        this.entries.forEach((key, entry) -> {
+            if(now - entry.usableUntil() >= 0) {
+                this.remove(key);
+            } else if(now - (entry.freshUntil() - this.refreshAhead.toNanos()) >= 0 && this.accessed.contains(key)) {
+                this.refresh(key, entry.searchFilterObject());
+            }
+        });
+    }
+
+    /**
+     * Stores the provided search results into the cache and the local index.
+     * If the maximum number of entries is exceeded, the ones closest to
+     * becoming unusable are removed.
+     *
+     * @param key                   the cache key
+     * @param searchFilterObject    the search filter object
+     * @param results               the search results
+     */
+    private synchronized void put(String key, SearchFilterObject searchFilterObject, List<SearchObjectResult> results) {
+        final long now = System.nanoTime();
+        final long freshUntil = now + this.ttl.toNanos();
+        this.unindex(key);
+        this.entries.put(key, new Entry(searchFilterObject, results, freshUntil, freshUntil + this.staleIfError.toNanos()));
+        for(SearchObjectResult result : results) {
+            this.index(this.instanceIdIndex, result.getInstanceId(), key, result);
+            this.index(this.mrnIndex, result.getInstanceId(), key, result);
+            this.index(this.mrnIndex, result.getOrganizationId(), key, result);
+            Optional.ofNullable(result.getUnlocode())
+                    .orElse(Collections.emptyList())
+                    .forEach(unlocode -> this.index(this.unlocodeIndex, unlocode, key, result));
+        }
+
+        // Make sure we don't exceed the maximum number of entries
+        while(this.entries.size() > this.maxEntries) {
+            this.entries.entrySet()
+                    .stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().usableUntil() - now))
+                    .map(Map.Entry::getKey)
+                    .ifPresent(this::remove);
+        }
+    }
+
+    /**
+     * Removes the cached results of the provided key from the cache and the
+     * local index.
+     *
+     * @param key   the cache key
+     */
+    private synchronized void remove(String key) {
+        this.unindex(key);
+        this.entries.remove(key);
+        this.accessed.remove(key);
+    }
+
+    /**
+     * Adds the provided search result onto the provided index.
+     *
+     * @param index     the index
+     * @param value     the indexed value
+     * @param key       the cache key of the result
+     * @param result    the search result
+     */
+    private void index(Map<String, Map<String, List<SearchObjectResult>>> index, String value, String key, SearchObjectResult result) {
+        if(value != null && !value.isBlank()) {
+            index.computeIfAbsent(value.trim().toLowerCase(), v -> new HashMap<>())
+                    .computeIfAbsent(key, k -> new ArrayList<>())
+                    .add(result);
+        }
+    }
+
+    /**
+     * Removes the search results of the provided cache key from all the
+     * local indexes.
+     *
+     * @param key   the cache key
+     */
+    private void unindex(String key) {
+        Stream.of(this.instanceIdIndex, this.mrnIndex, this.unlocodeIndex).forEach(index -> index.values().removeIf(results -> {
+            results.remove(key);
+            return results.isEmpty();
+        }));
+    }
+
+    /**
+     * Looks up the provided value in the provided index, removing any
+     * duplicate results retrieved through different search filters.
+     *
+     * @param index the index
+     * @param value the value to look up
+     * @return the matching search results
+     */
+    private synchronized List<SearchObjectResult> find(Map<String, Map<String, List<SearchObjectResult>>> index, String value) {
+        return Optional.ofNullable(value)
+                .map(v -> index.get(v.trim().toLowerCase()))
+                .map(Map::values)
+                .orElse(Collections.emptyList())
+                .stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(
+                        result -> result.getInstanceId() + "|" + result.getVersion() + "|" + result.getEndpointUri(),
+                        Function.identity(),
+                        (first, second) -> first,
+                        LinkedHashMap::new))
+                .values()
+                .stream()
+                .toList();
+    }
+
+    /**
+     * A discovery cache entry, holding the search results along with the
+     * times (as given by {@link System#nanoTime()}) they stop being fresh
+     * and usable respectively.
+     *
+     * @param searchFilterObject    the search filter object
+     * @param results               the search results
+     * @param freshUntil            the time the results stop being fresh
+     * @param usableUntil           the time the results stop being usable
+     */
+    private record Entry(SearchFilterObject searchFilterObject, List<SearchObjectResult> results, long freshUntil, long usableUntil) {}
+
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URL;
+import java.util.List;
+
+/**
+ * The SECOM Gathered Results Record.
+ * <p/>
+ * Provides the merged items retrieved from multiple SECOM service providers
+ * by the {@link SecomScatterGather} component, as they are being received,
+ * along with the failures of the providers that could not be queried
+ * successfully. The providers are only queried once the items flux is
+ * subscribed to, and the failures mono completes once the items flux has
+ * terminated.
+ *
+ * @param items     the flux of the merged items
+ * @param failures  the mono of the provider failures
+ * @param <T> the type of the gathered items
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record SecomGatheredResults<T>(Flux<T> items, Mono<List<Failure>> failures) {
+
+    /**
+     * The SECOM Gathered Results Failure Record.
+     * <p/>
+     * Describes the failure of a single SECOM service provider. Note that
+     * any items received from the provider before it failed are still
+     * included in the gathered results.
+     *
+     * @param url   the URL of the failed SECOM service provider
+     * @param error the error that occurred
+     */
+    public record Failure(URL url, Throwable error) {
+
+    }
+
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import org.grad.secom.core.models.PaginationObject;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The SECOM JSON Item Decoder Class.
+ * <p/>
+ * Decodes the items of a paged SECOM response, such as the data response
+ * objects of a Get response, incrementally while the response body is still
+ * being received. The body is fed into Jackson's non-blocking parser, and
+ * each item of the configured array field is emitted as soon as it has been
+ * read completely, so that the memory required is bounded by the size of the
+ * individual items rather than the whole page. The pagination information is
+ * picked up in the same pass, regardless of its position in the response.
+ *
+ * @param <T> the type of the decoded items
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomJsonItemDecoder<T> {
+
+    /**
+     * The JSON field name of the pagination information.
+     */
+    public static final String PAGINATION_FIELD_NAME = "pagination";
+
+    // Class Variables
+    private final ObjectMapper objectMapper;
+    private final String itemsFieldName;
+    private final Class<T> itemClass;
+
+    /**
+     * The SECOM JSON Item Decoder Constructor.
+     *
+     * @param objectMapper      the object mapper to decode the items with
+     * @param itemsFieldName    the JSON field name of the items array
+     * @param itemClass         the class of the items
+     */
+    public SecomJsonItemDecoder(ObjectMapper objectMapper, String itemsFieldName, Class<T> itemClass) {
+        this.objectMapper = Objects.requireNonNull(objectMapper);
+        this.itemsFieldName = Objects.requireNonNull(itemsFieldName);
+        this.itemClass = Objects.requireNonNull(itemClass);
+    }
+
+    /**
+     * Decodes the provided response body into a streamed page. The data
+     * buffers are released as soon as they have been fed into the parser.
+     *
+     * @param body  the response body
+     * @return the streamed page of the decoded items
+     */
+    public SecomStreamedPage<T> decode(Flux<DataBuffer> body) {
+        final Sinks.One<PaginationObject> pagination = Sinks.one();
+        final Flux<T> items = Flux.defer(() -> {
+                    final Tokenizer tokenizer = new Tokenizer();
+                    return body.concatMapIterable(tokenizer::feed)
+                            .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.end())));
+                })
+                .doOnNext(value -> {
+                    if(value instanceof PaginationObject paginationObject) {
+                        pagination.tryEmitValue(paginationObject);
+                    }
+                })
+                .filter(this.itemClass::isInstance)
+                .map(this.itemClass::cast)
+                .doOnComplete(pagination::tryEmitEmpty)
+                .doOnError(pagination::tryEmitError);
+        return new SecomStreamedPage<>(items, pagination.asMono());
+    }
+
+    /**
+     * The tokenizer keeping the parsing state of a single response body. The
+     * tokens of each item, or of the pagination information, are captured
+     * into a token buffer until the respective JSON object is complete, and
+     * then mapped onto the respective class.
+     */
+    private class Tokenizer {
+
+        // Class Variables
+        private final JsonParser parser;
+        private TokenBuffer capture;
+        private Class<?> captureClass;
+        private int captureDepth;
+        private int depth;
+        private String fieldName;
+        private boolean inItems;
+
+        /**
+         * The Tokenizer Constructor.
+         */
+        Tokenizer() {
+            try {
+                this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Feeds the provided data buffer into the parser, releasing it, and
+         * returns the values completed so far.
+         *
+         * @param buffer    the data buffer
+         * @return the completed values
+         */
+        List<Object> feed(DataBuffer buffer) {
+            try {
+                final byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                ((ByteArrayFeeder) this.parser.getNonBlockingInputFeeder()).feedInput(bytes, 0, bytes.length);
+                return this.parse();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        /**
+         * Signals the end of the input, and returns any values completed.
+         *
+         * @return the completed values
+         */
+        List<Object> end() {
+            try {
+                ((ByteArrayFeeder) this.parser.getNonBlockingInputFeeder()).endOfInput();
+                final List<Object> values = this.parse();
+                if(this.depth != 0) {
+                    throw new IOException("Unexpected end of the SECOM JSON response");
+                }
+                return values;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Parses all the available tokens, returning the values completed.
+         *
+         * @return the completed values
+         * @throws IOException for any exceptions while parsing
+         */
+        private List<Object> parse() throws IOException {
+            final List<Object> values = new ArrayList<>();
+            JsonToken token;
+            while((token = this.parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                if(token.isStructStart()) {
+                    this.depth++;
+                } else if(token.isStructEnd()) {
+                    this.depth--;
+                }
+
+                // While capturing, copy the tokens until the value is complete
+                if(this.capture != null) {
+                    this.capture.copyCurrentEvent(this.parser);
+                    if(this.depth == this.captureDepth) {
+                        values.add(objectMapper.readValue(this.capture.asParser(objectMapper), this.captureClass));
+                        this.capture = null;
+                    }
+                    continue;
+                }
+
+                // Otherwise look for the items and the pagination information
+                if(token == JsonToken.FIELD_NAME && this.depth == 1) {
+                    this.fieldName = this.parser.currentName();
+                } else if(token == JsonToken.START_ARRAY && this.depth == 2) {
+                    this.inItems = itemsFieldName.equals(this.fieldName);
+                } else if(token == JsonToken.START_OBJECT && this.depth == 3 && this.inItems) {
+                    this.startCapture(itemClass);
+                } else if(token == JsonToken.START_OBJECT && this.depth == 2 && PAGINATION_FIELD_NAME.equals(this.fieldName)) {
+                    this.startCapture(PaginationObject.class);
+                } else if(token.isStructEnd() && this.depth == 1) {
+                    this.inItems = false;
+                }
+            }
+            return values;
+        }
+
+        /**
+         * Starts capturing the tokens of the value starting at the current
+         * token, to be mapped onto the provided class.
+         *
+         * @param clazz the class of the value
+         * @throws IOException for any exceptions while capturing
+         */
+        private void startCapture(Class<?> clazz) throws IOException {
+            this.capture = new TokenBuffer(objectMapper, false);
+            this.capture.copyCurrentEvent(this.parser);
+            this.captureClass = clazz;
+            this.captureDepth = this.depth - 1;
+        }
+
+    }
+
+}
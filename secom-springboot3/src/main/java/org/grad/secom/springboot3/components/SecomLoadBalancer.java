@@ -0,0 +1,414 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.grad.secom.core.models.SearchObjectResult;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URL;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * The SECOM Load Balancer Class.
+ * <p/>
+ * Selects between several SECOM service instances offering the same
+ * service, e.g. the endpoints returned by a Search Service request, based on
+ * their observed performance. For each endpoint, an exponentially weighted
+ * moving average (EWMA) of the latency and the error rate is kept, along with
+ * the number of requests in flight. The latency average is peak-sensitive,
+ * i.e. any slower response is taken into account immediately, while faster
+ * ones are only gradually.
+ * <p/>
+ * Each request is routed using the power-of-two-choices algorithm, i.e. two
+ * of the available endpoints are picked at random and the one with the lower
+ * cost is used. This moves the traffic away from the slow, failing or
+ * overloaded endpoints, without herding all requests onto a single one. The
+ * statistics are fed by the actual requests, while the endpoints that have
+ * not been used recently are also probed in the background through the Ping
+ * interface, bypassing any response cache, so that their statistics remain
+ * current. Endpoints not observed yet are assumed to perform like the median
+ * of the observed ones.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomLoadBalancer {
+
+    /**
+     * The default decay time of the moving averages.
+     */
+    public static final Duration DEFAULT_DECAY = Duration.ofSeconds(10);
+
+    /**
+     * The default interval of the background Ping probes.
+     */
+    public static final Duration DEFAULT_PROBE_INTERVAL = Duration.ofSeconds(30);
+
+    /**
+     * The cost multiplier applied for an error rate of 100%.
+     */
+    private static final double ERROR_PENALTY = 100.0;
+
+    /**
+     * The number of probe intervals after which unused endpoints are dropped.
+     */
+    private static final int IDLE_PROBE_INTERVALS = 10;
+
+    /**
+     * The maximum number of concurrent background probes.
+     */
+    private static final int PROBE_CONCURRENCY = 8;
+
+    /**
+     * The Class Logger.
+     */
+    private static final Log log = LogFactory.getLog(SecomLoadBalancer.class);
+
+    // Class Variables
+    private final Function<URL, SecomClient> clientResolver;
+    private final long decayNanos;
+    private final long probeIntervalNanos;
+    private final Map<String, Endpoint> endpoints;
+    private final Disposable probeSubscription;
+
+    /**
+     * The SECOM Load Balancer Constructor.
+     *
+     * @param clientResolver    the function resolving the SECOM clients of the endpoints
+     * @param decay             the decay time of the moving averages
+     * @param probeInterval     the interval of the background Ping probes, or null to disable them
+     */
+    public SecomLoadBalancer(Function<URL, SecomClient> clientResolver, Duration decay, Duration probeInterval) {
+        this.clientResolver = Objects.requireNonNull(clientResolver);
+        this.decayNanos = Optional.ofNullable(decay).filter(d -> !d.isNegative() && !d.isZero()).orElse(DEFAULT_DECAY).toNanos();
+        this.endpoints = new ConcurrentHashMap<>();
+
+        // Probe the idle endpoints periodically, if required
+        final Optional<Duration> probing = Optional.ofNullable(probeInterval).filter(d -> !d.isNegative() && !d.isZero());
+        this.probeIntervalNanos = probing.map(Duration::toNanos).orElse(0L);
+        this.probeSubscription = probing
+                .map(interval -> Schedulers.parallel().schedulePeriodically(this::probe, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS))
+                .orElse(null);
+    }
+
+    /**
+     * Creates a new SECOM load balancer based on the provided SECOM client
+     * configuration properties, using the provided SECOM client factory to
+     * access the endpoints.
+     *
+     * @param clientFactory the SECOM client factory
+     * @param config        the SECOM client configuration properties
+     * @return the SECOM load balancer
+     */
+    public static SecomLoadBalancer fromConfig(SecomClientFactory clientFactory, SecomClientConfigProperties config) {
+        final Optional<SecomClientConfigProperties.LoadBalancer> properties = Optional.ofNullable(config).map(SecomClientConfigProperties::getLoadBalancer);
+        return new SecomLoadBalancer(clientFactory::getClient,
+                properties.map(SecomClientConfigProperties.LoadBalancer::getDecay).orElse(DEFAULT_DECAY),
+                properties.map(SecomClientConfigProperties.LoadBalancer::getProbeInterval).orElse(DEFAULT_PROBE_INTERVAL));
+    }
+
+    /**
+     * Returns the endpoint URLs of the provided search results, skipping
+     * any duplicate or invalid ones.
+     *
+     * @param searchObjectResults   the search results
+     * @return the endpoint URLs
+     */
+    public static List<URL> endpointsOf(List<SearchObjectResult> searchObjectResults) {
+        final Set<URL> urls = new LinkedHashSet<>();
+        Optional.ofNullable(searchObjectResults)
+                .orElse(Collections.emptyList())
+                .stream()
+                .filter(Objects::nonNull)
+                .map(SearchObjectResult::getEndpointUri)
+                .filter(Objects::nonNull)
+                .forEach(endpointUri -> {
+                    try {
+                        urls.add(URI.create(endpointUri).toURL());
+                    } catch (IllegalArgumentException | MalformedURLException ex) {
+                        log.debug("Skipping the invalid SECOM endpoint " + endpointUri);
+                    }
+                });
+        return new ArrayList<>(urls);
+    }
+
+    /**
+     * Selects the endpoint to be used out of the provided ones, using the
+     * power-of-two-choices algorithm.
+     *
+     * @param urls  the available endpoint URLs
+     * @return the selected endpoint URL
+     */
+    public URL select(List<URL> urls) {
+        if(urls == null || urls.isEmpty()) {
+            throw new IllegalArgumentException("No SECOM endpoints available for selection");
+        }
+        if(urls.size() == 1) {
+            return urls.get(0);
+        }
+
+        // Pick two distinct endpoints at random and keep the cheapest one
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int first = random.nextInt(urls.size());
+        final int second = (first + 1 + random.nextInt(urls.size() - 1)) % urls.size();
+        final long now = System.nanoTime();
+        final double seedLatency = this.seedLatency(urls, now);
+        final double firstCost = this.endpoint(urls.get(first)).cost(now, this.decayNanos, seedLatency);
+        final double secondCost = this.endpoint(urls.get(second)).cost(now, this.decayNanos, seedLatency);
+        return urls.get(secondCost < firstCost ? second : first);
+    }
+
+    /**
+     * Performs the provided SECOM call on the best of the provided endpoints,
+     * recording its latency and outcome onto the endpoint statistics. Client
+     * errors (4xx) are not attributed to the endpoint.
+     *
+     * @param urls  the available endpoint URLs
+     * @param call  the SECOM call to be performed
+     * @return the mono of the call result
+     * @param <T> the class of the call result
+     */
+    public <T> Mono<T> execute(List<URL> urls, Function<SecomClient, Mono<T>> call) {
+        return Mono.defer(() -> {
+            final URL url = this.select(urls);
+            final Endpoint endpoint = this.endpoint(url);
+            endpoint.lastUsed = System.nanoTime();
+            endpoint.inFlight.incrementAndGet();
+            final long start = System.nanoTime();
+            return Mono.defer(() -> call.apply(this.clientResolver.apply(url)))
+                    .doOnSuccess(result -> endpoint.observe(System.nanoTime() - start, false, this.decayNanos))
+                    .doOnError(ex -> endpoint.observe(System.nanoTime() - start, !isClientError(ex), this.decayNanos))
+                    .doFinally(signal -> endpoint.inFlight.decrementAndGet());
+        });
+    }
+
+    /**
+     * Returns the current statistics of the provided endpoint, if it has
+     * been used.
+     *
+     * @param url   the endpoint URL
+     * @return the endpoint statistics
+     */
+    public Optional<Statistics> getStatistics(URL url) {
+        return Optional.ofNullable(url)
+                .map(URL::toString)
+                .map(this.endpoints::get)
+                .map(Endpoint::statistics);
+    }
+
+    /**
+     * Stops the background probing of the endpoints.
+     */
+    public void dispose() {
+        Optional.ofNullable(this.probeSubscription).ifPresent(Disposable::dispose);
+    }
+
+    /**
+     * Returns the tracked endpoint of the provided URL, creating it if
+     * required.
+     *
+     * @param url   the endpoint URL
+     * @return the tracked endpoint
+     */
+    private Endpoint endpoint(URL url) {
+        return this.endpoints.computeIfAbsent(url.toString(), key -> new Endpoint(url));
+    }
+
+    /**
+     * Returns the latency assumed for the endpoints not observed yet, i.e. the
+     * median of the current latency averages of the observed ones out of the
+     * provided endpoints. If none has been observed, a nominal latency is
+     * returned, so that the requests in flight are still taken into account.
+     *
+     * @param urls  the available endpoint URLs
+     * @param now   the current time in nanoseconds
+     * @return the assumed latency in nanoseconds
+     */
+    private double seedLatency(List<URL> urls, long now) {
+        final double[] latencies = urls.stream()
+                .map(URL::toString)
+                .map(this.endpoints::get)
+                .filter(Objects::nonNull)
+                .mapToDouble(endpoint -> endpoint.currentLatency(now, this.decayNanos))
+                .filter(latency -> latency > 0)
+                .sorted()
+                .toArray();
+        return latencies.length > 0 ? latencies[latencies.length / 2] : 1.0;
+    }
+
+    /**
+     * Probes the endpoints that have not been observed for a probe interval
+     * through the Ping interface, and drops the ones that have not been used
+     * for a number of probe intervals. The probes bypass any response cache,
+     * since a cached response says nothing about the endpoint latency.
+     */
+    private void probe() {
+        final long now = System.nanoTime();
+        this.endpoints.values().removeIf(endpoint -> now - endpoint.lastUsed > IDLE_PROBE_INTERVALS * this.probeIntervalNanos);
+        Flux.fromIterable(new ArrayList<>(this.endpoints.values()))
+                .filter(endpoint -> endpoint.idleSince(now) >= this.probeIntervalNanos)
+                .flatMap(endpoint -> {
+                    final long start = System.nanoTime();
+                    return Mono.defer(() -> this.clientResolver.apply(endpoint.url).pingUncachedAsync())
+                            .doOnSuccess(response -> endpoint.observe(System.nanoTime() - start, false, this.decayNanos))
+                            .doOnError(ex -> endpoint.observe(System.nanoTime() - start, !isClientError(ex), this.decayNanos))
+                            .onErrorResume(ex -> Mono.empty());
+                }, PROBE_CONCURRENCY)
+                .subscribe();
+    }
+
+    /**
+     * Checks whether the provided error is a client error (4xx), which
+     * should not be attributed to the endpoint.
+     *
+     * @param ex    the error
+     * @return whether this is a client error
+     */
+    private static boolean isClientError(Throwable ex) {
+        return ex instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is4xxClientError();
+    }
+
+    /**
+     * The statistics of an endpoint.
+     *
+     * @param latency   the moving average of the latency
+     * @param errorRate the moving average of the error rate
+     * @param inFlight  the number of requests in flight
+     */
+    public record Statistics(Duration latency, double errorRate, int inFlight) {}
+
+    /**
+     * A tracked endpoint, holding its statistics.
+     */
+    private static class Endpoint {
+
+        // Class Variables
+        private final URL url;
+        private final AtomicInteger inFlight;
+        private volatile long lastUsed;
+        private double latency;
+        private double errorRate;
+        private long lastObserved;
+        private boolean observed;
+
+        /**
+         * The Endpoint Constructor.
+         *
+         * @param url   the endpoint URL
+         */
+        Endpoint(URL url) {
+            this.url = url;
+            this.inFlight = new AtomicInteger();
+            this.lastUsed = System.nanoTime();
+        }
+
+        /**
+         * Records the latency and outcome of a request. The weight of the new
+         * observation depends on the time elapsed since the previous one, and
+         * any latency above the current average is taken as is.
+         *
+         * @param latencyNanos  the request latency in nanoseconds
+         * @param failed        whether the request failed
+         * @param decayNanos    the decay time of the moving averages in nanoseconds
+         */
+        synchronized void observe(long latencyNanos, boolean failed, long decayNanos) {
+            final long now = System.nanoTime();
+            if(!this.observed) {
+                this.latency = latencyNanos;
+                this.errorRate = failed ? 1.0 : 0.0;
+                this.observed = true;
+            } else {
+                final double weight = Math.exp(-Math.max(0, now - this.lastObserved) / (double) decayNanos);
+                this.latency = latencyNanos > this.latency ? latencyNanos : this.latency * weight + latencyNanos * (1 - weight);
+                this.errorRate = this.errorRate * weight + (failed ? 1.0 : 0.0) * (1 - weight);
+            }
+            this.lastObserved = now;
+        }
+
+        /**
+         * Returns the cost of routing a request to this endpoint, based on
+         * its latency, error rate and requests in flight. Endpoints not yet
+         * observed are costed with the provided seed latency, so that they
+         * are comparable with the observed ones.
+         *
+         * @param now           the current time in nanoseconds
+         * @param decayNanos    the decay time of the moving averages in nanoseconds
+         * @param seedLatency   the latency assumed if not yet observed, in nanoseconds
+         * @return the endpoint cost
+         */
+        synchronized double cost(long now, long decayNanos, double seedLatency) {
+            if(!this.observed) {
+                return seedLatency * (this.inFlight.get() + 1);
+            }
+            // Let the averages decay towards zero while idle, so that
+            // previously penalised endpoints are eventually retried
+            final double weight = Math.exp(-Math.max(0, now - this.lastObserved) / (double) decayNanos);
+            return this.latency * weight * (this.inFlight.get() + 1) * (1 + ERROR_PENALTY * this.errorRate * weight);
+        }
+
+        /**
+         * Returns the current latency average of this endpoint, decayed just
+         * like in its cost, or zero if not yet observed.
+         *
+         * @param now           the current time in nanoseconds
+         * @param decayNanos    the decay time of the moving averages in nanoseconds
+         * @return the current latency average in nanoseconds
+         */
+        synchronized double currentLatency(long now, long decayNanos) {
+            if(!this.observed) {
+                return 0;
+            }
+            return this.latency * Math.exp(-Math.max(0, now - this.lastObserved) / (double) decayNanos);
+        }
+
+        /**
+         * Returns the time elapsed since the last observation of the endpoint.
+         *
+         * @param now   the current time in nanoseconds
+         * @return the idle time in nanoseconds
+         */
+        synchronized long idleSince(long now) {
+            return this.observed ? now - this.lastObserved : Long.MAX_VALUE;
+        }
+
+        /**
+         * Returns the current statistics of the endpoint.
+         *
+         * @return the endpoint statistics
+         */
+        synchronized Statistics statistics() {
+            return new Statistics(Duration.ofNanos((long) this.latency), this.errorRate, this.inFlight.get());
+        }
+
+    }
+
+}
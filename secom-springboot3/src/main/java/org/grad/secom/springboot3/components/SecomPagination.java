@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.PaginationObject;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The SECOM Pagination Class.
+ * <p/>
+ * A utility class that allows the paginated SECOM interfaces, i.e. the Get,
+ * Get Summary and Search Service ones, to be consumed as a single continuous
+ * sequence of items, without the callers having to loop over the pages.
+ * <p/>
+ * While the items of one page are being consumed, the following pages are
+ * already being requested, up to a configurable prefetch depth. This hides
+ * most of the round-trip time of each page request on high-latency links.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public final class SecomPagination {
+
+    /**
+     * The default page size used when paginating.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * The default number of pages requested ahead of the consumer.
+     */
+    public static final int DEFAULT_PREFETCH = 2;
+
+    /**
+     * The default maximum number of concurrent page requests in bulk.
+     */
+    public static final int DEFAULT_BULK_CONCURRENCY = 8;
+
+    /**
+     * The default number of retries for each page request in bulk.
+     */
+    public static final int DEFAULT_BULK_RETRIES = 2;
+
+    /**
+     * The default initial backoff between the page request retries.
+     */
+    public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(200);
+
+    /**
+     * Private constructor to prevent instantiation.
+     */
+    private SecomPagination() {
+    }
+
+    /**
+     * Paginates over a SECOM interface, returning all the items of all pages
+     * as a single flux. The first page is requested on subscription, and if
+     * it contains the total number of items, exactly the required number of
+     * pages is requested thereafter. Otherwise, pages are requested until one
+     * with fewer items than the page size is received.
+     *
+     * @param firstPage             the number of the first page
+     * @param pageSize              the page size
+     * @param prefetch              the number of pages requested ahead of the consumer
+     * @param pageFetcher           the function retrieving each page by its number
+     * @param itemsExtractor        the function extracting the items of a page
+     * @param paginationExtractor   the function extracting the pagination of a page
+     * @return the flux of all the paginated items
+     * @param <R> the class of the page responses
+     * @param <T> the class of the items
+     */
+    public static <R, T> Flux<T> paginate(int firstPage,
+                                          int pageSize,
+                                          int prefetch,
+                                          Function<Integer, Mono<R>> pageFetcher,
+                                          Function<R, List<T>> itemsExtractor,
+                                          Function<R, PaginationObject> paginationExtractor) {
+        final Function<R, List<T>> items = response -> Optional.ofNullable(response)
+                .map(itemsExtractor)
+                .orElse(Collections.emptyList());
+        return pageFetcher.apply(firstPage)
+                .flatMapMany(first -> {
+                    final List<T> firstItems = items.apply(first);
+                    final Optional<Integer> totalPages = getTotalPages(paginationExtractor.apply(first), pageSize);
+
+                    // Figure out which pages are still to be requested
+                    final Flux<Integer> remainingPages;
+                    if(totalPages.isPresent()) {
+                        remainingPages = Flux.range(firstPage + 1, Math.max(0, totalPages.get() - 1));
+                    } else if(firstItems.size() < pageSize) {
+                        remainingPages = Flux.empty();
+                    } else {
+                        remainingPages = Flux.range(firstPage + 1, Integer.MAX_VALUE - firstPage - 1);
+                    }
+
+                    // Request them ahead of the consumer, but emit them in order
+                    Flux<List<T>> pages = remainingPages.flatMapSequential(page -> pageFetcher.apply(page)
+                            .map(items)
+                            .defaultIfEmpty(Collections.emptyList()), Math.max(1, prefetch), 1);
+                    if(totalPages.isEmpty()) {
+                        pages = pages.takeUntil(pageItems -> pageItems.size() < pageSize);
+                    }
+                    return Flux.just(firstItems)
+                            .concatWith(pages);
+                })
+                .flatMapIterable(Function.identity());
+    }
+
+    /**
+     * Fetches all the items of a paginated SECOM interface in bulk. The first
+     * page is requested in order to learn the total number of items, and
+     * then all the remaining pages are requested concurrently, up to the
+     * provided concurrency limit. The pages are merged back in order. Each
+     * page request is retried according to the provided retry specification,
+     * while the whole operation has to complete within the provided deadline.
+     * <p/>
+     * If the first page does not contain the total number of items, the
+     * remaining pages are requested through the {@link #paginate} operation,
+     * using the concurrency limit as the prefetch depth.
+     *
+     * @param firstPage             the number of the first page
+     * @param pageSize              the page size
+     * @param concurrency           the maximum number of concurrent page requests
+     * @param retry                 the retry specification for each page request, if any
+     * @param deadline              the deadline for the whole operation, if any
+     * @param pageFetcher           the function retrieving each page by its number
+     * @param itemsExtractor        the function extracting the items of a page
+     * @param paginationExtractor   the function extracting the pagination of a page
+     * @return the mono of the list of all the paginated items
+     * @param <R> the class of the page responses
+     * @param <T> the class of the items
+     */
+    public static <R, T> Mono<List<T>> fetchAll(int firstPage,
+                                                int pageSize,
+                                                int concurrency,
+                                                Retry retry,
+                                                Duration deadline,
+                                                Function<Integer, Mono<R>> pageFetcher,
+                                                Function<R, List<T>> itemsExtractor,
+                                                Function<R, PaginationObject> paginationExtractor) {
+        final Function<Integer, Mono<R>> retryingPageFetcher = Optional.ofNullable(retry)
+                .<Function<Integer, Mono<R>>>map(r -> page -> pageFetcher.apply(page).retryWhen(r))
+                .orElse(pageFetcher);
+        final Function<R, List<T>> items = response -> Optional.ofNullable(response)
+                .map(itemsExtractor)
+                .orElse(Collections.emptyList());
+        final Mono<List<T>> result = retryingPageFetcher.apply(firstPage)
+                .flatMap(first -> {
+                    final Optional<Integer> totalPages = getTotalPages(paginationExtractor.apply(first), pageSize);
+
+                    // Without the total number of items, just paginate normally
+                    if(totalPages.isEmpty()) {
+                        return paginate(firstPage, pageSize, concurrency,
+                                page -> page == firstPage ? Mono.just(first) : retryingPageFetcher.apply(page),
+                                itemsExtractor,
+                                paginationExtractor)
+                                .collectList();
+                    }
+
+                    // Otherwise request all remaining pages concurrently
+                    return Flux.range(firstPage + 1, Math.max(0, totalPages.get() - 1))
+                            .flatMapSequential(page -> retryingPageFetcher.apply(page)
+                                    .map(items)
+                                    .defaultIfEmpty(Collections.emptyList()), Math.max(1, concurrency), 1)
+                            .startWith(items.apply(first))
+                            .flatMapIterable(Function.identity())
+                            .collectList();
+                });
+        return Optional.ofNullable(deadline)
+                .map(result::timeout)
+                .orElse(result);
+    }
+
+    /**
+     * Calculates the total number of pages based on the provided pagination
+     * object. If this is not available or does not contain the total number
+     * of items, an empty optional is returned.
+     *
+     * @param pagination    the pagination object
+     * @param pageSize      the requested page size
+     * @return the total number of pages, if known
+     */
+    public static Optional<Integer> getTotalPages(PaginationObject pagination, int pageSize) {
+        return Optional.ofNullable(pagination)
+                .filter(p -> Objects.nonNull(p.getTotalItems()))
+                .map(p -> {
+                    final int itemsPerPage = Optional.ofNullable(p.getMaxItemsPerPage())
+                            .filter(size -> size > 0)
+                            .map(size -> Math.min(size, pageSize))
+                            .orElse(pageSize);
+                    return (int) ((p.getTotalItems() + (long) itemsPerPage - 1) / itemsPerPage);
+                });
+    }
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+/**
+ * The SECOM Progress Listener Interface.
+ * <p/>
+ * Receives progress notifications for long SECOM transfers, such as the
+ * streaming downloads of linked objects through the Get By Link interface.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@FunctionalInterface
+public interface SecomProgressListener {
+
+    /**
+     * Called every time a new chunk of data has been transferred.
+     *
+     * @param transferred   the number of bytes transferred so far
+     * @param total         the total number of bytes, or -1 if unknown
+     */
+    void onProgress(long transferred, long total);
+
+}
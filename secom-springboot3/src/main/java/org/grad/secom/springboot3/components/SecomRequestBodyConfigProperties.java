@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.springboot3.components;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+/**
+ * The SECOM Request Body Configuration properties.
+ * <p/>
+ * The bodies of the incoming SECOM requests are only read up to a maximum
+ * size, after which the request is rejected. A default maximum size applies
+ * to all SECOM interfaces, which can be overridden per interface, using
+ * either the interface name (e.g. "upload" or "upload-link") or its path
+ * (e.g. "[/v1/object/link]").
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+@ConfigurationProperties(prefix = "secom.request-body")
+public class SecomRequestBodyConfigProperties {
+
+    // Configuration Variables
+    private Integer maxSize;
+    private Map<String, Integer> interfaceMaxSizes;
+
+    /**
+     * Gets max size.
+     *
+     * @return the max size
+     */
+    public Integer getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Sets max size.
+     *
+     * @param maxSize the max size
+     */
+    public void setMaxSize(Integer maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets interface max sizes.
+     *
+     * @return the interface max sizes
+     */
+    public Map<String, Integer> getInterfaceMaxSizes() {
+        return interfaceMaxSizes;
+    }
+
+    /**
+     * Sets interface max sizes.
+     *
+     * @param interfaceMaxSizes the interface max sizes
+     */
+    public void setInterfaceMaxSizes(Map<String, Integer> interfaceMaxSizes) {
+        this.interfaceMaxSizes = interfaceMaxSizes;
+    }
+
+}
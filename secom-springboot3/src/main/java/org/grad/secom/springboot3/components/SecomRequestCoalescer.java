@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.*;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * The SECOM Request Coalescer Class.
+ * <p/>
+ * When multiple identical requests are issued concurrently to the same SECOM
+ * service, only the first one is actually sent. All others subscribe to the
+ * same in-flight request and share its processed result, i.e. after the data
+ * have been decoded, decompressed and decrypted. Once the request completes,
+ * it is removed so that subsequent calls will hit the service once more.
+ * <p/>
+ * Since the SECOM processing pipeline, as well as the callers, may mutate the
+ * response objects, each subscriber receives its own copy of the shared
+ * result, using the provided copy operator. The in-flight request is only
+ * cancelled once all of its subscribers have cancelled.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomRequestCoalescer {
+
+    // Class Variables
+    private final Map<String, Mono<?>> inFlight;
+
+    /**
+     * The SECOM Request Coalescer Constructor.
+     */
+    public SecomRequestCoalescer() {
+        this.inFlight = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the number of the requests currently in-flight.
+     *
+     * @return the number of the in-flight requests
+     */
+    public int getInFlightCount() {
+        return this.inFlight.size();
+    }
+
+    /**
+     * Coalesces the request identified by the provided key with any identical
+     * request already in-flight. If no such request exists, a new one will be
+     * created through the provided loader.
+     *
+     * @param key       the key uniquely identifying the request
+     * @param loader    the loader performing the actual request
+     * @param copier    the operator copying the shared result for each subscriber
+     * @return the mono of the coalesced request result
+     * @param <T> the type of the request result
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> coalesce(String key, Supplier<Mono<T>> loader, UnaryOperator<T> copier) {
+        Objects.requireNonNull(key);
+        return Mono.defer(() -> {
+            final AtomicReference<Mono<T>> self = new AtomicReference<>();
+            final Mono<T> request = Mono.defer(loader)
+                    .doFinally(signal -> this.inFlight.remove(key, self.get()))
+                    .flux()
+                    .publish()
+                    .refCount()
+                    .singleOrEmpty();
+            self.set(request);
+            final Mono<T> shared = Optional.ofNullable((Mono<T>) this.inFlight.putIfAbsent(key, request))
+                    .orElse(request);
+            return shared.map(copier);
+        });
+    }
+
+    /**
+     * Creates a copy of the provided Get response object, so that it can be
+     * handed to a single subscriber. The data payloads are also copied, since
+     * these are replaced or modified during the SECOM processing.
+     *
+     * @param response  the Get response object
+     * @return the copy of the Get response object
+     */
+    public static GetResponseObject copyOf(GetResponseObject response) {
+        final GetResponseObject copy = new GetResponseObject();
+        copy.setDataResponseObject(Optional.ofNullable(response.getDataResponseObject())
+                .map(list -> list.stream()
+                        .map(SecomRequestCoalescer::copyOf)
+                        .collect(Collectors.toList()))
+                .orElse(null));
+        copy.setPagination(copyOf(response.getPagination()));
+        copy.setResponseText(response.getResponseText());
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the provided Get Summary response object, so that it
+     * can be handed to a single subscriber.
+     *
+     * @param response  the Get Summary response object
+     * @return the copy of the Get Summary response object
+     */
+    public static GetSummaryResponseObject copyOf(GetSummaryResponseObject response) {
+        final GetSummaryResponseObject copy = new GetSummaryResponseObject();
+        copy.setSummaryObject(Optional.ofNullable(response.getSummaryObject())
+                .map(list -> list.stream()
+                        .map(SecomRequestCoalescer::copyOf)
+                        .collect(Collectors.toList()))
+                .orElse(null));
+        copy.setPagination(copyOf(response.getPagination()));
+        copy.setResponseText(response.getResponseText());
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the provided data response object, including its data
+     * payload and exchange metadata.
+     *
+     * @param dataResponseObject    the data response object
+     * @return the copy of the data response object
+     */
+    private static DataResponseObject copyOf(DataResponseObject dataResponseObject) {
+        if(dataResponseObject == null) {
+            return null;
+        }
+        final DataResponseObject copy = new DataResponseObject();
+        copy.setData(Optional.ofNullable(dataResponseObject.getData()).map(byte[]::clone).orElse(null));
+        copy.setExchangeMetadata(copyOf(dataResponseObject.getExchangeMetadata()));
+        copy.setAckRequest(dataResponseObject.getAckRequest());
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the provided exchange metadata object.
+     *
+     * @param exchangeMetadata  the exchange metadata object
+     * @return the copy of the exchange metadata object
+     */
+    private static SECOM_ExchangeMetadataObject copyOf(SECOM_ExchangeMetadataObject exchangeMetadata) {
+        if(exchangeMetadata == null) {
+            return null;
+        }
+        final SECOM_ExchangeMetadataObject copy = new SECOM_ExchangeMetadataObject();
+        copy.setDataProtection(exchangeMetadata.getDataProtection());
+        copy.setProtectionScheme(exchangeMetadata.getProtectionScheme());
+        copy.setDigitalSignatureReference(exchangeMetadata.getDigitalSignatureReference());
+        copy.setDigitalSignatureValue(Optional.ofNullable(exchangeMetadata.getDigitalSignatureValue())
+                .map(value -> {
+                    final DigitalSignatureValue valueCopy = new DigitalSignatureValue();
+                    valueCopy.setPublicRootCertificateThumbprint(value.getPublicRootCertificateThumbprint());
+                    valueCopy.setPublicCertificate(value.getPublicCertificate());
+                    valueCopy.setDigitalSignature(value.getDigitalSignature());
+                    return valueCopy;
+                })
+                .orElse(null));
+        copy.setCompressionFlag(exchangeMetadata.getCompressionFlag());
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the provided summary object.
+     *
+     * @param summaryObject the summary object
+     * @return the copy of the summary object
+     */
+    private static SummaryObject copyOf(SummaryObject summaryObject) {
+        if(summaryObject == null) {
+            return null;
+        }
+        final SummaryObject copy = new SummaryObject();
+        copy.setDataReference(summaryObject.getDataReference());
+        copy.setDataProtection(summaryObject.getDataProtection());
+        copy.setDataCompression(summaryObject.getDataCompression());
+        copy.setContainerType(summaryObject.getContainerType());
+        copy.setDataProductType(summaryObject.getDataProductType());
+        copy.setInfo_identifier(summaryObject.getInfo_identifier());
+        copy.setInfo_name(summaryObject.getInfo_name());
+        copy.setInfo_status(summaryObject.getInfo_status());
+        copy.setInfo_description(summaryObject.getInfo_description());
+        copy.setInfo_lastModifiedDate(summaryObject.getInfo_lastModifiedDate());
+        copy.setInfo_productVersion(summaryObject.getInfo_productVersion());
+        copy.setInfo_size(summaryObject.getInfo_size());
+        return copy;
+    }
+
+    /**
+     * Creates a copy of the provided pagination object.
+     *
+     * @param pagination    the pagination object
+     * @return the copy of the pagination object
+     */
+    private static PaginationObject copyOf(PaginationObject pagination) {
+        if(pagination == null) {
+            return null;
+        }
+        return new PaginationObject(pagination.getTotalItems(), pagination.getMaxItemsPerPage());
+    }
+
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.exceptions.SecomClientException;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * The SECOM Resilience Policy Class.
+ * <p/>
+ * Protects the SECOM clients against slow or failing SECOM services, so that
+ * the tail latency of the callers remains bounded. The policy is applied as
+ * a web-client filter onto every SECOM exchange and supports:
+ * <ul>
+ *     <li>Per-interface timeouts for receiving the responses.</li>
+ *     <li>Retries with jittered exponential backoff, limited by a
+ *     {@link SecomRetryBudget} shared by all clients. Requests to idempotent
+ *     interfaces are retried on server errors, timeouts and connection
+ *     failures, while all other requests are only retried if the
+ *     connection could not be established at all.</li>
+ *     <li>Hedged requests for the idempotent Get, Get Summary, Capability and
+ *     Ping interfaces, sent to an alternate endpoint if the primary one has
+ *     not responded within the hedging delay. The body of the losing
+ *     response is always released.</li>
+ *     <li>A {@link SecomCircuitBreaker} per endpoint, failing fast with a
+ *     {@link SecomClientException} while an endpoint is unhealthy.</li>
+ * </ul>
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomResiliencePolicy {
+
+    /**
+     * The default number of retries.
+     */
+    public static final int DEFAULT_MAX_RETRIES = 2;
+
+    /**
+     * The default initial backoff between retries.
+     */
+    public static final Duration DEFAULT_RETRY_BACKOFF = Duration.ofMillis(100);
+
+    /**
+     * The default jitter factor of the retry backoff.
+     */
+    public static final double DEFAULT_RETRY_JITTER = 0.5;
+
+    /**
+     * The default number of consecutive failures that open a circuit.
+     */
+    public static final int DEFAULT_FAILURE_THRESHOLD = 5;
+
+    /**
+     * The default duration a circuit remains open.
+     */
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+
+    /**
+     * The interfaces for which hedged requests are allowed.
+     */
+    public static final Set<String> HEDGED_INTERFACES = Set.of("get", "getSummary", "capability", "ping");
+
+    /**
+     * The interfaces that are safe to retry even though they are not using
+     * the GET method.
+     */
+    public static final Set<String> IDEMPOTENT_INTERFACES = Set.of("searchService");
+
+    // Class Variables
+    private final SecomRetryBudget retryBudget;
+    private final Map<String, SecomCircuitBreaker> circuitBreakers;
+    private Map<String, Duration> interfaceTimeouts;
+    private int maxRetries;
+    private Duration retryBackoff;
+    private double retryJitter;
+    private int failureThreshold;
+    private Duration openDuration;
+    private Duration hedgeDelay;
+
+    /**
+     * The SECOM Resilience Policy Constructor, using a new retry budget.
+     */
+    public SecomResiliencePolicy() {
+        this(new SecomRetryBudget());
+    }
+
+    /**
+     * The SECOM Resilience Policy Constructor.
+     *
+     * @param retryBudget the retry budget to be used
+     */
+    public SecomResiliencePolicy(SecomRetryBudget retryBudget) {
+        this.retryBudget = Objects.requireNonNull(retryBudget);
+        this.circuitBreakers = new ConcurrentHashMap<>();
+        this.interfaceTimeouts = Collections.emptyMap();
+        this.maxRetries = DEFAULT_MAX_RETRIES;
+        this.retryBackoff = DEFAULT_RETRY_BACKOFF;
+        this.retryJitter = DEFAULT_RETRY_JITTER;
+        this.failureThreshold = DEFAULT_FAILURE_THRESHOLD;
+        this.openDuration = DEFAULT_OPEN_DURATION;
+    }
+
+    /**
+     * Creates a new SECOM resilience policy based on the provided SECOM client
+     * configuration properties. If none of the resilience properties are
+     * configured, then no policy will be created at all.
+     *
+     * @param config    the SECOM client configuration properties
+     * @return the SECOM resilience policy, if configured
+     */
+    public static Optional<SecomResiliencePolicy> fromConfig(SecomClientConfigProperties config) {
+        return Optional.ofNullable(config)
+                .map(SecomClientConfigProperties::getResilience)
+                .filter(c -> Objects.nonNull(c.getInterfaceTimeouts())
+                        || Objects.nonNull(c.getRetries())
+                        || Objects.nonNull(c.getRetryBudgetRatio())
+                        || Objects.nonNull(c.getCircuitBreakerFailureThreshold())
+                        || Objects.nonNull(c.getHedgeDelay()))
+                .map(c -> {
+                    final SecomResiliencePolicy policy = new SecomResiliencePolicy(Optional.ofNullable(c.getRetryBudgetRatio())
+                            .map(ratio -> new SecomRetryBudget(ratio, SecomRetryBudget.DEFAULT_RESERVE, SecomRetryBudget.DEFAULT_MAX_TOKENS))
+                            .orElseGet(SecomRetryBudget::new));
+                    policy.setInterfaceTimeouts(c.getInterfaceTimeouts());
+                    Optional.ofNullable(c.getRetries()).ifPresent(policy::setMaxRetries);
+                    Optional.ofNullable(c.getRetryBackoff()).ifPresent(policy::setRetryBackoff);
+                    Optional.ofNullable(c.getRetryJitter()).ifPresent(policy::setRetryJitter);
+                    Optional.ofNullable(c.getCircuitBreakerFailureThreshold()).ifPresent(policy::setFailureThreshold);
+                    Optional.ofNullable(c.getCircuitBreakerOpenDuration()).ifPresent(policy::setOpenDuration);
+                    policy.setHedgeDelay(c.getHedgeDelay());
+                    return policy;
+                });
+    }
+
+    /**
+     * Gets retry budget.
+     *
+     * @return the retry budget
+     */
+    public SecomRetryBudget getRetryBudget() {
+        return retryBudget;
+    }
+
+    /**
+     * Gets interface timeouts.
+     *
+     * @return the interface timeouts
+     */
+    public Map<String, Duration> getInterfaceTimeouts() {
+        return interfaceTimeouts;
+    }
+
+    /**
+     * Sets interface timeouts, mapped by the SECOM interface names, e.g.
+     * "get", "getSummary" or "searchService". Interfaces without a timeout
+     * are only limited by the response timeout of the client.
+     *
+     * @param interfaceTimeouts the interface timeouts
+     */
+    public void setInterfaceTimeouts(Map<String, Duration> interfaceTimeouts) {
+        this.interfaceTimeouts = Optional.ofNullable(interfaceTimeouts)
+                .orElse(Collections.emptyMap())
+                .entrySet()
+                .stream()
+                .collect(Collectors.toMap(e -> SecomSampledRequestLoggingFilter.normaliseInterfaceName(e.getKey()), Map.Entry::getValue));
+    }
+
+    /**
+     * Gets max retries.
+     *
+     * @return the max retries
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Sets max retries.
+     *
+     * @param maxRetries the max retries
+     */
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = Math.max(0, maxRetries);
+    }
+
+    /**
+     * Gets retry backoff.
+     *
+     * @return the retry backoff
+     */
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    /**
+     * Sets retry backoff.
+     *
+     * @param retryBackoff the retry backoff
+     */
+    public void setRetryBackoff(Duration retryBackoff) {
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Gets retry jitter.
+     *
+     * @return the retry jitter
+     */
+    public double getRetryJitter() {
+        return retryJitter;
+    }
+
+    /**
+     * Sets retry jitter.
+     *
+     * @param retryJitter the retry jitter
+     */
+    public void setRetryJitter(double retryJitter) {
+        this.retryJitter = retryJitter;
+    }
+
+    /**
+     * Gets failure threshold.
+     *
+     * @return the failure threshold
+     */
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Sets failure threshold. This only applies to the circuit breakers
+     * created after the change.
+     *
+     * @param failureThreshold the failure threshold
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Gets open duration.
+     *
+     * @return the open duration
+     */
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    /**
+     * Sets open duration. This only applies to the circuit breakers created
+     * after the change.
+     *
+     * @param openDuration the open duration
+     */
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Gets hedge delay.
+     *
+     * @return the hedge delay
+     */
+    public Duration getHedgeDelay() {
+        return hedgeDelay;
+    }
+
+    /**
+     * Sets hedge delay. This is the time to wait for a response from the
+     * primary endpoint before a hedged request is sent to an alternate one,
+     * or null to disable the hedged requests.
+     *
+     * @param hedgeDelay the hedge delay
+     */
+    public void setHedgeDelay(Duration hedgeDelay) {
+        this.hedgeDelay = hedgeDelay;
+    }
+
+    /**
+     * Returns the circuit breaker of the endpoint of the provided URL,
+     * creating it if it does not exist yet.
+     *
+     * @param url the request URL
+     * @return the circuit breaker of the endpoint
+     */
+    public SecomCircuitBreaker getCircuitBreaker(URI url) {
+        final String endpoint = url.getScheme() + "://" + url.getAuthority();
+        return this.circuitBreakers.computeIfAbsent(endpoint, key -> new SecomCircuitBreaker(this.failureThreshold, this.openDuration));
+    }
+
+    /**
+     * Performs the provided SECOM exchange under this policy.
+     *
+     * @param request       the client request
+     * @param next          the next exchange function
+     * @param alternates    the request URLs on the alternate endpoints, if any
+     * @return the mono of the client response
+     */
+    public Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, List<URI> alternates) {
+        final String interfaceName = SecomSampledRequestLoggingFilter.resolveInterfaceName(request.method().name(), request.url().getPath());
+        final boolean idempotent = HttpMethod.GET.equals(request.method()) || IDEMPOTENT_INTERFACES.contains(interfaceName);
+        final boolean hedged = this.hedgeDelay != null
+                && HttpMethod.GET.equals(request.method())
+                && HEDGED_INTERFACES.contains(interfaceName)
+                && !Optional.ofNullable(alternates).orElse(Collections.emptyList()).isEmpty();
+
+        // Each original request contributes to the retry budget
+        this.retryBudget.recordRequest();
+
+        // Prepare the attempt, hedged if possible
+        final Mono<ClientResponse> attempt = Mono.defer(() -> {
+            final Mono<ClientResponse> primary = this.attempt(request, next, interfaceName);
+            if(!hedged) {
+                return primary;
+            }
+            final Mono<ClientResponse> hedge = Mono.delay(this.hedgeDelay)
+                    .then(Mono.defer(() -> this.attempt(ClientRequest.from(request).url(alternates.get(0)).build(), next, interfaceName)));
+            // Only one response can win, the body of the other must be released
+            final AtomicBoolean decided = new AtomicBoolean();
+            return Mono.firstWithValue(this.claim(primary, decided), this.claim(hedge, decided))
+                    .doOnDiscard(ClientResponse.class, SecomResiliencePolicy::release)
+                    .onErrorMap(NoSuchElementException.class, ex -> Optional.ofNullable(ex.getCause()).orElse(ex));
+        });
+
+        // And retry if allowed
+        return attempt.retryWhen(Retry.backoff(this.maxRetries, this.retryBackoff)
+                .jitter(this.retryJitter)
+                .filter(ex -> this.isRetryable(ex, idempotent) && this.retryBudget.tryAcquire())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+    }
+
+    /**
+     * Claims the response of a hedged attempt. Only the first response to
+     * arrive is allowed through, while any later ones are released and
+     * completed empty, so that their connections are returned to the pool.
+     *
+     * @param attempt   the hedged attempt
+     * @param decided   whether a response has already been claimed
+     * @return the mono of the claimed client response
+     */
+    private Mono<ClientResponse> claim(Mono<ClientResponse> attempt, AtomicBoolean decided) {
+        return attempt.flatMap(response -> {
+            if(decided.compareAndSet(false, true)) {
+                return Mono.just(response);
+            }
+            release(response);
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Releases the body of a client response that will not be consumed.
+     *
+     * @param response the client response to be released
+     */
+    private static void release(ClientResponse response) {
+        response.releaseBody().subscribe();
+    }
+
+    /**
+     * Performs a single attempt of the provided exchange, guarded by the
+     * circuit breaker of the target endpoint and the interface timeout.
+     * Server errors are raised as exceptions, so that they can be retried.
+     *
+     * @param request       the client request
+     * @param next          the next exchange function
+     * @param interfaceName the SECOM interface name, if known
+     * @return the mono of the client response
+     */
+    protected Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, String interfaceName) {
+        final SecomCircuitBreaker circuitBreaker = this.getCircuitBreaker(request.url());
+        if(!circuitBreaker.tryAcquire()) {
+            return Mono.error(new SecomClientException(String.format("The circuit for %s is open", request.url().getAuthority())));
+        }
+
+        // Apply the interface timeout
+        Mono<ClientResponse> exchange = next.exchange(request);
+        final Duration timeout = Optional.ofNullable(interfaceName)
+                .map(SecomSampledRequestLoggingFilter::normaliseInterfaceName)
+                .map(this.interfaceTimeouts::get)
+                .orElse(null);
+        if(timeout != null) {
+            exchange = exchange.timeout(timeout);
+        }
+
+        // And record the outcome
+        return exchange
+                .flatMap(response -> {
+                    if(response.statusCode().is5xxServerError()) {
+                        circuitBreaker.onFailure();
+                        return response.createException().flatMap(Mono::error);
+                    }
+                    circuitBreaker.onSuccess();
+                    return Mono.just(response);
+                })
+                .doOnError(ex -> {
+                    if(!(ex instanceof WebClientResponseException)) {
+                        circuitBreaker.onFailure();
+                    }
+                })
+                .doOnCancel(circuitBreaker::onCancel);
+    }
+
+    /**
+     * Determines whether the provided error can be retried. Idempotent
+     * requests are retried on server errors, timeouts and connection
+     * failures, while all other requests are only retried if the connection
+     * could not be established, i.e. the request was never sent.
+     *
+     * @param ex            the error
+     * @param idempotent    whether the request is idempotent
+     * @return whether the error can be retried
+     */
+    protected boolean isRetryable(Throwable ex, boolean idempotent) {
+        if(ex instanceof WebClientRequestException && this.isConnectionFailure(ex)) {
+            return true;
+        }
+        if(!idempotent) {
+            return false;
+        }
+        return ex instanceof WebClientRequestException
+                || ex instanceof TimeoutException
+                || (ex instanceof WebClientResponseException responseException && responseException.getStatusCode().is5xxServerError());
+    }
+
+    /**
+     * Checks whether the provided error was caused by a failure to establish
+     * the connection.
+     *
+     * @param ex the error
+     * @return whether this is a connection failure
+     */
+    private boolean isConnectionFailure(Throwable ex) {
+        for(Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if(cause instanceof ConnectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.grad.secom.core.interfaces.AccessNotificationSecomInterface.ACCESS_NOTIFICATION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.AccessSecomInterface.ACCESS_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.AcknowledgementSecomInterface.ACKNOWLEDGMENT_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.CapabilitySecomInterface.CAPABILITY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.EncryptionKeyNotifySecomInterface.ENCRYPTION_KEY_NOTIFY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.EncryptionKeySecomInterface.ENCRYPTION_KEY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.GetByLinkSecomInterface.GET_BY_LINK_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.GetSecomInterface.GET_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.GetSummarySecomInterface.GET_SUMMARY_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.PingSecomInterface.PING_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.RemoveSubscriptionSecomInterface.REMOVE_SUBSCRIPTION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.SearchServiceSecomInterface.SEARCH_SERVICE_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.SubscriptionNotificationSecomInterface.SUBSCRIPTION_NOTIFICATION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.SubscriptionSecomInterface.SUBSCRIPTION_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadLinkSecomInterface.UPLOAD_LINK_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.UploadSecomInterface.UPLOAD_INTERFACE_PATH;
+
+/**
+ * The SECOM Sampled Request Logging Filter.
+ * <p/>
+ * A low-overhead alternative to the commons request logging filter. Only a
+ * sample of the incoming requests is logged, based on a sampling rate that
+ * can be configured per SECOM interface, while all failed requests are
+ * logged regardless. The complete request payload is only captured for the
+ * sampled requests, while for the rest only its first bytes, up to the
+ * maximum payload length, are kept aside in case the request fails. The
+ * request thread is only used to take a snapshot of the request, while the
+ * formatting and the actual logging take place asynchronously on a dedicated
+ * background thread.
+ * <p/>
+ * Instead of the raw payloads, the structured SECOM fields of interest,
+ * i.e. the transactionIdentifier and the dataReference, are logged. These
+ * are extracted from the complete captured payload with a streaming parser
+ * when the snapshot is taken, so that only the raw payload logged at the
+ * debug level is truncated to the maximum payload length. For the failed
+ * requests that were not sampled, only the fields that appear within the
+ * maximum payload length can be extracted.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomSampledRequestLoggingFilter extends OncePerRequestFilter {
+
+    /**
+     * The default sampling rate.
+     */
+    public static final double DEFAULT_SAMPLE_RATE = 0.01;
+
+    /**
+     * The default maximum captured payload length.
+     */
+    public static final int DEFAULT_MAX_PAYLOAD_LENGTH = 4096;
+
+    /**
+     * The default maximum number of pending log entries.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    /**
+     * The SECOM interfaces, identified by their name, method and path.
+     */
+    static final List<SecomInterfaceRoute> SECOM_INTERFACE_ROUTES = List.of(
+            new SecomInterfaceRoute("accessNotification", "POST", ACCESS_NOTIFICATION_INTERFACE_PATH),
+            new SecomInterfaceRoute("access", "POST", ACCESS_INTERFACE_PATH),
+            new SecomInterfaceRoute("acknowledgement", "POST", ACKNOWLEDGMENT_INTERFACE_PATH),
+            new SecomInterfaceRoute("capability", "GET", CAPABILITY_INTERFACE_PATH),
+            new SecomInterfaceRoute("encryptionKeyNotify", "POST", ENCRYPTION_KEY_NOTIFY_INTERFACE_PATH),
+            new SecomInterfaceRoute("encryptionKey", "POST", ENCRYPTION_KEY_INTERFACE_PATH),
+            new SecomInterfaceRoute("getSummary", "GET", GET_SUMMARY_INTERFACE_PATH),
+            new SecomInterfaceRoute("getByLink", "GET", GET_BY_LINK_INTERFACE_PATH),
+            new SecomInterfaceRoute("uploadLink", "POST", UPLOAD_LINK_INTERFACE_PATH),
+            new SecomInterfaceRoute("get", "GET", GET_INTERFACE_PATH),
+            new SecomInterfaceRoute("upload", "POST", UPLOAD_INTERFACE_PATH),
+            new SecomInterfaceRoute("ping", "GET", PING_INTERFACE_PATH),
+            new SecomInterfaceRoute("searchService", "POST", SEARCH_SERVICE_INTERFACE_PATH),
+            new SecomInterfaceRoute("subscriptionNotification", "POST", SUBSCRIPTION_NOTIFICATION_INTERFACE_PATH),
+            new SecomInterfaceRoute("subscription", "POST", SUBSCRIPTION_INTERFACE_PATH),
+            new SecomInterfaceRoute("removeSubscription", "DELETE", REMOVE_SUBSCRIPTION_INTERFACE_PATH)
+    );
+
+    /**
+     * The payload fields extracted for logging.
+     */
+    static final String TRANSACTION_IDENTIFIER_FIELD = "transactionIdentifier";
+    static final String DATA_REFERENCE_FIELD = "dataReference";
+
+    /**
+     * The JSON factory used to stream through the captured payloads.
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // Class Variables
+    private final double sampleRate;
+    private final Map<String, Double> interfaceSampleRates;
+    private final int maxPayloadLength;
+    final ThreadPoolExecutor executor;
+    private final AtomicLong droppedEntries;
+
+    /**
+     * The Class Constructor.
+     *
+     * @param config the SECOM logging configuration properties
+     */
+    public SecomSampledRequestLoggingFilter(SecomLoggingConfigProperties config) {
+        final Optional<SecomLoggingConfigProperties> configOptional = Optional.ofNullable(config);
+        this.sampleRate = configOptional
+                .map(SecomLoggingConfigProperties::getSampleRate)
+                .orElse(DEFAULT_SAMPLE_RATE);
+        this.interfaceSampleRates = new HashMap<>();
+        configOptional
+                .map(SecomLoggingConfigProperties::getInterfaceSampleRates)
+                .orElse(Collections.emptyMap())
+                .forEach((name, rate) -> this.interfaceSampleRates.put(normaliseInterfaceName(name), rate));
+        this.maxPayloadLength = configOptional
+                .map(SecomLoggingConfigProperties::getMaxPayloadLength)
+                .orElse(DEFAULT_MAX_PAYLOAD_LENGTH);
+        this.droppedEntries = new AtomicLong();
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(configOptional
+                        .map(SecomLoggingConfigProperties::getQueueSize)
+                        .orElse(DEFAULT_QUEUE_SIZE)),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "secom-request-logging");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> this.droppedEntries.incrementAndGet());
+    }
+
+    /**
+     * Returns the number of log entries that had to be dropped because the
+     * logging thread could not keep up.
+     *
+     * @return the number of dropped log entries
+     */
+    public long getDroppedEntries() {
+        return this.droppedEntries.get();
+    }
+
+    /**
+     * Returns the sampling rate for the provided SECOM interface name.
+     *
+     * @param interfaceName the SECOM interface name
+     * @return the sampling rate
+     */
+    public double getSampleRate(String interfaceName) {
+        return Optional.ofNullable(interfaceName)
+                .map(SecomSampledRequestLoggingFilter::normaliseInterfaceName)
+                .map(this.interfaceSampleRates::get)
+                .orElse(this.sampleRate);
+    }
+
+    /**
+     * Skip the filter completely if the logging is disabled.
+     *
+     * @param request the incoming request
+     * @return whether the filter should be skipped
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !this.logger.isInfoEnabled();
+    }
+
+    /**
+     * The filter operation. The request is wrapped for capturing its complete
+     * payload if it has been sampled, or just the first bytes of it otherwise,
+     * and a snapshot of it is submitted for logging if it was sampled or
+     * failed.
+     *
+     * @param request       the incoming request
+     * @param response      the outgoing response
+     * @param filterChain   the filter chain
+     * @throws ServletException for servlet exceptions in the chain
+     * @throws IOException for IO exceptions in the chain
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        final long startTime = System.nanoTime();
+        final String interfaceName = resolveInterfaceName(request.getMethod(), request.getRequestURI());
+        final boolean sampled = ThreadLocalRandom.current().nextDouble() < this.getSampleRate(interfaceName);
+        final HttpServletRequest filteredRequest = sampled ?
+                new ContentCachingRequestWrapper(request) :
+                new PayloadPrefixRequestWrapper(request, this.maxPayloadLength);
+
+        Throwable error = null;
+        try {
+            filterChain.doFilter(filteredRequest, response);
+        } catch (IOException | ServletException | RuntimeException ex) {
+            error = ex;
+            throw ex;
+        } finally {
+            final int status = error != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+            if(sampled || status >= 400) {
+                final RequestLogEntry entry = this.snapshot(filteredRequest, interfaceName, status, startTime, sampled, error);
+                this.executor.execute(() -> this.log(entry));
+            }
+        }
+    }
+
+    /**
+     * Release the logging thread when the filter is destroyed.
+     */
+    @Override
+    public void destroy() {
+        this.executor.shutdown();
+        super.destroy();
+    }
+
+    /**
+     * Takes a snapshot of the request information to be logged. Only the
+     * raw values are captured here, along with the structured fields of the
+     * captured payload, while everything else is left to the logging thread.
+     * The payload itself is truncated to the maximum payload length, so that
+     * the pending log entries do not hold on to the complete request bodies.
+     *
+     * @param request       the request to be logged
+     * @param interfaceName the SECOM interface name
+     * @param status        the response status
+     * @param startTime     the request start time in nanoseconds
+     * @param sampled       whether the request was sampled
+     * @param error         the error that occurred, if any
+     * @return the request log entry
+     */
+    private RequestLogEntry snapshot(HttpServletRequest request, String interfaceName, int status, long startTime, boolean sampled, Throwable error) {
+        final byte[] content = request instanceof ContentCachingRequestWrapper wrapper ? wrapper.getContentAsByteArray() :
+                request instanceof PayloadPrefixRequestWrapper wrapper ? wrapper.getPayloadPrefix() : null;
+        final Map<String, String> fields = extractFields(content, TRANSACTION_IDENTIFIER_FIELD, DATA_REFERENCE_FIELD);
+        return new RequestLogEntry(
+                interfaceName,
+                request.getMethod(),
+                request.getRequestURI(),
+                request.getRemoteAddr(),
+                fields.get(TRANSACTION_IDENTIFIER_FIELD),
+                Optional.ofNullable(request.getParameter(DATA_REFERENCE_FIELD)).orElseGet(() -> fields.get(DATA_REFERENCE_FIELD)),
+                status,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime),
+                sampled,
+                Optional.ofNullable(error).map(Throwable::toString).orElse(null),
+                Optional.ofNullable(content).map(c -> Arrays.copyOf(c, Math.min(c.length, this.maxPayloadLength))).orElse(null));
+    }
+
+    /**
+     * Formats and logs the provided entry. This is called by the logging
+     * thread.
+     *
+     * @param entry the request log entry
+     */
+    void log(RequestLogEntry entry) {
+        // Build the message
+        final StringBuilder message = new StringBuilder("SECOM REQUEST DATA:")
+                .append(" interface=").append(entry.interfaceName())
+                .append(" method=").append(entry.method())
+                .append(" uri=").append(entry.uri())
+                .append(" client=").append(entry.client())
+                .append(" status=").append(entry.status())
+                .append(" durationMs=").append(entry.duration())
+                .append(" sampled=").append(entry.sampled());
+        Optional.ofNullable(entry.transactionIdentifier()).ifPresent(v -> message.append(" transactionIdentifier=").append(v));
+        Optional.ofNullable(entry.dataReference()).ifPresent(v -> message.append(" dataReference=").append(v));
+        Optional.ofNullable(entry.error()).ifPresent(v -> message.append(" error=").append(v));
+
+        // Log the failed requests as warnings
+        if(entry.status() >= 400 || entry.error() != null) {
+            this.logger.warn(message);
+        } else {
+            this.logger.info(message);
+        }
+
+        // Only log the full payload at the debug level
+        if(entry.payload() != null && this.logger.isDebugEnabled()) {
+            this.logger.debug("SECOM REQUEST PAYLOAD: " + new String(entry.payload(), StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Extracts the first scalar value of each of the provided fields from the
+     * provided JSON payload, at any depth. The payload is streamed through,
+     * without building a tree, until all the fields have been found or the
+     * payload runs out, so the fields found before any truncated or invalid
+     * content are still returned.
+     *
+     * @param payload       the JSON payload
+     * @param fieldNames    the names of the fields to be extracted
+     * @return the values of the fields found, by field name
+     */
+    static Map<String, String> extractFields(byte[] payload, String... fieldNames) {
+        final Map<String, String> fields = new HashMap<>();
+        if(payload == null || payload.length == 0) {
+            return fields;
+        }
+        final Set<String> remaining = new HashSet<>(Arrays.asList(fieldNames));
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            JsonToken token;
+            while(!remaining.isEmpty() && (token = parser.nextToken()) != null) {
+                if(token == JsonToken.FIELD_NAME && remaining.contains(parser.currentName())) {
+                    final String fieldName = parser.currentName();
+                    final JsonToken value = parser.nextToken();
+                    if(value != null && value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                        fields.put(fieldName, parser.getValueAsString());
+                        remaining.remove(fieldName);
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            // The payload ran out, so keep whatever has been found
+        }
+        return fields;
+    }
+
+    /**
+     * Resolves the SECOM interface name from the provided request method and
+     * URI.
+     *
+     * @param method    the request method
+     * @param uri       the request URI
+     * @return the SECOM interface name, or null if not a SECOM interface
+     */
+    static String resolveInterfaceName(String method, String uri) {
+        return Optional.ofNullable(uri)
+                .flatMap(u -> SECOM_INTERFACE_ROUTES.stream()
+                        .filter(route -> u.endsWith(route.path()))
+                        .filter(route -> route.method().equalsIgnoreCase(method))
+                        .findFirst())
+                .map(SecomInterfaceRoute::name)
+                .orElse(null);
+    }
+
+    /**
+     * Normalises the provided interface name so that it can be matched
+     * independently of the property naming style, e.g. "get-summary" and
+     * "getSummary" are treated the same.
+     *
+     * @param name the interface name
+     * @return the normalised interface name
+     */
+    static String normaliseInterfaceName(String name) {
+        return name.replace("-", "").replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * A SECOM interface route.
+     *
+     * @param name      the SECOM interface name
+     * @param method    the HTTP method
+     * @param path      the SECOM interface path
+     */
+    record SecomInterfaceRoute(String name, String method, String path) {}
+
+    /**
+     * A snapshot of a request to be logged asynchronously.
+     *
+     * @param interfaceName the SECOM interface name
+     * @param method        the request method
+     * @param uri           the request URI
+     * @param client        the client address
+     * @param transactionIdentifier the payload transactionIdentifier, if any
+     * @param dataReference the dataReference query parameter or payload field, if any
+     * @param status        the response status
+     * @param duration      the request duration in milliseconds
+     * @param sampled       whether the request was sampled
+     * @param error         the error that occurred, if any
+     * @param payload       the truncated captured payload
+     */
+    record RequestLogEntry(String interfaceName, String method, String uri, String client, String transactionIdentifier, String dataReference,
+                                   int status, long duration, boolean sampled, String error, byte[] payload) {}
+
+    /**
+     * A lightweight request wrapper that keeps aside only the first bytes of
+     * the request payload, as it is being read by the filter chain, so that
+     * the structured fields of the failed requests can still be extracted
+     * without caching the complete payload of every request.
+     */
+    static class PayloadPrefixRequestWrapper extends HttpServletRequestWrapper {
+
+        // Class Variables
+        private final int limit;
+        private final ByteArrayOutputStream prefix;
+        private ServletInputStream inputStream;
+        private BufferedReader reader;
+
+        /**
+         * The Payload Prefix Request Wrapper Constructor.
+         *
+         * @param request   the request to be wrapped
+         * @param limit     the maximum number of payload bytes kept aside
+         */
+        PayloadPrefixRequestWrapper(HttpServletRequest request, int limit) {
+            super(request);
+            this.limit = Math.max(0, limit);
+            this.prefix = new ByteArrayOutputStream(Math.min(this.limit, 256));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if(this.inputStream == null) {
+                this.inputStream = new PayloadPrefixInputStream(super.getInputStream());
+            }
+            return this.inputStream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            if(this.reader == null) {
+                final Charset charset = Optional.ofNullable(this.getCharacterEncoding())
+                        .map(Charset::forName)
+                        .orElse(StandardCharsets.UTF_8);
+                this.reader = new BufferedReader(new InputStreamReader(this.getInputStream(), charset));
+            }
+            return this.reader;
+        }
+
+        /**
+         * Returns the payload bytes that have been kept aside so far.
+         *
+         * @return the payload prefix
+         */
+        byte[] getPayloadPrefix() {
+            return this.prefix.toByteArray();
+        }
+
+        /**
+         * The servlet input stream that copies the bytes read into the payload
+         * prefix, until the limit is reached.
+         */
+        private class PayloadPrefixInputStream extends ServletInputStream {
+
+            // Class Variables
+            private final ServletInputStream delegate;
+
+            /**
+             * The Payload Prefix Input Stream Constructor.
+             *
+             * @param delegate the original servlet input stream
+             */
+            PayloadPrefixInputStream(ServletInputStream delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public int read() throws IOException {
+                final int b = this.delegate.read();
+                if(b >= 0 && prefix.size() < limit) {
+                    prefix.write(b);
+                }
+                return b;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                final int count = this.delegate.read(b, off, len);
+                if(count > 0 && prefix.size() < limit) {
+                    prefix.write(b, off, Math.min(count, limit - prefix.size()));
+                }
+                return count;
+            }
+
+            @Override
+            public boolean isFinished() {
+                return this.delegate.isFinished();
+            }
+
+            @Override
+            public boolean isReady() {
+                return this.delegate.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                this.delegate.setReadListener(readListener);
+            }
+        }
+    }
+
+}
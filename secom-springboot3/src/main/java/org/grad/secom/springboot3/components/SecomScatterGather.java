@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.DataResponseObject;
+import org.grad.secom.core.models.SummaryObject;
+import org.grad.secom.core.models.enums.ContainerTypeEnum;
+import org.grad.secom.core.models.enums.SECOM_DataProductType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URL;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * The SECOM Scatter Gather Class.
+ * <p/>
+ * Runs the same query against multiple SECOM service providers, e.g. all
+ * the providers of a data product found through the Search Service, and
+ * merges their results into a single stream. All providers are queried
+ * concurrently, each with its own deadline, so that the whole operation
+ * takes about as long as the slowest responsive provider, rather than the
+ * sum of all of them.
+ * <p/>
+ * The items are emitted as soon as they are received from any provider,
+ * while the items already received from another provider are skipped.
+ * Summary objects are identified by their data reference, while data
+ * response objects, which do not carry one, are identified by a digest of
+ * their data content, so that only a fixed-size key is retained per item
+ * rather than the whole payload. A provider that fails or misses its deadline does not affect
+ * the rest; it is instead reported in the failures of the gathered
+ * results.
+ *
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public class SecomScatterGather {
+
+    /**
+     * The default deadline of each provider.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * The default maximum number of providers queried concurrently.
+     */
+    public static final int DEFAULT_CONCURRENCY = 16;
+
+    // Class Variables
+    private final Function<URL, SecomClient> clientResolver;
+    private final Duration timeout;
+    private final int concurrency;
+
+    /**
+     * The SECOM Scatter Gather Constructor.
+     *
+     * @param clientResolver    the function resolving the SECOM clients of the providers
+     * @param timeout           the deadline of each provider
+     * @param concurrency       the maximum number of providers queried concurrently
+     */
+    public SecomScatterGather(Function<URL, SecomClient> clientResolver, Duration timeout, int concurrency) {
+        this.clientResolver = Objects.requireNonNull(clientResolver);
+        this.timeout = Optional.ofNullable(timeout).filter(d -> !d.isNegative() && !d.isZero()).orElse(DEFAULT_TIMEOUT);
+        this.concurrency = concurrency > 0 ? concurrency : DEFAULT_CONCURRENCY;
+    }
+
+    /**
+     * Creates a new SECOM scatter gather component based on the provided
+     * SECOM client configuration properties, using the provided SECOM client
+     * factory to access the providers.
+     *
+     * @param clientFactory the SECOM client factory
+     * @param config        the SECOM client configuration properties
+     * @return the SECOM scatter gather component
+     */
+    public static SecomScatterGather fromConfig(SecomClientFactory clientFactory, SecomClientConfigProperties config) {
+        final Optional<SecomClientConfigProperties.ScatterGather> properties = Optional.ofNullable(config).map(SecomClientConfigProperties::getScatterGather);
+        return new SecomScatterGather(clientFactory::getClient,
+                properties.map(SecomClientConfigProperties.ScatterGather::getTimeout).orElse(DEFAULT_TIMEOUT),
+                properties.map(SecomClientConfigProperties.ScatterGather::getConcurrency).orElse(DEFAULT_CONCURRENCY));
+    }
+
+    /**
+     * Gets the deadline of each provider.
+     *
+     * @return the deadline of each provider
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Gets the maximum number of providers queried concurrently.
+     *
+     * @return the maximum number of providers queried concurrently
+     */
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    /**
+     * GET /v1/object : Pulls information from all the provided service
+     * providers, merging the data of all their pages into a single flux.
+     * Data response objects with the same data content, as identified by
+     * its SHA-256 digest, are only emitted once.
+     *
+     * @param endpoints the URLs of the SECOM service providers
+     * @param dataReference the object data reference
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return the gathered object data
+     */
+    public SecomGatheredResults<DataResponseObject> get(Collection<URL> endpoints,
+                                                        UUID dataReference,
+                                                        ContainerTypeEnum containerType,
+                                                        SECOM_DataProductType dataProductType,
+                                                        String productVersion,
+                                                        String geometry,
+                                                        String unlocode,
+                                                        LocalDateTime validFrom,
+                                                        LocalDateTime validTo) {
+        return this.gather(endpoints,
+                client -> client.getFlux(dataReference, containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo),
+                dataResponseObject -> Optional.ofNullable(dataResponseObject.getData()).map(SecomScatterGather::digest).orElse(null));
+    }
+
+    /**
+     * GET /v1/object/summary : Pulls the summary information from all the
+     * provided service providers, merging the summary objects of all their
+     * pages into a single flux. Summary objects with the same data reference
+     * are only emitted once.
+     *
+     * @param endpoints the URLs of the SECOM service providers
+     * @param containerType the object data container type
+     * @param dataProductType the object data product type
+     * @param productVersion the object data product version
+     * @param geometry the object geometry
+     * @param unlocode the object UNLOCODE
+     * @param validFrom the object valid from time
+     * @param validTo the object valid to time
+     * @return the gathered summary objects
+     */
+    public SecomGatheredResults<SummaryObject> getSummary(Collection<URL> endpoints,
+                                                          ContainerTypeEnum containerType,
+                                                          SECOM_DataProductType dataProductType,
+                                                          String productVersion,
+                                                          String geometry,
+                                                          String unlocode,
+                                                          LocalDateTime validFrom,
+                                                          LocalDateTime validTo) {
+        return this.gather(endpoints,
+                client -> client.getSummaryFlux(containerType, dataProductType, productVersion, geometry, unlocode, validFrom, validTo),
+                SummaryObject::getDataReference);
+    }
+
+    /**
+     * Runs the provided query against all the provided service providers,
+     * merging their results into a single flux. Items with the same key are
+     * only emitted once, while items without a key are always emitted. Each
+     * provider is given the configured deadline to return all its items;
+     * after that, its query is cancelled and a {@link TimeoutException} is
+     * reported in the failures.
+     *
+     * @param endpoints     the URLs of the SECOM service providers
+     * @param query         the query to be run against each provider
+     * @param keyExtractor  the function extracting the de-duplication key of the items
+     * @return the gathered results
+     * @param <T> the type of the gathered items
+     */
+    public <T> SecomGatheredResults<T> gather(Collection<URL> endpoints,
+                                              Function<SecomClient, Flux<T>> query,
+                                              Function<T, ?> keyExtractor) {
+        final Queue<SecomGatheredResults.Failure> failures = new ConcurrentLinkedQueue<>();
+        final Sinks.One<List<SecomGatheredResults.Failure>> failuresSink = Sinks.one();
+        final Flux<T> items = Flux.fromIterable(this.distinctEndpoints(endpoints))
+                .flatMap(url -> this.scatter(url, query, failures), this.concurrency)
+                .distinct(item -> Optional.<Object>ofNullable(keyExtractor.apply(item)).orElseGet(Object::new))
+                .doFinally(signal -> failuresSink.tryEmitValue(List.copyOf(failures)));
+        return new SecomGatheredResults<>(items, failuresSink.asMono());
+    }
+
+    /**
+     * Runs the provided query against a single service provider, within the
+     * configured deadline. Any failure is recorded in the provided failures
+     * queue, and the items received until then are kept.
+     *
+     * @param url       the URL of the SECOM service provider
+     * @param query     the query to be run against the provider
+     * @param failures  the queue collecting the provider failures
+     * @return the flux of the provider items
+     * @param <T> the type of the gathered items
+     */
+    private <T> Flux<T> scatter(URL url, Function<SecomClient, Flux<T>> query, Queue<SecomGatheredResults.Failure> failures) {
+        final Mono<Long> deadline = Mono.delay(this.timeout)
+                .doOnNext(tick -> failures.add(new SecomGatheredResults.Failure(url,
+                        new TimeoutException("SECOM service " + url + " did not respond within " + this.timeout))));
+        return Flux.defer(() -> query.apply(this.clientResolver.apply(url)))
+                .takeUntilOther(deadline)
+                .onErrorResume(ex -> {
+                    failures.add(new SecomGatheredResults.Failure(url, ex));
+                    return Flux.empty();
+                });
+    }
+
+    /**
+     * Generates the SHA-256 digest of the provided data, used as a compact
+     * de-duplication key.
+     *
+     * @param data  the data
+     * @return the hex-encoded digest
+     */
+    static String digest(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Returns the provided endpoints without any null or duplicate entries.
+     * The endpoints are compared by their string representation, to avoid
+     * the host name resolution of the URL equality.
+     *
+     * @param endpoints the endpoints
+     * @return the distinct endpoints
+     */
+    private Collection<URL> distinctEndpoints(Collection<URL> endpoints) {
+        final Map<String, URL> distinct = new LinkedHashMap<>();
+        Optional.ofNullable(endpoints)
+                .orElse(Collections.emptyList())
+                .stream()
+                .filter(Objects::nonNull)
+                .forEach(url -> distinct.putIfAbsent(url.toString(), url));
+        return distinct.values();
+    }
+
+}
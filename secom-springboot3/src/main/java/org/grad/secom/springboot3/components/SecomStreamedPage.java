@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.PaginationObject;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The SECOM Streamed Page Record.
+ * <p/>
+ * Provides the items of a single SECOM response page as they are being
+ * decoded from the incoming response body, along with the pagination
+ * information of the page. The response is only requested once the items
+ * flux is subscribed to, and the pagination mono completes once the
+ * pagination information has been read, or empty if the response did not
+ * contain any.
+ *
+ * @param items         the flux of the page items
+ * @param pagination    the mono of the page pagination information
+ * @param <T> the type of the page items
+ * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
+ */
+public record SecomStreamedPage<T>(Flux<T> items, Mono<PaginationObject> pagination) {
+
+}
@@ -17,10 +17,16 @@
 package org.grad.secom.springboot3.config;
 
 import jakarta.servlet.http.HttpServletRequest;
+import org.grad.secom.springboot3.components.SecomLoggingConfigProperties;
+import org.grad.secom.springboot3.components.SecomSampledRequestLoggingFilter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.filter.CommonsRequestLoggingFilter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.util.Optional;
 
 /**
  * The SECOM Request Logging Configuration Class.
@@ -29,6 +35,10 @@ import org.springframework.web.filter.CommonsRequestLoggingFilter;
  * interfaces of SECOM, so that the incoming requests and responses are logged.
  * Note that by default, in the INFO level, only the requests will be logged
  * while on the DEBUG level the responses will also be recorded.
+ * <p/>
+ * Alternatively, when the "secom.logging.mode" property is set to "sampled",
+ * the {@link SecomSampledRequestLoggingFilter} is registered instead, which
+ * only logs a sample of the requests (plus all failed ones) asynchronously.
  *
  * @author Nikolaos Vastardis (email: Nikolaos.Vastardis@gla-rad.org)
  */
@@ -37,13 +47,36 @@ public class SecomV1RequestLoggingFilterConfig {
 
     /**
      * Registers the secomRequestLogging bean using the built-in functionality
-     * of the CommonsRequestLoggingFilter to log the requests. The registered
-     * bean will be active for all "/api/secom" URL interfaces.
+     * of the CommonsRequestLoggingFilter to log the requests, or the SECOM
+     * sampled request logging filter if configured. The registered bean will
+     * be active for all "/api/secom" URL interfaces.
      *
+     * @param loggingConfigProperties the SECOM logging configuration properties
      * @return the secomRequestLogging filter registration bean
      */
     @Bean(name = "secomRequestLogging")
-    public FilterRegistrationBean<CommonsRequestLoggingFilter> secomRequestLogging() {
+    public FilterRegistrationBean<OncePerRequestFilter> secomRequestLogging(@Autowired(required = false) SecomLoggingConfigProperties loggingConfigProperties) {
+        // Pick the filter based on the configured mode
+        final OncePerRequestFilter secomRequestLoggingFilter = Optional.ofNullable(loggingConfigProperties)
+                .map(SecomLoggingConfigProperties::getMode)
+                .filter(SecomLoggingConfigProperties.Mode.SAMPLED::equals)
+                .<OncePerRequestFilter>map(mode -> new SecomSampledRequestLoggingFilter(loggingConfigProperties))
+                .orElseGet(this::commonsRequestLoggingFilter);
+
+        // Now register the bean just for the SECOM interfaces
+        final FilterRegistrationBean<OncePerRequestFilter> secomRequestLogging = new FilterRegistrationBean<>();
+        secomRequestLogging.setFilter(secomRequestLoggingFilter);
+        secomRequestLogging.addUrlPatterns("/api/secom/*");
+        return secomRequestLogging;
+    }
+
+    /**
+     * Creates the commons request logging filter, logging all requests at the
+     * INFO level and the responses at the DEBUG level.
+     *
+     * @return the commons request logging filter
+     */
+    private CommonsRequestLoggingFilter commonsRequestLoggingFilter() {
         // Setup a commons request logging filter
         final CommonsRequestLoggingFilter secomRequestLoggingFilter = new CommonsRequestLoggingFilter() {
             @Override
@@ -66,12 +99,7 @@ public class SecomV1RequestLoggingFilterConfig {
         secomRequestLoggingFilter.setMaxPayloadLength(4096);
         secomRequestLoggingFilter.setBeforeMessagePrefix("SECOM REQUEST DATA: ");
         secomRequestLoggingFilter.setAfterMessagePrefix("SECOM REQUEST DATA AFTER PROCESSING: ");
-
-        // Now register the bean just for the SECOM interfaces
-        final FilterRegistrationBean<CommonsRequestLoggingFilter> secomRequestLogging = new FilterRegistrationBean<>();
-        secomRequestLogging.setFilter(secomRequestLoggingFilter);
-        secomRequestLogging.addUrlPatterns("/api/secom/*");
-        return secomRequestLogging;
+        return secomRequestLoggingFilter;
     }
 
 }
@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.AcknowledgementObject;
+import org.grad.secom.core.models.AcknowledgementResponseObject;
+import org.grad.secom.core.models.EnvelopeAckObject;
+import org.grad.secom.core.models.enums.AckTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class SecomAckDispatcherTest {
+
+    // Test Parameters
+    @TempDir
+    Path tempDir;
+    Path journal;
+    URL destination;
+    SecomClient secomClient;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.journal = this.tempDir.resolve("acks.journal");
+        this.destination = new URL("http://localhost:8080/api/secom");
+        this.secomClient = mock(SecomClient.class);
+    }
+
+    /**
+     * Test that the acknowledgements are sent and, once confirmed, removed
+     * from the journal.
+     */
+    @Test
+    void testDispatchCompletesJournal() throws IOException {
+        when(this.secomClient.acknowledgmentAsync(any())).thenReturn(Mono.just(new AcknowledgementResponseObject()));
+
+        final SecomAckDispatcher dispatcher = new SecomAckDispatcher(url -> this.secomClient, 1, Duration.ZERO, 0, this.journal);
+        dispatcher.submit(this.destination, this.acknowledgement(UUID.randomUUID(), AckTypeEnum.DELIVERED_ACK));
+
+        verify(this.secomClient, timeout(5000)).acknowledgmentAsync(any());
+        this.awaitPendingCount(dispatcher, 0);
+        dispatcher.dispose();
+
+        assertTrue(Files.readString(this.journal, StandardCharsets.UTF_8).isBlank());
+    }
+
+    /**
+     * Test that the acknowledgements still being sent when the dispatcher
+     * is disposed remain in the journal and are replayed on the next start.
+     */
+    @Test
+    void testJournalReplaysInFlightAcknowledgements() throws IOException {
+        final UUID transactionIdentifier = UUID.randomUUID();
+        when(this.secomClient.acknowledgmentAsync(any())).thenReturn(Mono.never());
+
+        final SecomAckDispatcher dispatcher = new SecomAckDispatcher(url -> this.secomClient, 1, Duration.ZERO, 0, this.journal);
+        dispatcher.submit(this.destination, this.acknowledgement(transactionIdentifier, AckTypeEnum.DELIVERED_ACK));
+        verify(this.secomClient, timeout(5000)).acknowledgmentAsync(any());
+        assertEquals(1, dispatcher.getPendingCount());
+        dispatcher.dispose();
+
+        assertFalse(Files.readString(this.journal, StandardCharsets.UTF_8).isBlank());
+
+        // Restart the dispatcher with a working client
+        final SecomClient restartedClient = mock(SecomClient.class);
+        when(restartedClient.acknowledgmentAsync(any())).thenReturn(Mono.just(new AcknowledgementResponseObject()));
+        final SecomAckDispatcher restarted = new SecomAckDispatcher(url -> restartedClient, 1, Duration.ZERO, 0, this.journal);
+
+        final ArgumentCaptor<AcknowledgementObject> captor = ArgumentCaptor.forClass(AcknowledgementObject.class);
+        verify(restartedClient, timeout(5000)).acknowledgmentAsync(captor.capture());
+        assertEquals(transactionIdentifier, captor.getValue().getEnvelope().getTransactionIdentifier());
+        this.awaitPendingCount(restarted, 0);
+        restarted.dispose();
+
+        assertTrue(Files.readString(this.journal, StandardCharsets.UTF_8).isBlank());
+    }
+
+    /**
+     * Test that an in-flight acknowledgement is not dropped from the journal
+     * when another one completes.
+     */
+    @Test
+    void testJournalRetainsInFlightAcknowledgements() throws IOException {
+        final UUID slowTransactionIdentifier = UUID.randomUUID();
+        when(this.secomClient.acknowledgmentAsync(any())).thenAnswer(invocation ->
+                slowTransactionIdentifier.equals(invocation.<AcknowledgementObject>getArgument(0).getEnvelope().getTransactionIdentifier())
+                        ? Mono.never()
+                        : Mono.just(new AcknowledgementResponseObject()));
+
+        final SecomAckDispatcher dispatcher = new SecomAckDispatcher(url -> this.secomClient, 2, Duration.ZERO, 0, this.journal);
+        dispatcher.submit(this.destination, this.acknowledgement(slowTransactionIdentifier, AckTypeEnum.DELIVERED_ACK));
+        dispatcher.submit(this.destination, this.acknowledgement(UUID.randomUUID(), AckTypeEnum.DELIVERED_ACK));
+        verify(this.secomClient, timeout(5000).times(2)).acknowledgmentAsync(any());
+        this.awaitPendingCount(dispatcher, 1);
+        dispatcher.dispose();
+
+        // Only the slow acknowledgement should be replayed
+        final SecomClient restartedClient = mock(SecomClient.class);
+        when(restartedClient.acknowledgmentAsync(any())).thenReturn(Mono.just(new AcknowledgementResponseObject()));
+        final SecomAckDispatcher restarted = new SecomAckDispatcher(url -> restartedClient, 1, Duration.ZERO, 0, this.journal);
+
+        final ArgumentCaptor<AcknowledgementObject> captor = ArgumentCaptor.forClass(AcknowledgementObject.class);
+        verify(restartedClient, timeout(5000)).acknowledgmentAsync(captor.capture());
+        assertEquals(slowTransactionIdentifier, captor.getValue().getEnvelope().getTransactionIdentifier());
+        this.awaitPendingCount(restarted, 0);
+        restarted.dispose();
+        verify(restartedClient, times(1)).acknowledgmentAsync(any());
+    }
+
+    /**
+     * Test that an opened acknowledgement supersedes a delivered one of the
+     * same transaction that is still pending.
+     */
+    @Test
+    void testOpenedAcknowledgementSupersedesDelivered() {
+        final UUID transactionIdentifier = UUID.randomUUID();
+        when(this.secomClient.acknowledgmentAsync(any())).thenReturn(Mono.just(new AcknowledgementResponseObject()));
+
+        final SecomAckDispatcher dispatcher = new SecomAckDispatcher(url -> this.secomClient, 1, Duration.ofMillis(200), 0, null);
+        dispatcher.submit(this.destination, this.acknowledgement(transactionIdentifier, AckTypeEnum.DELIVERED_ACK));
+        dispatcher.submit(this.destination, this.acknowledgement(transactionIdentifier, AckTypeEnum.OPENED_ACK));
+        assertEquals(1, dispatcher.getPendingCount());
+
+        final ArgumentCaptor<AcknowledgementObject> captor = ArgumentCaptor.forClass(AcknowledgementObject.class);
+        verify(this.secomClient, timeout(5000)).acknowledgmentAsync(captor.capture());
+        assertEquals(AckTypeEnum.OPENED_ACK, captor.getValue().getEnvelope().getAckType());
+        this.awaitPendingCount(dispatcher, 0);
+        dispatcher.dispose();
+        verify(this.secomClient, times(1)).acknowledgmentAsync(any());
+    }
+
+    /**
+     * Test that an acknowledgement that still fails after its retries, e.g.
+     * due to a server error, is kept in the journal and sent again after
+     * the redelivery delay.
+     */
+    @Test
+    void testRedeliveryAfterRetriesExhausted() throws IOException {
+        final UUID transactionIdentifier = UUID.randomUUID();
+        when(this.secomClient.acknowledgmentAsync(any())).thenReturn(
+                Mono.error(this.responseException(503)),
+                Mono.never());
+
+        final SecomAckDispatcher dispatcher = new SecomAckDispatcher(url -> this.secomClient, 1, Duration.ZERO, 0, this.journal);
+        dispatcher.setRedeliveryDelay(Duration.ofMillis(100));
+        dispatcher.submit(this.destination, this.acknowledgement(transactionIdentifier, AckTypeEnum.DELIVERED_ACK));
+        verify(this.secomClient, timeout(5000).times(2)).acknowledgmentAsync(any());
+        assertEquals(1, dispatcher.getPendingCount());
+        dispatcher.dispose();
+
+        // The acknowledgement should still be journaled
+        final SecomClient restartedClient = mock(SecomClient.class);
+        when(restartedClient.acknowledgmentAsync(any())).thenReturn(Mono.just(new AcknowledgementResponseObject()));
+        final SecomAckDispatcher restarted = new SecomAckDispatcher(url -> restartedClient, 1, Duration.ZERO, 0, this.journal);
+
+        final ArgumentCaptor<AcknowledgementObject> captor = ArgumentCaptor.forClass(AcknowledgementObject.class);
+        verify(restartedClient, timeout(5000)).acknowledgmentAsync(captor.capture());
+        assertEquals(transactionIdentifier, captor.getValue().getEnvelope().getTransactionIdentifier());
+        this.awaitPendingCount(restarted, 0);
+        restarted.dispose();
+
+        assertTrue(Files.readString(this.journal, StandardCharsets.UTF_8).isBlank());
+    }
+
+    /**
+     * Test that an acknowledgement rejected by the destination with a client
+     * error is neither retried nor redelivered, and is removed from the
+     * journal.
+     */
+    @Test
+    void testRejectedAcknowledgementDropped() throws IOException, InterruptedException {
+        when(this.secomClient.acknowledgmentAsync(any())).thenReturn(Mono.error(this.responseException(400)));
+
+        final SecomAckDispatcher dispatcher = new SecomAckDispatcher(url -> this.secomClient, 1, Duration.ZERO, 2, this.journal);
+        dispatcher.setRedeliveryDelay(Duration.ofMillis(10));
+        dispatcher.submit(this.destination, this.acknowledgement(UUID.randomUUID(), AckTypeEnum.DELIVERED_ACK));
+        this.awaitPendingCount(dispatcher, 0);
+        Thread.sleep(100);
+        dispatcher.dispose();
+
+        verify(this.secomClient, times(1)).acknowledgmentAsync(any());
+        assertTrue(Files.readString(this.journal, StandardCharsets.UTF_8).isBlank());
+    }
+
+    /**
+     * Test that the journal is written by the background worker, so that
+     * submitting the acknowledgements does not wait for the journal.
+     */
+    @Test
+    void testJournalWrittenByWorker() throws IOException, InterruptedException {
+        when(this.secomClient.acknowledgmentAsync(any())).thenReturn(Mono.never());
+        final CountDownLatch journaling = new CountDownLatch(1);
+        final CountDownLatch released = new CountDownLatch(1);
+        final AcknowledgementObject acknowledgementObject = spy(this.acknowledgement(UUID.randomUUID(), AckTypeEnum.DELIVERED_ACK));
+        doAnswer(invocation -> {
+            if("secom-ack-journal".equals(Thread.currentThread().getName())) {
+                journaling.countDown();
+                released.await(5, TimeUnit.SECONDS);
+            }
+            return invocation.callRealMethod();
+        }).when(acknowledgementObject).getEnvelope();
+
+        // Block the journal worker while serialising the first acknowledgement
+        final SecomAckDispatcher dispatcher = new SecomAckDispatcher(url -> this.secomClient, 1, Duration.ofMinutes(1), 0, this.journal);
+        dispatcher.submit(this.destination, acknowledgementObject);
+        assertTrue(journaling.await(5, TimeUnit.SECONDS));
+
+        // Further submissions should not wait for the journal
+        final long start = System.nanoTime();
+        dispatcher.submit(this.destination, this.acknowledgement(UUID.randomUUID(), AckTypeEnum.DELIVERED_ACK));
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(1).toNanos());
+        assertEquals(2, dispatcher.getPendingCount());
+
+        released.countDown();
+        dispatcher.dispose();
+        assertEquals(2, Files.readAllLines(this.journal, StandardCharsets.UTF_8).size());
+    }
+
+    /**
+     * Builds a web-client response exception with the provided status code.
+     *
+     * @param statusCode    the status code
+     * @return the web-client response exception
+     */
+    private WebClientResponseException responseException(int statusCode) {
+        return WebClientResponseException.create(statusCode, "Error", HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds an acknowledgement of the provided transaction and type.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @param ackType               the acknowledgement type
+     * @return the acknowledgement
+     */
+    private AcknowledgementObject acknowledgement(UUID transactionIdentifier, AckTypeEnum ackType) {
+        final EnvelopeAckObject envelope = new EnvelopeAckObject();
+        envelope.setCreatedAt(Instant.now());
+        envelope.setTransactionIdentifier(transactionIdentifier);
+        envelope.setAckType(ackType);
+        final AcknowledgementObject acknowledgementObject = new AcknowledgementObject();
+        acknowledgementObject.setEnvelope(envelope);
+        return acknowledgementObject;
+    }
+
+    /**
+     * Waits until the provided dispatcher reaches the expected number of
+     * pending acknowledgements.
+     *
+     * @param dispatcher    the acknowledgement dispatcher
+     * @param expected      the expected number of pending acknowledgements
+     */
+    private void awaitPendingCount(SecomAckDispatcher dispatcher, int expected) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while(dispatcher.getPendingCount() != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, dispatcher.getPendingCount());
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.grad.secom.core.interfaces.GetSecomInterface.GET_INTERFACE_PATH;
+import static org.grad.secom.core.interfaces.GetSummarySecomInterface.GET_SUMMARY_INTERFACE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomClientSyncTest {
+
+    // Test Parameters
+    HttpServer server;
+    SecomClient secomClient;
+    UUID dataReference;
+    AtomicReference<String> lastModified;
+    AtomicReference<String> data;
+    AtomicInteger getRequests;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.dataReference = UUID.randomUUID();
+        this.lastModified = new AtomicReference<>("20230101T120000Z");
+        this.data = new AtomicReference<>("first");
+        this.getRequests = new AtomicInteger();
+
+        // Start a local server to respond to the SECOM requests
+        this.server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        this.server.createContext("/api/secom" + GET_SUMMARY_INTERFACE_PATH, exchange -> this.respond(exchange, String.format(
+                "{\"summaryObject\":[{\"dataReference\":\"%s\",\"info_lastModifiedDate\":\"%s\"}],\"pagination\":{\"totalItems\":1,\"maxItemsPerPage\":100},\"responseText\":\"OK\"}",
+                this.dataReference, this.lastModified.get())));
+        this.server.createContext("/api/secom" + GET_INTERFACE_PATH, exchange -> {
+            this.getRequests.incrementAndGet();
+            final String encoded = Base64.getEncoder().encodeToString(Base64.getEncoder().encode(this.data.get().getBytes(StandardCharsets.UTF_8)));
+            this.respond(exchange, String.format(
+                    "{\"dataResponseObject\":[{\"data\":\"%s\",\"exchangeMetadata\":{\"dataProtection\":false,\"compressionFlag\":false}}],\"pagination\":{\"totalItems\":1,\"maxItemsPerPage\":100},\"responseText\":\"OK\"}",
+                    encoded));
+        });
+        this.server.start();
+
+        // Create a client with a data cache, pointing to the local server
+        this.secomClient = new SecomClient(new URL("http://localhost:" + this.server.getAddress().getPort() + "/api/secom"),
+                HttpClient.create(), null, null, null, null, null, null);
+        this.secomClient.setDataCache(new SecomDataCache(Duration.ofHours(1), 10));
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+    }
+
+    /**
+     * Test that a changed dataset is retrieved from the service again, even
+     * though its previous version is still held in the data cache.
+     */
+    @Test
+    void testSyncBypassesDataCache() {
+        final SecomSyncIndex syncIndex = new SecomSyncIndex();
+
+        final List<SecomSyncEvent> first = this.secomClient.syncFlux(syncIndex, null, null, null, null, null, null, null)
+                .collectList()
+                .block();
+        assertEquals(1, first.size());
+        assertEquals(SecomSyncEvent.Type.ADDED, first.get(0).type());
+        final byte[] firstData = first.get(0).data().get(0).getData();
+
+        // Nothing changed, so nothing should be retrieved
+        assertTrue(this.secomClient.syncFlux(syncIndex, null, null, null, null, null, null, null).collectList().block().isEmpty());
+        assertEquals(1, this.getRequests.get());
+
+        // Change the dataset on the service
+        this.lastModified.set("20230102T120000Z");
+        this.data.set("second");
+
+        final List<SecomSyncEvent> second = this.secomClient.syncFlux(syncIndex, null, null, null, null, null, null, null)
+                .collectList()
+                .block();
+        assertEquals(1, second.size());
+        assertEquals(SecomSyncEvent.Type.UPDATED, second.get(0).type());
+        assertEquals(2, this.getRequests.get());
+        assertFalse(new String(firstData, StandardCharsets.UTF_8).equals(new String(second.get(0).data().get(0).getData(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Responds to the provided exchange with the provided JSON body.
+     *
+     * @param exchange  the HTTP exchange
+     * @param body      the response body
+     */
+    private void respond(HttpExchange exchange, String body) throws IOException {
+        final byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.DataResponseObject;
+import org.grad.secom.core.models.GetResponseObject;
+import org.grad.secom.core.models.PaginationObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomDataCacheTest {
+
+    // Test Parameters
+    @TempDir
+    Path directory;
+
+    /**
+     * Test that the heap entries are returned as copies, so that changes
+     * made by one caller are not visible to the others.
+     */
+    @Test
+    void testGetReturnsCopies() {
+        final SecomDataCache dataCache = new SecomDataCache(Duration.ofMinutes(1), 10);
+        dataCache.put("key", UUID.randomUUID(), null, this.response("data"));
+
+        final GetResponseObject first = dataCache.get("key").orElseThrow();
+        first.getDataResponseObject().get(0).setData("changed".getBytes(StandardCharsets.UTF_8));
+
+        final GetResponseObject second = dataCache.get("key").orElseThrow();
+        assertNotSame(first, second);
+        assertArrayEquals("data".getBytes(StandardCharsets.UTF_8), second.getDataResponseObject().get(0).getData());
+    }
+
+    /**
+     * Test that the heap entries expire after the time-to-live.
+     */
+    @Test
+    void testHeapExpiry() throws InterruptedException {
+        final SecomDataCache dataCache = new SecomDataCache(Duration.ofMillis(100), 10);
+        dataCache.put("key", null, null, this.response("data"));
+        assertTrue(dataCache.get("key").isPresent());
+
+        Thread.sleep(150);
+
+        assertTrue(dataCache.get("key").isEmpty());
+        assertEquals(0, dataCache.getHeapSize());
+    }
+
+    /**
+     * Test that the entries never outlive the validity window of the query,
+     * and that queries whose window has already ended are not cached.
+     */
+    @Test
+    void testValidToExpiry() throws InterruptedException {
+        final SecomDataCache dataCache = new SecomDataCache(Duration.ofHours(1), 10);
+        dataCache.put("past", null, LocalDateTime.now(ZoneOffset.UTC).minusMinutes(1), this.response("data"));
+        dataCache.put("soon", null, LocalDateTime.now(ZoneOffset.UTC).plusNanos(Duration.ofMillis(100).toNanos()), this.response("data"));
+        assertTrue(dataCache.get("past").isEmpty());
+        assertTrue(dataCache.get("soon").isPresent());
+
+        Thread.sleep(150);
+
+        assertTrue(dataCache.get("soon").isEmpty());
+    }
+
+    /**
+     * Test that the least recently used heap entries are evicted once the
+     * maximum number of heap entries is exceeded.
+     */
+    @Test
+    void testHeapEviction() {
+        final SecomDataCache dataCache = new SecomDataCache(Duration.ofMinutes(1), 2);
+        dataCache.put("a", null, null, this.response("a"));
+        dataCache.put("b", null, null, this.response("b"));
+        dataCache.get("a");
+        dataCache.put("c", null, null, this.response("c"));
+
+        assertEquals(2, dataCache.getHeapSize());
+        assertTrue(dataCache.get("a").isPresent());
+        assertTrue(dataCache.get("b").isEmpty());
+        assertTrue(dataCache.get("c").isPresent());
+    }
+
+    /**
+     * Test that the disk entries survive a restart of the cache, along with
+     * their data and pagination.
+     */
+    @Test
+    void testDiskTierRestart() {
+        final UUID dataReference = UUID.randomUUID();
+        new SecomDataCache(Duration.ofMinutes(1), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE)
+                .put("key", dataReference, null, this.response("data"));
+
+        final SecomDataCache restarted = new SecomDataCache(Duration.ofMinutes(1), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE);
+        assertEquals(1, restarted.getDiskSize());
+        final GetResponseObject response = restarted.get("key").orElseThrow();
+        assertArrayEquals("data".getBytes(StandardCharsets.UTF_8), response.getDataResponseObject().get(0).getData());
+        assertEquals(1, response.getPagination().getTotalItems());
+        assertEquals(1, restarted.getHeapSize());
+
+        restarted.invalidate(dataReference);
+        assertTrue(restarted.get("key").isEmpty());
+        assertEquals(0, restarted.getDiskSize());
+    }
+
+    /**
+     * Test that the expired disk entries are not returned after a restart,
+     * and that their files are removed.
+     */
+    @Test
+    void testDiskTierExpiry() throws InterruptedException {
+        new SecomDataCache(Duration.ofMillis(100), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE)
+                .put("key", null, null, this.response("data"));
+
+        Thread.sleep(150);
+
+        final SecomDataCache restarted = new SecomDataCache(Duration.ofMillis(100), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE);
+        assertTrue(restarted.get("key").isEmpty());
+        assertEquals(0, restarted.getDiskSize());
+    }
+
+    /**
+     * Test that the disk tier only stores the received form of the
+     * responses, so that any protected data are not written in clear, and
+     * that these are processed again when read back.
+     */
+    @Test
+    void testDiskTierStoresReceivedForm() throws IOException {
+        new SecomDataCache(Duration.ofMinutes(1), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE)
+                .put("key", null, null, this.response("encrypted"), this.response("plaintext"));
+
+        // The stored file should not contain the processed data
+        try (Stream<Path> files = Files.list(this.directory)) {
+            for(Path file : files.toList()) {
+                final String content = new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1);
+                assertTrue(content.contains("encrypted"));
+                assertFalse(content.contains("plaintext"));
+            }
+        }
+
+        // And it should be processed when read back
+        final AtomicInteger processed = new AtomicInteger();
+        final SecomDataCache restarted = new SecomDataCache(Duration.ofMinutes(1), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE);
+        final UnaryOperator<GetResponseObject> processor = received -> {
+            processed.incrementAndGet();
+            received.getDataResponseObject().forEach(item -> item.setData("plaintext".getBytes(StandardCharsets.UTF_8)));
+            return received;
+        };
+        assertArrayEquals("plaintext".getBytes(StandardCharsets.UTF_8), restarted.get("key", processor).orElseThrow().getDataResponseObject().get(0).getData());
+        assertArrayEquals("plaintext".getBytes(StandardCharsets.UTF_8), restarted.get("key", processor).orElseThrow().getDataResponseObject().get(0).getData());
+        assertEquals(1, processed.get());
+    }
+
+    /**
+     * Test that the disk entries that cannot be processed when read back
+     * are dropped.
+     */
+    @Test
+    void testDiskTierProcessingFailure() {
+        new SecomDataCache(Duration.ofMinutes(1), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE)
+                .put("key", null, null, this.response("encrypted"), this.response("plaintext"));
+
+        final SecomDataCache restarted = new SecomDataCache(Duration.ofMinutes(1), 10, this.directory, SecomDataCache.DEFAULT_MAX_DISK_SIZE);
+        assertTrue(restarted.get("key", received -> {
+            throw new IllegalStateException("Decryption failure");
+        }).isEmpty());
+        assertEquals(0, restarted.getDiskSize());
+    }
+
+    /**
+     * Test that the data caches configured with a disk tier are shared per
+     * directory, while the heap only ones are not.
+     */
+    @Test
+    void testFromConfigSharedPerDirectory() {
+        final SecomClientConfigProperties config = new SecomClientConfigProperties();
+        config.getDataCache().setTtl(Duration.ofMinutes(1));
+        final SecomDataCache heapOnly = SecomDataCache.fromConfig(config).orElseThrow();
+        assertNotSame(heapOnly, SecomDataCache.fromConfig(config).orElseThrow());
+
+        config.getDataCache().setDirectory(this.directory.toString());
+        final SecomDataCache shared = SecomDataCache.fromConfig(config).orElseThrow();
+        config.getDataCache().setDirectory(this.directory.resolve(".").toString());
+        assertSame(shared, SecomDataCache.fromConfig(config).orElseThrow());
+
+        config.getDataCache().setTtl(null);
+        assertTrue(SecomDataCache.fromConfig(config).isEmpty());
+    }
+
+    /**
+     * Builds a Get response object with a single data response object.
+     *
+     * @param data  the data of the response
+     * @return the Get response object
+     */
+    private GetResponseObject response(String data) {
+        final DataResponseObject dataResponseObject = new DataResponseObject();
+        dataResponseObject.setData(data.getBytes(StandardCharsets.UTF_8));
+        final GetResponseObject response = new GetResponseObject();
+        response.setDataResponseObject(List.of(dataResponseObject));
+        response.setPagination(new PaginationObject(1, 1));
+        response.setResponseText("OK");
+        return response;
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.SearchFilterObject;
+import org.grad.secom.core.models.SearchObjectResult;
+import org.grad.secom.core.models.SearchParameters;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomDiscoveryCacheTest {
+
+    // Test Parameters
+    SecomDiscoveryCache discoveryCache;
+    SearchFilterObject searchFilterObject;
+    AtomicInteger loads;
+    AtomicReference<String> version;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        final SearchParameters searchParameters = new SearchParameters();
+        searchParameters.setName("test");
+        this.searchFilterObject = new SearchFilterObject();
+        this.searchFilterObject.setQuery(searchParameters);
+        this.loads = new AtomicInteger();
+        this.version = new AtomicReference<>("1.0.0");
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        if(this.discoveryCache != null) {
+            this.discoveryCache.dispose();
+        }
+    }
+
+    /**
+     * Test that the fresh search results are served from the cache, for all
+     * the equivalent search filters.
+     */
+    @Test
+    void testFreshResults() {
+        this.discoveryCache = this.createCache(Duration.ofHours(1), Duration.ZERO, Duration.ZERO);
+
+        final SearchParameters searchParameters = new SearchParameters();
+        searchParameters.setName("test");
+        searchParameters.setPage(2);
+        final SearchFilterObject equivalentFilter = new SearchFilterObject();
+        equivalentFilter.setQuery(searchParameters);
+        equivalentFilter.setFreetext("");
+
+        assertEquals("1.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+        assertEquals("1.0.0", this.discoveryCache.search(equivalentFilter).block().get(0).getVersion());
+        assertEquals(1, this.loads.get());
+        assertEquals(1, this.discoveryCache.findByInstanceId("urn:mrn:test:instance").size());
+        assertEquals(1, this.discoveryCache.findByMrn("urn:mrn:test:organization").size());
+        assertEquals(1, this.discoveryCache.findByUnlocode("GBHRW").size());
+    }
+
+    /**
+     * Test that the results used shortly before their expiry are refreshed
+     * in the background, while the current results are still returned.
+     */
+    @Test
+    void testRefreshAhead() throws InterruptedException {
+        this.discoveryCache = this.createCache(Duration.ofMillis(300), Duration.ofMillis(250), Duration.ZERO);
+        assertEquals("1.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+
+        // Within the refresh-ahead window the current results are returned
+        Thread.sleep(100);
+        this.version.set("2.0.0");
+        assertEquals("1.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+        assertEquals(2, this.loads.get());
+
+        // But the refreshed ones are returned next, without a new load
+        assertEquals("2.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+        assertEquals(2, this.loads.get());
+        assertEquals("2.0.0", this.discoveryCache.findByInstanceId("urn:mrn:test:instance").get(0).getVersion());
+    }
+
+    /**
+     * Test that if the registry fails, the expired results are served within
+     * the stale-if-error period.
+     */
+    @Test
+    void testStaleIfError() throws InterruptedException {
+        this.discoveryCache = this.createCache(Duration.ofMillis(50), Duration.ZERO, Duration.ofHours(1));
+        assertEquals("1.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+
+        Thread.sleep(100);
+        this.version.set(null);
+        assertEquals("1.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+        assertEquals(2, this.loads.get());
+
+        // Once the registry is available again, the new results are returned
+        this.version.set("2.0.0");
+        assertEquals("2.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+        assertEquals(3, this.loads.get());
+    }
+
+    /**
+     * Test that without a stale-if-error period, the registry failures are
+     * propagated once the results have expired.
+     */
+    @Test
+    void testNoStaleIfError() throws InterruptedException {
+        this.discoveryCache = this.createCache(Duration.ofMillis(50), Duration.ZERO, Duration.ZERO);
+        assertEquals("1.0.0", this.discoveryCache.search(this.searchFilterObject).block().get(0).getVersion());
+
+        Thread.sleep(100);
+        this.version.set(null);
+        StepVerifier.create(this.discoveryCache.search(this.searchFilterObject))
+                .expectError(IllegalStateException.class)
+                .verify();
+    }
+
+    /**
+     * Creates a discovery cache over a test loader, which fails if no
+     * version is currently available.
+     *
+     * @param ttl           the time-to-live of the cached results
+     * @param refreshAhead  the time before the expiry at which the results are refreshed
+     * @param staleIfError  the period the expired results are served if the registry fails
+     * @return the discovery cache
+     */
+    private SecomDiscoveryCache createCache(Duration ttl, Duration refreshAhead, Duration staleIfError) {
+        return new SecomDiscoveryCache(filter -> Mono.fromCallable(() -> {
+            this.loads.incrementAndGet();
+            final String current = this.version.get();
+            if(current == null) {
+                throw new IllegalStateException("Registry unavailable");
+            }
+            final SearchObjectResult result = new SearchObjectResult();
+            result.setInstanceId("urn:mrn:test:instance");
+            result.setOrganizationId("urn:mrn:test:organization");
+            result.setVersion(current);
+            result.setUnlocode(List.of("GBHRW"));
+            return List.of(result);
+        }), ttl, refreshAhead, staleIfError, 10);
+    }
+
+}
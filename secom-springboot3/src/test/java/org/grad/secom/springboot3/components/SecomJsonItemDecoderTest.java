@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import org.grad.secom.core.models.PaginationObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomJsonItemDecoderTest {
+
+    // Test Parameters
+    SecomJsonItemDecoder<Item> decoder;
+    NettyDataBufferFactory dataBufferFactory;
+    List<DataBuffer> dataBuffers;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        this.decoder = new SecomJsonItemDecoder<>(objectMapper, "items", Item.class);
+        this.dataBufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+        this.dataBuffers = new ArrayList<>();
+    }
+
+    /**
+     * Test that the items and the pagination are decoded correctly however
+     * the response body is split into buffers, including items and field
+     * names being split across the buffer boundaries, and that all the
+     * buffers are released once they have been fed into the parser.
+     */
+    @Test
+    void testSplitAcrossBuffers() {
+        final String json = "{\"responseText\":\"OK\",\"items\":[" + this.firstItemJson() + "," + this.secondItemJson() + "],\"pagination\":{\"totalItems\":2,\"maxItemsPerPage\":10}}";
+        for(int chunkSize : new int[]{1, 2, 3, 7, 16, json.length()}) {
+            final SecomStreamedPage<Item> page = this.decode(json, chunkSize);
+
+            StepVerifier.create(page.items())
+                    .assertNext(this::assertFirstItem)
+                    .assertNext(this::assertSecondItem)
+                    .verifyComplete();
+            StepVerifier.create(page.pagination())
+                    .assertNext(pagination -> this.assertPagination(pagination, 2, 10))
+                    .verifyComplete();
+            this.dataBuffers.forEach(buffer -> assertEquals(0, ((NettyDataBuffer) buffer).getNativeBuffer().refCnt(),
+                    "Buffer not released for chunk size " + chunkSize));
+        }
+    }
+
+    /**
+     * Test that the pagination information is picked up when it is placed
+     * before the items, and is available once the items have been read.
+     */
+    @Test
+    void testPaginationBeforeItems() {
+        final String json = "{\"pagination\":{\"totalItems\":5,\"maxItemsPerPage\":2},\"items\":[" + this.firstItemJson() + "," + this.secondItemJson() + "],\"responseText\":\"OK\"}";
+        final SecomStreamedPage<Item> page = this.decode(json, 5);
+
+        StepVerifier.create(page.items())
+                .assertNext(this::assertFirstItem)
+                .assertNext(this::assertSecondItem)
+                .verifyComplete();
+        StepVerifier.create(page.pagination())
+                .assertNext(pagination -> this.assertPagination(pagination, 5, 2))
+                .verifyComplete();
+    }
+
+    /**
+     * Test that the pagination information is picked up when it is placed
+     * after the items.
+     */
+    @Test
+    void testPaginationAfterItems() {
+        final String json = "{\"items\":[" + this.firstItemJson() + "],\"pagination\":{\"totalItems\":1,\"maxItemsPerPage\":1}}";
+        final SecomStreamedPage<Item> page = this.decode(json, 5);
+
+        StepVerifier.create(page.items())
+                .assertNext(this::assertFirstItem)
+                .verifyComplete();
+        StepVerifier.create(page.pagination())
+                .assertNext(pagination -> this.assertPagination(pagination, 1, 1))
+                .verifyComplete();
+    }
+
+    /**
+     * Test that the nested objects and arrays of the items are decoded as
+     * part of the respective item, even when they contain a field named like
+     * the pagination, and that any other top-level arrays of objects are
+     * not mistaken for the items.
+     */
+    @Test
+    void testNestedObjectsAndArrays() {
+        final String json = "{\"other\":[{\"name\":\"ignored\"}],\"items\":[" + this.firstItemJson() + "],\"extra\":{\"items\":[{\"name\":\"ignored\"}]}}";
+        final SecomStreamedPage<Item> page = this.decode(json, 3);
+
+        StepVerifier.create(page.items())
+                .assertNext(item -> {
+                    this.assertFirstItem(item);
+                    assertEquals(Map.of("totalItems", 99), item.attributes().get("pagination"));
+                    assertEquals(Map.of("deep", List.of(1, Map.of("a", "b"))), item.attributes().get("inner"));
+                })
+                .verifyComplete();
+        StepVerifier.create(page.pagination())
+                .verifyComplete();
+    }
+
+    /**
+     * Test that an empty items array produces no items, while the pagination
+     * is still decoded.
+     */
+    @Test
+    void testEmptyItems() {
+        final SecomStreamedPage<Item> page = this.decode("{\"items\":[],\"pagination\":{\"totalItems\":0,\"maxItemsPerPage\":10}}", 4);
+
+        StepVerifier.create(page.items())
+                .verifyComplete();
+        StepVerifier.create(page.pagination())
+                .assertNext(pagination -> this.assertPagination(pagination, 0, 10))
+                .verifyComplete();
+    }
+
+    /**
+     * Test that when the response does not contain any pagination
+     * information, the pagination completes empty once the items have been
+     * read.
+     */
+    @Test
+    void testNoPagination() {
+        final SecomStreamedPage<Item> page = this.decode("{\"items\":[]}", 4);
+
+        StepVerifier.create(page.items())
+                .verifyComplete();
+        StepVerifier.create(page.pagination())
+                .verifyComplete();
+    }
+
+    /**
+     * Test that a response truncated in the middle of an item raises an
+     * error after the complete items have been emitted, and that the error
+     * is also signalled to the pagination if this was not received before
+     * the truncation.
+     */
+    @Test
+    void testTruncatedBeforePagination() {
+        final String json = "{\"items\":[" + this.firstItemJson() + "," + this.secondItemJson() + "],\"pagination\":{\"totalItems\":2}}";
+        final SecomStreamedPage<Item> page = this.decode(json.substring(0, json.indexOf("second") + 3), 6);
+
+        StepVerifier.create(page.items())
+                .assertNext(this::assertFirstItem)
+                .verifyError(UncheckedIOException.class);
+        StepVerifier.create(page.pagination())
+                .verifyError(UncheckedIOException.class);
+    }
+
+    /**
+     * Test that a response truncated after the pagination information has
+     * been received still raises an error for the items, while the
+     * pagination received remains available.
+     */
+    @Test
+    void testTruncatedAfterPagination() {
+        final String json = "{\"pagination\":{\"totalItems\":2,\"maxItemsPerPage\":10},\"items\":[" + this.firstItemJson() + "," + this.secondItemJson() + "]}";
+        final SecomStreamedPage<Item> page = this.decode(json.substring(0, json.length() - 2), 6);
+
+        StepVerifier.create(page.items())
+                .assertNext(this::assertFirstItem)
+                .assertNext(this::assertSecondItem)
+                .verifyError(UncheckedIOException.class);
+        StepVerifier.create(page.pagination())
+                .assertNext(pagination -> this.assertPagination(pagination, 2, 10))
+                .verifyComplete();
+    }
+
+    /**
+     * Test that malformed input raises an error for both the items and the
+     * pagination.
+     */
+    @Test
+    void testMalformedInput() {
+        final SecomStreamedPage<Item> page = this.decode("{\"items\":[" + this.firstItemJson() + ",}", 1);
+
+        StepVerifier.create(page.items())
+                .assertNext(this::assertFirstItem)
+                .verifyError(UncheckedIOException.class);
+        StepVerifier.create(page.pagination())
+                .verifyError(UncheckedIOException.class);
+    }
+
+    /**
+     * Decodes the provided JSON, split into data buffers of the provided
+     * size.
+     *
+     * @param json      the JSON to be decoded
+     * @param chunkSize the size of each data buffer
+     * @return the streamed page
+     */
+    private SecomStreamedPage<Item> decode(String json, int chunkSize) {
+        final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        final List<DataBuffer> buffers = new ArrayList<>();
+        for(int i = 0; i < bytes.length; i += chunkSize) {
+            buffers.add(this.dataBufferFactory.wrap(Arrays.copyOfRange(bytes, i, Math.min(bytes.length, i + chunkSize))));
+        }
+        this.dataBuffers.addAll(buffers);
+        return this.decoder.decode(Flux.fromIterable(buffers));
+    }
+
+    /**
+     * Returns the JSON of the first test item, containing nested objects and
+     * arrays.
+     *
+     * @return the JSON of the first test item
+     */
+    private String firstItemJson() {
+        return "{\"name\":\"first\",\"attributes\":{\"pagination\":{\"totalItems\":99},\"inner\":{\"deep\":[1,{\"a\":\"b\"}]}},\"values\":[[1,2],[]]}";
+    }
+
+    /**
+     * Returns the JSON of the second test item, containing empty objects and
+     * arrays.
+     *
+     * @return the JSON of the second test item
+     */
+    private String secondItemJson() {
+        return "{\"name\":\"second\",\"attributes\":{},\"values\":[]}";
+    }
+
+    /**
+     * Asserts that the provided item matches the first test item.
+     *
+     * @param item the item to be checked
+     */
+    private void assertFirstItem(Item item) {
+        assertEquals("first", item.name());
+        assertEquals(2, item.attributes().size());
+        assertEquals(List.of(List.of(1, 2), List.of()), item.values());
+    }
+
+    /**
+     * Asserts that the provided item matches the second test item.
+     *
+     * @param item the item to be checked
+     */
+    private void assertSecondItem(Item item) {
+        assertEquals("second", item.name());
+        assertTrue(item.attributes().isEmpty());
+        assertTrue(item.values().isEmpty());
+    }
+
+    /**
+     * Asserts that the provided pagination matches the expected values.
+     *
+     * @param pagination        the pagination to be checked
+     * @param totalItems        the expected total items
+     * @param maxItemsPerPage   the expected maximum items per page
+     */
+    private void assertPagination(PaginationObject pagination, int totalItems, int maxItemsPerPage) {
+        assertEquals(totalItems, pagination.getTotalItems());
+        assertEquals(maxItemsPerPage, pagination.getMaxItemsPerPage());
+    }
+
+    /**
+     * The test item, containing nested objects and arrays.
+     *
+     * @param name          the item name
+     * @param attributes    the nested attributes
+     * @param values        the nested arrays of values
+     */
+    record Item(String name, Map<String, Object> attributes, List<List<Integer>> values) {}
+
+}
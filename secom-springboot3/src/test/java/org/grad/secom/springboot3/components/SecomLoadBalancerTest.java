@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.PingResponseObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SecomLoadBalancerTest {
+
+    // Test Parameters
+    URL fastUrl;
+    URL slowUrl;
+    URL newUrl;
+    SecomClient secomClient;
+    SecomLoadBalancer loadBalancer;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws Exception {
+        this.fastUrl = new URL("http://fast.example.org/api/secom");
+        this.slowUrl = new URL("http://slow.example.org/api/secom");
+        this.newUrl = new URL("http://new.example.org/api/secom");
+        this.secomClient = mock(SecomClient.class);
+        this.loadBalancer = new SecomLoadBalancer(url -> this.secomClient, Duration.ofMinutes(1), null);
+    }
+
+    /**
+     * Common clean up for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.loadBalancer.dispose();
+    }
+
+    /**
+     * Test that the requests are routed away from the slower endpoints.
+     */
+    @Test
+    void testSelectFasterEndpoint() {
+        this.observe(this.fastUrl, Mono.just("fast"));
+        this.observe(this.slowUrl, Mono.delay(Duration.ofMillis(50)).thenReturn("slow"));
+
+        for(int i = 0; i < 20; i++) {
+            assertEquals(this.fastUrl, this.loadBalancer.select(List.of(this.fastUrl, this.slowUrl)));
+        }
+    }
+
+    /**
+     * Test that the requests are routed away from the failing endpoints,
+     * while the client errors are not attributed to the endpoints.
+     */
+    @Test
+    void testSelectHealthyEndpoint() {
+        this.observe(this.fastUrl, Mono.delay(Duration.ofMillis(10)).then(Mono.error(this.responseException(503))));
+        this.observe(this.slowUrl, Mono.delay(Duration.ofMillis(20)).thenReturn("slow"));
+        this.observe(this.newUrl, Mono.error(this.responseException(404)));
+
+        assertEquals(1.0, this.loadBalancer.getStatistics(this.fastUrl).map(SecomLoadBalancer.Statistics::errorRate).orElse(0.0));
+        assertEquals(0.0, this.loadBalancer.getStatistics(this.newUrl).map(SecomLoadBalancer.Statistics::errorRate).orElse(1.0));
+        for(int i = 0; i < 20; i++) {
+            assertEquals(this.slowUrl, this.loadBalancer.select(List.of(this.fastUrl, this.slowUrl)));
+        }
+    }
+
+    /**
+     * Test that the endpoints not observed yet are costed like the median of
+     * the observed ones, so that their requests in flight are comparable to
+     * the observed latencies.
+     */
+    @Test
+    void testSelectSeedsUnobservedEndpoints() {
+        this.observe(this.fastUrl, Mono.just("fast"));
+
+        // Keep a few requests in flight on an endpoint never completing one
+        for(int i = 0; i < 3; i++) {
+            this.loadBalancer.execute(List.of(this.newUrl), client -> Mono.never()).subscribe();
+        }
+        assertEquals(3, this.loadBalancer.getStatistics(this.newUrl).map(SecomLoadBalancer.Statistics::inFlight).orElse(0));
+
+        for(int i = 0; i < 20; i++) {
+            assertEquals(this.fastUrl, this.loadBalancer.select(List.of(this.fastUrl, this.newUrl)));
+        }
+    }
+
+    /**
+     * Test that the idle endpoints are probed through the Ping interface,
+     * bypassing the response cache.
+     */
+    @Test
+    void testProbeBypassesResponseCache() {
+        when(this.secomClient.pingUncachedAsync()).thenReturn(Mono.just(new PingResponseObject()));
+        final SecomLoadBalancer probingLoadBalancer = new SecomLoadBalancer(url -> this.secomClient, Duration.ofMinutes(1), Duration.ofMillis(20));
+        StepVerifier.create(probingLoadBalancer.execute(List.of(this.fastUrl), client -> Mono.just("fast")))
+                .expectNext("fast")
+                .verifyComplete();
+
+        verify(this.secomClient, timeout(5000).atLeastOnce()).pingUncachedAsync();
+        verify(this.secomClient, never()).pingAsync();
+        probingLoadBalancer.dispose();
+    }
+
+    /**
+     * Performs a request on the provided endpoint, so that its outcome is
+     * recorded onto the endpoint statistics.
+     *
+     * @param url       the endpoint URL
+     * @param result    the request result
+     */
+    private void observe(URL url, Mono<String> result) {
+        this.loadBalancer.execute(List.of(url), client -> result)
+                .onErrorResume(ex -> Mono.empty())
+                .block();
+    }
+
+    /**
+     * Builds a web-client response exception with the provided status.
+     *
+     * @param status    the response status
+     * @return the web-client response exception
+     */
+    private WebClientResponseException responseException(int status) {
+        return WebClientResponseException.create(status, "Status " + status, HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+
+}
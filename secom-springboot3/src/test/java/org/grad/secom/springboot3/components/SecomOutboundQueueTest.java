@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.AcknowledgementObject;
+import org.grad.secom.core.models.EnvelopeAckObject;
+import org.grad.secom.core.models.enums.AckTypeEnum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static org.grad.secom.core.interfaces.AcknowledgementSecomInterface.ACKNOWLEDGMENT_INTERFACE_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class SecomOutboundQueueTest {
+
+    // Test Parameters
+    @TempDir
+    Path directory;
+    URL destination;
+    SecomClient secomClient;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        this.destination = new URL("http://localhost:8080/api/secom");
+        this.secomClient = this.mockClient();
+    }
+
+    /**
+     * Test that the queued messages are sent to their destination and then
+     * completed.
+     */
+    @Test
+    void testSendQueuedMessages() {
+        when(this.secomClient.postPrepared(any(), any())).thenReturn(Mono.empty());
+
+        final SecomOutboundQueue queue = this.newQueue(url -> this.secomClient, SecomOutboundQueue.DEFAULT_MAX_ATTEMPTS);
+        final UUID transactionIdentifier = UUID.randomUUID();
+        StepVerifier.create(queue.enqueueAcknowledgementAsync(this.destination, this.acknowledgement(transactionIdentifier)))
+                .verifyComplete();
+
+        final ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(this.secomClient, timeout(5000)).postPrepared(eq(ACKNOWLEDGMENT_INTERFACE_PATH), captor.capture());
+        assertTrue(new String(captor.getValue(), StandardCharsets.UTF_8).contains(transactionIdentifier.toString()));
+        this.awaitPendingCount(queue, 0);
+        queue.dispose();
+    }
+
+    /**
+     * Test that the messages not yet completed are recovered from the
+     * write-ahead log and sent in order after a restart, while the completed
+     * ones are not sent again.
+     */
+    @Test
+    void testRecoveryAfterRestart() {
+        when(this.secomClient.postPrepared(any(), any())).thenReturn(Mono.never());
+
+        final SecomOutboundQueue queue = this.newQueue(url -> this.secomClient, SecomOutboundQueue.DEFAULT_MAX_ATTEMPTS);
+        final UUID firstTransactionIdentifier = UUID.randomUUID();
+        final UUID secondTransactionIdentifier = UUID.randomUUID();
+        queue.enqueueAcknowledgement(this.destination, this.acknowledgement(firstTransactionIdentifier));
+        queue.enqueueAcknowledgement(this.destination, this.acknowledgement(secondTransactionIdentifier));
+        verify(this.secomClient, timeout(5000)).postPrepared(any(), any());
+        assertEquals(2, queue.getPendingCount());
+        queue.dispose();
+
+        // Restart the queue with a working client
+        final SecomClient restartedClient = this.mockClient();
+        when(restartedClient.postPrepared(any(), any())).thenReturn(Mono.empty());
+        final SecomOutboundQueue restarted = this.newQueue(url -> restartedClient, SecomOutboundQueue.DEFAULT_MAX_ATTEMPTS);
+
+        final ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(restartedClient, timeout(5000).times(2)).postPrepared(eq(ACKNOWLEDGMENT_INTERFACE_PATH), captor.capture());
+        final List<byte[]> bodies = captor.getAllValues();
+        assertTrue(new String(bodies.get(0), StandardCharsets.UTF_8).contains(firstTransactionIdentifier.toString()));
+        assertTrue(new String(bodies.get(1), StandardCharsets.UTF_8).contains(secondTransactionIdentifier.toString()));
+        this.awaitPendingCount(restarted, 0);
+        restarted.dispose();
+
+        // Nothing should be sent on the next restart
+        final SecomClient idleClient = this.mockClient();
+        final SecomOutboundQueue idle = this.newQueue(url -> idleClient, SecomOutboundQueue.DEFAULT_MAX_ATTEMPTS);
+        assertEquals(0, idle.getPendingCount());
+        idle.dispose();
+        verify(idleClient, never()).postPrepared(any(), any());
+    }
+
+    /**
+     * Test that the messages failing to be synchronised onto the disk are
+     * rolled back, so that they are neither sent nor recovered after their
+     * enqueue operations have failed.
+     */
+    @Test
+    void testFailedSyncRollsBack() {
+        when(this.secomClient.postPrepared(any(), any())).thenReturn(Mono.empty());
+        final AtomicBoolean failSync = new AtomicBoolean(true);
+
+        final SecomOutboundQueue queue = new SecomOutboundQueue(url -> this.secomClient, this.directory, 1, Duration.ofMillis(5), SecomOutboundQueue.DEFAULT_MAX_SEGMENT_SIZE) {
+            @Override
+            protected void force(FileChannel channel) throws IOException {
+                if(failSync.get()) {
+                    throw new IOException("Disk failure");
+                }
+                super.force(channel);
+            }
+        };
+        final UUID failedTransactionIdentifier = UUID.randomUUID();
+        StepVerifier.create(queue.enqueueAcknowledgementAsync(this.destination, this.acknowledgement(failedTransactionIdentifier)))
+                .verifyError(IOException.class);
+        assertEquals(0, queue.getPendingCount());
+
+        // The queue should keep working once the disk recovers
+        failSync.set(false);
+        final UUID transactionIdentifier = UUID.randomUUID();
+        StepVerifier.create(queue.enqueueAcknowledgementAsync(this.destination, this.acknowledgement(transactionIdentifier)))
+                .verifyComplete();
+        final ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(this.secomClient, timeout(5000)).postPrepared(any(), captor.capture());
+        assertTrue(new String(captor.getValue(), StandardCharsets.UTF_8).contains(transactionIdentifier.toString()));
+        this.awaitPendingCount(queue, 0);
+        queue.dispose();
+
+        // And the failed message should not be recovered
+        final SecomClient restartedClient = this.mockClient();
+        final SecomOutboundQueue restarted = this.newQueue(url -> restartedClient, SecomOutboundQueue.DEFAULT_MAX_ATTEMPTS);
+        assertEquals(0, restarted.getPendingCount());
+        restarted.dispose();
+        verify(this.secomClient, times(1)).postPrepared(any(), any());
+        verify(restartedClient, never()).postPrepared(any(), any());
+    }
+
+    /**
+     * Test that the throttling responses are retried.
+     */
+    @Test
+    void testRetryThrottledMessages() {
+        when(this.secomClient.postPrepared(any(), any())).thenReturn(
+                Mono.error(this.responseException(429)),
+                Mono.error(this.responseException(408)),
+                Mono.empty());
+
+        final SecomOutboundQueue queue = this.newQueue(url -> this.secomClient, SecomOutboundQueue.DEFAULT_MAX_ATTEMPTS);
+        queue.enqueueAcknowledgement(this.destination, this.acknowledgement(UUID.randomUUID()));
+
+        verify(this.secomClient, timeout(5000).times(3)).postPrepared(any(), any());
+        this.awaitPendingCount(queue, 0);
+        assertEquals(0, queue.getDroppedCount());
+        queue.dispose();
+    }
+
+    /**
+     * Test that the messages continuously answered with server errors are
+     * dropped once their attempts have been exhausted, so that the rest of
+     * the queue can proceed.
+     */
+    @Test
+    void testDropMessagesExhaustingAttempts() {
+        final UUID failingTransactionIdentifier = UUID.randomUUID();
+        when(this.secomClient.postPrepared(any(), any())).thenAnswer(invocation ->
+                new String(invocation.<byte[]>getArgument(1), StandardCharsets.UTF_8).contains(failingTransactionIdentifier.toString())
+                        ? Mono.error(this.responseException(503))
+                        : Mono.empty());
+
+        final SecomOutboundQueue queue = this.newQueue(url -> this.secomClient, 3);
+        queue.enqueueAcknowledgement(this.destination, this.acknowledgement(failingTransactionIdentifier));
+        queue.enqueueAcknowledgement(this.destination, this.acknowledgement(UUID.randomUUID()));
+
+        verify(this.secomClient, timeout(5000).times(4)).postPrepared(any(), any());
+        this.awaitPendingCount(queue, 0);
+        assertEquals(1, queue.getDroppedCount());
+        queue.dispose();
+    }
+
+    /**
+     * Test that the messages rejected by the destination are dropped without
+     * being retried.
+     */
+    @Test
+    void testDropRejectedMessages() {
+        when(this.secomClient.postPrepared(any(), any())).thenReturn(Mono.error(this.responseException(400)));
+
+        final SecomOutboundQueue queue = this.newQueue(url -> this.secomClient, SecomOutboundQueue.DEFAULT_MAX_ATTEMPTS);
+        queue.enqueueAcknowledgement(this.destination, this.acknowledgement(UUID.randomUUID()));
+
+        this.awaitPendingCount(queue, 0);
+        assertEquals(1, queue.getDroppedCount());
+        queue.dispose();
+        verify(this.secomClient, times(1)).postPrepared(any(), any());
+    }
+
+    /**
+     * Creates a new outbound queue on the test directory, with a short retry
+     * backoff.
+     *
+     * @param clientResolver    the function resolving the SECOM clients
+     * @param maxAttempts       the maximum number of attempts
+     * @return the outbound queue
+     */
+    private SecomOutboundQueue newQueue(Function<URL, SecomClient> clientResolver, int maxAttempts) {
+        final SecomOutboundQueue queue = new SecomOutboundQueue(clientResolver, this.directory, 1, Duration.ofMillis(5), SecomOutboundQueue.DEFAULT_MAX_SEGMENT_SIZE, maxAttempts);
+        queue.setRetryBackoff(Duration.ofMillis(1));
+        return queue;
+    }
+
+    /**
+     * Creates a mocked SECOM client, preparing the acknowledgements as they
+     * are.
+     *
+     * @return the mocked SECOM client
+     */
+    private SecomClient mockClient() {
+        final SecomClient client = mock(SecomClient.class);
+        client.processingScheduler = Schedulers.immediate();
+        when(client.prepareAcknowledgement(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        return client;
+    }
+
+    /**
+     * Builds an acknowledgement of the provided transaction.
+     *
+     * @param transactionIdentifier the transaction identifier
+     * @return the acknowledgement
+     */
+    private AcknowledgementObject acknowledgement(UUID transactionIdentifier) {
+        final EnvelopeAckObject envelope = new EnvelopeAckObject();
+        envelope.setCreatedAt(Instant.now());
+        envelope.setTransactionIdentifier(transactionIdentifier);
+        envelope.setAckType(AckTypeEnum.DELIVERED_ACK);
+        final AcknowledgementObject acknowledgementObject = new AcknowledgementObject();
+        acknowledgementObject.setEnvelope(envelope);
+        return acknowledgementObject;
+    }
+
+    /**
+     * Builds a web-client response exception with the provided status.
+     *
+     * @param status    the response status
+     * @return the web-client response exception
+     */
+    private WebClientResponseException responseException(int status) {
+        return WebClientResponseException.create(status, "Status " + status, HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Waits until the provided queue reaches the expected number of pending
+     * messages.
+     *
+     * @param queue     the outbound queue
+     * @param expected  the expected number of pending messages
+     */
+    private void awaitPendingCount(SecomOutboundQueue queue, int expected) {
+        final long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while(queue.getPendingCount() != expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(expected, queue.getPendingCount());
+    }
+
+}
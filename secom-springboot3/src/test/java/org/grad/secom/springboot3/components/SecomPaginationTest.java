@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.PaginationObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomPaginationTest {
+
+    // Test Parameters
+    AtomicInteger inFlight;
+    AtomicInteger maxInFlight;
+    Map<Integer, AtomicInteger> requests;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.inFlight = new AtomicInteger();
+        this.maxInFlight = new AtomicInteger();
+        this.requests = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Test that all the pages are requested ahead of the consumer up to the
+     * prefetch depth, while the items are still emitted in order, even if
+     * the later pages respond first.
+     */
+    @Test
+    void testPaginateInOrderWithPrefetch() {
+        final List<Integer> items = SecomPagination.paginate(1, 10, 3,
+                        page -> this.fetch(page, 45, true, Duration.ofMillis(10L * (6 - page))),
+                        Page::items,
+                        Page::pagination)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(this.expected(45), items);
+        assertEquals(5, this.requests.size());
+        assertTrue(this.maxInFlight.get() > 1);
+        assertTrue(this.maxInFlight.get() <= 3);
+    }
+
+    /**
+     * Test that without the total number of items, the pages are requested
+     * until one with fewer items than the page size is received.
+     */
+    @Test
+    void testPaginateWithoutTotal() {
+        final List<Integer> items = SecomPagination.paginate(1, 10, 2,
+                        page -> this.fetch(page, 25, false, Duration.ZERO),
+                        Page::items,
+                        Page::pagination)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(this.expected(25), items);
+        assertTrue(this.requests.keySet().containsAll(List.of(1, 2, 3)));
+    }
+
+    /**
+     * Test that in bulk all the remaining pages are requested concurrently,
+     * up to the concurrency limit, and are merged back in order.
+     */
+    @Test
+    void testFetchAllInOrder() {
+        final List<Integer> items = SecomPagination.fetchAll(1, 10, 4, null, null,
+                        page -> this.fetch(page, 75, true, Duration.ofMillis(10L * (9 - page))),
+                        Page::items,
+                        Page::pagination)
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(this.expected(75), items);
+        assertEquals(8, this.requests.size());
+        assertTrue(this.maxInFlight.get() > 1);
+        assertTrue(this.maxInFlight.get() <= 4);
+    }
+
+    /**
+     * Test that in bulk the failed page requests are retried according to
+     * the provided retry specification.
+     */
+    @Test
+    void testFetchAllRetry() {
+        final AtomicInteger failures = new AtomicInteger();
+        final List<Integer> items = SecomPagination.fetchAll(1, 10, 4, Retry.max(2), null,
+                        page -> Mono.defer(() -> page == 2 && failures.getAndIncrement() < 2
+                                ? Mono.error(new IllegalStateException("Page failure"))
+                                : this.fetch(page, 30, true, Duration.ZERO)),
+                        Page::items,
+                        Page::pagination)
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(this.expected(30), items);
+        assertEquals(3, failures.get());
+        assertEquals(1, this.requests.get(2).get());
+
+        // Without retries the failure should be propagated
+        this.requests.clear();
+        StepVerifier.create(SecomPagination.fetchAll(1, 10, 4, null, null,
+                        page -> page == 2 ? Mono.error(new IllegalStateException("Page failure")) : this.fetch(page, 30, true, Duration.ZERO),
+                        Page::items,
+                        Page::pagination))
+                .expectErrorMessage("Page failure")
+                .verify(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Test that in bulk the whole operation fails if it does not complete
+     * within the provided deadline.
+     */
+    @Test
+    void testFetchAllDeadline() {
+        StepVerifier.create(SecomPagination.fetchAll(1, 10, 4, null, Duration.ofMillis(100),
+                        page -> page == 3 ? Mono.never() : this.fetch(page, 30, true, Duration.ZERO),
+                        Page::items,
+                        Page::pagination))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    /**
+     * Test that the total number of pages is calculated based on the
+     * smallest of the requested and the service page sizes.
+     */
+    @Test
+    void testGetTotalPages() {
+        assertEquals(Optional.of(3), SecomPagination.getTotalPages(new PaginationObject(25, 100), 10));
+        assertEquals(Optional.of(5), SecomPagination.getTotalPages(new PaginationObject(25, 5), 10));
+        assertEquals(Optional.of(0), SecomPagination.getTotalPages(new PaginationObject(0, 10), 10));
+        assertEquals(Optional.empty(), SecomPagination.getTotalPages(new PaginationObject(null, 10), 10));
+        assertEquals(Optional.empty(), SecomPagination.getTotalPages(null, 10));
+    }
+
+    /**
+     * Fetches a page of the test items, tracking the number of concurrent
+     * page requests.
+     *
+     * @param page      the page number
+     * @param total     the total number of items
+     * @param withTotal whether the pagination should contain the total number of items
+     * @param delay     the delay of the page response
+     * @return the mono of the page
+     */
+    private Mono<Page> fetch(int page, int total, boolean withTotal, Duration delay) {
+        return Mono.defer(() -> {
+                    this.requests.computeIfAbsent(page, p -> new AtomicInteger()).incrementAndGet();
+                    this.maxInFlight.accumulateAndGet(this.inFlight.incrementAndGet(), Math::max);
+                    final List<Integer> items = IntStream.range((page - 1) * 10, Math.min(page * 10, total))
+                            .boxed()
+                            .collect(Collectors.toList());
+                    return Mono.just(new Page(items, new PaginationObject(withTotal ? total : null, 10)))
+                            .delayElement(delay);
+                })
+                .doOnTerminate(this.inFlight::decrementAndGet);
+    }
+
+    /**
+     * Returns the expected list of the test items.
+     *
+     * @param total the total number of items
+     * @return the expected list of items
+     */
+    private List<Integer> expected(int total) {
+        return IntStream.range(0, total).boxed().collect(Collectors.toList());
+    }
+
+    /**
+     * A page of the test items.
+     *
+     * @param items         the page items
+     * @param pagination    the page pagination
+     */
+    private record Page(List<Integer> items, PaginationObject pagination) {}
+
+}
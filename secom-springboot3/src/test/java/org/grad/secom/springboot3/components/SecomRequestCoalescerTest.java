@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.grad.secom.springboot3.components;
+
+import org.grad.secom.core.models.DataResponseObject;
+import org.grad.secom.core.models.GetResponseObject;
+import org.grad.secom.core.models.PaginationObject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomRequestCoalescerTest {
+
+    // Test Parameters
+    SecomRequestCoalescer requestCoalescer;
+    Sinks.One<GetResponseObject> response;
+    AtomicInteger loads;
+    AtomicBoolean cancelled;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.requestCoalescer = new SecomRequestCoalescer();
+        this.response = Sinks.one();
+        this.loads = new AtomicInteger();
+        this.cancelled = new AtomicBoolean();
+    }
+
+    /**
+     * Test that concurrent identical requests are only loaded once, while
+     * each subscriber receives its own copy of the response, so that any
+     * changes made by one do not affect the others.
+     */
+    @Test
+    void testSeparateCopies() {
+        final Mono<GetResponseObject> first = this.coalesce();
+        final Mono<GetResponseObject> second = this.coalesce();
+        final List<GetResponseObject> results = Mono.zip(first, second, List::of)
+                .doOnSubscribe(s -> Mono.delay(Duration.ofMillis(50)).subscribe(t -> this.response.tryEmitValue(this.getResponseObject())))
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(1, this.loads.get());
+        assertNotSame(results.get(0), results.get(1));
+        assertNotSame(results.get(0).getDataResponseObject().get(0), results.get(1).getDataResponseObject().get(0));
+        assertNotSame(results.get(0).getDataResponseObject().get(0).getData(), results.get(1).getDataResponseObject().get(0).getData());
+        assertNotSame(results.get(0).getPagination(), results.get(1).getPagination());
+
+        // Changes on one copy should not affect the other
+        results.get(0).getDataResponseObject().get(0).getData()[0] = 'X';
+        results.get(0).setResponseText("Changed");
+        assertEquals("data", new String(results.get(1).getDataResponseObject().get(0).getData(), StandardCharsets.UTF_8));
+        assertEquals("OK", results.get(1).getResponseText());
+    }
+
+    /**
+     * Test that the error of the shared request reaches all its subscribers,
+     * and that the request is no longer in-flight afterwards, so the next
+     * call will load it again.
+     */
+    @Test
+    void testErrorReachesAllSubscribers() {
+        final StepVerifier first = StepVerifier.create(this.coalesce())
+                .expectErrorMessage("Failure")
+                .verifyLater();
+        final StepVerifier second = StepVerifier.create(this.coalesce())
+                .expectErrorMessage("Failure")
+                .verifyLater();
+        assertEquals(1, this.requestCoalescer.getInFlightCount());
+
+        this.response.tryEmitError(new IllegalStateException("Failure"));
+        first.verify(Duration.ofSeconds(5));
+        second.verify(Duration.ofSeconds(5));
+
+        assertEquals(1, this.loads.get());
+        assertEquals(0, this.requestCoalescer.getInFlightCount());
+
+        // A new request should be loaded again
+        this.response = Sinks.one();
+        this.response.tryEmitValue(this.getResponseObject());
+        StepVerifier.create(this.coalesce())
+                .expectNextCount(1)
+                .verifyComplete();
+        assertEquals(2, this.loads.get());
+    }
+
+    /**
+     * Test that the shared request is only cancelled once all of its
+     * subscribers have cancelled, while the remaining ones still receive
+     * the response.
+     */
+    @Test
+    void testCancellation() {
+        final Disposable first = this.coalesce().subscribe();
+        final StepVerifier second = StepVerifier.create(this.coalesce())
+                .expectNextCount(1)
+                .expectComplete()
+                .verifyLater();
+
+        // Cancelling one subscriber should leave the shared request running
+        first.dispose();
+        assertFalse(this.cancelled.get());
+        assertEquals(1, this.requestCoalescer.getInFlightCount());
+        this.response.tryEmitValue(this.getResponseObject());
+        second.verify(Duration.ofSeconds(5));
+        assertEquals(1, this.loads.get());
+
+        // Cancelling all subscribers should cancel the shared request
+        this.response = Sinks.one();
+        final Disposable third = this.coalesce().subscribe();
+        final Disposable fourth = this.coalesce().subscribe();
+        third.dispose();
+        fourth.dispose();
+        assertTrue(this.cancelled.get());
+        assertEquals(0, this.requestCoalescer.getInFlightCount());
+        assertEquals(2, this.loads.get());
+    }
+
+    /**
+     * Coalesces a Get request onto the current test response.
+     *
+     * @return the mono of the coalesced Get response
+     */
+    private Mono<GetResponseObject> coalesce() {
+        final Sinks.One<GetResponseObject> sink = this.response;
+        return this.requestCoalescer.coalesce("get", () -> {
+            this.loads.incrementAndGet();
+            return sink.asMono().doOnCancel(() -> this.cancelled.set(true));
+        }, SecomRequestCoalescer::copyOf);
+    }
+
+    /**
+     * Builds a Get response object for the tests.
+     *
+     * @return the Get response object
+     */
+    private GetResponseObject getResponseObject() {
+        final DataResponseObject dataResponseObject = new DataResponseObject();
+        dataResponseObject.setData("data".getBytes(StandardCharsets.UTF_8));
+        final GetResponseObject getResponseObject = new GetResponseObject();
+        getResponseObject.setDataResponseObject(Collections.singletonList(dataResponseObject));
+        getResponseObject.setPagination(new PaginationObject(1, 100));
+        getResponseObject.setResponseText("OK");
+        return getResponseObject;
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.springboot3.components;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SecomSampledRequestLoggingFilterTest {
+
+    // Test Parameters
+    private SecomLoggingConfigProperties config;
+    private List<SecomSampledRequestLoggingFilter.RequestLogEntry> entries;
+    private SecomSampledRequestLoggingFilter filter;
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.config = new SecomLoggingConfigProperties();
+        this.entries = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        if(this.filter != null) {
+            this.filter.destroy();
+        }
+    }
+
+    /**
+     * Test that all requests are logged with a sampling rate of 1, along with
+     * their structured payload fields, while none are logged with a sampling
+     * rate of 0.
+     */
+    @Test
+    void testSampleRates() throws Exception {
+        this.config.setSampleRate(1.0);
+        this.filter = this.createFilter();
+
+        for(int i = 0; i < 5; i++) {
+            this.filter.doFilterInternal(this.mockUploadRequest(), this.mockResponse(200), this.consumingFilterChain());
+        }
+        this.awaitLogged(5);
+        assertEquals(5, this.entries.size());
+        this.entries.forEach(entry -> {
+            assertTrue(entry.sampled());
+            assertEquals("upload", entry.interfaceName());
+            assertEquals("tx-1", entry.transactionIdentifier());
+            assertNotNull(entry.payload());
+        });
+
+        this.filter.destroy();
+        this.entries.clear();
+        this.config.setSampleRate(0.0);
+        this.filter = this.createFilter();
+
+        for(int i = 0; i < 5; i++) {
+            this.filter.doFilterInternal(this.mockUploadRequest(), this.mockResponse(200), this.consumingFilterChain());
+        }
+        this.awaitLogged(0);
+        assertTrue(this.entries.isEmpty());
+    }
+
+    /**
+     * Test that the per-interface sampling rates override the default one,
+     * independently of the naming style used in the configuration.
+     */
+    @Test
+    void testInterfaceSampleRates() throws Exception {
+        this.config.setSampleRate(0.0);
+        this.config.setInterfaceSampleRates(Map.of("upload", 1.0, "get-summary", 0.5));
+        this.filter = this.createFilter();
+
+        assertEquals(1.0, this.filter.getSampleRate("upload"));
+        assertEquals(0.5, this.filter.getSampleRate("getSummary"));
+        assertEquals(0.0, this.filter.getSampleRate("ping"));
+        assertEquals(0.0, this.filter.getSampleRate(null));
+
+        // Only the upload requests should be sampled
+        this.filter.doFilterInternal(this.mockUploadRequest(), this.mockResponse(200), this.consumingFilterChain());
+        this.filter.doFilterInternal(this.mockRequest("GET", "/api/secom/v1/ping", new byte[0]), this.mockResponse(200), this.consumingFilterChain());
+        this.awaitLogged(1);
+        assertEquals(1, this.entries.size());
+        assertEquals("upload", this.entries.get(0).interfaceName());
+    }
+
+    /**
+     * Test that the failed requests are logged even if not sampled, along
+     * with the structured fields found within the maximum payload length,
+     * but without capturing the complete payload.
+     */
+    @Test
+    void testErrorOnlyLogging() throws Exception {
+        this.config.setSampleRate(0.0);
+        this.config.setMaxPayloadLength(64);
+        this.filter = this.createFilter();
+
+        this.filter.doFilterInternal(this.mockUploadRequest(), this.mockResponse(200), this.consumingFilterChain());
+        this.filter.doFilterInternal(this.mockUploadRequest(), this.mockResponse(400), this.consumingFilterChain());
+        final FilterChain failingChain = mock(FilterChain.class);
+        doAnswer(inv -> {
+            ((HttpServletRequest) inv.getArgument(0)).getInputStream().readAllBytes();
+            throw new ServletException("Processing failed");
+        }).when(failingChain).doFilter(any(), any());
+        assertThrows(ServletException.class, () -> this.filter.doFilterInternal(this.mockUploadRequest(), this.mockResponse(200), failingChain));
+        this.awaitLogged(2);
+
+        assertEquals(2, this.entries.size());
+        assertEquals(400, this.entries.get(0).status());
+        assertEquals(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, this.entries.get(1).status());
+        assertTrue(this.entries.get(1).error().contains("Processing failed"));
+        this.entries.forEach(entry -> {
+            assertFalse(entry.sampled());
+            assertEquals("tx-1", entry.transactionIdentifier());
+            assertTrue(entry.payload().length <= 64);
+        });
+    }
+
+    /**
+     * Test that the log entries are dropped and counted when the logging
+     * thread cannot keep up, rather than blocking the requests.
+     */
+    @Test
+    void testQueueOverflow() throws Exception {
+        this.config.setSampleRate(1.0);
+        this.config.setQueueSize(2);
+        this.filter = this.createFilter();
+
+        // Block the logging thread
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        this.filter.executor.execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        for(int i = 0; i < 5; i++) {
+            this.filter.doFilterInternal(this.mockUploadRequest(), this.mockResponse(200), this.consumingFilterChain());
+        }
+        assertEquals(3, this.filter.getDroppedEntries());
+
+        release.countDown();
+        this.awaitLogged(2);
+        assertEquals(2, this.entries.size());
+    }
+
+    /**
+     * Creates the filter under test, collecting the log entries instead of
+     * logging them.
+     *
+     * @return the filter under test
+     */
+    private SecomSampledRequestLoggingFilter createFilter() {
+        return new SecomSampledRequestLoggingFilter(this.config) {
+            @Override
+            void log(RequestLogEntry entry) {
+                entries.add(entry);
+            }
+        };
+    }
+
+    /**
+     * Waits until the logging thread has processed all the submitted
+     * entries and checks the expected number of entries has been logged.
+     *
+     * @param expected the expected number of logged entries
+     */
+    private void awaitLogged(int expected) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while((this.filter.executor.getActiveCount() > 0 || !this.filter.executor.getQueue().isEmpty() || this.entries.size() < expected)
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Creates a mock upload request with a SECOM payload.
+     *
+     * @return the mock upload request
+     */
+    private HttpServletRequest mockUploadRequest() throws IOException {
+        return this.mockRequest("POST", "/api/secom/v1/object",
+                "{\"envelope\":{\"transactionIdentifier\":\"tx-1\",\"data\":\"ZGF0YWRhdGFkYXRhZGF0YWRhdGFkYXRhZGF0YWRhdGFkYXRhZGF0YWRhdGFkYXRh\"}}"
+                        .getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a mock request with the provided method, URI and body.
+     *
+     * @param method    the request method
+     * @param uri       the request URI
+     * @param body      the request body
+     * @return the mock request
+     */
+    private HttpServletRequest mockRequest(String method, String uri, byte[] body) throws IOException {
+        final ByteArrayInputStream bis = new ByteArrayInputStream(body);
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        doReturn(method).when(request).getMethod();
+        doReturn(uri).when(request).getRequestURI();
+        doReturn(body.length).when(request).getContentLength();
+        doReturn("application/json").when(request).getContentType();
+        doReturn(new ServletInputStream() {
+            @Override
+            public int read() {
+                return bis.read();
+            }
+
+            @Override
+            public boolean isFinished() {
+                return bis.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+            }
+        }).when(request).getInputStream();
+        return request;
+    }
+
+    /**
+     * Creates a mock response with the provided status.
+     *
+     * @param status the response status
+     * @return the mock response
+     */
+    private HttpServletResponse mockResponse(int status) {
+        final HttpServletResponse response = mock(HttpServletResponse.class);
+        doReturn(status).when(response).getStatus();
+        return response;
+    }
+
+    /**
+     * Creates a filter chain that fully reads the request body, as the SECOM
+     * filters and interceptors do.
+     *
+     * @return the consuming filter chain
+     */
+    private FilterChain consumingFilterChain() throws IOException, ServletException {
+        final FilterChain filterChain = mock(FilterChain.class);
+        doAnswer(inv -> ((HttpServletRequest) inv.getArgument(0)).getInputStream().readAllBytes())
+                .when(filterChain).doFilter(any(), any());
+        return filterChain;
+    }
+
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.springboot3.config;
+
+import org.grad.secom.springboot3.components.SecomClientConfigProperties;
+import org.grad.secom.springboot3.components.SecomClientFactory;
+import org.grad.secom.springboot3.components.SecomOutboundQueue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomClientFactoryConfigTest {
+
+    // Test Parameters
+    private AnnotationConfigApplicationContext context;
+    private Map<String, Object> properties;
+
+    @TempDir
+    Path tempDir;
+
+    /**
+     * A configuration registering the SECOM client configuration properties,
+     * as the auto-configuration does.
+     */
+    @Configuration
+    @EnableConfigurationProperties(SecomClientConfigProperties.class)
+    static class ClientConfig {}
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.properties = new HashMap<>();
+        this.context = new AnnotationConfigApplicationContext();
+        this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", this.properties));
+        this.context.register(ClientConfig.class, SecomClientFactoryConfig.class);
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.context.close();
+    }
+
+    /**
+     * Test that the SECOM client configuration properties are bound per
+     * concern under the secom.client prefix, and passed on to the SECOM
+     * client factory.
+     */
+    @Test
+    void testClientConfigProperties() {
+        this.properties.put("secom.client.connection.max-connections", "7");
+        this.properties.put("secom.client.connection.http2", "true");
+        this.properties.put("secom.client.resilience.retries", "3");
+        this.properties.put("secom.client.resilience.interface-timeouts.ping", "1s");
+        this.properties.put("secom.client.data-cache.ttl", "1h");
+        this.properties.put("secom.client.ack.concurrency", "2");
+        this.context.refresh();
+
+        final SecomClientConfigProperties clientConfig = this.context.getBean(SecomClientConfigProperties.class);
+        assertEquals(7, clientConfig.getConnection().getMaxConnections());
+        assertTrue(clientConfig.getConnection().getHttp2());
+        assertEquals(3, clientConfig.getResilience().getRetries());
+        assertEquals(Duration.ofSeconds(1), clientConfig.getResilience().getInterfaceTimeouts().get("ping"));
+        assertEquals(2, clientConfig.getAck().getConcurrency());
+
+        final SecomClientFactory secomClientFactory = this.context.getBean(SecomClientFactory.class);
+        assertSame(clientConfig, secomClientFactory.getClientConfig());
+        assertNotNull(secomClientFactory.getResiliencePolicy());
+        assertEquals(Duration.ofHours(1), secomClientFactory.getDataCache().getTtl());
+    }
+
+    /**
+     * Test that the SECOM outbound queue is only registered when its
+     * directory has been configured under the secom.client prefix.
+     */
+    @Test
+    void testOutboundQueueRegistration() {
+        this.properties.put("secom.client.outbound-queue.directory", this.tempDir.toString());
+        this.context.refresh();
+
+        assertNotNull(this.context.getBean(SecomOutboundQueue.class));
+    }
+
+    /**
+     * Test that no SECOM outbound queue is registered when no directory has
+     * been configured.
+     */
+    @Test
+    void testNoOutboundQueueRegistration() {
+        this.context.refresh();
+
+        assertTrue(this.context.getBeansOfType(SecomOutboundQueue.class).isEmpty());
+        assertNull(this.context.getBean(SecomClientFactory.class).getResiliencePolicy());
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022 GLA Research and Development Directorate
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.grad.secom.springboot3.config;
+
+import org.grad.secom.core.components.SecomContentEncodingInterceptor;
+import org.grad.secom.core.components.SecomRequestBodyReader;
+import org.grad.secom.springboot3.components.SecomCompressionConfigProperties;
+import org.grad.secom.springboot3.components.SecomRequestBodyConfigProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.context.annotation.ImportCandidates;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SecomV1JaxrsApplicationTest {
+
+    // Test Parameters
+    private AnnotationConfigApplicationContext context;
+
+    /**
+     * A configuration registering the SECOM request body and compression
+     * configuration properties, as the auto-configuration does.
+     */
+    @Configuration
+    @EnableConfigurationProperties({SecomRequestBodyConfigProperties.class, SecomCompressionConfigProperties.class})
+    static class PropertiesConfig {}
+
+    /**
+     * Common setup for all the tests.
+     */
+    @BeforeEach
+    void setUp() {
+        this.context = new AnnotationConfigApplicationContext();
+        this.context.register(PropertiesConfig.class);
+    }
+
+    /**
+     * Common teardown for all the tests.
+     */
+    @AfterEach
+    void tearDown() {
+        this.context.close();
+    }
+
+    /**
+     * Test that the default and per-interface request body limits are bound
+     * from the configuration properties, with the interfaces keyed either by
+     * name or by path.
+     */
+    @Test
+    void testRequestBodyReaderLimits() {
+        this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "secom.request-body.max-size", "1000",
+                "secom.request-body.interface-max-sizes.upload-link", "100",
+                "secom.request-body.interface-max-sizes[/v1/object]", "5000")));
+        this.context.refresh();
+
+        final SecomRequestBodyReader requestBodyReader = new SecomV1JaxrsApplication()
+                .secomRequestBodyReader(this.context.getBean(SecomRequestBodyConfigProperties.class));
+
+        assertEquals(1000, requestBodyReader.getMaxBodySize("/api/secom/v1/ping"));
+        assertEquals(100, requestBodyReader.getMaxBodySize("/api/secom/v1/object/link"));
+        assertEquals(5000, requestBodyReader.getMaxBodySize("/api/secom/v1/object"));
+    }
+
+    /**
+     * Test that the default request body limit applies when no configuration
+     * properties are provided.
+     */
+    @Test
+    void testRequestBodyReaderDefaults() {
+        this.context.refresh();
+
+        final SecomRequestBodyReader requestBodyReader = new SecomV1JaxrsApplication()
+                .secomRequestBodyReader(this.context.getBean(SecomRequestBodyConfigProperties.class));
+
+        assertEquals(SecomRequestBodyReader.DEFAULT_MAX_BODY_SIZE, requestBodyReader.getMaxBodySize("/api/secom/v1/object"));
+        assertEquals(SecomRequestBodyReader.DEFAULT_MAX_BODY_SIZE, requestBodyReader.getMaxBodySize(null));
+    }
+
+    /**
+     * Test that the minimum response size for the content encoding is bound
+     * from the configuration properties.
+     */
+    @Test
+    void testContentEncodingMinSize() {
+        this.context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "secom.compression.min-size", "2048")));
+        this.context.refresh();
+
+        final SecomCompressionConfigProperties compressionConfigProperties = this.context.getBean(SecomCompressionConfigProperties.class);
+        assertEquals(2048, compressionConfigProperties.getMinSize());
+        assertEquals(2048, new SecomV1JaxrsApplication()
+                .secomContentEncodingInterceptor(compressionConfigProperties)
+                .getMinSize());
+    }
+
+    /**
+     * Test that the content encoding uses the default minimum response size
+     * when no configuration properties are provided.
+     */
+    @Test
+    void testContentEncodingDefaults() {
+        this.context.refresh();
+
+        assertEquals(SecomContentEncodingInterceptor.DEFAULT_MIN_SIZE, new SecomV1JaxrsApplication()
+                .secomContentEncodingInterceptor(this.context.getBean(SecomCompressionConfigProperties.class))
+                .getMinSize());
+    }
+
+    /**
+     * Test that the SECOM configuration properties are registered for the
+     * auto-configuration, so that they are bound in the applications.
+     */
+    @Test
+    void testConfigPropertiesRegistered() {
+        final List<String> candidates = new ArrayList<>();
+        ImportCandidates.load(AutoConfiguration.class, this.getClass().getClassLoader()).forEach(candidates::add);
+
+        assertTrue(candidates.contains(SecomRequestBodyConfigProperties.class.getName()));
+        assertTrue(candidates.contains(SecomCompressionConfigProperties.class.getName()));
+    }
+
+}